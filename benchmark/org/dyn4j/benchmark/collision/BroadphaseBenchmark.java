@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.benchmark.dynamics.BroadphaseType;
+import org.dyn4j.collision.broadphase.BroadphaseDetector;
+import org.dyn4j.collision.broadphase.BroadphaseItem;
+import org.dyn4j.collision.broadphase.BroadphasePair;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link BroadphaseDetector}s for the synthetic {@link Workload}s.
+ * <p>
+ * The {@link #step()} benchmark mirrors what the world does every time step: 
+ * move a fraction ({@link #moveFraction}) of the moving bodies, update them 
+ * and detect all pairs.  The other benchmarks measure a single operation 
+ * of the broad-phase.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadphaseBenchmark {
+	/** The seed for the random number generator */
+	private static final long SEED = 0x5eed;
+	
+	/** The number of precomputed queries */
+	private static final int QUERY_COUNT = 64;
+	
+	/** The width and height of the AABB queries */
+	private static final double QUERY_SIZE = 10.0;
+	
+	/** The distance a moving body moves per step */
+	private static final double MOVE_DISTANCE = 0.05;
+	
+	/** The broad-phase detector */
+	@Param
+	public BroadphaseType broadphase;
+	
+	/** The workload */
+	@Param
+	public Workload workload;
+	
+	/** The number of bodies */
+	@Param({"1000", "10000", "50000"})
+	public int bodyCount;
+	
+	/** The fraction of the moving bodies that are moved each step */
+	@Param({"0.1", "1.0"})
+	public double moveFraction;
+	
+	/** The broad-phase */
+	private BroadphaseDetector<Body, BodyFixture> detector;
+	
+	/** All bodies */
+	private List<Body> bodies;
+	
+	/** The moving bodies */
+	private List<Body> moving;
+	
+	/** The AABB queries */
+	private AABB[] aabbs;
+	
+	/** The raycast queries */
+	private Ray[] rays;
+	
+	/** The raycast query length */
+	private double rayLength;
+	
+	/** The random number generator used to move bodies */
+	private Random random;
+	
+	/** The index of the next query */
+	private int query;
+	
+	/** The index of the next moving body */
+	private int next;
+	
+	/** The shift direction */
+	private double shift;
+	
+	/**
+	 * Creates the bodies and adds them to the broad-phase.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.random = new Random(SEED);
+		this.bodies = new ArrayList<Body>(this.bodyCount);
+		this.moving = new ArrayList<Body>(this.bodyCount);
+		this.workload.create(this.bodyCount, this.random, this.bodies, this.moving);
+		
+		this.detector = this.broadphase.create(this.bodyCount * 4 / 3 + 1);
+		for (Body body : this.bodies) {
+			this.detector.add(body);
+		}
+		this.detector.detect();
+		
+		double size = Workload.getSize(this.bodyCount);
+		double half = size * 0.5;
+		this.aabbs = new AABB[QUERY_COUNT];
+		this.rays = new Ray[QUERY_COUNT];
+		this.rayLength = size * 0.5;
+		for (int i = 0; i < QUERY_COUNT; i++) {
+			double x = this.random.nextDouble() * size - half;
+			double y = this.random.nextDouble() * size - half;
+			this.aabbs[i] = new AABB(x, y, x + QUERY_SIZE, y + QUERY_SIZE);
+			this.rays[i] = new Ray(new Vector2(x, y), this.random.nextDouble() * Math.PI * 2.0);
+		}
+		this.shift = 1.0;
+	}
+	
+	/**
+	 * Moves the next batch of moving bodies and updates them in the broad-phase.
+	 */
+	private void move() {
+		int size = this.moving.size();
+		int n = (int)Math.ceil(size * this.moveFraction);
+		for (int i = 0; i < n; i++) {
+			Body body = this.moving.get(this.next);
+			this.next = (this.next + 1) % size;
+			body.translate(
+					(this.random.nextDouble() - 0.5) * MOVE_DISTANCE, 
+					(this.random.nextDouble() - 0.5) * MOVE_DISTANCE);
+			this.detector.update(body);
+		}
+	}
+	
+	/**
+	 * Benchmarks moving and updating the bodies followed by pair detection.
+	 * @return List&lt;{@link BroadphasePair}&gt;
+	 */
+	@Benchmark
+	public List<BroadphasePair<Body, BodyFixture>> step() {
+		this.move();
+		return this.detector.detect();
+	}
+	
+	/**
+	 * Benchmarks moving and updating the bodies.
+	 * @return {@link BroadphaseDetector}
+	 */
+	@Benchmark
+	public BroadphaseDetector<Body, BodyFixture> update() {
+		this.move();
+		return this.detector;
+	}
+	
+	/**
+	 * Benchmarks pair detection without any movement.
+	 * @return List&lt;{@link BroadphasePair}&gt;
+	 */
+	@Benchmark
+	public List<BroadphasePair<Body, BodyFixture>> pairs() {
+		return this.detector.detect();
+	}
+	
+	/**
+	 * Benchmarks an AABB query.
+	 * @return List&lt;{@link BroadphaseItem}&gt;
+	 */
+	@Benchmark
+	public List<BroadphaseItem<Body, BodyFixture>> aabb() {
+		this.query = (this.query + 1) % QUERY_COUNT;
+		return this.detector.detect(this.aabbs[this.query]);
+	}
+	
+	/**
+	 * Benchmarks a raycast query.
+	 * @return List&lt;{@link BroadphaseItem}&gt;
+	 */
+	@Benchmark
+	public List<BroadphaseItem<Body, BodyFixture>> raycast() {
+		this.query = (this.query + 1) % QUERY_COUNT;
+		return this.detector.raycast(this.rays[this.query], this.rayLength);
+	}
+	
+	/**
+	 * Benchmarks shifting the broad-phase coordinates.
+	 * @return {@link BroadphaseDetector}
+	 */
+	@Benchmark
+	public BroadphaseDetector<Body, BodyFixture> shift() {
+		// alternate the direction so the bodies stay in place
+		this.shift = -this.shift;
+		this.detector.shift(new Vector2(this.shift, 0.0));
+		return this.detector;
+	}
+}
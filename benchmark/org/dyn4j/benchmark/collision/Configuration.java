@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import org.dyn4j.geometry.Transform;
+
+/**
+ * Enumeration of the relative placements of the shapes in the collision benchmarks.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public enum Configuration {
+	/** The shapes are overlapping */
+	OVERLAP(0.4, 0.1),
+	
+	/** The shapes are separated, but close enough that their AABBs may overlap */
+	SEPARATED(1.6, 0.1);
+	
+	/** The x offset of the second shape */
+	private final double x;
+	
+	/** The y offset of the second shape */
+	private final double y;
+	
+	/**
+	 * Full constructor.
+	 * @param x the x offset of the second shape
+	 * @param y the y offset of the second shape
+	 */
+	private Configuration(double x, double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * Returns the transform of the first shape.
+	 * @return {@link Transform}
+	 */
+	public Transform getTransform1() {
+		Transform transform = new Transform();
+		transform.rotate(0.2);
+		return transform;
+	}
+	
+	/**
+	 * Returns the transform of the second shape.
+	 * @return {@link Transform}
+	 */
+	public Transform getTransform2() {
+		Transform transform = new Transform();
+		transform.rotate(-0.3);
+		transform.translate(this.x, this.y);
+		return transform;
+	}
+	
+	/**
+	 * Returns the distance between the shape centers.
+	 * @return double
+	 */
+	public double getDistance() {
+		return Math.sqrt(this.x * this.x + this.y * this.y);
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.collision.continuous.ConservativeAdvancement;
+import org.dyn4j.collision.continuous.TimeOfImpact;
+import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Epa;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.MinkowskiSum;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.collision.narrowphase.Sat;
+import org.dyn4j.collision.narrowphase.Separation;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the narrow-phase algorithms for every shape pair and {@link Configuration}.
+ * <p>
+ * The {@link #epa()} and {@link #clipping()} benchmarks require overlapping
+ * shapes and return immediately for the {@link Configuration#SEPARATED} 
+ * configuration.  Likewise, the {@link #sat()} benchmark returns immediately 
+ * for shapes that are not supported by {@link Sat}.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NarrowphaseBenchmark {
+	/** The first shape */
+	@Param
+	public ShapeType shape1;
+	
+	/** The second shape */
+	@Param
+	public ShapeType shape2;
+	
+	/** The placement of the shapes */
+	@Param
+	public Configuration configuration;
+	
+	// algorithms
+	
+	/** The GJK/EPA detector */
+	private final Gjk gjk = new Gjk();
+	
+	/** The SAT detector */
+	private final Sat sat = new Sat();
+	
+	/** The shape pair dispatch detector */
+	private final DispatchNarrowphaseDetector dispatch = new DispatchNarrowphaseDetector();
+	
+	/** The EPA penetration solver */
+	private final Epa epa = new Epa();
+	
+	/** The clipping manifold solver */
+	private final ClippingManifoldSolver clipping = new ClippingManifoldSolver();
+	
+	/** The conservative advancement time of impact detector */
+	private final ConservativeAdvancement conservativeAdvancement = new ConservativeAdvancement();
+	
+	// state
+	
+	/** The first convex */
+	private Convex convex1;
+	
+	/** The second convex */
+	private Convex convex2;
+	
+	/** The first transform */
+	private Transform transform1;
+	
+	/** The second transform */
+	private Transform transform2;
+	
+	/** The Minkowski sum for the EPA benchmark */
+	private MinkowskiSum minkowskiSum;
+	
+	/** The GJK termination simplex for the EPA benchmark; null if separated */
+	private List<Vector2> simplex;
+	
+	/** The penetration for the clipping benchmark; null if separated */
+	private Penetration penetration;
+	
+	/** The linear motion of the first shape for the time of impact benchmark */
+	private Vector2 dp1;
+	
+	/** The linear motion of the second shape for the time of impact benchmark */
+	private Vector2 dp2;
+	
+	/** True if the SAT algorithm supports the shape pair */
+	private boolean satSupported;
+	
+	/**
+	 * Creates the shapes and precomputes the inputs for the
+	 * EPA and clipping benchmarks.
+	 */
+	@Setup
+	public void setup() {
+		this.convex1 = this.shape1.create();
+		this.convex2 = this.shape2.create();
+		this.transform1 = this.configuration.getTransform1();
+		this.transform2 = this.configuration.getTransform2();
+		this.satSupported = this.shape1.isSatSupported() && this.shape2.isSatSupported();
+		
+		// move the first shape through the second over the time step
+		this.dp1 = new Vector2(this.configuration.getDistance() * 2.0, 0.0);
+		this.dp2 = new Vector2();
+		
+		this.minkowskiSum = new MinkowskiSum(this.convex1, this.transform1, this.convex2, this.transform2);
+		List<Vector2> simplex = new ArrayList<Vector2>(3);
+		if (new SimplexGjk().detect(this.minkowskiSum, simplex)) {
+			this.simplex = simplex;
+		}
+		
+		Penetration penetration = new Penetration();
+		if (this.gjk.detect(this.convex1, this.transform1, this.convex2, this.transform2, penetration)) {
+			this.penetration = penetration;
+		}
+	}
+	
+	/**
+	 * Benchmarks {@link Gjk#detect(Convex, Transform, Convex, Transform, Penetration)}
+	 * which includes EPA when the shapes overlap.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean gjk() {
+		return this.gjk.detect(this.convex1, this.transform1, this.convex2, this.transform2, new Penetration());
+	}
+	
+	/**
+	 * Benchmarks the {@link Gjk#detect(Convex, Transform, Convex, Transform)} boolean
+	 * collision test.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean gjkBoolean() {
+		return this.gjk.detect(this.convex1, this.transform1, this.convex2, this.transform2);
+	}
+	
+	/**
+	 * Benchmarks {@link Gjk#distance(Convex, Transform, Convex, Transform, Separation)}.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean gjkDistance() {
+		return this.gjk.distance(this.convex1, this.transform1, this.convex2, this.transform2, new Separation());
+	}
+	
+	/**
+	 * Benchmarks {@link Sat#detect(Convex, Transform, Convex, Transform, Penetration)}.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean sat() {
+		if (!this.satSupported) return false;
+		return this.sat.detect(this.convex1, this.transform1, this.convex2, this.transform2, new Penetration());
+	}
+	
+	/**
+	 * Benchmarks {@link DispatchNarrowphaseDetector#detect(Convex, Transform, Convex, Transform, Penetration)}.
+	 * <p>
+	 * Pairs without a specialized routine use {@link Gjk}.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean dispatch() {
+		return this.dispatch.detect(this.convex1, this.transform1, this.convex2, this.transform2, new Penetration());
+	}
+	
+	/**
+	 * Benchmarks {@link Epa#getPenetration(List, MinkowskiSum, Penetration)} using the
+	 * GJK termination simplex.
+	 * @return {@link Penetration}
+	 */
+	@Benchmark
+	public Penetration epa() {
+		if (this.simplex == null) return null;
+		Penetration penetration = new Penetration();
+		this.epa.getPenetration(this.simplex, this.minkowskiSum, penetration);
+		return penetration;
+	}
+	
+	/**
+	 * Benchmarks {@link ClippingManifoldSolver#getManifold(Penetration, Convex, Transform, Convex, Transform, Manifold)}.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean clipping() {
+		if (this.penetration == null) return false;
+		return this.clipping.getManifold(this.penetration, this.convex1, this.transform1, this.convex2, this.transform2, new Manifold());
+	}
+	
+	/**
+	 * Benchmarks {@link ConservativeAdvancement#getTimeOfImpact(Convex, Transform, Vector2, double, Convex, Transform, Vector2, double, TimeOfImpact)}
+	 * with the first shape sweeping through the second.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean conservativeAdvancement() {
+		return this.conservativeAdvancement.getTimeOfImpact(
+				this.convex1, this.transform1, this.dp1, 0.1, 
+				this.convex2, this.transform2, this.dp2, 0.0, 
+				new TimeOfImpact());
+	}
+}
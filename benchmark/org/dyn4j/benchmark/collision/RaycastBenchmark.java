@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.Raycast;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Gjk#raycast(Ray, double, Convex, Transform, Raycast)} for every shape
+ * with a ray that hits the shape and a ray that misses it.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaycastBenchmark {
+	/** The shape */
+	@Param
+	public ShapeType shape;
+	
+	/** The raycast detector */
+	private final Gjk gjk = new Gjk();
+	
+	/** The convex */
+	private Convex convex;
+	
+	/** The convex transform */
+	private Transform transform;
+	
+	/** A ray that hits the shape */
+	private Ray hit;
+	
+	/** A ray that misses the shape */
+	private Ray miss;
+	
+	/**
+	 * Creates the shape and rays.
+	 */
+	@Setup
+	public void setup() {
+		this.convex = this.shape.create();
+		this.transform = new Transform();
+		this.transform.rotate(0.3);
+		this.transform.translate(2.0, 0.1);
+		this.hit = new Ray(new Vector2(-2.0, 0.0), new Vector2(1.0, 0.05));
+		this.miss = new Ray(new Vector2(-2.0, 0.0), new Vector2(1.0, 1.0));
+	}
+	
+	/**
+	 * Benchmarks a ray that hits the shape.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean hit() {
+		return this.gjk.raycast(this.hit, 0.0, this.convex, this.transform, new Raycast());
+	}
+	
+	/**
+	 * Benchmarks a ray that misses the shape.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean miss() {
+		return this.gjk.raycast(this.miss, 0.0, this.convex, this.transform, new Raycast());
+	}
+}
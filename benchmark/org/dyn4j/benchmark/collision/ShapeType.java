@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Enumeration of the shapes used in the collision benchmarks.
+ * <p>
+ * Each shape is centered on the origin and has a size of roughly one unit
+ * so that the same relative {@link Configuration} can be used for all pairs.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public enum ShapeType {
+	/** A circle of radius 0.5 */
+	CIRCLE,
+	
+	/** A regular hexagon of radius 0.5 */
+	POLYGON,
+	
+	/** A capsule of width 1.0 and height 0.5 */
+	CAPSULE,
+	
+	/** An ellipse of width 1.0 and height 0.5 */
+	ELLIPSE,
+	
+	/** A half ellipse of width 1.0 and height 0.5 */
+	HALF_ELLIPSE,
+	
+	/** A slice of radius 1.0 and 60 degree arc */
+	SLICE,
+	
+	/** A segment of length 1.0 */
+	SEGMENT,
+	
+	/** An isosceles triangle of width 1.0 and height 1.0 */
+	TRIANGLE,
+	
+	/** A rectangle of width 1.0 and height 0.5 */
+	RECTANGLE;
+	
+	/**
+	 * Creates a new shape of this type.
+	 * @return {@link Convex}
+	 */
+	public Convex create() {
+		switch (this) {
+			case CIRCLE:
+				return Geometry.createCircle(0.5);
+			case POLYGON:
+				return Geometry.createUnitCirclePolygon(6, 0.5);
+			case CAPSULE:
+				return Geometry.createCapsule(1.0, 0.5);
+			case ELLIPSE:
+				return Geometry.createEllipse(1.0, 0.5);
+			case HALF_ELLIPSE:
+				return Geometry.createHalfEllipse(1.0, 0.5);
+			case SLICE:
+				return Geometry.createSlice(1.0, Math.toRadians(60.0));
+			case SEGMENT:
+				return Geometry.createSegment(new Vector2(-0.5, 0.0), new Vector2(0.5, 0.0));
+			case TRIANGLE:
+				return Geometry.createIsoscelesTriangle(1.0, 1.0);
+			case RECTANGLE:
+			default:
+				return Geometry.createRectangle(1.0, 0.5);
+		}
+	}
+	
+	/**
+	 * Returns true if this shape type is supported by the SAT algorithm.
+	 * @return boolean
+	 */
+	public boolean isSatSupported() {
+		return this != ELLIPSE && this != HALF_ELLIPSE;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import java.util.List;
+
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.MinkowskiSum;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * {@link Gjk} implementation that exposes the termination simplex so that
+ * the {@link org.dyn4j.collision.narrowphase.MinkowskiPenetrationSolver} can be
+ * benchmarked on its own.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class SimplexGjk extends Gjk {
+	/**
+	 * Runs the GJK collision test and fills the given simplex.
+	 * @param minkowskiSum the Minkowski sum of the shapes
+	 * @param simplex the simplex to fill
+	 * @return boolean true if the shapes overlap
+	 */
+	public boolean detect(MinkowskiSum minkowskiSum, List<Vector2> simplex) {
+		Convex c1 = minkowskiSum.getConvex1();
+		Convex c2 = minkowskiSum.getConvex2();
+		Transform t1 = minkowskiSum.getTransform1();
+		Transform t2 = minkowskiSum.getTransform2();
+		Vector2 d = this.getInitialDirection(c1, t1, c2, t2);
+		return this.detect(minkowskiSum, simplex, d);
+	}
+}
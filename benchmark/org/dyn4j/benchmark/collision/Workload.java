@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.collision;
+
+import java.util.List;
+import java.util.Random;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+
+/**
+ * Enumeration of the synthetic broad-phase workloads.
+ * <p>
+ * Each workload places the given number of bodies in a square region whose size 
+ * grows with the number of bodies so that the average density is the same for
+ * every body count.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public enum Workload {
+	/** Small bodies uniformly distributed; all bodies move */
+	UNIFORM,
+	
+	/** Small bodies in dense clusters; all bodies move */
+	CLUSTERED,
+	
+	/** Small moving bodies among long thin static segments (terrain, walls, etc.) */
+	LONG_THIN_STATIC,
+	
+	/** Small bodies uniformly distributed; only a few bodies move */
+	MOSTLY_SLEEPING;
+	
+	/** The average area per body */
+	private static final double AREA_PER_BODY = 4.0;
+	
+	/** The fraction of bodies that are static segments for {@link #LONG_THIN_STATIC} */
+	private static final double STATIC_FRACTION = 0.1;
+	
+	/** The fraction of bodies that are awake for {@link #MOSTLY_SLEEPING} */
+	private static final double AWAKE_FRACTION = 0.05;
+	
+	/** The number of bodies per cluster for {@link #CLUSTERED} */
+	private static final int CLUSTER_SIZE = 50;
+	
+	/**
+	 * Returns the width and height of the region for the given number of bodies.
+	 * @param count the number of bodies
+	 * @return double
+	 */
+	public static double getSize(int count) {
+		return Math.sqrt(count * AREA_PER_BODY);
+	}
+	
+	/**
+	 * Creates the bodies for this workload.
+	 * @param count the number of bodies
+	 * @param random the random number generator
+	 * @param bodies the list to add all the bodies to
+	 * @param moving the list to add the bodies that move to
+	 */
+	public void create(int count, Random random, List<Body> bodies, List<Body> moving) {
+		double size = getSize(count);
+		double half = size * 0.5;
+		
+		int statics = this == LONG_THIN_STATIC ? (int)Math.ceil(count * STATIC_FRACTION) : 0;
+		for (int i = 0; i < statics; i++) {
+			// segments between 5 and 25 percent of the region's width
+			double length = size * (0.05 + random.nextDouble() * 0.2);
+			Body body = new Body();
+			body.addFixture(Geometry.createHorizontalSegment(length));
+			body.setMass(MassType.INFINITE);
+			body.rotate(random.nextDouble() * Math.PI);
+			body.translate(random.nextDouble() * size - half, random.nextDouble() * size - half);
+			bodies.add(body);
+		}
+		
+		double cx = 0.0, cy = 0.0;
+		for (int i = statics; i < count; i++) {
+			Body body = new Body();
+			body.addFixture(this.createShape(random));
+			body.setMass(MassType.NORMAL);
+			
+			if (this == CLUSTERED) {
+				if (i % CLUSTER_SIZE == 0) {
+					cx = random.nextDouble() * size - half;
+					cy = random.nextDouble() * size - half;
+				}
+				body.translate(cx + random.nextGaussian() * 2.0, cy + random.nextGaussian() * 2.0);
+			} else {
+				body.translate(random.nextDouble() * size - half, random.nextDouble() * size - half);
+			}
+			bodies.add(body);
+			
+			if (this != MOSTLY_SLEEPING || random.nextDouble() < AWAKE_FRACTION) {
+				moving.add(body);
+			} else {
+				body.setAsleep(true);
+			}
+		}
+	}
+	
+	/**
+	 * Returns a random small shape.
+	 * @param random the random number generator
+	 * @return {@link Convex}
+	 */
+	private Convex createShape(Random random) {
+		double s = 0.25 + random.nextDouble() * 0.75;
+		switch (random.nextInt(3)) {
+			case 0:
+				return Geometry.createCircle(s * 0.5);
+			case 1:
+				return Geometry.createRectangle(s, s * 0.5);
+			default:
+				return Geometry.createUnitCirclePolygon(5, s * 0.5);
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.dynamics.Capacity;
+import org.dyn4j.dynamics.StepHistogram;
+import org.dyn4j.dynamics.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for benchmarks that measure the number of {@link World} steps per second.
+ * <p>
+ * The world is recreated at the beginning of every iteration so that every iteration 
+ * simulates the same portion of the scene.  The collision detection pipeline is 
+ * configured by the {@link #broadphase}, {@link #narrowphase} and {@link #contactManager}
+ * parameters.
+ * <p>
+ * When the {@link #statistics} parameter is true, the per-phase timings collected by the
+ * world (see {@link org.dyn4j.dynamics.Settings#setStepStatisticsEnabled(boolean)}) are 
+ * printed at the end of every iteration.  Use the JMH <code>-prof gc</code> option to
+ * measure the allocation rate.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class AbstractWorldBenchmark {
+	/** The broad-phase detector */
+	@Param
+	public BroadphaseType broadphase;
+	
+	/** The narrow-phase detector */
+	@Param
+	public NarrowphaseType narrowphase;
+	
+	/** The contact manager */
+	@Param
+	public ContactManagerType contactManager;
+	
+	/** True to collect and print per-phase timings */
+	@Param({"false"})
+	public boolean statistics;
+	
+	/** The world */
+	protected World world;
+	
+	/**
+	 * Returns a new world to benchmark.
+	 * @return {@link World}
+	 * @throws Exception if the world could not be created
+	 */
+	protected abstract World createWorld() throws Exception;
+	
+	/**
+	 * Creates and configures the world.
+	 * @throws Exception if the world could not be created
+	 */
+	@Setup(Level.Iteration)
+	public void setup() throws Exception {
+		this.world = this.createWorld();
+		int bodyCount = this.world.getBodyCount();
+		int jointCount = this.world.getJointCount();
+		this.world.setBroadphaseDetector(this.broadphase.create(bodyCount * 4 / 3 + 1));
+		this.world.setNarrowphaseDetector(this.narrowphase.create());
+		this.world.setContactManager(this.contactManager.create(new Capacity(bodyCount, jointCount, Capacity.DEFAULT_CAPACITY.getListenerCount())));
+		this.world.getSettings().setStepStatisticsEnabled(this.statistics);
+	}
+	
+	/**
+	 * Prints the per-phase timings when statistics are enabled.
+	 */
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		if (!this.statistics) return;
+		StepHistogram histogram = this.world.getStepHistogram();
+		double n = Math.max(histogram.getStepCount(), 1) * 1000.0;
+		System.out.println();
+		System.out.println(String.format(
+				"steps=%d avg=%.1fus p99=%dus broadphase=%.1fus narrowphase=%.1fus manifold=%.1fus contacts=%.1fus islands=%.1fus solve=%.1fus toi=%.1fus",
+				histogram.getStepCount(),
+				histogram.getAverageStepTime() / 1000.0,
+				histogram.getPercentileStepTime(0.99) / 1000,
+				histogram.getTotalBroadphaseTime() / n,
+				histogram.getTotalNarrowphaseTime() / n,
+				histogram.getTotalManifoldTime() / n,
+				histogram.getTotalContactUpdateTime() / n,
+				histogram.getTotalIslandTime() / n,
+				histogram.getTotalSolveTime() / n,
+				histogram.getTotalTimeOfImpactTime() / n));
+	}
+	
+	/**
+	 * Performs one fixed time step.
+	 * @return {@link World}
+	 */
+	@Benchmark
+	public World step() {
+		this.world.step(1);
+		return this.world;
+	}
+}
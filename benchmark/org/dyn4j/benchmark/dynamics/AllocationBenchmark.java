@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import java.lang.management.ManagementFactory;
+
+import org.dyn4j.dynamics.World;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the number of bytes allocated by each {@link World} step of the Sandbox scenes.
+ * <p>
+ * The bytes are read from the JVM's per-thread allocation counter, so no profiler is needed.
+ * The {@link Allocation#bytes} and {@link Allocation#steps} counters are summed over the 
+ * measurement iterations and are reported next to the steps per second; their quotient is 
+ * the number of bytes allocated per step.
+ * Run only the {@link #allocation(Allocation)} benchmark to skip the inherited step benchmark:
+ * <pre>
+ * java -jar benchmarks.jar AllocationBenchmark.allocation
+ * </pre>
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see SceneBenchmark
+ */
+public class AllocationBenchmark extends SceneBenchmark {
+	/**
+	 * Counts the bytes allocated by the benchmark thread during an iteration.
+	 * @author William Bittle
+	 * @version 3.2.4
+	 * @since 3.2.4
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Allocation {
+		/** The thread management bean */
+		private final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		
+		/** The allocated bytes of the thread at the beginning of the iteration */
+		private long start;
+		
+		/** The number of steps performed in the iteration */
+		public long steps;
+		
+		/** The number of bytes allocated in the iteration */
+		public long bytes;
+		
+		/**
+		 * Resets the counters.
+		 */
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.steps = 0;
+			this.bytes = 0;
+			this.start = this.bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		
+		/**
+		 * Records the bytes allocated since the beginning of the iteration.
+		 */
+		void record() {
+			this.steps++;
+			this.bytes = this.bean.getThreadAllocatedBytes(Thread.currentThread().getId()) - this.start;
+		}
+	}
+	
+	/**
+	 * Performs one fixed time step and records the allocated bytes.
+	 * @param allocation the allocation counters
+	 * @return {@link World}
+	 */
+	@Benchmark
+	public World allocation(Allocation allocation) {
+		this.world.step(1);
+		allocation.record();
+		return this.world;
+	}
+}
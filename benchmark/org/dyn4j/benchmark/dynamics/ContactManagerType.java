@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import org.dyn4j.dynamics.Capacity;
+import org.dyn4j.dynamics.contact.ContactManager;
+import org.dyn4j.dynamics.contact.SimpleContactManager;
+import org.dyn4j.dynamics.contact.WarmStartingContactManager;
+
+/**
+ * Enumeration of the {@link ContactManager}s used by the world benchmarks.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public enum ContactManagerType {
+	/** The {@link WarmStartingContactManager} */
+	WARM_STARTING,
+	
+	/** The {@link SimpleContactManager} */
+	SIMPLE;
+	
+	/**
+	 * Returns a new {@link ContactManager} of this type.
+	 * @param initialCapacity the initial capacity
+	 * @return {@link ContactManager}
+	 */
+	public ContactManager create(Capacity initialCapacity) {
+		switch (this) {
+			case SIMPLE:
+				return new SimpleContactManager(initialCapacity);
+			default:
+				return new WarmStartingContactManager(initialCapacity);
+		}
+	}
+}
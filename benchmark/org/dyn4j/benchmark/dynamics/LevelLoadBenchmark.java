@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.Capacity;
+import org.dyn4j.dynamics.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks loading a level into an empty {@link World}.
+ * <p>
+ * The {@link #addBody()} benchmark adds the bodies one at a time and the {@link #addBodies()}
+ * benchmark adds them with a single call to {@link World#addBodies(java.util.Collection)}.
+ * The bodies are the same as the {@link ScaledWorldBenchmark} and are recreated before
+ * every invocation since a body can only be added to one world.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelLoadBenchmark {
+	/** The broad-phase detector */
+	@Param
+	public BroadphaseType broadphase;
+	
+	/** The number of dynamic bodies */
+	@Param({"1000", "10000", "100000"})
+	public int bodyCount;
+	
+	/** The bodies to add */
+	private List<Body> bodies;
+	
+	/** The empty world */
+	private World world;
+	
+	/**
+	 * Creates the bodies and an empty world.
+	 */
+	@Setup(Level.Invocation)
+	public void setup() {
+		this.bodies = ScaledWorldBenchmark.createBodies(this.bodyCount);
+		this.world = new World(new Capacity(this.bodyCount + 1, 0, Capacity.DEFAULT_CAPACITY.getListenerCount()));
+		this.world.setBroadphaseDetector(this.broadphase.create(this.bodyCount * 4 / 3 + 1));
+	}
+	
+	/**
+	 * Adds the bodies one at a time.
+	 * @return {@link World}
+	 */
+	@Benchmark
+	public World addBody() {
+		int size = this.bodies.size();
+		for (int i = 0; i < size; i++) {
+			this.world.addBody(this.bodies.get(i));
+		}
+		return this.world;
+	}
+	
+	/**
+	 * Adds the bodies in bulk.
+	 * @return {@link World}
+	 */
+	@Benchmark
+	public World addBodies() {
+		this.world.addBodies(this.bodies);
+		return this.world;
+	}
+}
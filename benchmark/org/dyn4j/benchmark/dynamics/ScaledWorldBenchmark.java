@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.Capacity;
+import org.dyn4j.dynamics.World;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks procedurally generated worlds of increasing size.
+ * <p>
+ * The world is a grid of stacked boxes, circles and triangles on top of a wide static
+ * ground.  Columns are separated by a small gap so that the stacks settle into many
+ * independent islands, similar to most large game scenes.  The shapes are chosen using 
+ * a fixed seed so that the world is the same for every run.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class ScaledWorldBenchmark extends AbstractWorldBenchmark {
+	/** The seed used to select the shapes */
+	private static final long SEED = 0x5eed;
+	
+	/** The spacing between the bodies */
+	private static final double SPACING = 1.1;
+	
+	/** The number of dynamic bodies */
+	@Param({"1000", "10000", "100000"})
+	public int bodyCount;
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.benchmark.dynamics.AbstractWorldBenchmark#createWorld()
+	 */
+	@Override
+	protected World createWorld() {
+		return createWorld(this.bodyCount);
+	}
+	
+	/**
+	 * Returns a new world with the given number of dynamic bodies.
+	 * @param bodyCount the number of dynamic bodies
+	 * @return {@link World}
+	 */
+	static World createWorld(int bodyCount) {
+		World world = new World(new Capacity(bodyCount + 1, 0, Capacity.DEFAULT_CAPACITY.getListenerCount()));
+		for (Body body : createBodies(bodyCount)) {
+			world.addBody(body);
+		}
+		return world;
+	}
+	
+	/**
+	 * Returns the static ground followed by the given number of dynamic bodies.
+	 * @param bodyCount the number of dynamic bodies
+	 * @return List&lt;{@link Body}&gt;
+	 */
+	static List<Body> createBodies(int bodyCount) {
+		Random random = new Random(SEED);
+		
+		// keep the stacks short so they are stable
+		int rows = Math.min(bodyCount, 10);
+		int columns = (bodyCount + rows - 1) / rows;
+		double width = columns * SPACING;
+		
+		List<Body> bodies = new ArrayList<Body>(bodyCount + 1);
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(width + 10.0, 1.0));
+		ground.translate(width * 0.5, -0.5);
+		ground.setMass(MassType.INFINITE);
+		bodies.add(ground);
+		
+		for (int i = 0; i < bodyCount; i++) {
+			int column = i / rows;
+			int row = i % rows;
+			
+			Convex shape;
+			switch (random.nextInt(3)) {
+				case 0:
+					shape = Geometry.createCircle(0.5);
+					break;
+				case 1:
+					shape = Geometry.createIsoscelesTriangle(1.0, 1.0);
+					break;
+				default:
+					shape = Geometry.createSquare(1.0);
+					break;
+			}
+			
+			Body body = new Body();
+			body.addFixture(shape);
+			body.translate(column * SPACING + SPACING * 0.5, row * SPACING + 0.55);
+			body.setMass(MassType.NORMAL);
+			bodies.add(body);
+		}
+		
+		return bodies;
+	}
+}
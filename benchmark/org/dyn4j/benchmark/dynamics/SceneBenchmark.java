@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.dyn4j.dynamics.World;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the scenes shipped with the Sandbox.
+ * <p>
+ * The scenes are loaded from the classpath under <code>/org/dyn4j/sandbox/tests/</code>,
+ * so the sandbox source folder must be on the classpath.  
+ * Alternatively, the {@link #scene} parameter can be the path to a scene file.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see SceneReader
+ */
+public class SceneBenchmark extends AbstractWorldBenchmark {
+	/** The location of the Sandbox scenes on the classpath */
+	private static final String SCENE_PATH = "/org/dyn4j/sandbox/tests/";
+	
+	/** The scene name or file path */
+	@Param({"Pyramid", "Stack", "Bridge", "Chain", "Funnel", "Bullet", "RaycastPerformance"})
+	public String scene;
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.benchmark.dynamics.AbstractWorldBenchmark#createWorld()
+	 */
+	@Override
+	protected World createWorld() throws Exception {
+		InputStream stream = SceneBenchmark.class.getResourceAsStream(SCENE_PATH + this.scene + ".xml");
+		if (stream == null) {
+			File file = new File(this.scene);
+			if (!file.isFile()) {
+				throw new IllegalArgumentException("Scene not found on the classpath or file system: " + this.scene);
+			}
+			stream = new FileInputStream(file);
+		}
+		try {
+			return SceneReader.fromXml(stream);
+		} finally {
+			stream.close();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmark.dynamics;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.World;
+import org.dyn4j.sandbox.persist.XmlWorldReader;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Headless reader for the Sandbox simulation file format.
+ * <p>
+ * Uses the Sandbox's {@link XmlWorldReader} to create plain {@link Body}s instead of 
+ * the Sandbox's OpenGL renderable bodies so that the Sandbox scenes can be used without 
+ * JOGL on the classpath.  The camera, colors and rays are ignored.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class SceneReader extends XmlWorldReader<Body> {
+	/**
+	 * Hidden constructor.
+	 */
+	private SceneReader() {}
+	
+	/**
+	 * Returns a new world from the given stream.
+	 * @param stream the input stream containing the xml
+	 * @return {@link World}
+	 * @throws ParserConfigurationException thrown if a SAX configuration error occurs
+	 * @throws SAXException thrown if a parsing error occurs
+	 * @throws IOException thrown if an IO error occurs
+	 */
+	public static World fromXml(InputStream stream) throws ParserConfigurationException, SAXException, IOException {
+		SAXParserFactory factory = SAXParserFactory.newInstance();
+		SAXParser parser = factory.newSAXParser();
+		
+		SceneReader reader = new SceneReader();
+		parser.parse(new InputSource(stream), reader);
+		
+		return reader.createWorld();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.sandbox.persist.XmlWorldReader#createBody(java.lang.String)
+	 */
+	@Override
+	protected Body createBody(String name) {
+		Body body = new Body();
+		body.setUserData(name);
+		return body;
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+/**
+ * Package containing the JMH performance benchmarks.
+ * <p>
+ * The benchmarks are not part of the library and are built separately.  To build
+ * them, compile this source folder with the library classes, 
+ * <a href="http://openjdk.java.net/projects/code-tools/jmh/">jmh-core</a> and 
+ * jmh-generator-annprocess (used as an annotation processor) on the classpath.
+ * The scene benchmarks also need the Sandbox's <code>persist/XmlWorldReader.java</code> 
+ * and <code>resources/Messages.java</code>, which don't depend on JOGL.  For example:
+ * <pre>
+ * javac -cp dyn4j.jar:jmh-core.jar:jmh-generator-annprocess.jar -d bin [benchmark sources] [sandbox sources]
+ * java -cp bin:dyn4j.jar:jmh-core.jar:jopt-simple.jar:commons-math3.jar org.openjdk.jmh.Main NarrowphaseBenchmark
+ * </pre>
+ * Every benchmark is parameterized, so it's recommended to restrict the parameters
+ * to the ones of interest using the JMH <code>-p</code> option:
+ * <pre>
+ * ... org.openjdk.jmh.Main NarrowphaseBenchmark.gjk -p shape1=POLYGON -p shape2=CIRCLE
+ * </pre>
+ * The world benchmarks read the Sandbox scene files and messages from the classpath, 
+ * so add the sandbox source folder to the classpath when running them:
+ * <pre>
+ * java -cp bin:dyn4j.jar:sandbox:... org.openjdk.jmh.Main SceneBenchmark -p scene=Pyramid -prof gc
+ * </pre>
+ * @author William Bittle 
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+package org.dyn4j.benchmark;
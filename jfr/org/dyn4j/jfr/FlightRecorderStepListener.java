@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.jfr;
+
+import jdk.jfr.EventType;
+
+import org.dyn4j.dynamics.Step;
+import org.dyn4j.dynamics.StepListener;
+import org.dyn4j.dynamics.StepPhaseListener;
+import org.dyn4j.dynamics.World;
+
+/**
+ * Emits JDK Flight Recorder events for the phases of a {@link World} step.
+ * <p>
+ * The following events are emitted:
+ * <ul>
+ * <li>org.dyn4j.WorldStep for each step</li>
+ * <li>org.dyn4j.Detect for each collision detection pass</li>
+ * <li>org.dyn4j.IslandSolve for each island with at least {@link #getLargeIslandBodyCount()} bodies</li>
+ * <li>org.dyn4j.TimeOfImpact for each time of impact pass</li>
+ * <li>org.dyn4j.BroadphaseRebuild when a new broad-phase detector is set</li>
+ * </ul>
+ * Events are only created when they are enabled in a running recording and are
+ * only populated and committed when they exceed the recording's threshold.
+ * <p>
+ * A listener instance keeps the in-progress events for a single {@link World} and
+ * therefore should not be shared between {@link World}s stepped on different threads.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class FlightRecorderStepListener implements StepListener, StepPhaseListener {
+	/** The default minimum number of bodies for an island to be recorded */
+	public static final int DEFAULT_LARGE_ISLAND_BODY_COUNT = 64;
+	
+	/** The org.dyn4j.WorldStep event type */
+	private static final EventType WORLD_STEP = EventType.getEventType(WorldStepEvent.class);
+	
+	/** The org.dyn4j.Detect event type */
+	private static final EventType DETECT = EventType.getEventType(DetectEvent.class);
+	
+	/** The org.dyn4j.IslandSolve event type */
+	private static final EventType ISLAND_SOLVE = EventType.getEventType(IslandSolveEvent.class);
+	
+	/** The org.dyn4j.TimeOfImpact event type */
+	private static final EventType TIME_OF_IMPACT = EventType.getEventType(TimeOfImpactEvent.class);
+	
+	/** The org.dyn4j.BroadphaseRebuild event type */
+	private static final EventType BROADPHASE_REBUILD = EventType.getEventType(BroadphaseRebuildEvent.class);
+	
+	/** The minimum number of bodies for an island to be recorded */
+	private final int largeIslandBodyCount;
+	
+	/** The current step event */
+	private WorldStepEvent stepEvent;
+	
+	/** The current detect event */
+	private DetectEvent detectEvent;
+	
+	/** The current island event */
+	private IslandSolveEvent islandEvent;
+	
+	/** The current time of impact event */
+	private TimeOfImpactEvent timeOfImpactEvent;
+	
+	/** The current broad-phase rebuild event */
+	private BroadphaseRebuildEvent broadphaseRebuildEvent;
+	
+	/** The number of pairs found in the current step */
+	private int pairCount;
+	
+	/** The number of islands solved in the current step */
+	private int islandCount;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses {@link #DEFAULT_LARGE_ISLAND_BODY_COUNT} for the large island body count.
+	 */
+	public FlightRecorderStepListener() {
+		this(DEFAULT_LARGE_ISLAND_BODY_COUNT);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param largeIslandBodyCount the minimum number of bodies an island must have to be recorded
+	 */
+	public FlightRecorderStepListener(int largeIslandBodyCount) {
+		this.largeIslandBodyCount = largeIslandBodyCount;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#begin(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void begin(Step step, World world) {
+		this.pairCount = 0;
+		this.islandCount = 0;
+		// don't create the event unless it's recorded
+		if (!WORLD_STEP.isEnabled()) return;
+		this.stepEvent = new WorldStepEvent();
+		this.stepEvent.begin();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#updatePerformed(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void updatePerformed(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#postSolve(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void postSolve(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#end(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void end(Step step, World world) {
+		WorldStepEvent event = this.stepEvent;
+		if (event == null) return;
+		this.stepEvent = null;
+		event.end();
+		if (event.shouldCommit()) {
+			event.bodyCount = world.getBodyCount();
+			event.jointCount = world.getJointCount();
+			event.pairCount = this.pairCount;
+			event.islandCount = this.islandCount;
+			event.deltaTime = step.getDeltaTime();
+			event.commit();
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#detectBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void detectBegin(World world) {
+		if (!DETECT.isEnabled()) return;
+		this.detectEvent = new DetectEvent();
+		this.detectEvent.begin();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#detectEnd(org.dyn4j.dynamics.World, int, int, int)
+	 */
+	@Override
+	public void detectEnd(World world, int bodyCount, int pairCount, int contactConstraintCount) {
+		this.pairCount += pairCount;
+		DetectEvent event = this.detectEvent;
+		if (event == null) return;
+		this.detectEvent = null;
+		event.end();
+		if (event.shouldCommit()) {
+			event.bodyCount = bodyCount;
+			event.pairCount = pairCount;
+			event.contactConstraintCount = contactConstraintCount;
+			event.commit();
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#islandBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void islandBegin(World world) {
+		if (!ISLAND_SOLVE.isEnabled()) return;
+		this.islandEvent = new IslandSolveEvent();
+		this.islandEvent.begin();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#islandEnd(org.dyn4j.dynamics.World, int, int, int)
+	 */
+	@Override
+	public void islandEnd(World world, int bodyCount, int jointCount, int contactConstraintCount) {
+		this.islandCount++;
+		IslandSolveEvent event = this.islandEvent;
+		if (event == null) return;
+		this.islandEvent = null;
+		if (bodyCount < this.largeIslandBodyCount) return;
+		event.end();
+		if (event.shouldCommit()) {
+			event.bodyCount = bodyCount;
+			event.jointCount = jointCount;
+			event.contactConstraintCount = contactConstraintCount;
+			event.commit();
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#timeOfImpactBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void timeOfImpactBegin(World world) {
+		if (!TIME_OF_IMPACT.isEnabled()) return;
+		this.timeOfImpactEvent = new TimeOfImpactEvent();
+		this.timeOfImpactEvent.begin();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#timeOfImpactEnd(org.dyn4j.dynamics.World, int)
+	 */
+	@Override
+	public void timeOfImpactEnd(World world, int bodyCount) {
+		TimeOfImpactEvent event = this.timeOfImpactEvent;
+		if (event == null) return;
+		this.timeOfImpactEvent = null;
+		event.end();
+		if (event.shouldCommit()) {
+			event.bodyCount = bodyCount;
+			event.commit();
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#broadphaseRebuildBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void broadphaseRebuildBegin(World world) {
+		if (!BROADPHASE_REBUILD.isEnabled()) return;
+		this.broadphaseRebuildEvent = new BroadphaseRebuildEvent();
+		this.broadphaseRebuildEvent.begin();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#broadphaseRebuildEnd(org.dyn4j.dynamics.World, int)
+	 */
+	@Override
+	public void broadphaseRebuildEnd(World world, int bodyCount) {
+		BroadphaseRebuildEvent event = this.broadphaseRebuildEvent;
+		if (event == null) return;
+		this.broadphaseRebuildEvent = null;
+		event.end();
+		if (event.shouldCommit()) {
+			event.bodyCount = bodyCount;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Returns the minimum number of bodies an island must have to be recorded.
+	 * @return int
+	 */
+	public int getLargeIslandBodyCount() {
+		return this.largeIslandBodyCount;
+	}
+}
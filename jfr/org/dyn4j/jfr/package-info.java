@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+/**
+ * Package containing JDK Flight Recorder events for the phases of a 
+ * {@link org.dyn4j.dynamics.World} step.
+ * <p>
+ * Add an instance of the {@link org.dyn4j.jfr.FlightRecorderStepListener} to a 
+ * {@link org.dyn4j.dynamics.World} to emit the events.  The events are only
+ * recorded when a Flight Recorder recording with the events enabled is running,
+ * otherwise the listener does a negligible amount of work so it can remain 
+ * attached in production.
+ * <pre>
+ * world.addListener(new FlightRecorderStepListener());
+ * </pre>
+ * The events are in the "dyn4j" category and can be enabled in a recording 
+ * configuration by name, for example <code>org.dyn4j.WorldStep#enabled=true</code>.
+ * <p>
+ * This package requires Java 11 or higher and is built separately from the
+ * core library.
+ * @author William Bittle 
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+package org.dyn4j.jfr;
@@ -24,7 +24,10 @@
  */
 package org.dyn4j.collision;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import junit.framework.TestCase;
 
@@ -44,7 +47,7 @@ import org.junit.Test;
 /**
  * Class used to test the {@link BroadphaseDetector} methods.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.4
  * @since 3.0.0
  */
 public class BroadphaseTest {
@@ -115,6 +118,64 @@ public class BroadphaseTest {
 		TestCase.assertTrue(this.dyn.contains(ct, ct.getFixture(0)));
 	}
 	
+	/**
+	 * Tests the addAll method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void addAll() {
+		DynamicAABBTree<CollidableTest, Fixture> incremental = new DynamicAABBTree<CollidableTest, Fixture>();
+		List<CollidableTest> items = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				CollidableTest ct = new CollidableTest(Geometry.createCircle(0.6));
+				ct.translate(i, j);
+				items.add(ct);
+			}
+		}
+		
+		// add a few items first so that both paths are exercised
+		List<CollidableTest> first = items.subList(0, 10);
+		List<CollidableTest> rest = items.subList(10, items.size());
+		this.sap.addAll(first);
+		this.dyn.addAll(first);
+		this.sap.addAll(rest);
+		this.dyn.addAll(rest);
+		for (CollidableTest ct : items) {
+			incremental.add(ct);
+			TestCase.assertTrue(this.sap.contains(ct));
+			TestCase.assertTrue(this.dyn.contains(ct));
+		}
+		
+		// the pairs should be the same as adding one at a time
+		int expected = incremental.detect().size();
+		TestCase.assertEquals(expected, this.sap.detect().size());
+		TestCase.assertEquals(expected, this.dyn.detect().size());
+		
+		// queries should find the same items
+		AABB aabb = new AABB(4.5, 4.5, 8.5, 6.5);
+		TestCase.assertEquals(incremental.detect(aabb).size(), this.dyn.detect(aabb).size());
+		
+		// a small batch on a large tree is inserted incrementally
+		CollidableTest ct = new CollidableTest(Geometry.createCircle(0.6));
+		ct.translate(5.0, 5.0);
+		List<CollidableTest> small = new ArrayList<CollidableTest>();
+		small.add(ct);
+		this.dyn.addAll(small);
+		incremental.add(ct);
+		TestCase.assertTrue(this.dyn.contains(ct));
+		TestCase.assertEquals(incremental.detect().size(), this.dyn.detect().size());
+		
+		// the bulk loaded tree should support removal and updates
+		ct.translate(30.0, 0.0);
+		this.dyn.update(ct);
+		this.dyn.remove(ct);
+		for (CollidableTest item : rest) {
+			this.dyn.remove(item);
+		}
+		TestCase.assertEquals(first.size(), this.dyn.detect(new AABB(-1.0, -1.0, 21.0, 21.0)).size());
+	}
+	
 	/**
 	 * Tests the remove method.
 	 */
@@ -337,6 +398,62 @@ public class BroadphaseTest {
 		TestCase.assertEquals(1, pairs.size());
 	}
 	
+	/**
+	 * Tests the copy method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void copy() {
+		List<CollidableTest> items = new ArrayList<CollidableTest>();
+		Map<CollidableTest, CollidableTest> copies = new IdentityHashMap<CollidableTest, CollidableTest>();
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < 10; j++) {
+				CollidableTest ct = new CollidableTest(Geometry.createCircle(0.6));
+				ct.translate(i, j);
+				items.add(ct);
+				copies.put(ct, ct.copy());
+			}
+		}
+		this.sap.setAABBExpansion(0.3);
+		this.sap.addAll(items);
+		this.dyn.addAll(items);
+		
+		Sap<CollidableTest, Fixture> sap = this.sap.copy(copies);
+		DynamicAABBTree<CollidableTest, Fixture> dyn = this.dyn.copy(copies);
+		TestCase.assertEquals(0.3, sap.getAABBExpansion());
+		TestCase.assertEquals(this.sap.size(), sap.size());
+		TestCase.assertEquals(this.dyn.size(), dyn.size());
+		for (CollidableTest ct : items) {
+			CollidableTest copy = copies.get(ct);
+			TestCase.assertTrue(sap.contains(copy, copy.getFixture(0)));
+			TestCase.assertTrue(dyn.contains(copy, copy.getFixture(0)));
+			TestCase.assertEquals(this.sap.getAABB(ct).getMinX(), sap.getAABB(copy).getMinX());
+			TestCase.assertEquals(this.dyn.getAABB(ct).getMaxY(), dyn.getAABB(copy).getMaxY());
+		}
+		
+		// the copies should detect the same pairs, in the same order, between the copied collidables
+		List<BroadphasePair<CollidableTest, Fixture>> pairs = this.dyn.detect();
+		List<BroadphasePair<CollidableTest, Fixture>> cpairs = dyn.detect();
+		TestCase.assertEquals(pairs.size(), cpairs.size());
+		for (int i = 0; i < pairs.size(); i++) {
+			TestCase.assertSame(copies.get(pairs.get(i).getCollidable1()), cpairs.get(i).getCollidable1());
+			TestCase.assertSame(copies.get(pairs.get(i).getCollidable2()), cpairs.get(i).getCollidable2());
+			TestCase.assertSame(cpairs.get(i).getCollidable2().getFixture(0), cpairs.get(i).getFixture2());
+		}
+		TestCase.assertEquals(this.sap.detect().size(), sap.detect().size());
+		
+		// the copies should be independent of the originals
+		CollidableTest ct = items.get(0);
+		CollidableTest copy = copies.get(ct);
+		copy.translate(20.0, 0.0);
+		sap.update(copy);
+		dyn.update(copy);
+		TestCase.assertEquals(this.sap.getAABB(ct).getMinX() + 20.0, sap.getAABB(copy).getMinX(), 1.0e-8);
+		TestCase.assertEquals(this.dyn.getAABB(ct).getMinX() + 20.0, dyn.getAABB(copy).getMinX(), 1.0e-8);
+		TestCase.assertEquals(pairs.size(), this.dyn.detect().size());
+		TestCase.assertTrue(dyn.detect().size() < pairs.size());
+	}
+	
 	/**
 	 * Tests the detect method using an AABB.
 	 */
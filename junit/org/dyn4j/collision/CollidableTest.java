@@ -36,7 +36,7 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Test {@link Collidable} class for junit test cases.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class CollidableTest extends AbstractCollidable<Fixture> implements Collidable<Fixture>, Transformable {
@@ -60,6 +60,28 @@ public class CollidableTest extends AbstractCollidable<Fixture> implements Colli
 		this.fixtures.add(new BodyFixture(shape));
 		this.transform = new Transform();
 	}
+	
+	/**
+	 * Creates a copy of the given collidable.
+	 * @param collidable the collidable to copy
+	 * @see #copy()
+	 * @since 3.2.4
+	 */
+	private CollidableTest(CollidableTest collidable) {
+		super(collidable);
+		for (Fixture fixture : collidable.fixtures) {
+			this.fixtures.add(fixture.copy());
+		}
+	}
+	
+	/**
+	 * Returns a copy of this collidable with the same id and copies of its fixtures.
+	 * @return {@link CollidableTest}
+	 * @since 3.2.4
+	 */
+	public CollidableTest copy() {
+		return new CollidableTest(this);
+	}
 
 	@Override
 	public CollidableTest addFixture(Fixture fixture) {
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.collision.narrowphase.Sat;
+import org.dyn4j.geometry.Capsule;
+import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Ellipse;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Rectangle;
+import org.dyn4j.geometry.Segment;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link DispatchNarrowphaseDetector} class.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class DispatchNarrowphaseDetectorTest {
+	/** The detector */
+	private final DispatchNarrowphaseDetector detector = new DispatchNarrowphaseDetector();
+	
+	/**
+	 * Tests the constructors.
+	 */
+	@Test
+	public void create() {
+		TestCase.assertTrue(this.detector.getFallbackNarrowphaseDetector() instanceof Gjk);
+		Sat sat = new Sat();
+		TestCase.assertSame(sat, new DispatchNarrowphaseDetector(sat).getFallbackNarrowphaseDetector());
+	}
+	
+	/**
+	 * Tests the constructor with a null fallback detector.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullFallback() {
+		new DispatchNarrowphaseDetector(null);
+	}
+	
+	/**
+	 * Tests which pairs use a specialized routine.
+	 */
+	@Test
+	public void isSpecialized() {
+		Circle circle = new Circle(0.5);
+		Rectangle rectangle = new Rectangle(1.0, 1.0);
+		Segment segment = new Segment(new Vector2(-0.5, 0.0), new Vector2(0.5, 0.0));
+		Capsule capsule = new Capsule(1.0, 0.5);
+		Ellipse ellipse = new Ellipse(1.0, 0.5);
+		
+		Convex[] convexes = new Convex[] { circle, rectangle, segment, capsule };
+		for (Convex c1 : convexes) {
+			for (Convex c2 : convexes) {
+				TestCase.assertTrue(this.detector.isSpecialized(c1, c2));
+			}
+			TestCase.assertFalse(this.detector.isSpecialized(c1, ellipse));
+			TestCase.assertFalse(this.detector.isSpecialized(ellipse, c1));
+		}
+	}
+	
+	/**
+	 * Tests that unsupported pairs use the fallback detector.
+	 */
+	@Test
+	public void fallback() {
+		Circle circle = new Circle(0.5);
+		Ellipse ellipse = new Ellipse(1.0, 0.5);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(0.6, 0.0);
+		
+		Penetration p1 = new Penetration();
+		Penetration p2 = new Penetration();
+		TestCase.assertTrue(this.detector.detect(circle, t1, ellipse, t2, p1));
+		TestCase.assertTrue(new Gjk().detect(circle, t1, ellipse, t2, p2));
+		TestCase.assertEquals(p2.getDepth(), p1.getDepth(), 1.0e-9);
+		TestCase.assertEquals(p2.getNormal().x, p1.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(p2.getNormal().y, p1.getNormal().y, 1.0e-9);
+		TestCase.assertTrue(this.detector.detect(circle, t1, ellipse, t2));
+	}
+	
+	/**
+	 * Tests circle - circle collisions.
+	 */
+	@Test
+	public void circleCircle() {
+		Circle c1 = new Circle(1.0);
+		Circle c2 = new Circle(0.5);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Penetration p = new Penetration();
+		
+		// coincident centers give a zero normal like the CircleDetector
+		TestCase.assertTrue(this.detector.detect(c1, t1, c2, t2, p));
+		TestCase.assertTrue(p.getNormal().isZero());
+		TestCase.assertEquals(1.5, p.getDepth(), 1.0e-9);
+		
+		t2.translate(1.0, 0.0);
+		TestCase.assertTrue(this.detector.detect(c1, t1, c2, t2, p));
+		TestCase.assertEquals(1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.0, p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-9);
+		
+		// touching is not penetrating
+		t2.translate(0.5, 0.0);
+		TestCase.assertFalse(this.detector.detect(c1, t1, c2, t2, p));
+		TestCase.assertFalse(this.detector.detect(c1, t1, c2, t2));
+	}
+	
+	/**
+	 * Tests circle - polygon collisions for each region of the polygon.
+	 */
+	@Test
+	public void circlePolygon() {
+		Circle circle = new Circle(0.5);
+		Rectangle rectangle = new Rectangle(2.0, 2.0);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Penetration p = new Penetration();
+		
+		// center inside the polygon
+		t1.translate(0.75, 0.0);
+		TestCase.assertTrue(this.detector.detect(circle, t1, rectangle, t2, p));
+		TestCase.assertEquals(-1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals( 0.0, p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(0.75, p.getDepth(), 1.0e-9);
+		
+		// the reverse order flips the normal
+		TestCase.assertTrue(this.detector.detect(rectangle, t2, circle, t1, p));
+		TestCase.assertEquals(1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.75, p.getDepth(), 1.0e-9);
+		
+		// face region
+		t1.translate(0.5, 0.0);
+		TestCase.assertTrue(this.detector.detect(circle, t1, rectangle, t2, p));
+		TestCase.assertEquals(-1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.25, p.getDepth(), 1.0e-9);
+		
+		// vertex region
+		t1.identity();
+		t1.translate(1.2, 1.2);
+		TestCase.assertTrue(this.detector.detect(circle, t1, rectangle, t2, p));
+		double d = Math.sqrt(0.08);
+		TestCase.assertEquals(-Math.sqrt(0.5), p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(-Math.sqrt(0.5), p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(0.5 - d, p.getDepth(), 1.0e-9);
+		
+		// separated in the vertex region but not along the faces
+		t1.translate(0.2, 0.2);
+		TestCase.assertFalse(this.detector.detect(circle, t1, rectangle, t2, p));
+		TestCase.assertFalse(this.detector.detect(circle, t1, rectangle, t2));
+	}
+	
+	/**
+	 * Tests polygon - polygon collisions.
+	 */
+	@Test
+	public void polygonPolygon() {
+		Rectangle r1 = new Rectangle(2.0, 2.0);
+		Rectangle r2 = new Rectangle(1.0, 1.0);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Penetration p = new Penetration();
+		
+		t2.translate(1.0, 0.25);
+		TestCase.assertTrue(this.detector.detect(r1, t1, r2, t2, p));
+		TestCase.assertEquals(1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.0, p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-9);
+		
+		TestCase.assertTrue(this.detector.detect(r2, t2, r1, t1, p));
+		TestCase.assertEquals(-1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-9);
+		
+		// separated along the diagonal only
+		t2.identity();
+		t2.rotate(Math.toRadians(45.0));
+		t2.translate(1.0 + Math.sqrt(0.5) + 0.01, 1.0 + 0.01);
+		TestCase.assertFalse(this.detector.detect(r1, t1, r2, t2, p));
+		TestCase.assertFalse(this.detector.detect(r1, t1, r2, t2));
+	}
+	
+	/**
+	 * Tests segment and capsule collisions.
+	 */
+	@Test
+	public void segmentCapsule() {
+		Segment s1 = new Segment(new Vector2(-1.0, 0.0), new Vector2(1.0, 0.0));
+		Segment s2 = new Segment(new Vector2(0.0, -1.0), new Vector2(0.0, 1.0));
+		Capsule capsule = new Capsule(2.0, 0.5);
+		Circle circle = new Circle(0.5);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Penetration p = new Penetration();
+		
+		// crossing segments
+		t2.translate(0.5, 0.0);
+		TestCase.assertTrue(this.detector.detect(s1, t1, s2, t2, p));
+		TestCase.assertEquals(1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.0, p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-9);
+		
+		// parallel segments never penetrate
+		t2.identity();
+		t2.translate(0.0, 0.5);
+		TestCase.assertFalse(this.detector.detect(s1, t1, s1, t2, p));
+		
+		// capsule resting on a segment
+		TestCase.assertFalse(this.detector.detect(s1, t1, capsule, t2, p));
+		t2.translate(0.0, -0.3);
+		TestCase.assertTrue(this.detector.detect(s1, t1, capsule, t2, p));
+		TestCase.assertEquals(0.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(1.0, p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(0.05, p.getDepth(), 1.0e-9);
+		
+		// circle at the end of a capsule
+		t2.identity();
+		t1.translate(1.0, 0.0);
+		TestCase.assertTrue(this.detector.detect(circle, t1, capsule, t2, p));
+		TestCase.assertEquals(-1.0, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-9);
+		
+		// circle centered on a segment
+		t1.identity();
+		TestCase.assertTrue(this.detector.detect(circle, t1, s1, t2, p));
+		TestCase.assertEquals(1.0, Math.abs(p.getNormal().y), 1.0e-9);
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-9);
+	}
+	
+	/**
+	 * Compares the specialized routines to {@link Gjk} for random placements
+	 * of each shape pair.
+	 */
+	@Test
+	public void compareGjk() {
+		Convex[] convexes = new Convex[] {
+			new Circle(0.5),
+			Geometry.createUnitCirclePolygon(5, 0.6),
+			new Rectangle(1.0, 0.4),
+			Geometry.createTriangle(new Vector2(0.0, 0.0), new Vector2(1.0, 0.0), new Vector2(0.2, 0.8)),
+			new Segment(new Vector2(-0.6, 0.1), new Vector2(0.5, -0.2)),
+			new Capsule(1.2, 0.4),
+			new Capsule(0.3, 1.0)
+		};
+		Gjk gjk = new Gjk();
+		Random random = new Random(0);
+		int collisions = 0;
+		for (int i = 0; i < 20000; i++) {
+			Convex c1 = convexes[random.nextInt(convexes.length)];
+			Convex c2 = convexes[random.nextInt(convexes.length)];
+			Transform t1 = new Transform();
+			t1.rotate(random.nextDouble() * 2.0 * Math.PI);
+			t1.translate(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+			Transform t2 = new Transform();
+			t2.rotate(random.nextDouble() * 2.0 * Math.PI);
+			t2.translate(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+			
+			Penetration p1 = new Penetration();
+			Penetration p2 = new Penetration();
+			boolean b1 = this.detector.detect(c1, t1, c2, t2, p1);
+			boolean b2 = gjk.detect(c1, t1, c2, t2, p2);
+			TestCase.assertEquals(b1, this.detector.detect(c1, t1, c2, t2));
+			
+			if (b1 != b2) {
+				// only allowed when the shapes barely touch
+				TestCase.assertTrue(Math.max(p1.getDepth(), p2.getDepth()) < 1.0e-6);
+				continue;
+			}
+			if (!b1) continue;
+			
+			collisions++;
+			TestCase.assertEquals(p2.getDepth(), p1.getDepth(), 1.0e-5);
+			if (p1.getDepth() > 1.0e-4) {
+				TestCase.assertTrue(p1.getNormal().dot(p2.getNormal()) > 0.999);
+			}
+		}
+		TestCase.assertTrue(collisions > 1000);
+	}
+}
@@ -26,8 +26,10 @@ package org.dyn4j.collision;
 
 import junit.framework.TestCase;
 
+import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Transform;
 import org.junit.Test;
 
 /**
@@ -125,4 +127,36 @@ public class FixtureTest {
 		TestCase.assertNotNull(fixture.getUserData());
 		TestCase.assertSame(obj, fixture.getUserData());
 	}
+	
+	/**
+	 * Tests that the world space AABB is retained until the transform or shape changes.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void getAABB() {
+		Fixture fixture = new Fixture(Geometry.createUnitCirclePolygon(5, 1.0));
+		Transform tx = new Transform();
+		
+		AABB aabb = fixture.getAABB(tx);
+		TestCase.assertSame(aabb, fixture.getAABB(tx));
+		double minx = aabb.getMinX();
+		double miny = aabb.getMinY();
+		
+		// modifying the transform should recompute it
+		tx.translate(1.0, 0.0);
+		aabb = fixture.getAABB(tx);
+		TestCase.assertEquals(minx + 1.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(miny, aabb.getMinY(), 1.0e-8);
+		
+		// modifying the shape should recompute it
+		fixture.getShape().translate(0.0, 2.0);
+		aabb = fixture.getAABB(tx);
+		TestCase.assertEquals(minx + 1.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(miny + 2.0, aabb.getMinY(), 1.0e-8);
+		
+		// a different transform should recompute it
+		aabb = fixture.getAABB(new Transform());
+		TestCase.assertEquals(minx, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(miny + 2.0, aabb.getMinY(), 1.0e-8);
+	}
 }
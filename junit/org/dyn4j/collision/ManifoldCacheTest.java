@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision;
+
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.manifold.CachingManifoldSolver;
+import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldCache;
+import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.manifold.ManifoldPointId;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Feature;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link ManifoldCache} class and the {@link CachingManifoldSolver}s.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class ManifoldCacheTest {
+	/**
+	 * Tests that the {@link ClippingManifoldSolver} returns the same manifolds with and 
+	 * without a {@link ManifoldCache} for polygons.
+	 */
+	@Test
+	public void compare() {
+		ClippingManifoldSolver solver = new ClippingManifoldSolver();
+		Gjk gjk = new Gjk();
+		Random random = new Random(6);
+		
+		Convex[] shapes = new Convex[] {
+			Geometry.createUnitCirclePolygon(64, 1.0),
+			Geometry.createRectangle(2.0, 0.5),
+			Geometry.createTriangle(new Vector2(-0.5, -0.5), new Vector2(0.5, -0.5), new Vector2(0.0, 0.5)),
+			Geometry.createHorizontalSegment(2.0)
+		};
+		
+		int count = 0;
+		for (int i = 0; i < shapes.length; i++) {
+			for (int j = 0; j < shapes.length; j++) {
+				Convex c1 = shapes[i];
+				Convex c2 = shapes[j];
+				ManifoldCache cache = new ManifoldCache();
+				Transform t1 = new Transform();
+				Transform t2 = new Transform();
+				t2.translate(0.5, 0.5);
+				// move the second shape around the first, in small steps, 
+				// giving the pair in both orders
+				for (int k = 0; k < 400; k++) {
+					t2.rotate(random.nextDouble() * 0.2 - 0.1, t2.getTranslation());
+					t2.translate(random.nextDouble() * 0.1 - 0.05, random.nextDouble() * 0.1 - 0.05);
+					t2.setTranslation(Math.max(-1.5, Math.min(1.5, t2.getTranslationX())), Math.max(-1.5, Math.min(1.5, t2.getTranslationY())));
+					
+					boolean reverse = k % 50 >= 40;
+					Convex a = reverse ? c2 : c1;
+					Convex b = reverse ? c1 : c2;
+					Transform ta = reverse ? t2 : t1;
+					Transform tb = reverse ? t1 : t2;
+					
+					Penetration p = new Penetration();
+					if (!gjk.detect(a, ta, b, tb, p)) continue;
+					
+					Manifold m1 = new Manifold();
+					Manifold m2 = new Manifold();
+					Penetration p2 = new Penetration(p.getNormal().copy(), p.getDepth());
+					boolean r1 = solver.getManifold(p, a, ta, b, tb, m1);
+					boolean r2 = solver.getManifold(p2, a, ta, b, tb, m2, cache);
+					
+					TestCase.assertEquals(r1, r2);
+					if (!r1) continue;
+					count++;
+					TestCase.assertEquals(m1.getNormal(), m2.getNormal());
+					List<ManifoldPoint> points1 = m1.getPoints();
+					List<ManifoldPoint> points2 = m2.getPoints();
+					TestCase.assertEquals(points1.size(), points2.size());
+					for (int l = 0; l < points1.size(); l++) {
+						ManifoldPoint mp1 = points1.get(l);
+						ManifoldPoint mp2 = points2.get(l);
+						TestCase.assertEquals(mp1.getId(), mp2.getId());
+						TestCase.assertEquals(mp1.getPoint(), mp2.getPoint());
+						TestCase.assertEquals(mp1.getDepth(), mp2.getDepth());
+					}
+				}
+			}
+		}
+		
+		// make sure enough were in collision
+		TestCase.assertTrue(count > 1000);
+	}
+	
+	/**
+	 * Tests that contacts of curved shapes get the same id each time when enabled.
+	 */
+	@Test
+	public void curvedIds() {
+		ClippingManifoldSolver solver = new ClippingManifoldSolver();
+		Gjk gjk = new Gjk();
+		ManifoldCache cache = new ManifoldCache();
+		
+		Convex c1 = Geometry.createSquare(1.0);
+		Convex c2 = new Circle(0.5);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(0.0, 0.9);
+		
+		// by default the contacts are matched by distance
+		Penetration p = new Penetration();
+		Manifold m = new Manifold();
+		TestCase.assertTrue(gjk.detect(c1, t1, c2, t2, p));
+		TestCase.assertTrue(solver.getManifold(p, c1, t1, c2, t2, m, cache));
+		TestCase.assertSame(ManifoldPointId.DISTANCE, m.getPoints().get(0).getId());
+		TestCase.assertFalse(solver.isPointFeatureIdsEnabled());
+		
+		solver.setPointFeatureIdsEnabled(true);
+		TestCase.assertTrue(solver.isPointFeatureIdsEnabled());
+		
+		// the circle rolls along the square
+		ManifoldPointId id = null;
+		for (int i = 0; i < 10; i++) {
+			t2.translate(0.05, 0.0);
+			TestCase.assertTrue(gjk.detect(c1, t1, c2, t2, p));
+			TestCase.assertTrue(solver.getManifold(p, c1, t1, c2, t2, m, cache));
+			TestCase.assertEquals(1, m.getPoints().size());
+			ManifoldPointId current = m.getPoints().get(0).getId();
+			TestCase.assertTrue(current instanceof IndexedManifoldPointId);
+			if (id != null) {
+				TestCase.assertEquals(id, current);
+			}
+			id = current;
+		}
+		IndexedManifoldPointId iid = (IndexedManifoldPointId)id;
+		TestCase.assertEquals(Feature.NOT_INDEXED, iid.getReferenceEdge());
+		TestCase.assertEquals(Feature.NOT_INDEXED, iid.getIncidentEdge());
+		// the point is on the second shape
+		TestCase.assertTrue(iid.isFlipped());
+		
+		// the contact of the pair in the opposite order has a different id
+		TestCase.assertTrue(gjk.detect(c2, t2, c1, t1, p));
+		TestCase.assertTrue(solver.getManifold(p, c2, t2, c1, t1, m, cache));
+		TestCase.assertFalse(id.equals(m.getPoints().get(0).getId()));
+	}
+	
+	/**
+	 * Tests the clear method.
+	 */
+	@Test
+	public void clear() {
+		ClippingManifoldSolver solver = new ClippingManifoldSolver();
+		ManifoldCache cache = new ManifoldCache();
+		
+		Convex c1 = Geometry.createUnitCirclePolygon(16, 1.0);
+		Convex c2 = Geometry.createSquare(1.0);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(0.0, -1.4);
+		
+		Penetration p = new Penetration();
+		Manifold m1 = new Manifold();
+		Manifold m2 = new Manifold();
+		TestCase.assertTrue(new Gjk().detect(c1, t1, c2, t2, p));
+		Penetration p2 = new Penetration(p.getNormal().copy(), p.getDepth());
+		TestCase.assertTrue(solver.getManifold(p, c1, t1, c2, t2, m1, cache));
+		
+		cache.clear();
+		TestCase.assertTrue(solver.getManifold(p2, c1, t1, c2, t2, m2, cache));
+		TestCase.assertEquals(m1.getPoints().size(), m2.getPoints().size());
+		TestCase.assertEquals(m1.getPoints().get(0).getPoint(), m2.getPoints().get(0).getPoint());
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.narrowphase.CachingNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.NarrowphaseCache;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.collision.narrowphase.Sat;
+import org.dyn4j.geometry.Capsule;
+import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Ellipse;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Rectangle;
+import org.dyn4j.geometry.Segment;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link NarrowphaseCache} class and the {@link CachingNarrowphaseDetector}s.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class NarrowphaseCacheTest {
+	/**
+	 * Tests the separating axis retained by {@link Gjk}.
+	 */
+	@Test
+	public void gjk() {
+		this.test(new Gjk());
+	}
+	
+	/**
+	 * Tests the separating axis retained by {@link Sat}.
+	 */
+	@Test
+	public void sat() {
+		this.test(new Sat());
+	}
+	
+	/**
+	 * Tests that {@link Gjk} returns the same results with and without a {@link NarrowphaseCache}.
+	 */
+	@Test
+	public void compareGjk() {
+		this.compare(new Gjk(), new Gjk(), new Ellipse(1.0, 0.5));
+	}
+	
+	/**
+	 * Tests that {@link Sat} returns the same results with and without a {@link NarrowphaseCache}.
+	 */
+	@Test
+	public void compareSat() {
+		this.compare(new Sat(), new Sat(), Geometry.createPolygonalEllipse(8, 1.0, 0.5));
+	}
+	
+	/**
+	 * Tests the clear method.
+	 */
+	@Test
+	public void clear() {
+		NarrowphaseCache cache = new NarrowphaseCache();
+		TestCase.assertFalse(cache.isSeparated());
+		TestCase.assertNull(cache.getSeparatingAxis());
+		
+		Convex c1 = Geometry.createSquare(1.0);
+		Convex c2 = Geometry.createSquare(1.0);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(2.0, 0.0);
+		
+		TestCase.assertFalse(new Gjk().detect(c1, t1, c2, t2, new Penetration(), cache));
+		TestCase.assertTrue(cache.isSeparated());
+		TestCase.assertNotNull(cache.getSeparatingAxis());
+		
+		cache.clear();
+		TestCase.assertFalse(cache.isSeparated());
+		TestCase.assertNull(cache.getSeparatingAxis());
+	}
+	
+	/**
+	 * Tests the retained separating axis of the given detector.
+	 * @param detector the detector
+	 */
+	private void test(CachingNarrowphaseDetector detector) {
+		NarrowphaseCache cache = new NarrowphaseCache();
+		Penetration p = new Penetration();
+		
+		Convex c1 = Geometry.createSquare(1.0);
+		Convex c2 = Geometry.createUnitCirclePolygon(6, 0.5);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(2.0, 0.0);
+		
+		// separated
+		TestCase.assertFalse(detector.detect(c1, t1, c2, t2, p, cache));
+		TestCase.assertTrue(cache.isSeparated());
+		Vector2 axis = cache.getSeparatingAxis();
+		TestCase.assertEquals(1.0, axis.getMagnitude(), 1.0e-8);
+		// the first shape must be behind the second
+		TestCase.assertTrue(c1.project(axis, t1).getMax() < c2.project(axis, t2).getMin());
+		
+		// still separated
+		t2.translate(-0.2, 0.1);
+		TestCase.assertFalse(detector.detect(c1, t1, c2, t2, p, cache));
+		TestCase.assertTrue(cache.isSeparated());
+		
+		// the same pair in the opposite order
+		TestCase.assertFalse(detector.detect(c2, t2, c1, t1, p, cache));
+		axis = cache.getSeparatingAxis();
+		TestCase.assertTrue(c2.project(axis, t2).getMax() < c1.project(axis, t1).getMin());
+		TestCase.assertFalse(detector.detect(c1, t1, c2, t2, p, cache));
+		axis = cache.getSeparatingAxis();
+		TestCase.assertTrue(c1.project(axis, t1).getMax() < c2.project(axis, t2).getMin());
+		
+		// overlapping
+		t2.translate(-0.9, 0.0);
+		TestCase.assertTrue(detector.detect(c1, t1, c2, t2, p, cache));
+		TestCase.assertFalse(cache.isSeparated());
+		Penetration expected = new Penetration();
+		TestCase.assertTrue(detector.detect(c1, t1, c2, t2, expected));
+		TestCase.assertEquals(expected.getDepth(), p.getDepth());
+		TestCase.assertEquals(expected.getNormal(), p.getNormal());
+		
+		// separated again
+		t2.translate(0.0, 2.0);
+		TestCase.assertFalse(detector.detect(c1, t1, c2, t2, p, cache));
+		TestCase.assertTrue(cache.isSeparated());
+		
+		// a different pair whose shapes overlap along the retained axis
+		Transform t3 = new Transform();
+		t3.translate(0.5, 0.0);
+		TestCase.assertTrue(detector.detect(c1, t1, c2, t3, p, cache));
+		TestCase.assertFalse(cache.isSeparated());
+	}
+	
+	/**
+	 * Moves random pairs of shapes in small steps and compares the results of 
+	 * the detectors with and without a {@link NarrowphaseCache}.
+	 * @param cached the detector using a cache
+	 * @param uncached the detector not using a cache
+	 * @param other an additional shape supported by the detector
+	 */
+	private void compare(CachingNarrowphaseDetector cached, CachingNarrowphaseDetector uncached, Convex other) {
+		Convex[] convexes = new Convex[] {
+			new Circle(0.5),
+			Geometry.createUnitCirclePolygon(5, 0.6),
+			Geometry.createUnitCirclePolygon(40, 0.5),
+			new Rectangle(1.0, 0.4),
+			new Segment(new Vector2(-0.6, 0.1), new Vector2(0.5, -0.2)),
+			new Capsule(1.2, 0.4),
+			other
+		};
+		Random random = new Random(1);
+		int collisions = 0;
+		int separations = 0;
+		for (int i = 0; i < 200; i++) {
+			Convex c1 = convexes[random.nextInt(convexes.length)];
+			Convex c2 = convexes[random.nextInt(convexes.length)];
+			Transform t1 = new Transform();
+			Transform t2 = new Transform();
+			t2.translate(random.nextDouble() * 4.0 - 2.0, random.nextDouble() * 4.0 - 2.0);
+			double dx = random.nextDouble() * 0.1 - 0.05;
+			double dy = random.nextDouble() * 0.1 - 0.05;
+			double da = random.nextDouble() * 0.2 - 0.1;
+			NarrowphaseCache cache = new NarrowphaseCache();
+			for (int j = 0; j < 50; j++) {
+				t2.translate(dx, dy);
+				t2.rotate(da, t2.getTranslation());
+				t1.rotate(-da);
+				
+				Penetration p1 = new Penetration();
+				Penetration p2 = new Penetration();
+				boolean b1 = cached.detect(c1, t1, c2, t2, p1, cache);
+				boolean b2 = uncached.detect(c1, t1, c2, t2, p2);
+				TestCase.assertEquals(b2, b1);
+				if (b1) {
+					TestCase.assertEquals(p2.getDepth(), p1.getDepth());
+					TestCase.assertEquals(p2.getNormal(), p1.getNormal());
+					collisions++;
+				} else {
+					separations++;
+				}
+			}
+		}
+		TestCase.assertTrue(collisions > 100);
+		TestCase.assertTrue(separations > 100);
+	}
+}
@@ -32,7 +32,9 @@ import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Sat;
 import org.dyn4j.collision.narrowphase.Separation;
@@ -47,7 +49,7 @@ import org.junit.Test;
 /**
  * Test case for {@link Polygon} - {@link Polygon} collision detection.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class PolygonPolygonTest extends AbstractTest {
@@ -232,6 +234,177 @@ public class PolygonPolygonTest extends AbstractTest {
 		TestCase.assertFalse(this.sat.detect(poly2, t2, poly1, t1));
 	}
 	
+	/**
+	 * Tests that the world space polygons retained by {@link Sat} are updated
+	 * when the transform or the polygon changes.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void detectSatRetained() {
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(1.5, 0.0);
+		
+		// the same polygon for both shapes
+		this.assertSatEquals(poly1, t1, poly1, t2);
+		t2.rotate(0.3);
+		this.assertSatEquals(poly1, t1, poly1, t2);
+		
+		// the polygon is modified but the transform is not
+		this.assertSatEquals(poly1, t1, poly2, t2);
+		poly2.translate(-0.5, 0.2);
+		this.assertSatEquals(poly1, t1, poly2, t2);
+		poly2.rotateAboutCenter(0.4);
+		this.assertSatEquals(poly1, t1, poly2, t2);
+		
+		// more polygons than are retained
+		Polygon[] polygons = new Polygon[] {
+			poly1, poly2,
+			Geometry.createUnitCirclePolygon(3, 1.0),
+			Geometry.createUnitCirclePolygon(8, 1.0),
+			Geometry.createUnitCirclePolygon(32, 0.7),
+			Geometry.createRectangle(1.0, 2.0),
+			Geometry.createSquare(0.5)
+		};
+		for (int k = 0; k < 3; k++) {
+			t1.rotate(0.7);
+			t2.translate(-0.3, 0.1);
+			for (int i = 0; i < polygons.length; i++) {
+				for (int j = 0; j < polygons.length; j++) {
+					this.assertSatEquals(polygons[i], t1, polygons[j], t2);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests that a {@link Sat} instance can be used by more than one thread at the same time.
+	 * @throws Exception if a thread fails
+	 * @since 3.2.4
+	 */
+	@Test
+	public void detectSatConcurrent() throws Exception {
+		this.detectConcurrent(new Sat());
+	}
+	
+	/**
+	 * Tests that a {@link Gjk} instance can be used by more than one thread at the same time.
+	 * @throws Exception if a thread fails
+	 * @since 3.2.4
+	 */
+	@Test
+	public void detectGjkConcurrent() throws Exception {
+		this.detectConcurrent(new Gjk());
+	}
+	
+	/**
+	 * Tests that a {@link DispatchNarrowphaseDetector} instance can be used by more than one thread at the same time.
+	 * @throws Exception if a thread fails
+	 * @since 3.2.4
+	 */
+	@Test
+	public void detectDispatchConcurrent() throws Exception {
+		this.detectConcurrent(new DispatchNarrowphaseDetector());
+	}
+	
+	/**
+	 * Tests the given detector from two threads at the same time and asserts that
+	 * the results are the same as when tested by one thread.
+	 * @param detector the detector
+	 * @throws Exception if a thread fails
+	 */
+	private void detectConcurrent(final NarrowphaseDetector detector) throws Exception {
+		final Polygon[] polygons = new Polygon[] {
+			Geometry.createUnitCirclePolygon(3, 1.0),
+			Geometry.createUnitCirclePolygon(5, 0.8),
+			Geometry.createUnitCirclePolygon(8, 1.0),
+			Geometry.createRectangle(1.0, 2.0),
+			Geometry.createSquare(0.5),
+			Geometry.createTriangle(new Vector2(0.0, 0.5), new Vector2(-0.5, -0.5), new Vector2(0.5, -0.5))
+		};
+		final int n = polygons.length;
+		
+		// each thread tests the pairs with its own transforms
+		final Transform[][] transforms = new Transform[2][n];
+		final double[][] expected = new double[2][n * n * 3];
+		for (int k = 0; k < 2; k++) {
+			for (int i = 0; i < n; i++) {
+				Transform t = new Transform();
+				t.rotate(0.4 * i + k);
+				t.translate(0.35 * i - k * 0.2, 0.1 * k - 0.15 * i);
+				transforms[k][i] = t;
+			}
+			Penetration p = new Penetration();
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					boolean collision = detector.detect(polygons[i], transforms[k][i], polygons[j], transforms[k][j], p);
+					int index = (i * n + j) * 3;
+					expected[k][index] = collision ? p.getDepth() : -1.0;
+					expected[k][index + 1] = collision ? p.getNormal().x : 0.0;
+					expected[k][index + 2] = collision ? p.getNormal().y : 0.0;
+				}
+			}
+		}
+		
+		final boolean[] equal = new boolean[] { true, true };
+		final Throwable[] error = new Throwable[2];
+		Thread[] threads = new Thread[2];
+		for (int k = 0; k < 2; k++) {
+			final int thread = k;
+			threads[k] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						Penetration p = new Penetration();
+						for (int r = 0; r < 2000; r++) {
+							for (int i = 0; i < n; i++) {
+								for (int j = 0; j < n; j++) {
+									boolean collision = detector.detect(polygons[i], transforms[thread][i], polygons[j], transforms[thread][j], p);
+									int index = (i * n + j) * 3;
+									if (collision != (expected[thread][index] >= 0.0) || 
+										(collision && (p.getDepth() != expected[thread][index] ||
+													   p.getNormal().x != expected[thread][index + 1] ||
+													   p.getNormal().y != expected[thread][index + 2]))) {
+										equal[thread] = false;
+									}
+								}
+							}
+						}
+					} catch (Throwable e) {
+						error[thread] = e;
+					}
+				}
+			});
+			threads[k].start();
+		}
+		for (int k = 0; k < 2; k++) {
+			threads[k].join();
+			if (error[k] != null) {
+				throw new Exception(error[k]);
+			}
+			TestCase.assertTrue(equal[k]);
+		}
+	}
+	
+	/**
+	 * Asserts that the shared {@link Sat} returns the same result as a new {@link Sat}.
+	 * @param polygon1 the first polygon
+	 * @param transform1 the first polygon's transform
+	 * @param polygon2 the second polygon
+	 * @param transform2 the second polygon's transform
+	 */
+	private void assertSatEquals(Polygon polygon1, Transform transform1, Polygon polygon2, Transform transform2) {
+		Penetration expected = new Penetration();
+		Penetration actual = new Penetration();
+		boolean collision = new Sat().detect(polygon1, transform1, polygon2, transform2, expected);
+		TestCase.assertEquals(collision, this.sat.detect(polygon1, transform1, polygon2, transform2, actual));
+		TestCase.assertEquals(collision, this.sat.detect(polygon1, transform1, polygon2, transform2));
+		if (collision) {
+			TestCase.assertEquals(expected.getDepth(), actual.getDepth());
+			TestCase.assertEquals(expected.getNormal(), actual.getNormal());
+		}
+	}
+	
 	/**
 	 * Tests {@link Gjk}.
 	 */
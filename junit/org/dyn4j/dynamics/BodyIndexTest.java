@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link BodyIndex} class.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class BodyIndexTest {
+	/**
+	 * Returns a new body with the given mass type.
+	 * @param type the mass type
+	 * @return {@link Body}
+	 */
+	private static Body createBody(MassType type) {
+		Body body = new Body();
+		body.addFixture(Geometry.createUnitCirclePolygon(5, 0.5));
+		body.setMass(type);
+		return body;
+	}
+	
+	/**
+	 * Tests that bodies are added to the category of their state.
+	 */
+	@Test
+	public void add() {
+		BodyIndex index = new BodyIndex(Capacity.DEFAULT_CAPACITY);
+		Body b1 = createBody(MassType.NORMAL);
+		Body b2 = createBody(MassType.INFINITE);
+		Body b3 = createBody(MassType.INFINITE);
+		b3.setLinearVelocity(1.0, 0.0);
+		Body b4 = createBody(MassType.NORMAL);
+		b4.setAsleep(true);
+		Body b5 = createBody(MassType.NORMAL);
+		b5.setActive(false);
+		
+		index.add(b1);
+		index.add(b2);
+		index.add(b3);
+		index.add(b4);
+		index.add(b5);
+		
+		TestCase.assertEquals(BodyIndex.DYNAMIC, b1.indexCategory);
+		TestCase.assertEquals(BodyIndex.STATIC, b2.indexCategory);
+		TestCase.assertEquals(BodyIndex.KINEMATIC, b3.indexCategory);
+		TestCase.assertEquals(BodyIndex.ASLEEP, b4.indexCategory);
+		TestCase.assertEquals(BodyIndex.INACTIVE, b5.indexCategory);
+		
+		for (int i = BodyIndex.INACTIVE; i <= BodyIndex.STATIC; i++) {
+			TestCase.assertEquals(1, index.get(i).size());
+		}
+		
+		index.remove(b2);
+		TestCase.assertEquals(BodyIndex.NONE, b2.indexCategory);
+		TestCase.assertEquals(0, index.get(BodyIndex.STATIC).size());
+		
+		// removing it again should do nothing
+		index.remove(b2);
+		
+		index.clear();
+		TestCase.assertEquals(BodyIndex.NONE, b1.indexCategory);
+		TestCase.assertEquals(0, index.get(BodyIndex.DYNAMIC).size());
+	}
+	
+	/**
+	 * Tests that removing a body moves the last body of the category into its place.
+	 */
+	@Test
+	public void remove() {
+		BodyIndex index = new BodyIndex(Capacity.DEFAULT_CAPACITY);
+		Body b1 = createBody(MassType.NORMAL);
+		Body b2 = createBody(MassType.NORMAL);
+		Body b3 = createBody(MassType.NORMAL);
+		index.add(b1);
+		index.add(b2);
+		index.add(b3);
+		
+		index.remove(b1);
+		TestCase.assertEquals(2, index.get(BodyIndex.DYNAMIC).size());
+		TestCase.assertSame(b3, index.get(BodyIndex.DYNAMIC).get(0));
+		TestCase.assertEquals(0, b3.indexPosition);
+		TestCase.assertSame(b2, index.get(BodyIndex.DYNAMIC).get(1));
+		TestCase.assertEquals(1, b2.indexPosition);
+		
+		index.remove(b2);
+		TestCase.assertEquals(1, index.get(BodyIndex.DYNAMIC).size());
+		TestCase.assertSame(b3, index.get(BodyIndex.DYNAMIC).get(0));
+	}
+	
+	/**
+	 * Tests that the bodies of a world move between categories as their state changes.
+	 */
+	@Test
+	public void transitions() {
+		World w = new World();
+		Body b = createBody(MassType.NORMAL);
+		w.addBody(b);
+		TestCase.assertEquals(BodyIndex.DYNAMIC, b.indexCategory);
+		
+		b.setAsleep(true);
+		TestCase.assertEquals(BodyIndex.ASLEEP, b.indexCategory);
+		b.setAsleep(false);
+		TestCase.assertEquals(BodyIndex.DYNAMIC, b.indexCategory);
+		
+		b.setActive(false);
+		TestCase.assertEquals(BodyIndex.INACTIVE, b.indexCategory);
+		b.setActive(true);
+		TestCase.assertEquals(BodyIndex.DYNAMIC, b.indexCategory);
+		
+		b.setMassType(MassType.INFINITE);
+		TestCase.assertEquals(BodyIndex.STATIC, b.indexCategory);
+		b.setAngularVelocity(1.0);
+		TestCase.assertEquals(BodyIndex.KINEMATIC, b.indexCategory);
+		b.setAngularVelocity(0.0);
+		TestCase.assertEquals(BodyIndex.STATIC, b.indexCategory);
+		
+		b.setMass(MassType.NORMAL);
+		TestCase.assertEquals(BodyIndex.DYNAMIC, b.indexCategory);
+		
+		w.removeBody(b);
+		TestCase.assertEquals(BodyIndex.NONE, b.indexCategory);
+		
+		// changes to bodies not in a world are ignored
+		b.setAsleep(true);
+		TestCase.assertEquals(BodyIndex.NONE, b.indexCategory);
+	}
+	
+	/**
+	 * Tests that changes are deferred while the index is locked.
+	 */
+	@Test
+	public void lock() {
+		World w = new World();
+		Body b = createBody(MassType.NORMAL);
+		w.addBody(b);
+		
+		w.bodyIndex.lock();
+		b.setAsleep(true);
+		b.setAsleep(false);
+		b.setActive(false);
+		TestCase.assertEquals(BodyIndex.DYNAMIC, b.indexCategory);
+		w.bodyIndex.unlock();
+		TestCase.assertEquals(BodyIndex.INACTIVE, b.indexCategory);
+	}
+	
+	/**
+	 * Tests that static bodies whose velocity is modified directly are moved in the same step.
+	 */
+	@Test
+	public void directVelocity() {
+		World w = new World();
+		Body b = createBody(MassType.INFINITE);
+		w.addBody(b);
+		w.step(1);
+		TestCase.assertEquals(BodyIndex.STATIC, b.indexCategory);
+		
+		b.getLinearVelocity().set(1.0, 0.0);
+		w.step(1);
+		TestCase.assertEquals(BodyIndex.KINEMATIC, b.indexCategory);
+		TestCase.assertTrue(b.getTransform().getTranslationX() > 0.0);
+		
+		b.getLinearVelocity().zero();
+		w.step(1);
+		TestCase.assertEquals(BodyIndex.STATIC, b.indexCategory);
+	}
+	
+	/**
+	 * Tests that only the changed bodies that were added or moved are updated in the broad-phase.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void stale() {
+		World w = new World();
+		Body b = createBody(MassType.INFINITE);
+		w.addBody(b);
+		TestCase.assertTrue(b.indexChanged);
+		TestCase.assertTrue(b.indexStale);
+		w.step(1);
+		TestCase.assertFalse(b.indexChanged);
+		TestCase.assertFalse(b.indexStale);
+		
+		// reading the velocity (as the joints do) doesn't move the body
+		b.getLinearVelocity();
+		TestCase.assertTrue(b.indexChanged);
+		TestCase.assertFalse(b.indexStale);
+		
+		b.translate(1.0, 0.0);
+		TestCase.assertTrue(b.indexMoved);
+		TestCase.assertTrue(b.indexStale);
+		w.step(1);
+		TestCase.assertFalse(b.indexChanged);
+		TestCase.assertFalse(b.indexStale);
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link BodyStateCodec} class.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class BodyStateCodecTest {
+	/**
+	 * Returns a new world with a ground and a row of falling boxes.
+	 * @param count the number of boxes
+	 * @return {@link World}
+	 */
+	private static World createWorld(int count) {
+		World world = new World();
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(100.0, 1.0));
+		ground.setMass(MassType.INFINITE);
+		world.addBody(ground);
+		for (int i = 0; i < count; i++) {
+			Body body = new Body();
+			body.addFixture(Geometry.createSquare(1.0));
+			body.translate(i * 2.0 - count, 1.0 + i * 0.1);
+			body.setMass(MassType.NORMAL);
+			world.addBody(body);
+		}
+		return world;
+	}
+	
+	/**
+	 * Tests the constructor with an invalid precision.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createInvalidPrecision() {
+		new BodyStateCodec(0.0, 0.001);
+	}
+	
+	/**
+	 * Tests that the decoded state is within the precision of the encoded state.
+	 */
+	@Test
+	public void encodeDecode() {
+		World server = createWorld(10);
+		World client = createWorld(10);
+		BodyStateCodec encoder = new BodyStateCodec(0.001, 0.001);
+		BodyStateCodec decoder = new BodyStateCodec(0.001, 0.001);
+		ByteBuffer buffer = ByteBuffer.allocate(BodyStateCodec.getMaximumEncodedSize(server.getBodyCount()));
+		
+		server.getBody(3).setAngularVelocity(2.0);
+		for (int i = 0; i < 30; i++) {
+			server.step(1);
+			buffer.clear();
+			encoder.encode(server, buffer);
+			buffer.flip();
+			decoder.decode(buffer, client);
+			TestCase.assertEquals(0, buffer.remaining());
+			
+			for (int j = 0; j < server.getBodyCount(); j++) {
+				Body s = server.getBody(j);
+				Body c = client.getBody(j);
+				TestCase.assertEquals(s.getTransform().getTranslationX(), c.getTransform().getTranslationX(), 0.0006);
+				TestCase.assertEquals(s.getTransform().getTranslationY(), c.getTransform().getTranslationY(), 0.0006);
+				TestCase.assertEquals(s.getTransform().getRotation(), c.getTransform().getRotation(), 0.0006);
+				TestCase.assertEquals(s.getLinearVelocity().y, c.getLinearVelocity().y, 0.0006);
+				TestCase.assertEquals(s.getAngularVelocity(), c.getAngularVelocity(), 0.0006);
+			}
+		}
+	}
+	
+	/**
+	 * Tests that only the changed bodies are encoded.
+	 */
+	@Test
+	public void encodeChanged() {
+		World world = createWorld(100);
+		BodyStateCodec encoder = new BodyStateCodec();
+		ByteBuffer buffer = ByteBuffer.allocate(BodyStateCodec.getMaximumEncodedSize(world.getBodyCount()));
+		
+		// the first state is relative to zero
+		encoder.encode(world, buffer);
+		int full = buffer.position();
+		
+		// nothing has changed
+		buffer.clear();
+		encoder.encode(world, buffer);
+		int none = buffer.position();
+		TestCase.assertTrue(none < 5);
+		
+		// one body changed
+		world.getBody(50).translate(0.01, 0.0);
+		buffer.clear();
+		encoder.encode(world, buffer);
+		int one = buffer.position();
+		TestCase.assertTrue(one > none);
+		TestCase.assertTrue(one < 16);
+		TestCase.assertTrue(one < full);
+		
+		// reset should resend everything
+		encoder.reset();
+		buffer.clear();
+		encoder.encode(world, buffer);
+		TestCase.assertEquals(full, buffer.position());
+	}
+	
+	/**
+	 * Tests that sleeping bodies are not encoded once the sleep state was sent.
+	 */
+	@Test
+	public void encodeAsleep() {
+		World server = createWorld(20);
+		World client = createWorld(20);
+		BodyStateCodec encoder = new BodyStateCodec();
+		BodyStateCodec decoder = new BodyStateCodec();
+		ByteBuffer buffer = ByteBuffer.allocate(BodyStateCodec.getMaximumEncodedSize(server.getBodyCount()));
+		
+		encoder.encode(server, buffer);
+		buffer.flip();
+		decoder.decode(buffer, client);
+		
+		// put all the bodies to sleep
+		for (int i = 0; i < server.getBodyCount(); i++) {
+			server.getBody(i).setAsleep(true);
+		}
+		buffer.clear();
+		encoder.encode(server, buffer);
+		buffer.flip();
+		decoder.decode(buffer, client);
+		for (int i = 0; i < client.getBodyCount(); i++) {
+			TestCase.assertTrue(client.getBody(i).isAsleep());
+		}
+		
+		// sleeping bodies cost nothing
+		buffer.clear();
+		encoder.encode(server, buffer);
+		TestCase.assertTrue(buffer.position() < 5);
+		
+		// wake one body up
+		server.getBody(5).setAsleep(false);
+		buffer.clear();
+		encoder.encode(server, buffer);
+		buffer.flip();
+		decoder.decode(buffer, client);
+		TestCase.assertFalse(client.getBody(5).isAsleep());
+		TestCase.assertTrue(client.getBody(6).isAsleep());
+	}
+	
+	/**
+	 * Tests decoding a state for a world with a different number of bodies.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void decodeMismatch() {
+		BodyStateCodec encoder = new BodyStateCodec();
+		ByteBuffer buffer = ByteBuffer.allocate(BodyStateCodec.getMaximumEncodedSize(11));
+		encoder.encode(createWorld(10), buffer);
+		buffer.flip();
+		new BodyStateCodec().decode(buffer, createWorld(5));
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link IslandManager} class.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class IslandManagerTest {
+	/**
+	 * Returns a new dynamic body.
+	 * @return {@link Body}
+	 */
+	private static Body createBody() {
+		Body body = new Body();
+		body.addFixture(Geometry.createUnitCirclePolygon(5, 0.5));
+		body.setMass(MassType.NORMAL);
+		return body;
+	}
+	
+	/**
+	 * Tests the union and find methods.
+	 */
+	@Test
+	public void union() {
+		IslandManager im = new IslandManager(Capacity.DEFAULT_CAPACITY);
+		Body b1 = createBody();
+		Body b2 = createBody();
+		Body b3 = createBody();
+		im.add(b1);
+		im.add(b2);
+		im.add(b3);
+		
+		TestCase.assertSame(b1, im.find(b1));
+		TestCase.assertNotSame(im.find(b1), im.find(b2));
+		
+		im.union(b1, b2);
+		TestCase.assertSame(im.find(b1), im.find(b2));
+		TestCase.assertNotSame(im.find(b1), im.find(b3));
+		TestCase.assertEquals(2, im.find(b1).islandSize);
+		
+		// unioning again should do nothing
+		im.union(b2, b1);
+		TestCase.assertEquals(2, im.find(b1).islandSize);
+		
+		im.union(b3, b2);
+		Body root = im.find(b3);
+		TestCase.assertSame(root, im.find(b1));
+		TestCase.assertEquals(3, root.islandSize);
+		
+		// all the members should be in the member list
+		int n = 0;
+		for (Body b = root; b != null; b = b.islandNext) n++;
+		TestCase.assertEquals(3, n);
+	}
+	
+	/**
+	 * Tests that islands are split when a connection is lost.
+	 */
+	@Test
+	public void split() {
+		IslandManager im = new IslandManager(Capacity.DEFAULT_CAPACITY);
+		Body b1 = createBody();
+		Body b2 = createBody();
+		im.add(b1);
+		im.add(b2);
+		
+		// there's no edge between them
+		im.union(b1, b2);
+		TestCase.assertSame(im.find(b1), im.find(b2));
+		
+		// islands are only split when invalidated
+		im.split();
+		TestCase.assertSame(im.find(b1), im.find(b2));
+		
+		im.invalidate(b2);
+		im.split();
+		TestCase.assertNotSame(im.find(b1), im.find(b2));
+		TestCase.assertEquals(1, im.find(b1).islandSize);
+		TestCase.assertEquals(1, im.find(b2).islandSize);
+	}
+	
+	/**
+	 * Tests the islands of a world as joints are added and removed.
+	 */
+	@Test
+	public void joints() {
+		World w = new World();
+		w.setGravity(World.ZERO_GRAVITY);
+		
+		Body b1 = createBody();
+		Body b2 = createBody();
+		Body b3 = createBody();
+		b2.translate(2.0, 0.0);
+		b3.translate(4.0, 0.0);
+		w.addBody(b1);
+		w.addBody(b2);
+		w.addBody(b3);
+		
+		w.getSettings().setStepStatisticsEnabled(true);
+		w.step(1);
+		TestCase.assertEquals(3, w.getStepStatistics().getIslandCount());
+		
+		RevoluteJoint j1 = new RevoluteJoint(b1, b2, new Vector2(1.0, 0.0));
+		RevoluteJoint j2 = new RevoluteJoint(b2, b3, new Vector2(3.0, 0.0));
+		w.addJoint(j1);
+		w.addJoint(j2);
+		w.step(1);
+		TestCase.assertEquals(1, w.getStepStatistics().getIslandCount());
+		
+		w.removeJoint(j2);
+		w.step(1);
+		TestCase.assertEquals(2, w.getStepStatistics().getIslandCount());
+		
+		// removing a body should split its island immediately
+		w.removeBody(b1);
+		TestCase.assertSame(b2, w.islandManager.find(b2));
+		TestCase.assertEquals(1, b2.islandSize);
+		w.step(1);
+		TestCase.assertEquals(2, w.getStepStatistics().getIslandCount());
+	}
+	
+	/**
+	 * Tests that static bodies do not join islands.
+	 */
+	@Test
+	public void staticBodies() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		// two boxes resting on the floor that don't touch
+		Body b1 = new Body();
+		b1.addFixture(Geometry.createSquare(1.0));
+		b1.setMass(MassType.NORMAL);
+		b1.translate(-2.0, 0.9);
+		w.addBody(b1);
+		
+		Body b2 = new Body();
+		b2.addFixture(Geometry.createSquare(1.0));
+		b2.setMass(MassType.NORMAL);
+		b2.translate(2.0, 0.9);
+		w.addBody(b2);
+		
+		w.getSettings().setStepStatisticsEnabled(true);
+		w.step(2);
+		TestCase.assertEquals(2, w.getStepStatistics().getIslandCount());
+		TestCase.assertNotSame(w.islandManager.find(b1), w.islandManager.find(b2));
+		TestCase.assertSame(floor, w.islandManager.find(floor));
+	}
+}
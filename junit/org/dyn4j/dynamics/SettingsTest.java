@@ -363,4 +363,17 @@ public class SettingsTest {
 		settings.setContinuousDetectionMode(ContinuousDetectionMode.NONE);
 		TestCase.assertEquals(ContinuousDetectionMode.NONE, settings.getContinuousDetectionMode());
 	}
+	
+	/**
+	 * Tests the set step statistics enabled method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void setStepStatisticsEnabled() {
+		TestCase.assertFalse(settings.isStepStatisticsEnabled());
+		settings.setStepStatisticsEnabled(true);
+		TestCase.assertTrue(settings.isStepStatisticsEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isStepStatisticsEnabled());
+	}
 }
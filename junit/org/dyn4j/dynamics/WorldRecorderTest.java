@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link WorldRecorder} and {@link WorldReplayer} classes.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class WorldRecorderTest {
+	/**
+	 * Returns a new world with a ground, a stack of boxes and a pendulum.
+	 * @return {@link World}
+	 */
+	private static World createWorld() {
+		World world = new World();
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(50.0, 1.0));
+		ground.setMass(MassType.INFINITE);
+		world.addBody(ground);
+		for (int i = 0; i < 5; i++) {
+			Body body = new Body();
+			body.addFixture(Geometry.createSquare(1.0));
+			body.translate(0.0, 1.0 + i * 1.05);
+			body.setMass(MassType.NORMAL);
+			world.addBody(body);
+		}
+		Body bob = new Body();
+		bob.addFixture(Geometry.createCircle(0.5));
+		bob.translate(5.0, 4.0);
+		bob.setMass(MassType.NORMAL);
+		world.addBody(bob);
+		world.addJoint(new RevoluteJoint(ground, bob, new Vector2(5.0, 8.0)));
+		return world;
+	}
+	
+	/**
+	 * Returns a new box to spawn.
+	 * @param index the index of the box
+	 * @return {@link Body}
+	 */
+	private static Body createBox(int index) {
+		Body body = new Body();
+		body.addFixture(Geometry.createRectangle(0.5, 0.25));
+		body.translate(-5.0 + index, 6.0);
+		body.setMass(MassType.NORMAL);
+		return body;
+	}
+	
+	/**
+	 * Listener that spawns the same boxes as {@link #record(World, boolean, int)}.
+	 */
+	private static final ReplayListener SPAWNER = new ReplayListener() {
+		@Override
+		public void bodiesAdded(World world, int index, int count) {
+			if (count == 1) {
+				world.addBody(createBox(0));
+			} else {
+				List<Body> bodies = new ArrayList<Body>();
+				for (int i = 0; i < count; i++) {
+					bodies.add(createBox(i + 1));
+				}
+				world.addBodies(bodies);
+			}
+		}
+		@Override
+		public void jointsAdded(World world, int index, int count) {}
+	};
+	
+	/**
+	 * Simulates the given world while recording all the kinds of inputs.
+	 * @param world the world
+	 * @param teleport true if a body should be moved without it being recorded
+	 * @param steps the number of steps to record
+	 * @return byte[] the log
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static byte[] record(World world, boolean teleport, int steps) throws IOException {
+		// simulate a bit before recording starts
+		world.step(10);
+		
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		WorldRecorder recorder = new WorldRecorder(world, output);
+		TestCase.assertTrue(recorder.isRecording());
+		
+		// inputs made during the step
+		final Body box = world.getBody(5);
+		world.addListener(new StepAdapter() {
+			@Override
+			public void postSolve(Step step, World world) {
+				box.applyForce(new Vector2(0.0, 5.0), box.getWorldCenter().sum(0.1, 0.0));
+			}
+		});
+		
+		for (int i = 0; i < steps; i++) {
+			Body body = world.getBody(1 + i % 5);
+			switch (i) {
+				case 5: body.applyForce(new Vector2(30.0, 0.0)); break;
+				case 6: body.applyForce(new Force(-10.0, 0.0)); break;
+				case 7: body.applyTorque(2.0); break;
+				case 8: body.applyTorque(new Torque(-2.0)); break;
+				case 9: body.applyImpulse(new Vector2(0.5, 0.5)); break;
+				case 10: body.applyImpulse(0.3); break;
+				case 11: body.applyImpulse(new Vector2(-0.2, 0.0), body.getWorldCenter().sum(0.0, 0.3)); break;
+				case 12: body.setLinearVelocity(1.0, 0.0); break;
+				case 13: body.setLinearVelocity(new Vector2(0.0, 1.0)); break;
+				case 14: body.setAngularVelocity(1.0); break;
+				case 15: world.setGravity(new Vector2(1.0, -9.8)); break;
+				case 16: world.getSettings().setVelocityConstraintSolverIterations(6); break;
+				case 17: world.addBody(createBox(0)); break;
+				case 20: 
+					List<Body> bodies = new ArrayList<Body>();
+					bodies.add(createBox(1));
+					bodies.add(createBox(2));
+					world.addBodies(bodies);
+					break;
+				case 25: world.removeBody(world.getBody(2)); break;
+				case 30: world.removeJoint(0); break;
+				case 35: 
+					List<Body> removed = new ArrayList<Body>();
+					removed.add(world.getBody(world.getBodyCount() - 1));
+					removed.add(world.getBody(3));
+					world.removeBodies(removed);
+					break;
+				case 40:
+					if (teleport) body.translate(0.0, 0.01);
+					break;
+			}
+			world.step(1);
+		}
+		
+		TestCase.assertEquals(steps, recorder.getStepCount());
+		recorder.close();
+		TestCase.assertFalse(recorder.isRecording());
+		return output.toByteArray();
+	}
+	
+	/**
+	 * Tests that replaying a log reproduces the recorded simulation exactly.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test
+	public void recordReplay() throws IOException {
+		World world = createWorld();
+		byte[] log = record(world, false, 60);
+		
+		// the replay starts from a world with the same bodies
+		World replay = createWorld();
+		replay.step(3);
+		WorldReplayer replayer = new WorldReplayer(new ByteArrayInputStream(log));
+		TestCase.assertEquals(-1, replayer.replay(replay, SPAWNER));
+		TestCase.assertEquals(60, replayer.getStepCount());
+		
+		TestCase.assertEquals(world.getBodyCount(), replay.getBodyCount());
+		TestCase.assertEquals(world.getJointCount(), replay.getJointCount());
+		TestCase.assertEquals(WorldRecorder.getStateHash(world), WorldRecorder.getStateHash(replay));
+		TestCase.assertEquals(6, replay.getSettings().getVelocityConstraintSolverIterations());
+		TestCase.assertEquals(1.0, replay.getGravity().x);
+		TestCase.assertEquals(0, replay.getListenerCount());
+	}
+	
+	/**
+	 * Tests that a change that wasn't recorded is detected.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test
+	public void replayDiverged() throws IOException {
+		byte[] log = record(createWorld(), true, 60);
+		
+		WorldReplayer replayer = new WorldReplayer(new ByteArrayInputStream(log));
+		TestCase.assertEquals(40, replayer.replay(createWorld(), SPAWNER));
+		TestCase.assertEquals(41, replayer.getStepCount());
+	}
+	
+	/**
+	 * Tests comparing two logs.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test
+	public void compare() throws IOException {
+		byte[] log1 = record(createWorld(), false, 60);
+		byte[] log2 = record(createWorld(), false, 60);
+		byte[] log3 = record(createWorld(), true, 60);
+		
+		TestCase.assertEquals(-1, WorldReplayer.compare(new ByteArrayInputStream(log1), new ByteArrayInputStream(log2)));
+		TestCase.assertEquals(40, WorldReplayer.compare(new ByteArrayInputStream(log1), new ByteArrayInputStream(log3)));
+		
+		// a shorter log
+		byte[] log4 = record(createWorld(), false, 30);
+		TestCase.assertEquals(30, WorldReplayer.compare(new ByteArrayInputStream(log1), new ByteArrayInputStream(log4)));
+	}
+	
+	/**
+	 * Tests that the inputs are not recorded after the recorder is closed.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test
+	public void close() throws IOException {
+		World world = createWorld();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		WorldRecorder recorder = new WorldRecorder(world, output);
+		world.step(1);
+		recorder.close();
+		int size = output.size();
+		
+		world.getBody(1).applyImpulse(new Vector2(1.0, 0.0));
+		world.step(1);
+		TestCase.assertEquals(size, output.size());
+		TestCase.assertEquals(1, recorder.getStepCount());
+		
+		// the world can be recorded again
+		recorder = new WorldRecorder(world, new ByteArrayOutputStream());
+		TestCase.assertTrue(recorder.isRecording());
+	}
+	
+	/**
+	 * Tests recording a world that is already being recorded.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void recordTwice() throws IOException {
+		World world = createWorld();
+		new WorldRecorder(world, new ByteArrayOutputStream());
+		new WorldRecorder(world, new ByteArrayOutputStream());
+	}
+	
+	/**
+	 * Tests recording a null world.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test(expected = NullPointerException.class)
+	public void recordNullWorld() throws IOException {
+		new WorldRecorder(null, new ByteArrayOutputStream());
+	}
+	
+	/**
+	 * Tests replaying an invalid log.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test(expected = IOException.class)
+	public void replayInvalidLog() throws IOException {
+		new WorldReplayer(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6 }));
+	}
+	
+	/**
+	 * Tests replaying a log with added bodies without a listener.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void replayWithoutListener() throws IOException {
+		byte[] log = record(createWorld(), false, 60);
+		WorldReplayer replayer = new WorldReplayer(new ByteArrayInputStream(log));
+		replayer.replay(createWorld(), null);
+	}
+	
+	/**
+	 * Tests replaying a log on a world with different bodies.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void replayOtherWorld() throws IOException {
+		byte[] log = record(createWorld(), false, 60);
+		WorldReplayer replayer = new WorldReplayer(new ByteArrayInputStream(log));
+		replayer.replay(new World(), null);
+	}
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.MassType;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link WorldScheduler} and {@link ScheduledWorld} classes.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class WorldSchedulerTest {
+	/** The step frequency */
+	private static final double DT = 1.0 / 60.0;
+	
+	/**
+	 * Returns a new world with a ground and a stack of boxes.
+	 * @return {@link World}
+	 */
+	private static World createWorld() {
+		World world = new World();
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(50.0, 1.0));
+		ground.setMass(MassType.INFINITE);
+		world.addBody(ground);
+		for (int i = 0; i < 5; i++) {
+			Body body = new Body();
+			body.addFixture(Geometry.createSquare(1.0));
+			body.translate(0.0, 1.0 + i * 1.05);
+			body.setMass(MassType.NORMAL);
+			world.addBody(body);
+		}
+		return world;
+	}
+	
+	/**
+	 * Tests the constructors.
+	 */
+	@Test
+	public void create() {
+		WorldScheduler scheduler = new WorldScheduler(2);
+		TestCase.assertEquals(0, scheduler.getWorldCount());
+		TestCase.assertEquals(0, scheduler.getRunningCount());
+		scheduler.shutdown();
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		scheduler = new WorldScheduler(executor);
+		scheduler.shutdown();
+		// the given executor is not shut down
+		TestCase.assertFalse(executor.isShutdown());
+		executor.shutdown();
+	}
+	
+	/**
+	 * Tests the constructor with an invalid thread count.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createInvalidThreadCount() {
+		new WorldScheduler(0);
+	}
+	
+	/**
+	 * Tests the constructor with a null executor.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullExecutor() {
+		new WorldScheduler(null);
+	}
+	
+	/**
+	 * Tests adding and removing worlds.
+	 */
+	@Test
+	public void addRemove() {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		World w1 = new World();
+		World w2 = new World();
+		
+		ScheduledWorld s1 = scheduler.add(w1);
+		ScheduledWorld s2 = scheduler.add(w2, 0.01, 2);
+		TestCase.assertEquals(2, scheduler.getWorldCount());
+		TestCase.assertSame(w1, s1.getWorld());
+		TestCase.assertSame(scheduler, s1.getScheduler());
+		TestCase.assertSame(s2, scheduler.getScheduledWorld(w2));
+		TestCase.assertEquals(WorldScheduler.DEFAULT_MAXIMUM_STEPS, s1.getMaximumSteps());
+		TestCase.assertEquals(2, s2.getMaximumSteps());
+		TestCase.assertEquals(0.01, s2.getStepElapsedTime());
+		TestCase.assertTrue(s1.isScheduled());
+		
+		TestCase.assertTrue(scheduler.remove(s1));
+		TestCase.assertFalse(scheduler.remove(s1));
+		TestCase.assertFalse(s1.isScheduled());
+		TestCase.assertNull(scheduler.getScheduledWorld(w1));
+		TestCase.assertEquals(1, scheduler.getWorldCount());
+		
+		scheduler.removeAll();
+		TestCase.assertEquals(0, scheduler.getWorldCount());
+		TestCase.assertFalse(s2.isScheduled());
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Tests adding the same world twice.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void addExisting() {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		World world = new World();
+		scheduler.add(world);
+		try {
+			scheduler.add(world);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests adding with an invalid maximum number of steps.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void addInvalidMaximumSteps() {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		try {
+			scheduler.add(new World(), -1.0, 0);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests updating with a negative elapsed time.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void updateNegativeTime() {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		try {
+			scheduler.update(-1.0);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests that worlds updated by the scheduler end up in the same state as 
+	 * worlds updated directly.
+	 * @throws InterruptedException if interrupted
+	 */
+	@Test
+	public void updateAndWait() throws InterruptedException {
+		WorldScheduler scheduler = new WorldScheduler(4);
+		List<ScheduledWorld> scheduled = new ArrayList<ScheduledWorld>();
+		for (int i = 0; i < 16; i++) {
+			scheduled.add(scheduler.add(createWorld()));
+		}
+		World expected = createWorld();
+		
+		for (int i = 0; i < 60; i++) {
+			TestCase.assertEquals(16, scheduler.updateAndWait(DT));
+			expected.update(DT, -1.0, WorldScheduler.DEFAULT_MAXIMUM_STEPS);
+		}
+		TestCase.assertEquals(0, scheduler.getRunningCount());
+		
+		long hash = WorldRecorder.getStateHash(expected);
+		for (ScheduledWorld sw : scheduled) {
+			TestCase.assertFalse(sw.isRunning());
+			TestCase.assertEquals(hash, WorldRecorder.getStateHash(sw.getWorld()));
+			TestCase.assertEquals(60, sw.getUpdateCount());
+			TestCase.assertEquals(expected.getAccumulatedTime(), sw.getWorld().getAccumulatedTime(), 1.0e-9);
+			TestCase.assertTrue(sw.getStepCount() >= 59);
+			TestCase.assertEquals(0, sw.getSkippedUpdateCount());
+			TestCase.assertEquals(0.0, sw.getDroppedTime());
+			TestCase.assertEquals(0.0, sw.getPendingTime());
+			TestCase.assertTrue(sw.getTotalUpdateTime() > 0);
+			TestCase.assertTrue(sw.getMaximumUpdateTime() >= sw.getLastUpdateTime());
+			TestCase.assertTrue(sw.getAverageStepTime() > 0.0);
+		}
+		
+		scheduled.get(0).resetMetrics();
+		TestCase.assertEquals(0, scheduled.get(0).getUpdateCount());
+		TestCase.assertEquals(0, scheduled.get(0).getStepCount());
+		TestCase.assertEquals(0.0, scheduled.get(0).getAverageStepTime());
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Tests that a world is never updated by two threads at once.
+	 * @throws InterruptedException if interrupted
+	 */
+	@Test
+	public void singleThreadedWorlds() throws InterruptedException {
+		WorldScheduler scheduler = new WorldScheduler(4);
+		final AtomicInteger concurrent = new AtomicInteger();
+		final AtomicBoolean overlap = new AtomicBoolean(false);
+		for (int i = 0; i < 4; i++) {
+			final AtomicInteger inside = new AtomicInteger();
+			World world = createWorld();
+			world.addListener(new StepAdapter() {
+				@Override
+				public void begin(Step step, World world) {
+					if (inside.incrementAndGet() != 1) overlap.set(true);
+					concurrent.incrementAndGet();
+				}
+				@Override
+				public void end(Step step, World world) {
+					inside.decrementAndGet();
+				}
+			});
+			scheduler.add(world);
+		}
+		
+		// update without waiting so that updates overlap
+		for (int i = 0; i < 200; i++) {
+			scheduler.update(DT);
+		}
+		TestCase.assertTrue(scheduler.awaitIdle(10, TimeUnit.SECONDS));
+		TestCase.assertFalse(overlap.get());
+		TestCase.assertTrue(concurrent.get() > 0);
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Tests that a world that is still running is skipped and its time is kept.
+	 * @throws InterruptedException if interrupted
+	 */
+	@Test
+	public void backpressure() throws InterruptedException {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		World world = createWorld();
+		world.addListener(new StepAdapter() {
+			@Override
+			public void begin(Step step, World world) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		ScheduledWorld sw = scheduler.add(world, -1.0, 2);
+		
+		TestCase.assertEquals(1, scheduler.update(DT));
+		TestCase.assertTrue(started.await(10, TimeUnit.SECONDS));
+		TestCase.assertTrue(sw.isRunning());
+		
+		// the world is blocked so these updates are skipped
+		TestCase.assertEquals(0, scheduler.update(DT));
+		TestCase.assertEquals(0, scheduler.update(DT));
+		TestCase.assertEquals(2, sw.getSkippedUpdateCount());
+		TestCase.assertEquals(2.0 * DT, sw.getPendingTime(), 1.0e-9);
+		
+		release.countDown();
+		scheduler.awaitIdle();
+		TestCase.assertEquals(1, sw.getStepCount());
+		
+		// the skipped time is given to the world on the next run
+		scheduler.updateAndWait(0.0);
+		TestCase.assertEquals(3, sw.getStepCount());
+		TestCase.assertEquals(0.0, sw.getPendingTime());
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Tests that time above the maximum backlog is dropped.
+	 * @throws InterruptedException if interrupted
+	 */
+	@Test
+	public void dropTime() throws InterruptedException {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		ScheduledWorld sw = scheduler.add(createWorld(), -1.0, 2);
+		
+		// one second is far more than 2 steps can consume
+		scheduler.updateAndWait(1.0);
+		TestCase.assertEquals(2, sw.getStepCount());
+		TestCase.assertEquals(2.0 * DT, sw.getWorld().getAccumulatedTime(), 1.0e-9);
+		TestCase.assertEquals(1.0 - 4.0 * DT, sw.getDroppedTime(), 1.0e-9);
+		
+		// an explicit backlog
+		sw.setMaximumBacklog(0.0);
+		TestCase.assertEquals(0.0, sw.getMaximumBacklog());
+		sw.setMaximumBacklog(0.001);
+		scheduler.updateAndWait(1.0);
+		TestCase.assertEquals(4, sw.getStepCount());
+		TestCase.assertEquals(0.001, sw.getWorld().getAccumulatedTime(), 1.0e-9);
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Tests that a world that throws an exception is not run again.
+	 * @throws InterruptedException if interrupted
+	 */
+	@Test
+	public void exception() throws InterruptedException {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		final AtomicBoolean fail = new AtomicBoolean(true);
+		World world = createWorld();
+		world.addListener(new StepAdapter() {
+			@Override
+			public void begin(Step step, World world) {
+				if (fail.get()) throw new IllegalStateException();
+			}
+		});
+		ScheduledWorld sw = scheduler.add(world);
+		ScheduledWorld other = scheduler.add(createWorld());
+		
+		TestCase.assertEquals(2, scheduler.updateAndWait(DT));
+		TestCase.assertTrue(sw.getException() instanceof IllegalStateException);
+		TestCase.assertNull(other.getException());
+		
+		// the failed world is skipped
+		TestCase.assertEquals(1, scheduler.updateAndWait(DT));
+		
+		fail.set(false);
+		sw.clearException();
+		TestCase.assertEquals(2, scheduler.updateAndWait(DT));
+		TestCase.assertNull(sw.getException());
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Tests setting an invalid maximum number of steps.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setInvalidMaximumSteps() {
+		WorldScheduler scheduler = new WorldScheduler(1);
+		try {
+			scheduler.add(new World()).setMaximumSteps(0);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+}
@@ -24,9 +24,12 @@
  */
 package org.dyn4j.dynamics;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
 
 import junit.framework.TestCase;
 
@@ -38,20 +41,43 @@ import org.dyn4j.collision.CategoryFilter;
 import org.dyn4j.collision.broadphase.BroadphaseDetector;
 import org.dyn4j.collision.broadphase.Sap;
 import org.dyn4j.collision.continuous.ConservativeAdvancement;
+import org.dyn4j.collision.continuous.TimeOfImpact;
 import org.dyn4j.collision.continuous.TimeOfImpactDetector;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.ManifoldSolver;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Sat;
 import org.dyn4j.dynamics.contact.ContactAdapter;
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactManager;
 import org.dyn4j.dynamics.contact.ContactPoint;
+import org.dyn4j.dynamics.contact.SimpleContactManager;
+import org.dyn4j.dynamics.contact.WarmStartingContactManager;
 import org.dyn4j.dynamics.joint.AngleJoint;
 import org.dyn4j.dynamics.joint.DistanceJoint;
+import org.dyn4j.dynamics.joint.FrictionJoint;
 import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.dynamics.joint.MotorJoint;
+import org.dyn4j.dynamics.joint.PinJoint;
+import org.dyn4j.dynamics.joint.PrismaticJoint;
+import org.dyn4j.dynamics.joint.PulleyJoint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.dynamics.joint.RopeJoint;
+import org.dyn4j.dynamics.joint.WeldJoint;
+import org.dyn4j.dynamics.joint.WheelJoint;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Chain;
 import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Composite;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Heightfield;
+import org.dyn4j.geometry.Link;
 import org.dyn4j.geometry.MassType;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Test;
 
@@ -293,6 +319,155 @@ public class WorldTest {
 		w.addJoint((Joint) null);
 	}
 	
+	/**
+	 * Tests the add bodies method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void addBodies() {
+		World w = new World();
+		Body b0 = new Body();
+		b0.addFixture(Geometry.createCircle(0.5));
+		w.addBody(b0);
+		
+		List<Body> bodies = new ArrayList<Body>();
+		for (int i = 0; i < 10; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createCapsule(1.0, 0.5));
+			b.translate(i, 0.0);
+			bodies.add(b);
+		}
+		w.addBodies(bodies);
+		
+		TestCase.assertEquals(11, w.getBodyCount());
+		for (Body b : bodies) {
+			TestCase.assertEquals(w, b.world);
+			TestCase.assertEquals(b, w.getBody(b.worldIndex));
+			TestCase.assertTrue(w.broadphaseDetector.contains(b));
+			TestCase.assertTrue(w.broadphaseDetector.contains(b, b.getFixture(0)));
+		}
+		
+		// the bodies should be removable
+		TestCase.assertTrue(w.removeBody(bodies.get(3)));
+		TestCase.assertFalse(w.broadphaseDetector.contains(bodies.get(3)));
+		TestCase.assertEquals(10, w.getBodyCount());
+		
+		// an empty collection should be fine
+		w.addBodies(new ArrayList<Body>());
+		TestCase.assertEquals(10, w.getBodyCount());
+	}
+	
+	/**
+	 * Tests the add bodies method with an invalid body.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void addBodiesInvalid() {
+		World w = new World();
+		Body b1 = new Body();
+		Body b2 = new Body();
+		Body b3 = new Body();
+		w.addBody(b3);
+		
+		List<Body> bodies = new ArrayList<Body>();
+		bodies.add(b1);
+		bodies.add(b2);
+		bodies.add(b1);
+		
+		// duplicates
+		try {
+			w.addBodies(bodies);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {}
+		
+		// none of the bodies should have been added
+		TestCase.assertEquals(1, w.getBodyCount());
+		TestCase.assertNull(b1.world);
+		TestCase.assertNull(b2.world);
+		
+		// already added
+		bodies.set(2, b3);
+		try {
+			w.addBodies(bodies);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {}
+		TestCase.assertEquals(1, w.getBodyCount());
+		TestCase.assertNull(b1.world);
+		TestCase.assertEquals(w, b3.world);
+		
+		// null body
+		bodies.set(2, null);
+		try {
+			w.addBodies(bodies);
+			TestCase.fail();
+		} catch (NullPointerException e) {}
+		TestCase.assertEquals(1, w.getBodyCount());
+		TestCase.assertNull(b2.world);
+	}
+	
+	/**
+	 * Tests the add bodies method passing a null value.
+	 * @since 3.2.4
+	 */
+	@Test(expected = NullPointerException.class)
+	public void addNullBodies() {
+		World w = new World();
+		w.addBodies(null);
+	}
+	
+	/**
+	 * Tests the add joints method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void addJoints() {
+		World w = new World();
+		Body b1 = new Body();
+		Body b2 = new Body();
+		Body b3 = new Body();
+		w.addBody(b1);
+		w.addBody(b2);
+		w.addBody(b3);
+		
+		Joint j1 = new DistanceJoint(b1, b2, new Vector2(), new Vector2());
+		Joint j2 = new AngleJoint(b2, b3);
+		
+		List<Joint> joints = new ArrayList<Joint>();
+		joints.add(j1);
+		joints.add(j2);
+		w.addJoints(joints);
+		
+		TestCase.assertEquals(2, w.getJointCount());
+		TestCase.assertEquals(1, b1.joints.size());
+		TestCase.assertEquals(2, b2.joints.size());
+		TestCase.assertEquals(1, b3.joints.size());
+		TestCase.assertTrue(w.removeJoint(j1));
+		TestCase.assertEquals(1, b2.joints.size());
+		
+		// adding an existing joint should fail without adding any
+		Joint j3 = new AngleJoint(b1, b3);
+		joints.clear();
+		joints.add(j3);
+		joints.add(j2);
+		try {
+			w.addJoints(joints);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {}
+		TestCase.assertEquals(1, w.getJointCount());
+		TestCase.assertNull(((Constraint) j3).world);
+		TestCase.assertTrue(b1.joints.isEmpty());
+	}
+	
+	/**
+	 * Tests the add joints method passing a null value.
+	 * @since 3.2.4
+	 */
+	@Test(expected = NullPointerException.class)
+	public void addNullJoints() {
+		World w = new World();
+		w.addJoints(null);
+	}
+	
 	/**
 	 * Tests the remove body method.
 	 */
@@ -368,6 +543,146 @@ public class WorldTest {
 		TestCase.assertTrue(((TestContactManager)w.contactManager).cacheSize() == 0);
 	}
 	
+	/**
+	 * Tests that removing a body moves the last body into its place.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void removeBodyOrder() {
+		World w = new World();
+		Body b1 = new Body();
+		Body b2 = new Body();
+		Body b3 = new Body();
+		w.addBody(b1);
+		w.addBody(b2);
+		w.addBody(b3);
+		
+		TestCase.assertTrue(w.containsBody(b1));
+		TestCase.assertTrue(w.removeBody(b1));
+		TestCase.assertFalse(w.containsBody(b1));
+		TestCase.assertFalse(w.removeBody(b1));
+		
+		TestCase.assertEquals(2, w.getBodyCount());
+		TestCase.assertSame(b3, w.getBody(0));
+		TestCase.assertSame(b2, w.getBody(1));
+		
+		// removing the last body
+		TestCase.assertTrue(w.removeBody(1));
+		TestCase.assertEquals(1, w.getBodyCount());
+		TestCase.assertSame(b3, w.getBody(0));
+		TestCase.assertTrue(w.removeBody(b3));
+		TestCase.assertEquals(0, w.getBodyCount());
+		
+		// a body of another world
+		World w2 = new World();
+		w2.addBody(b1);
+		TestCase.assertFalse(w.containsBody(b1));
+		TestCase.assertFalse(w.removeBody(b1));
+		TestCase.assertTrue(w2.containsBody(b1));
+	}
+	
+	/**
+	 * Tests the remove bodies method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void removeBodies() {
+		World w = new World();
+		
+		// setup the destruction listener
+		WTDestructionListener dl = new WTDestructionListener();
+		w.addListener(dl);
+		
+		// test removing null
+		TestCase.assertFalse(w.removeBodies(null));
+		
+		// test removing bodies not in the world
+		List<Body> bodies = new ArrayList<Body>();
+		bodies.add(new Body());
+		bodies.add(null);
+		TestCase.assertFalse(w.removeBodies(bodies));
+		
+		// setup the bodies (all overlapping)
+		Body b1 = new Body(); b1.addFixture(Geometry.createCircle(1.0)); b1.setMass(MassType.NORMAL);
+		Body b2 = new Body(); b2.addFixture(Geometry.createCircle(1.0)); b2.setMass(MassType.NORMAL);
+		Body b3 = new Body(); b3.addFixture(Geometry.createCircle(1.0)); b3.setMass(MassType.NORMAL);
+		Body b4 = new Body(); b4.addFixture(Geometry.createCircle(1.0)); b4.setMass(MassType.NORMAL);
+		w.addBody(b1);
+		w.addBody(b2);
+		w.addBody(b3);
+		w.addBody(b4);
+		
+		// a joint between the removed bodies and one to a remaining body
+		Joint j1 = new DistanceJoint(b1, b2, new Vector2(), new Vector2());
+		j1.setCollisionAllowed(true);
+		Joint j2 = new DistanceJoint(b2, b3, new Vector2(), new Vector2());
+		j2.setCollisionAllowed(true);
+		w.addJoint(j1);
+		w.addJoint(j2);
+		
+		// perform a world step to get contacts
+		w.step(1);
+		TestCase.assertEquals(3, b1.contacts.size());
+		
+		// all the contacts of the removed bodies should be notified once
+		int contacts = 0;
+		for (ContactEdge ce : b1.contacts) {
+			contacts += ce.interaction.getContacts().size();
+		}
+		for (ContactEdge ce : b2.contacts) {
+			if (ce.other != b1) {
+				contacts += ce.interaction.getContacts().size();
+			}
+		}
+		
+		bodies.clear();
+		bodies.add(b1);
+		bodies.add(b2);
+		// duplicates are ignored
+		bodies.add(b1);
+		TestCase.assertTrue(w.removeBodies(bodies, true));
+		
+		TestCase.assertEquals(2, dl.called - contacts);
+		TestCase.assertEquals(2, w.getBodyCount());
+		TestCase.assertTrue(w.containsBody(b3));
+		TestCase.assertTrue(w.containsBody(b4));
+		TestCase.assertFalse(w.containsBody(b1));
+		TestCase.assertFalse(w.containsBody(b2));
+		TestCase.assertEquals(0, w.getJointCount());
+		TestCase.assertFalse(w.containsJoint(j1));
+		TestCase.assertFalse(w.containsJoint(j2));
+		TestCase.assertFalse(w.broadphaseDetector.contains(b1));
+		TestCase.assertFalse(w.broadphaseDetector.contains(b2));
+		TestCase.assertTrue(w.broadphaseDetector.contains(b3));
+		TestCase.assertTrue(w.broadphaseDetector.contains(b4));
+		
+		// the remaining bodies only have their shared contact
+		TestCase.assertEquals(0, b3.joints.size());
+		TestCase.assertEquals(1, b3.contacts.size());
+		TestCase.assertSame(b4, b3.contacts.get(0).other);
+		TestCase.assertEquals(1, b4.contacts.size());
+		TestCase.assertTrue(b1.contacts.isEmpty());
+		TestCase.assertTrue(b2.joints.isEmpty());
+		
+		// the islands should be split
+		TestCase.assertNotSame(w.islandManager.find(b1), w.islandManager.find(b3));
+		TestCase.assertSame(w.islandManager.find(b3), w.islandManager.find(b4));
+		
+		// removing most of the bodies rebuilds the broadphase
+		Body b5 = new Body(); b5.addFixture(Geometry.createCircle(1.0)); b5.setMass(MassType.NORMAL);
+		w.addBody(b5);
+		bodies.clear();
+		bodies.add(b3);
+		bodies.add(b4);
+		TestCase.assertTrue(w.removeBodies(bodies));
+		TestCase.assertEquals(1, w.getBodyCount());
+		TestCase.assertFalse(w.broadphaseDetector.contains(b3));
+		TestCase.assertTrue(w.broadphaseDetector.contains(b5));
+		
+		// the world should still step
+		w.step(1);
+	}
+	
 	/**
 	 * Tests the remove joint method.
 	 */
@@ -475,6 +790,353 @@ public class WorldTest {
 		w.addListener(null);
 	}
 	
+	/**
+	 * Returns a world with a stack of boxes and circles and a chain of
+	 * revolute joints for the snapshot tests.
+	 * @return {@link World}
+	 */
+	private static World createSnapshotWorld() {
+		World w = new World();
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(50.0, 1.0));
+		ground.setMass(MassType.INFINITE);
+		w.addBody(ground);
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 5 - i; j++) {
+				Body b = new Body();
+				b.addFixture(j % 2 == 0 ? Geometry.createSquare(1.0) : Geometry.createCircle(0.5));
+				b.translate(j * 1.05 + i * 0.5 - 5.0, i * 1.05 + 1.0);
+				b.setMass(MassType.NORMAL);
+				w.addBody(b);
+			}
+		}
+		Body prev = ground;
+		for (int i = 0; i < 3; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createRectangle(1.0, 0.25));
+			b.translate(10.0 + i, 5.0);
+			b.setMass(MassType.NORMAL);
+			w.addBody(b);
+			w.addJoint(new RevoluteJoint(prev, b, new Vector2(9.5 + i, 5.0)));
+			prev = b;
+		}
+		return w;
+	}
+	
+	/**
+	 * Returns the transforms and velocities of all the bodies in the given world.
+	 * @param w the world
+	 * @return double[]
+	 */
+	private static double[] getState(World w) {
+		int size = w.getBodyCount();
+		double[] state = new double[size * 9];
+		for (int i = 0; i < size; i++) {
+			Body b = w.getBody(i);
+			System.arraycopy(b.getTransform().getValues(), 0, state, i * 9, 6);
+			state[i * 9 + 6] = b.getLinearVelocity().x;
+			state[i * 9 + 7] = b.getLinearVelocity().y;
+			state[i * 9 + 8] = b.getAngularVelocity();
+		}
+		return state;
+	}
+	
+	/**
+	 * Tests the snapshot and restore methods.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void snapshotRestore() {
+		World w = createSnapshotWorld();
+		World w2 = createSnapshotWorld();
+		w.step(30);
+		w2.step(30);
+		
+		double[] state = getState(w);
+		int size = w.getSnapshotSize();
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		w.snapshot(buffer);
+		TestCase.assertEquals(size, buffer.position());
+		
+		// step ahead and roll back
+		w.step(10);
+		TestCase.assertFalse(Arrays.equals(state, getState(w)));
+		buffer.flip();
+		w.restore(buffer);
+		TestCase.assertEquals(0, buffer.remaining());
+		TestCase.assertTrue(Arrays.equals(state, getState(w)));
+		TestCase.assertEquals(size, w.getSnapshotSize());
+		
+		// the contacts should have been restored
+		Body b = w.getBody(1);
+		Body b2 = w2.getBody(1);
+		TestCase.assertEquals(b2.getContacts(false).size(), b.getContacts(false).size());
+		TestCase.assertEquals(b2.getContacts(false).get(0).getPoint(), b.getContacts(false).get(0).getPoint());
+		
+		// restoring a snapshot of the same state should not change the simulation
+		buffer.clear();
+		w2.snapshot(buffer);
+		buffer.flip();
+		w2.restore(buffer);
+		for (int i = 0; i < 20; i++) {
+			w.step(1);
+			w2.step(1);
+			TestCase.assertEquals(w2.getBody(1).getTransform().getTranslationY(), w.getBody(1).getTransform().getTranslationY(), 1.0e-6);
+		}
+		double[] state2 = getState(w2);
+		buffer = ByteBuffer.allocate(w2.getSnapshotSize());
+		w2.snapshot(buffer);
+		w2.step(5);
+		buffer.flip();
+		w2.restore(buffer);
+		TestCase.assertTrue(Arrays.equals(state2, getState(w2)));
+	}
+	
+	/**
+	 * Tests that a restored world continues exactly as the world did after the snapshot
+	 * and that the contacts between the same fixtures are restored in place.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void snapshotRestoreDeterminism() {
+		snapshotRestoreDeterminism(createSnapshotWorld());
+		
+		// the pairs are found in a different order by each broad-phase
+		World w = createSnapshotWorld();
+		w.setBroadphaseDetector(new Sap<Body, BodyFixture>());
+		snapshotRestoreDeterminism(w);
+	}
+	
+	/**
+	 * Steps the given world from a snapshot twice and compares the results.
+	 * @param w the world
+	 */
+	private static void snapshotRestoreDeterminism(World w) {
+		w.step(30);
+		ByteBuffer buffer = ByteBuffer.allocate(w.getSnapshotSize());
+		w.snapshot(buffer);
+		
+		// continue from the snapshot
+		double[][] states = new double[40][];
+		for (int i = 0; i < states.length; i++) {
+			w.step(1);
+			states[i] = getState(w);
+		}
+		
+		Body ground = w.getBody(0);
+		Body b = w.getBody(1);
+		ContactEdge edge = null;
+		for (ContactEdge e : b.contacts) {
+			if (e.other == ground) edge = e;
+		}
+		TestCase.assertNotNull(edge);
+		
+		buffer.flip();
+		w.restore(buffer);
+		
+		// the contact constraint with the ground is restored in place
+		ContactEdge restored = null;
+		for (ContactEdge e : b.contacts) {
+			if (e.other == ground) restored = e;
+		}
+		TestCase.assertSame(edge, restored);
+		TestCase.assertSame(edge.reciprocal, ground.contacts.get(edge.reciprocal.index));
+		
+		// run again from the snapshot
+		for (int i = 0; i < states.length; i++) {
+			w.step(1);
+			TestCase.assertTrue(Arrays.equals(states[i], getState(w)));
+		}
+	}
+	
+	/**
+	 * Tests the restore method with a snapshot from a different world.
+	 * @since 3.2.4
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void restoreInvalid() {
+		World w = createSnapshotWorld();
+		ByteBuffer buffer = ByteBuffer.allocate(w.getSnapshotSize());
+		w.snapshot(buffer);
+		buffer.flip();
+		new World().restore(buffer);
+	}
+	
+	/**
+	 * Adds a pair of bodies for each joint type to the given world.
+	 * @param w the world
+	 */
+	private static void addJoints(World w) {
+		Body[] bodies = new Body[20];
+		for (int i = 0; i < bodies.length; i++) {
+			bodies[i] = new Body();
+			bodies[i].addFixture(Geometry.createSquare(0.5));
+			bodies[i].translate(20.0 + (i / 2) * 3.0 + (i % 2), 3.0);
+			bodies[i].setMass(MassType.NORMAL);
+			w.addBody(bodies[i]);
+		}
+		w.addJoint(new AngleJoint(bodies[0], bodies[1]));
+		w.addJoint(new DistanceJoint(bodies[2], bodies[3], new Vector2(23.0, 3.0), new Vector2(24.0, 3.0)));
+		w.addJoint(new FrictionJoint(bodies[4], bodies[5], new Vector2(26.5, 3.0)));
+		w.addJoint(new MotorJoint(bodies[6], bodies[7]));
+		w.addJoint(new PinJoint(bodies[8], new Vector2(32.0, 3.0), 8.0, 0.3, 1000.0));
+		w.addJoint(new PrismaticJoint(bodies[10], bodies[11], new Vector2(35.5, 3.0), new Vector2(1.0, 0.0)));
+		w.addJoint(new PulleyJoint(bodies[12], bodies[13], new Vector2(38.0, 6.0), new Vector2(39.0, 6.0), new Vector2(38.0, 3.0), new Vector2(39.0, 3.0)));
+		w.addJoint(new RopeJoint(bodies[14], bodies[15], new Vector2(41.0, 3.0), new Vector2(42.0, 3.0)));
+		w.addJoint(new WeldJoint(bodies[16], bodies[17], new Vector2(44.5, 3.0)));
+		w.addJoint(new WheelJoint(bodies[18], bodies[19], new Vector2(48.0, 3.0), new Vector2(0.0, 1.0)));
+	}
+	
+	/**
+	 * Tests the copy method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void copy() {
+		World w = createSnapshotWorld();
+		addJoints(w);
+		w.addListener(new StepAdapter());
+		w.getSettings().setStepFrequency(1.0 / 30.0);
+		w.setUserData("world");
+		w.step(30);
+		
+		World c = w.copy();
+		TestCase.assertNotSame(w, c);
+		TestCase.assertEquals(w.getBodyCount(), c.getBodyCount());
+		TestCase.assertEquals(w.getJointCount(), c.getJointCount());
+		TestCase.assertEquals(0, c.getListeners(Listener.class).size());
+		TestCase.assertEquals(w.getSettings().getStepFrequency(), c.getSettings().getStepFrequency());
+		TestCase.assertNotSame(w.getSettings(), c.getSettings());
+		TestCase.assertEquals(w.getAccumulatedTime(), c.getAccumulatedTime());
+		TestCase.assertSame(w.getUserData(), c.getUserData());
+		TestCase.assertEquals(w.getBroadphaseDetector().getClass(), c.getBroadphaseDetector().getClass());
+		TestCase.assertEquals(w.getContactManager().getClass(), c.getContactManager().getClass());
+		for (int i = 0; i < w.getBodyCount(); i++) {
+			Body b = w.getBody(i);
+			Body bc = c.getBody(i);
+			TestCase.assertNotSame(b, bc);
+			TestCase.assertEquals(b.getId(), bc.getId());
+			TestCase.assertTrue(c.containsBody(bc));
+			TestCase.assertNotSame(b.getFixture(0), bc.getFixture(0));
+			TestCase.assertEquals(b.getFixture(0).getId(), bc.getFixture(0).getId());
+			TestCase.assertSame(b.getFixture(0).getShape(), bc.getFixture(0).getShape());
+			TestCase.assertEquals(b.isAsleep(), bc.isAsleep());
+			TestCase.assertEquals(b.getContacts(false).size(), bc.getContacts(false).size());
+			TestCase.assertEquals(b.getJoints().size(), bc.getJoints().size());
+			TestCase.assertTrue(c.getBroadphaseDetector().contains(bc));
+		}
+		for (int i = 0; i < w.getJointCount(); i++) {
+			Joint j = w.getJoint(i);
+			Joint jc = c.getJoint(i);
+			TestCase.assertEquals(j.getClass(), jc.getClass());
+			TestCase.assertEquals(j.getId(), jc.getId());
+			TestCase.assertSame(c.getBody(j.getBody1().worldIndex), jc.getBody1());
+			TestCase.assertSame(c.getBody(j.getBody2().worldIndex), jc.getBody2());
+			TestCase.assertTrue(c.containsJoint(jc));
+		}
+		
+		// stepping the copy should produce the same results
+		for (int i = 0; i < 60; i++) {
+			w.step(1);
+			c.step(1);
+			TestCase.assertEquals(WorldRecorder.getStateHash(w), WorldRecorder.getStateHash(c));
+		}
+		
+		// the copy should be independent of the original
+		double[] state = getState(w);
+		c.getBody(1).applyImpulse(new Vector2(0.0, 5.0));
+		c.removeBody(c.getBody(2));
+		c.step(10);
+		TestCase.assertTrue(Arrays.equals(state, getState(w)));
+		TestCase.assertEquals(c.getBodyCount() + 1, w.getBodyCount());
+		w.step(1);
+		TestCase.assertTrue(WorldRecorder.getStateHash(w) != WorldRecorder.getStateHash(c));
+	}
+	
+	/**
+	 * Tests the copy method with the {@link Sap} broad-phase and 
+	 * the {@link SimpleContactManager}.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void copySapSimpleContactManager() {
+		World w = createSnapshotWorld();
+		w.setBroadphaseDetector(new Sap<Body, BodyFixture>());
+		w.setContactManager(new SimpleContactManager());
+		w.step(20);
+		
+		World c = w.copy();
+		TestCase.assertTrue(c.getBroadphaseDetector() instanceof Sap);
+		TestCase.assertTrue(c.getContactManager() instanceof SimpleContactManager);
+		for (int i = 0; i < 30; i++) {
+			w.step(1);
+			c.step(1);
+			TestCase.assertTrue(Arrays.equals(getState(w), getState(c)));
+		}
+	}
+	
+	/**
+	 * Tests stepping a world and its copy at the same time on different threads.
+	 * @throws Exception if the stepping thread fails
+	 * @since 3.2.4
+	 */
+	@Test
+	public void copyConcurrent() throws Exception {
+		final int steps = 200;
+		final World w = createSnapshotWorld();
+		w.setNarrowphaseDetector(new DispatchNarrowphaseDetector(new Sat()));
+		w.step(10);
+		
+		// the copies should have their own algorithms
+		final World c = w.copy();
+		TestCase.assertNotSame(w.getNarrowphaseDetector(), c.getNarrowphaseDetector());
+		TestCase.assertNotSame(w.getRaycastDetector(), c.getRaycastDetector());
+		TestCase.assertNotSame(w.getDistanceDetector(), c.getDistanceDetector());
+		TestCase.assertNotSame(w.getTimeOfImpactDetector(), c.getTimeOfImpactDetector());
+		TestCase.assertNotSame(w.getContactConstraintSolver(), c.getContactConstraintSolver());
+		TestCase.assertTrue(c.getNarrowphaseDetector() instanceof DispatchNarrowphaseDetector);
+		// except the Sat which keeps its working storage per thread
+		TestCase.assertSame(
+			((DispatchNarrowphaseDetector)w.getNarrowphaseDetector()).getFallbackNarrowphaseDetector(), 
+			((DispatchNarrowphaseDetector)c.getNarrowphaseDetector()).getFallbackNarrowphaseDetector());
+		
+		// step a copy serially to get the expected results
+		World serial = w.copy();
+		for (int i = 0; i < steps; i++) {
+			serial.step(1);
+		}
+		double[] expected = getState(serial);
+		
+		// step the world and the copy in lock step on two threads
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final Throwable[] error = new Throwable[1];
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < steps; i++) {
+						barrier.await();
+						c.step(1);
+					}
+				} catch (Throwable e) {
+					error[0] = e;
+				}
+			}
+		});
+		thread.start();
+		for (int i = 0; i < steps; i++) {
+			barrier.await();
+			w.step(1);
+		}
+		thread.join();
+		
+		if (error[0] != null) {
+			throw new Exception(error[0]);
+		}
+		TestCase.assertTrue(Arrays.equals(expected, getState(w)));
+		TestCase.assertTrue(Arrays.equals(expected, getState(c)));
+	}
+	
 	/**
 	 * Tests the set broadphase detector method.
 	 */
@@ -586,6 +1248,28 @@ public class WorldTest {
 		w.setRaycastDetector(null);
 	}
 	
+	/**
+	 * Tests the set distance detector method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void setDistanceDetector() {
+		World w = new World();
+		Gjk gjk = new Gjk();
+		w.setDistanceDetector(gjk);
+		TestCase.assertSame(gjk, w.getDistanceDetector());
+	}
+	
+	/**
+	 * Tests the set distance detector method passing a null value.
+	 * @since 3.2.4
+	 */
+	@Test(expected = NullPointerException.class)
+	public void setNullDistanceDetector() {
+		World w = new World();
+		w.setDistanceDetector(null);
+	}
+	
 	/**
 	 * Tests the set coefficient mixer method.
 	 */
@@ -1008,4 +1692,809 @@ public class WorldTest {
 		
 		TestCase.assertEquals(0, w.getJointCount());
 	}
+	
+	/**
+	 * Tests the collection of step statistics.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void stepStatistics() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(MassType.NORMAL);
+		box.translate(0.0, 0.9);
+		w.addBody(box);
+		
+		// disabled by default
+		w.step(1);
+		TestCase.assertEquals(0, w.getStepStatistics().getStepTime());
+		TestCase.assertEquals(0, w.getStepHistogram().getStepCount());
+		
+		w.getSettings().setStepStatisticsEnabled(true);
+		w.step(2);
+		
+		StepStatistics stats = w.getStepStatistics();
+		TestCase.assertTrue(stats.getStepTime() > 0);
+		TestCase.assertTrue(stats.getStepTime() >= stats.getDetectTime());
+		TestCase.assertEquals(1, stats.getBroadphasePairCount());
+		TestCase.assertEquals(1, stats.getNarrowphaseCollisionCount());
+		TestCase.assertEquals(1, stats.getContactConstraintCount());
+		TestCase.assertEquals(1, stats.getIslandCount());
+		TestCase.assertEquals(w.getSettings().getVelocityConstraintSolverIterations(), stats.getVelocityIterationCount());
+		TestCase.assertTrue(stats.getPositionIterationCount() >= 1);
+		
+		StepHistogram histogram = w.getStepHistogram();
+		TestCase.assertEquals(2, histogram.getStepCount());
+		TestCase.assertTrue(histogram.getMaximumStepTime() >= histogram.getMinimumStepTime());
+		long count = 0;
+		for (int i = 0; i < StepHistogram.BUCKET_COUNT; i++) {
+			count += histogram.getBucket(i);
+		}
+		TestCase.assertEquals(2, count);
+		
+		histogram.reset();
+		TestCase.assertEquals(0, histogram.getStepCount());
+		TestCase.assertEquals(0.0, histogram.getAverageStepTime());
+	}
+	
+	/**
+	 * Tests the notification of step phase listeners.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void stepPhaseListener() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(MassType.NORMAL);
+		box.translate(0.0, 0.9);
+		w.addBody(box);
+		
+		final int[] counts = new int[8];
+		w.addListener(new StepPhaseAdapter() {
+			@Override
+			public void detectBegin(World world) { counts[0]++; }
+			@Override
+			public void detectEnd(World world, int bodyCount, int pairCount, int contactConstraintCount) {
+				counts[1]++;
+				TestCase.assertEquals(2, bodyCount);
+				TestCase.assertEquals(1, pairCount);
+				TestCase.assertEquals(1, contactConstraintCount);
+			}
+			@Override
+			public void islandBegin(World world) { counts[2]++; }
+			@Override
+			public void islandEnd(World world, int bodyCount, int jointCount, int contactConstraintCount) {
+				counts[3]++;
+				TestCase.assertEquals(2, bodyCount);
+				TestCase.assertEquals(0, jointCount);
+				TestCase.assertEquals(1, contactConstraintCount);
+			}
+			@Override
+			public void timeOfImpactBegin(World world) { counts[4]++; }
+			@Override
+			public void timeOfImpactEnd(World world, int bodyCount) { counts[5]++; }
+			@Override
+			public void broadphaseRebuildBegin(World world) { counts[6]++; }
+			@Override
+			public void broadphaseRebuildEnd(World world, int bodyCount) {
+				counts[7]++;
+				TestCase.assertEquals(2, bodyCount);
+			}
+		});
+		
+		// the first step performs an update and the end of step detect
+		w.step(1);
+		TestCase.assertEquals(2, counts[0]);
+		TestCase.assertEquals(2, counts[1]);
+		TestCase.assertEquals(1, counts[2]);
+		TestCase.assertEquals(1, counts[3]);
+		TestCase.assertEquals(1, counts[4]);
+		TestCase.assertEquals(1, counts[5]);
+		
+		w.setBroadphaseDetector(new Sap<Body, BodyFixture>());
+		TestCase.assertEquals(1, counts[6]);
+		TestCase.assertEquals(1, counts[7]);
+	}
+	
+	/**
+	 * Tests that the contacts of sleeping bodies are retained without
+	 * performing collision detection.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void sleepingContacts() {
+		ContactManager[] managers = new ContactManager[] {
+			new WarmStartingContactManager(),
+			new SimpleContactManager()
+		};
+		for (ContactManager cm : managers) {
+			World w = new World();
+			w.setContactManager(cm);
+			
+			Body floor = new Body();
+			floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+			floor.setMass(MassType.INFINITE);
+			w.addBody(floor);
+			
+			Body box = new Body();
+			box.addFixture(Geometry.createSquare(1.0));
+			box.setMass(MassType.NORMAL);
+			box.translate(0.0, 0.99);
+			w.addBody(box);
+			
+			final int[] counts = new int[2];
+			w.addListener(new CollisionAdapter() {
+				@Override
+				public boolean collision(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+					counts[0]++;
+					return true;
+				}
+			});
+			w.addListener(new ContactAdapter() {
+				@Override
+				public void end(ContactPoint point) {
+					counts[1]++;
+				}
+			});
+			
+			// let the box come to rest
+			for (int i = 0; i < 200 && !box.isAsleep(); i++) {
+				w.step(1);
+			}
+			TestCase.assertTrue(box.isAsleep());
+			
+			// the contact is retained without being detected
+			counts[0] = 0;
+			counts[1] = 0;
+			w.step(10);
+			TestCase.assertEquals(0, counts[0]);
+			TestCase.assertEquals(0, counts[1]);
+			TestCase.assertTrue(box.isAsleep());
+			TestCase.assertTrue(floor.isAsleep());
+			TestCase.assertEquals(1, box.getInContactBodies(false).size());
+			TestCase.assertEquals(1, floor.getInContactBodies(false).size());
+			
+			// waking the box resumes collision detection
+			box.setAsleep(false);
+			w.step(1);
+			TestCase.assertTrue(counts[0] > 0);
+			TestCase.assertEquals(1, box.getInContactBodies(false).size());
+			TestCase.assertEquals(1, floor.getInContactBodies(false).size());
+			
+			// lifting the box ends the contact
+			counts[1] = 0;
+			box.translate(0.0, 1.0);
+			w.step(1);
+			TestCase.assertTrue(counts[1] > 0);
+			TestCase.assertEquals(0, box.getInContactBodies(false).size());
+			TestCase.assertEquals(0, floor.getInContactBodies(false).size());
+		}
+	}
+	
+	/**
+	 * Tests that a sleeping body that is moved is updated in the broad-phase
+	 * and woken up.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void sleepingMoved() {
+		World w = new World();
+		w.setGravity(World.ZERO_GRAVITY);
+		
+		Body body = new Body();
+		body.addFixture(Geometry.createSquare(1.0));
+		body.setMass(MassType.NORMAL);
+		w.addBody(body);
+		
+		w.step(1);
+		body.setAsleep(true);
+		body.translate(10.0, 0.0);
+		w.step(2);
+		
+		// the queries find the body at its new position
+		List<RaycastResult> results = new ArrayList<RaycastResult>();
+		TestCase.assertTrue(w.raycast(new Vector2(10.0, 1.0), new Vector2(10.0, -1.0), false, false, results));
+		TestCase.assertSame(body, results.get(0).getBody());
+		List<DetectResult> detects = new ArrayList<DetectResult>();
+		TestCase.assertTrue(w.detect(new AABB(9.5, -0.5, 10.5, 0.5), detects));
+		TestCase.assertSame(body, detects.get(0).getBody());
+		TestCase.assertFalse(w.detect(new AABB(-0.1, -0.1, 0.1, 0.1), detects));
+		
+		// the moved body was woken up
+		TestCase.assertFalse(body.isAsleep());
+		
+		// a body that is put to sleep after moving is updated too
+		body.getLinearVelocity().set(1.0, 0.0);
+		w.step(1);
+		body.setAsleep(true);
+		w.step(1);
+		AABB aabb = w.getBroadphaseDetector().getAABB(body);
+		TestCase.assertTrue(aabb.contains(body.createAABB()));
+		TestCase.assertTrue(body.isAsleep());
+		
+		// moving a sleeping body with its transform works the same
+		Transform tx = new Transform();
+		tx.translate(-10.0, 0.0);
+		body.getTransform().set(tx);
+		w.step(1);
+		detects.clear();
+		TestCase.assertTrue(w.detect(new AABB(-10.5, -0.5, -9.5, 0.5), detects));
+		TestCase.assertSame(body, detects.get(0).getBody());
+	}
+	
+	/**
+	 * Tests that the narrow-phase information of a pair is retained between
+	 * time steps without being replaced.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void pairCaches() {
+		World w = new World();
+		w.setGravity(World.ZERO_GRAVITY);
+		
+		// the AABBs overlap but the shapes don't
+		Body circle = new Body();
+		BodyFixture cf = circle.addFixture(Geometry.createCircle(0.5));
+		circle.setMass(MassType.NORMAL);
+		circle.translate(0.9, 0.9);
+		w.addBody(circle);
+		
+		Body box = new Body();
+		BodyFixture bf = box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(MassType.NORMAL);
+		w.addBody(box);
+		
+		w.step(1);
+		List<PairCache> caches = cf.caches != null ? cf.caches : bf.caches;
+		TestCase.assertEquals(1, caches.size());
+		PairCache cache = caches.get(0);
+		TestCase.assertTrue(cache.narrowphase.isSeparated());
+		
+		// the same cache is used by the next detections
+		w.step(2);
+		TestCase.assertEquals(1, caches.size());
+		TestCase.assertSame(cache, caches.get(0));
+		
+		// changing the algorithm discards the information
+		w.setNarrowphaseDetector(new Sat());
+		w.step(1);
+		TestCase.assertEquals(1, caches.size());
+		TestCase.assertNotSame(cache, caches.get(0));
+		
+		// the cache of a pair that isn't tested anymore is removed
+		cache = caches.get(0);
+		circle.translate(10.0, 0.0);
+		w.step(2);
+		circle.translate(-10.0, 0.0);
+		w.step(1);
+		TestCase.assertEquals(1, caches.size());
+		TestCase.assertNotSame(cache, caches.get(0));
+		
+		// the manifold information is retained with it
+		circle.translate(-0.2, -0.2);
+		w.step(1);
+		cache = caches.get(0);
+		TestCase.assertFalse(cache.narrowphase.isSeparated());
+		TestCase.assertNotNull(cache.manifold);
+	}
+	
+	/**
+	 * Tests that only the static bodies that changed are visited by the step.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void staticChanged() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		Body wall = new Body();
+		wall.addFixture(Geometry.createRectangle(1.0, 10.0));
+		wall.setMass(MassType.INFINITE);
+		wall.translate(20.0, 0.0);
+		w.addBody(wall);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(MassType.NORMAL);
+		box.translate(0.0, 0.99);
+		w.addBody(box);
+		
+		// the static bodies aren't changed by the solvers
+		w.step(2);
+		TestCase.assertEquals(0, w.bodyIndex.getChanged().size());
+		
+		// a moved static body is updated in the broad-phase
+		Transform tx = new Transform();
+		tx.translate(-20.0, 0.0);
+		wall.getTransform().set(tx);
+		TestCase.assertEquals(1, w.bodyIndex.getChanged().size());
+		w.step(1);
+		TestCase.assertEquals(0, w.bodyIndex.getChanged().size());
+		List<DetectResult> detects = new ArrayList<DetectResult>();
+		TestCase.assertTrue(w.detect(new AABB(-20.1, -0.1, -19.9, 0.1), detects));
+		TestCase.assertSame(wall, detects.get(0).getBody());
+		TestCase.assertTrue(wall.getInitialTransform().getTranslation().equals(-20.0, 0.0));
+		
+		// the sleeping bodies touching a moved static body are woken up
+		for (int i = 0; i < 200 && !box.isAsleep(); i++) {
+			w.step(1);
+		}
+		TestCase.assertTrue(box.isAsleep());
+		floor.translate(0.0, -0.5);
+		w.step(1);
+		TestCase.assertFalse(box.isAsleep());
+		
+		// a static body whose velocity is set directly is kinematic
+		wall.getLinearVelocity().set(1.0, 0.0);
+		w.step(1);
+		TestCase.assertEquals(BodyIndex.KINEMATIC, wall.indexCategory);
+		TestCase.assertTrue(wall.getTransform().getTranslationX() > -20.0);
+	}
+	
+	/**
+	 * Tests that speculative contacts stop fast bodies at the surface of thin 
+	 * bodies without solving the time of impact.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void speculativeContacts() {
+		World w = new World();
+		w.getSettings().setContinuousDetectionMode(ContinuousDetectionMode.SPECULATIVE);
+		
+		final int[] counts = new int[1];
+		w.addListener(new TimeOfImpactAdapter() {
+			@Override
+			public boolean collision(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, TimeOfImpact toi) {
+				counts[0]++;
+				return true;
+			}
+		});
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 0.1));
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		// moves more than 20 times its size in one step
+		Body circle = new Body();
+		circle.addFixture(Geometry.createCircle(0.1));
+		circle.setMass(MassType.NORMAL);
+		circle.translate(-2.0, 3.0);
+		circle.setLinearVelocity(0.0, -150.0);
+		w.addBody(circle);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(0.2));
+		box.setMass(MassType.NORMAL);
+		box.translate(2.0, 3.0);
+		box.setLinearVelocity(0.0, -120.0);
+		w.addBody(box);
+		
+		// the floor isn't in the broad-phase AABBs of the bodies
+		w.step(1);
+		TestCase.assertTrue(circle.isInContact(floor));
+		TestCase.assertTrue(box.isInContact(floor));
+		// the contacts are still separated
+		List<ContactPoint> contacts = box.getContacts(false);
+		TestCase.assertEquals(2, contacts.size());
+		for (ContactPoint cp : contacts) {
+			TestCase.assertTrue(cp.getDepth() < 0.0);
+			TestCase.assertEquals(0.0, cp.getNormal().x, 1.0e-8);
+		}
+		
+		for (int i = 0; i < 60; i++) {
+			w.step(1);
+			// the bodies never pass into the floor
+			TestCase.assertTrue(circle.getWorldCenter().y > 0.14);
+			TestCase.assertTrue(box.getWorldCenter().y > 0.14);
+		}
+		
+		// and come to rest on it
+		TestCase.assertEquals(0.15, circle.getWorldCenter().y, 0.005);
+		TestCase.assertEquals(0.15, box.getWorldCenter().y, 0.005);
+		TestCase.assertEquals(0.0, box.getTransform().getRotation(), 1.0e-3);
+		TestCase.assertEquals(0.0, circle.getLinearVelocity().getMagnitude(), 0.01);
+		TestCase.assertEquals(0.0, box.getLinearVelocity().getMagnitude(), 0.01);
+		
+		// the time of impact isn't solved
+		TestCase.assertEquals(0, counts[0]);
+		
+		// without speculative contacts the bodies pass through the floor
+		w.getSettings().setContinuousDetectionMode(ContinuousDetectionMode.NONE);
+		circle.translate(0.0, 2.85);
+		circle.setLinearVelocity(0.0, -150.0);
+		circle.setAsleep(false);
+		w.setUpdateRequired(true);
+		w.step(2);
+		TestCase.assertTrue(circle.getWorldCenter().y < 0.0);
+	}
+	
+	/**
+	 * Tests that a fast body stopped by a speculative contact rebounds with its restitution.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void speculativeRestitution() {
+		World w = new World();
+		w.getSettings().setContinuousDetectionMode(ContinuousDetectionMode.SPECULATIVE);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		// moves more than its size in one step
+		Body ball = new Body();
+		ball.addFixture(Geometry.createCircle(0.25)).setRestitution(1.0);
+		ball.setMass(MassType.NORMAL);
+		ball.translate(0.0, 5.0);
+		ball.setLinearVelocity(0.0, -40.0);
+		ball.setLinearDamping(0.0);
+		w.addBody(ball);
+		
+		// the height the ball would reach if the bounce was perfectly elastic
+		double g = -w.getGravity().y;
+		double y0 = ball.getWorldCenter().y;
+		double apex = y0 + 40.0 * 40.0 / (2.0 * g);
+		
+		boolean bounced = false;
+		double max = 0.0;
+		for (int i = 0; i < 600; i++) {
+			w.step(1);
+			double y = ball.getWorldCenter().y;
+			// the ball never passes into the floor
+			TestCase.assertTrue(y > 0.7);
+			if (ball.getLinearVelocity().y > 0.0) {
+				bounced = true;
+			}
+			if (bounced) {
+				max = Math.max(max, y);
+			}
+		}
+		TestCase.assertTrue(bounced);
+		TestCase.assertTrue(max > apex * 0.9);
+		TestCase.assertTrue(max < apex * 1.1);
+	}
+	
+	/**
+	 * Tests that a pair of fast dynamic bodies gets one speculative contact no matter
+	 * which of the two is faster.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void speculativeDynamicPair() {
+		for (int k = 0; k < 3; k++) {
+			World w = new World();
+			w.setGravity(World.ZERO_GRAVITY);
+			w.getSettings().setContinuousDetectionMode(ContinuousDetectionMode.SPECULATIVE);
+			
+			// the bodies would pass through one another in one step
+			Body left = new Body();
+			left.addFixture(Geometry.createCircle(0.1));
+			left.setMass(MassType.NORMAL);
+			left.translate(-0.6, 0.0);
+			left.setLinearVelocity(k == 0 ? 60.0 : 30.0, 0.0);
+			w.addBody(left);
+			
+			Body right = new Body();
+			right.addFixture(Geometry.createSquare(0.2));
+			right.setMass(MassType.NORMAL);
+			right.translate(0.6, 0.0);
+			right.setLinearVelocity(k == 1 ? -60.0 : -30.0, 0.0);
+			w.addBody(right);
+			
+			w.step(1);
+			TestCase.assertEquals(1, left.getContacts(false).size());
+			TestCase.assertEquals(1, right.getContacts(false).size());
+			for (int i = 0; i < 10; i++) {
+				w.step(1);
+				TestCase.assertTrue(left.getWorldCenter().x < right.getWorldCenter().x);
+			}
+		}
+	}
+	
+	/**
+	 * Tests bodies resting and rolling on a {@link Heightfield}.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void heightfield() {
+		// a flat terrain of 200 cells from -10 to 10
+		double[] heights = new double[201];
+		Heightfield terrain = new Heightfield(heights, 0.1);
+		Vector2[] vertices = new Vector2[heights.length];
+		for (int i = 0; i < heights.length; i++) {
+			vertices[i] = new Vector2(i * 0.1, heights[i]);
+		}
+		
+		// the same terrain as one fixture per link
+		World lw = new World();
+		Body links = new Body();
+		for (Link link : Geometry.createLinks(vertices, false)) {
+			links.addFixture(link);
+		}
+		links.setMass(MassType.INFINITE);
+		links.translate(-10.0, 0.0);
+		lw.addBody(links);
+		
+		World w = new World();
+		Body floor = new Body();
+		BodyFixture ff = floor.addFixture(terrain);
+		floor.setMass(MassType.INFINITE);
+		floor.translate(-10.0, 0.0);
+		w.addBody(floor);
+		
+		for (World world : new World[] { lw, w }) {
+			Body box = new Body();
+			box.addFixture(Geometry.createSquare(0.5));
+			box.setMass(MassType.NORMAL);
+			box.translate(0.03, 1.0);
+			world.addBody(box);
+			
+			Body circle = new Body();
+			circle.addFixture(Geometry.createCircle(0.2));
+			circle.setMass(MassType.NORMAL);
+			circle.translate(-8.0, 0.2);
+			circle.setLinearVelocity(4.0, 0.0);
+			world.addBody(circle);
+			
+			for (int i = 0; i < 120; i++) {
+				world.step(1);
+				// the circle rolls across the cells without catching on the internal edges
+				TestCase.assertEquals(0.2, circle.getWorldCenter().y, 0.01);
+			}
+		}
+		Body box = w.getBody(1);
+		Body circle = w.getBody(2);
+		TestCase.assertTrue(circle.getWorldCenter().x > -4.0);
+		
+		// the box rests on the cells under it
+		TestCase.assertEquals(0.25, box.getWorldCenter().y, 0.005);
+		TestCase.assertEquals(0.0, box.getTransform().getRotation(), 0.02);
+		
+		// the same as the links
+		TestCase.assertEquals(lw.getBody(1).getWorldCenter().x, box.getWorldCenter().x, 1.0e-8);
+		TestCase.assertEquals(lw.getBody(1).getWorldCenter().y, box.getWorldCenter().y, 1.0e-8);
+		TestCase.assertEquals(lw.getBody(2).getWorldCenter().x, circle.getWorldCenter().x, 1.0e-8);
+		
+		List<ContactPoint> contacts = box.getContacts(false);
+		TestCase.assertEquals(lw.getBody(1).getContacts(false).size(), contacts.size());
+		for (ContactPoint cp : contacts) {
+			BodyFixture fixture = cp.getBody1() == floor ? cp.getFixture1() : cp.getFixture2();
+			TestCase.assertTrue(fixture instanceof ChildFixture);
+			ChildFixture child = (ChildFixture)fixture;
+			TestCase.assertSame(ff, child.getParent());
+			TestCase.assertSame(terrain.getChild(child.getIndex()), child.getShape());
+			TestCase.assertSame(child, ff.getChildFixture(child.getIndex()));
+		}
+		
+		// raycasts hit the cells
+		List<RaycastResult> results = new ArrayList<RaycastResult>();
+		TestCase.assertTrue(w.raycast(new Vector2(-5.05, 1.0), new Vector2(-5.05, -1.0), false, false, results));
+		TestCase.assertEquals(1, results.size());
+		TestCase.assertEquals(1.0, results.get(0).getRaycast().getDistance(), 1.0e-8);
+		TestCase.assertEquals(49, ((ChildFixture)results.get(0).getFixture()).getIndex());
+		
+		// detection queries test the cells
+		List<DetectResult> detects = new ArrayList<DetectResult>();
+		TestCase.assertTrue(w.detect(Geometry.createCircle(0.1), new Transform(), floor, false, detects));
+		TestCase.assertEquals(2, detects.size());
+		AABB aabb = new AABB(-5.12, -0.1, -4.98, 0.1);
+		detects.clear();
+		TestCase.assertTrue(w.detect(aabb, detects));
+		TestCase.assertEquals(3, detects.size());
+		for (int i = 0; i < 3; i++) {
+			TestCase.assertEquals(48 + i, ((ChildFixture)detects.get(i).getFixture()).getIndex());
+		}
+		detects.clear();
+		TestCase.assertTrue(w.detect(aabb, floor, false, detects));
+		TestCase.assertEquals(3, detects.size());
+		for (int i = 0; i < 3; i++) {
+			TestCase.assertEquals(48 + i, ((ChildFixture)detects.get(i).getFixture()).getIndex());
+		}
+		
+		// the snapshot and copy include the contacts with the cells
+		ByteBuffer buffer = ByteBuffer.allocate(w.getSnapshotSize());
+		w.snapshot(buffer);
+		World copy = w.copy();
+		box.applyImpulse(new Vector2(1.0, 0.0));
+		copy.getBody(1).applyImpulse(new Vector2(1.0, 0.0));
+		w.step(30);
+		copy.step(30);
+		TestCase.assertEquals(box.getWorldCenter().x, copy.getBody(1).getWorldCenter().x);
+		TestCase.assertEquals(circle.getWorldCenter().x, copy.getBody(2).getWorldCenter().x);
+		double x = box.getWorldCenter().x;
+		
+		buffer.flip();
+		w.restore(buffer);
+		box.applyImpulse(new Vector2(1.0, 0.0));
+		w.step(30);
+		TestCase.assertEquals(x, box.getWorldCenter().x);
+	}
+	
+	/**
+	 * Tests that fast bodies don't pass through a {@link Heightfield}.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void heightfieldContinuous() {
+		World w = new World();
+		
+		double[] heights = new double[101];
+		for (int i = 0; i < heights.length; i++) {
+			heights[i] = Math.sin(i * 0.1) * 0.5;
+		}
+		Body floor = new Body();
+		floor.addFixture(new Heightfield(heights, 0.2));
+		floor.setMass(MassType.INFINITE);
+		floor.translate(-10.0, 0.0);
+		w.addBody(floor);
+		
+		Body circle = new Body();
+		circle.addFixture(Geometry.createCircle(0.1));
+		circle.setMass(MassType.NORMAL);
+		circle.translate(0.0, 5.0);
+		circle.setLinearVelocity(0.0, -150.0);
+		w.addBody(circle);
+		
+		// time of impact
+		w.step(10);
+		TestCase.assertTrue(circle.getWorldCenter().y > Math.sin(5.0) * 0.5);
+		
+		// speculative contacts
+		w.getSettings().setContinuousDetectionMode(ContinuousDetectionMode.SPECULATIVE);
+		circle.getTransform().setTranslation(3.0, 5.0);
+		circle.setLinearVelocity(0.0, -150.0);
+		w.setUpdateRequired(true);
+		w.step(10);
+		TestCase.assertTrue(circle.getWorldCenter().y > Math.sin(6.5) * 0.5);
+		
+		// without either the circle passes through
+		w.getSettings().setContinuousDetectionMode(ContinuousDetectionMode.NONE);
+		circle.getTransform().setTranslation(-3.0, 5.0);
+		circle.setLinearVelocity(0.0, -150.0);
+		circle.setAsleep(false);
+		w.setUpdateRequired(true);
+		w.step(3);
+		TestCase.assertTrue(circle.getWorldCenter().y < -0.5);
+	}
+	
+	/**
+	 * Tests that a {@link Chain} collides the same as the same {@link Link}s.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void chain() {
+		// a closed bowl with a bumpy bottom
+		List<Vector2> points = new ArrayList<Vector2>();
+		for (int i = 0; i <= 200; i++) {
+			double x = -10.0 + i * 0.1;
+			points.add(new Vector2(x, Math.cos(x) * 0.2));
+		}
+		points.add(new Vector2(10.0, 5.0));
+		points.add(new Vector2(-10.0, 5.0));
+		Vector2[] vertices = points.toArray(new Vector2[points.size()]);
+		Chain chain = new Chain(vertices, true);
+		
+		// the same bowl as one fixture per link
+		World lw = new World();
+		Body links = new Body();
+		for (Link link : Geometry.createLinks(vertices, true)) {
+			links.addFixture(link);
+		}
+		links.setMass(MassType.INFINITE);
+		lw.addBody(links);
+		
+		World w = new World();
+		Body floor = new Body();
+		BodyFixture cf = floor.addFixture(chain);
+		floor.setMass(MassType.INFINITE);
+		w.addBody(floor);
+		
+		for (World world : new World[] { lw, w }) {
+			Body box = new Body();
+			box.addFixture(Geometry.createSquare(0.5));
+			box.setMass(MassType.NORMAL);
+			box.translate(0.5, 1.0);
+			world.addBody(box);
+			
+			Body circle = new Body();
+			circle.addFixture(Geometry.createCircle(0.2));
+			circle.setMass(MassType.NORMAL);
+			circle.translate(-8.0, 0.5);
+			circle.setLinearVelocity(4.0, 0.0);
+			world.addBody(circle);
+			
+			world.step(120);
+		}
+		
+		// the same as the links
+		for (int i = 1; i < 3; i++) {
+			Body b1 = lw.getBody(i);
+			Body b2 = w.getBody(i);
+			TestCase.assertEquals(b1.getWorldCenter().x, b2.getWorldCenter().x, 1.0e-8);
+			TestCase.assertEquals(b1.getWorldCenter().y, b2.getWorldCenter().y, 1.0e-8);
+			TestCase.assertEquals(b1.getTransform().getRotation(), b2.getTransform().getRotation(), 1.0e-8);
+		}
+		
+		// the contacts are with the segments of the chain
+		Body box = w.getBody(1);
+		List<ContactPoint> contacts = box.getContacts(false);
+		TestCase.assertFalse(contacts.isEmpty());
+		for (ContactPoint cp : contacts) {
+			BodyFixture fixture = cp.getBody1() == floor ? cp.getFixture1() : cp.getFixture2();
+			ChildFixture child = (ChildFixture)fixture;
+			TestCase.assertSame(cf, child.getParent());
+			TestCase.assertSame(chain.getChild(child.getIndex()), child.getShape());
+		}
+		
+		// raycasts hit the segments
+		List<RaycastResult> results = new ArrayList<RaycastResult>();
+		TestCase.assertTrue(w.raycast(new Ray(new Vector2(-5.05, 1.0), new Vector2(0.0, -1.0)), 0.0, false, false, results));
+		TestCase.assertEquals(49, ((ChildFixture)results.get(0).getFixture()).getIndex());
+		results.clear();
+		TestCase.assertTrue(w.raycast(new Ray(new Vector2(0.0, 3.0), new Vector2(0.0, 1.0)), 0.0, false, false, results));
+		TestCase.assertEquals(201, ((ChildFixture)results.get(0).getFixture()).getIndex());
+	}
+	
+	/**
+	 * Tests that the children of two {@link Composite}s are tested against each other.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void compositePair() {
+		World w = new World();
+		
+		Body floor = new Body();
+		BodyFixture hf = floor.addFixture(new Heightfield(new double[] { 0.0, 0.0, 0.0, 0.0, 0.0 }, 1.0));
+		floor.setMass(MassType.INFINITE);
+		floor.translate(-2.0, 0.0);
+		w.addBody(floor);
+		
+		// a closed square chain resting on the heightfield
+		Body box = new Body();
+		BodyFixture cf = box.addFixture(new Chain(new Vector2[] {
+			new Vector2(-0.5, -0.5), new Vector2(0.5, -0.5), new Vector2(0.5, 0.5), new Vector2(-0.5, 0.5)
+		}, true));
+		box.setMass(MassType.NORMAL);
+		box.translate(0.0, 0.49);
+		w.addBody(box);
+		
+		w.step(1);
+		List<ContactConstraint> contacts = new ArrayList<ContactConstraint>();
+		for (ContactEdge edge : box.contacts) {
+			contacts.add(edge.interaction);
+		}
+		TestCase.assertFalse(contacts.isEmpty());
+		for (ContactConstraint contact : contacts) {
+			BodyFixture f1 = contact.getFixture1();
+			BodyFixture f2 = contact.getFixture2();
+			TestCase.assertTrue(f1 instanceof ChildFixture);
+			TestCase.assertTrue(f2 instanceof ChildFixture);
+			TestCase.assertTrue(((ChildFixture)f1).getParent() == hf || ((ChildFixture)f2).getParent() == hf);
+			TestCase.assertTrue(((ChildFixture)f1).getParent() == cf || ((ChildFixture)f2).getParent() == cf);
+		}
+		
+		// the chain doesn't fall through the heightfield
+		w.step(60);
+		TestCase.assertTrue(box.getWorldCenter().y > 0.4);
+	}
 }
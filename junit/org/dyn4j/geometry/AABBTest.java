@@ -355,4 +355,46 @@ public class AABBTest {
 		TestCase.assertFalse(aabb.isDegenerate(Epsilon.E));
 		TestCase.assertTrue(aabb.isDegenerate(0.000001));
 	}
+	
+	/**
+	 * Tests the set methods.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void set() {
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		TestCase.assertSame(aabb, aabb.set(-1.0, -2.0, 3.0, 4.0));
+		TestCase.assertEquals(-1.0, aabb.getMinX());
+		TestCase.assertEquals(-2.0, aabb.getMinY());
+		TestCase.assertEquals( 3.0, aabb.getMaxX());
+		TestCase.assertEquals( 4.0, aabb.getMaxY());
+		
+		AABB copy = new AABB(0.0, 0.0, 0.0, 0.0).set(aabb);
+		TestCase.assertEquals(-1.0, copy.getMinX());
+		TestCase.assertEquals(-2.0, copy.getMinY());
+		TestCase.assertEquals( 3.0, copy.getMaxX());
+		TestCase.assertEquals( 4.0, copy.getMaxY());
+	}
+	
+	/**
+	 * Tests the set method with an invalid min and max.
+	 * @since 3.2.4
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setInvalid() {
+		new AABB(0.0, 0.0, 0.0, 0.0).set(1.0, 0.0, 0.0, 1.0);
+	}
+	
+	/**
+	 * Tests the getUnionPerimeter method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void getUnionPerimeter() {
+		AABB aabb1 = new AABB(-2.0, 0.0, 2.0, 1.0);
+		AABB aabb2 = new AABB(1.0, -1.0, 3.0, 0.5);
+		
+		TestCase.assertEquals(aabb1.getUnion(aabb2).getPerimeter(), aabb1.getUnionPerimeter(aabb2), 1.0E-8);
+		TestCase.assertEquals(14.0, aabb1.getUnionPerimeter(aabb2), 1.0E-8);
+	}
 }
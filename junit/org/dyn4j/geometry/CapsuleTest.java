@@ -301,4 +301,22 @@ public class CapsuleTest {
 		TestCase.assertEquals(1.466, aabb.getMaxX(), 1.0e-3);
 		TestCase.assertEquals(2.375, aabb.getMaxY(), 1.0e-3);
 	}
+	
+	/**
+	 * Tests the getFoci method without a transform.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void getLocalFoci() {
+		Capsule e = new Capsule(1.0, 0.5);
+		Vector2[] foci = e.getFoci();
+		TestCase.assertEquals(-0.250, foci[0].x, 1.0e-3);
+		TestCase.assertEquals( 0.250, foci[1].x, 1.0e-3);
+		
+		// modifying the returned foci should not change the capsule
+		foci[0].set(5.0, 5.0);
+		foci = e.getFoci();
+		TestCase.assertEquals(-0.250, foci[0].x, 1.0e-3);
+		TestCase.assertEquals( 0.000, foci[0].y, 1.0e-3);
+	}
 }
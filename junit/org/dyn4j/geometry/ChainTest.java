@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * Test case for the {@link Chain} class.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class ChainTest {
+	/** The vertices used by the tests */
+	private static final Vector2[] VERTICES = new Vector2[] {
+		new Vector2(0.0, 0.0),
+		new Vector2(1.0, 0.0),
+		new Vector2(2.0, 1.0),
+		new Vector2(3.0, 1.0),
+		new Vector2(4.0, 0.0)
+	};
+	
+	/**
+	 * Tests a failed create using a null array.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullVertices() {
+		new Chain(null, false);
+	}
+	
+	/**
+	 * Tests a failed create using a null vertex.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullVertex() {
+		new Chain(new Vector2[] { new Vector2(), null }, false);
+	}
+	
+	/**
+	 * Tests a failed create using a single vertex.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createOneVertex() {
+		new Chain(new Vector2[] { new Vector2() }, false);
+	}
+	
+	/**
+	 * Tests a failed create of a closed chain using two vertices.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createClosedTwoVertices() {
+		new Chain(new Vector2[] { new Vector2(), new Vector2(1.0, 0.0) }, true);
+	}
+	
+	/**
+	 * Tests a failed create using coincident vertices.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createCoincidentVertices() {
+		new Chain(new Vector2[] { new Vector2(), new Vector2(1.0, 0.0), new Vector2(1.0, 0.0) }, false);
+	}
+	
+	/**
+	 * Tests a failed create of a closed chain whose last vertex is the first.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createClosedCoincidentVertices() {
+		new Chain(new Vector2[] { new Vector2(), new Vector2(1.0, 0.0), new Vector2(1.0, 1.0), new Vector2() }, true);
+	}
+	
+	/**
+	 * Tests a successful creation.
+	 */
+	@Test
+	public void createSuccess() {
+		Chain open = new Chain(VERTICES, false);
+		TestCase.assertEquals(4, open.getChildCount());
+		TestCase.assertEquals(5, open.getVertexCount());
+		TestCase.assertFalse(open.isClosed());
+		// the center is the center of mass of the segments
+		TestCase.assertEquals((3.0 + 5.0 * Math.sqrt(2.0)) / (2.0 + 2.0 * Math.sqrt(2.0)), open.center.x, 1.0e-8);
+		
+		Chain closed = new Chain(VERTICES, true);
+		TestCase.assertEquals(5, closed.getChildCount());
+		TestCase.assertTrue(closed.isClosed());
+		
+		// the vertices are copied
+		Vector2 v = VERTICES[1].copy();
+		open.translate(1.0, 0.0);
+		TestCase.assertEquals(v, VERTICES[1]);
+	}
+	
+	/**
+	 * Tests the children and their previous and next vertices.
+	 */
+	@Test
+	public void getChild() {
+		Chain open = new Chain(VERTICES, false);
+		Link link = open.getChild(1);
+		TestCase.assertSame(link, open.getChild(1));
+		TestCase.assertEquals(VERTICES[1], link.getPoint1());
+		TestCase.assertEquals(VERTICES[2], link.getPoint2());
+		TestCase.assertEquals(VERTICES[0], link.getPoint0());
+		TestCase.assertEquals(VERTICES[3], link.getPoint3());
+		TestCase.assertNull(link.getPrevious());
+		TestCase.assertNull(link.getNext());
+		
+		// the ends of an open chain have no neighbors
+		TestCase.assertNull(open.getChild(0).getPoint0());
+		TestCase.assertNull(open.getChild(3).getPoint3());
+		
+		// the ends of a closed chain wrap around
+		Chain closed = new Chain(VERTICES, true);
+		TestCase.assertEquals(VERTICES[4], closed.getChild(0).getPoint0());
+		TestCase.assertEquals(VERTICES[4], closed.getChild(4).getPoint1());
+		TestCase.assertEquals(VERTICES[0], closed.getChild(4).getPoint2());
+		TestCase.assertEquals(VERTICES[1], closed.getChild(4).getPoint3());
+		TestCase.assertEquals(VERTICES[0], closed.getChild(3).getPoint3());
+	}
+	
+	/**
+	 * Tests the child indices returned by the hierarchy against every segment.
+	 */
+	@Test
+	public void getChildIndices() {
+		// a closed wavy loop
+		int n = 101;
+		Vector2[] vertices = new Vector2[n];
+		for (int i = 0; i < n; i++) {
+			double a = i * 2.0 * Math.PI / n;
+			double r = 5.0 + Math.sin(a * 7.0);
+			vertices[i] = new Vector2(Math.cos(a) * r, Math.sin(a) * r);
+		}
+		Chain chain = new Chain(vertices, true);
+		
+		List<Integer> indices = new ArrayList<Integer>();
+		for (int i = 0; i < 50; i++) {
+			double x = Math.cos(i) * 5.0;
+			double y = Math.sin(i * 0.7) * 5.0;
+			double e = (i % 5) * 0.3;
+			AABB aabb = new AABB(x - e, y - e, x + e, y + e);
+			
+			indices.clear();
+			indices.addAll(getChildIndices(chain, aabb));
+			
+			List<Integer> expected = new ArrayList<Integer>();
+			for (int j = 0; j < chain.getChildCount(); j++) {
+				if (chain.getChild(j).createAABB(Transform.IDENTITY).overlaps(aabb)) {
+					expected.add(j);
+				}
+			}
+			TestCase.assertEquals(expected, indices);
+		}
+		
+		// everything
+		indices.clear();
+		indices.addAll(getChildIndices(chain, new AABB(-10.0, -10.0, 10.0, 10.0)));
+		TestCase.assertEquals(n, indices.size());
+		
+		// only the first indices are placed in an array that's too short
+		int[] array = new int[3];
+		TestCase.assertEquals(n, chain.getChildIndices(new AABB(-10.0, -10.0, 10.0, 10.0), array));
+		TestCase.assertEquals(2, array[2]);
+		
+		// nothing
+		indices.clear();
+		indices.addAll(getChildIndices(chain, new AABB(-1.0, -1.0, 1.0, 1.0)));
+		TestCase.assertTrue(indices.isEmpty());
+	}
+	
+	/**
+	 * Tests the translate method.
+	 */
+	@Test
+	public void translate() {
+		Chain chain = new Chain(VERTICES, false);
+		Link link = chain.getChild(3);
+		chain.translate(1.0, -2.0);
+		
+		TestCase.assertEquals((3.0 + 5.0 * Math.sqrt(2.0)) / (2.0 + 2.0 * Math.sqrt(2.0)) + 1.0, chain.center.x, 1.0e-8);
+		TestCase.assertEquals(5.0, link.getPoint2().x, 1.0e-8);
+		TestCase.assertEquals(-2.0, link.getPoint2().y, 1.0e-8);
+		TestCase.assertEquals(3.0, link.getPoint0().x, 1.0e-8);
+		TestCase.assertEquals(-2.0, chain.getChild(0).getPoint2().y, 1.0e-8);
+		
+		List<Integer> indices = new ArrayList<Integer>();
+		indices.addAll(getChildIndices(chain, new AABB(4.5, -1.6, 4.6, -1.5)));
+		TestCase.assertEquals(1, indices.size());
+		TestCase.assertEquals(3, indices.get(0).intValue());
+	}
+	
+	/**
+	 * Tests the rotate method.
+	 */
+	@Test
+	public void rotate() {
+		Chain chain = new Chain(VERTICES, false);
+		Link link = chain.getChild(3);
+		chain.rotate(Math.toRadians(90), 0.0, 0.0);
+		
+		TestCase.assertEquals(0.0, link.getPoint2().x, 1.0e-8);
+		TestCase.assertEquals(4.0, link.getPoint2().y, 1.0e-8);
+		TestCase.assertEquals(-1.0, chain.getChild(0).getPoint3().x, 1.0e-8);
+		
+		List<Integer> indices = new ArrayList<Integer>();
+		indices.addAll(getChildIndices(chain, new AABB(-0.6, 3.4, -0.4, 3.6)));
+		TestCase.assertEquals(1, indices.size());
+		TestCase.assertEquals(3, indices.get(0).intValue());
+		
+		AABB aabb = chain.createAABB(Transform.IDENTITY);
+		TestCase.assertEquals(-1.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(0.0, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(0.0, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(4.0, aabb.getMaxY(), 1.0e-8);
+	}
+	
+	/**
+	 * Tests the getAxes method.
+	 */
+	@Test
+	public void getAxes() {
+		Chain chain = new Chain(VERTICES, false);
+		this.assertHullAxes(chain, chain.getAxes(null, Transform.IDENTITY));
+		
+		// the axes follow the chain
+		chain.rotate(Math.toRadians(30.0), 1.0, 2.0);
+		chain.translate(-1.0, 3.0);
+		this.assertHullAxes(chain, chain.getAxes(null, Transform.IDENTITY));
+		
+		// a straight chain
+		chain = new Chain(new Vector2[] { new Vector2(0.0, 0.0), new Vector2(1.0, 0.0), new Vector2(2.0, 0.0) }, false);
+		Vector2[] axes = chain.getAxes(null, Transform.IDENTITY);
+		TestCase.assertNotNull(axes);
+		TestCase.assertTrue(axes.length > 0);
+	}
+	
+	/**
+	 * Asserts that the given axes are the edge normals of the hull of the given chain's vertices.
+	 * @param chain the chain
+	 * @param axes the axes
+	 */
+	private void assertHullAxes(Chain chain, Vector2[] axes) {
+		TestCase.assertEquals(4, axes.length);
+		for (Vector2 axis : axes) {
+			TestCase.assertEquals(1.0, axis.getMagnitude(), 1.0e-8);
+			double max = -Double.MAX_VALUE;
+			int count = 0;
+			for (int i = 0; i < chain.getVertexCount(); i++) {
+				double d = axis.dot(chain.getVertex(i));
+				if (Math.abs(d - max) <= 1.0e-8) {
+					count++;
+				} else if (d > max) {
+					max = d;
+					count = 1;
+				}
+			}
+			TestCase.assertTrue(count >= 2);
+		}
+	}
+	
+	/**
+	 * Tests the createAABB method.
+	 */
+	@Test
+	public void createAABB() {
+		Chain chain = new Chain(VERTICES, false);
+		Transform tx = new Transform();
+		tx.translate(1.0, 2.0);
+		AABB aabb = chain.createAABB(tx);
+		TestCase.assertEquals(1.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(2.0, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(5.0, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(3.0, aabb.getMaxY(), 1.0e-8);
+	}
+	
+	/**
+	 * Tests the project and getFarthestPoint methods.
+	 */
+	@Test
+	public void project() {
+		Chain chain = new Chain(VERTICES, false);
+		Transform tx = new Transform();
+		tx.translate(1.0, 0.0);
+		
+		Interval i = chain.project(new Vector2(1.0, 0.0), tx);
+		TestCase.assertEquals(1.0, i.getMin(), 1.0e-8);
+		TestCase.assertEquals(5.0, i.getMax(), 1.0e-8);
+		
+		i = chain.project(new Vector2(0.0, 1.0), tx);
+		TestCase.assertEquals(0.0, i.getMin(), 1.0e-8);
+		TestCase.assertEquals(1.0, i.getMax(), 1.0e-8);
+		
+		Vector2 p = chain.getFarthestPoint(new Vector2(0.0, 1.0), tx);
+		TestCase.assertEquals(3.0, p.x, 1.0e-8);
+		TestCase.assertEquals(1.0, p.y, 1.0e-8);
+	}
+	
+	/**
+	 * Tests the contains method.
+	 */
+	@Test
+	public void contains() {
+		Chain chain = new Chain(VERTICES, false);
+		TestCase.assertTrue(chain.contains(new Vector2(0.5, 0.0)));
+		TestCase.assertTrue(chain.contains(new Vector2(2.5, 1.0)));
+		TestCase.assertFalse(chain.contains(new Vector2(2.5, 0.5)));
+	}
+	
+	/**
+	 * Tests the createMass method against the mass of segments.
+	 */
+	@Test
+	public void createMass() {
+		Chain chain = new Chain(VERTICES, true);
+		List<Mass> masses = new ArrayList<Mass>();
+		for (int i = 0; i < chain.getChildCount(); i++) {
+			masses.add(new Segment(chain.getChild(i).getPoint1(), chain.getChild(i).getPoint2()).createMass(2.0));
+		}
+		Mass expected = Mass.create(masses);
+		Mass mass = chain.createMass(2.0);
+		TestCase.assertEquals(expected.getMass(), mass.getMass(), 1.0e-8);
+		TestCase.assertEquals(expected.getInertia(), mass.getInertia(), 1.0e-8);
+		TestCase.assertEquals(expected.getCenter().x, mass.getCenter().x, 1.0e-8);
+		TestCase.assertEquals(expected.getCenter().y, mass.getCenter().y, 1.0e-8);
+	}
+
+	/**
+	 * Returns the indices of the children of the given {@link Composite} whose bounds 
+	 * overlap the given {@link AABB}.
+	 * @param composite the composite
+	 * @param aabb the local space {@link AABB}
+	 * @return List&lt;Integer&gt;
+	 */
+	private static List<Integer> getChildIndices(Composite composite, AABB aabb) {
+		int[] indices = new int[composite.getChildCount()];
+		int size = composite.getChildIndices(aabb, indices);
+		List<Integer> list = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(indices[i]);
+		}
+		return list;
+	}
+}
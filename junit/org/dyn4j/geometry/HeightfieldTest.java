@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.Fixture;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link Heightfield} class.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class HeightfieldTest {
+	/** The heights used by the tests */
+	private static final double[] HEIGHTS = new double[] { 0.0, 1.0, 0.5, -1.0, 2.0 };
+	
+	/**
+	 * Tests a failed create using a null array.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullHeights() {
+		new Heightfield(null, 1.0);
+	}
+	
+	/**
+	 * Tests a failed create using a single height.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createOneHeight() {
+		new Heightfield(new double[] { 1.0 }, 1.0);
+	}
+	
+	/**
+	 * Tests a failed create using a zero spacing.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createZeroSpacing() {
+		new Heightfield(HEIGHTS, 0.0);
+	}
+	
+	/**
+	 * Tests a successful creation.
+	 */
+	@Test
+	public void createSuccess() {
+		Heightfield h = new Heightfield(HEIGHTS, 2.0);
+		
+		TestCase.assertEquals(4, h.getChildCount());
+		TestCase.assertEquals(5, h.getHeightCount());
+		TestCase.assertEquals(2.0, h.getSpacing());
+		TestCase.assertEquals(4.0, h.center.x, 1.0e-8);
+		TestCase.assertEquals(0.5, h.center.y, 1.0e-8);
+		
+		// the cells are linked
+		for (int i = 0; i < 4; i++) {
+			Link link = h.getChild(i);
+			TestCase.assertEquals(i * 2.0, link.getPoint1().x, 1.0e-8);
+			TestCase.assertEquals(HEIGHTS[i], link.getPoint1().y, 1.0e-8);
+			TestCase.assertEquals(i * 2.0 + 2.0, link.getPoint2().x, 1.0e-8);
+			TestCase.assertEquals(HEIGHTS[i + 1], link.getPoint2().y, 1.0e-8);
+			TestCase.assertEquals(i > 0 ? h.getChild(i - 1) : null, link.getPrevious());
+			TestCase.assertEquals(i < 3 ? h.getChild(i + 1) : null, link.getNext());
+		}
+		
+		// the heights are copied
+		double[] heights = new double[] { 1.0, 2.0 };
+		h = new Heightfield(heights, 1.0);
+		heights[0] = 5.0;
+		TestCase.assertEquals(1.0, h.getHeight(0));
+	}
+	
+	/**
+	 * Tests the getChildIndices method.
+	 */
+	@Test
+	public void getChildIndices() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		List<Integer> indices = new ArrayList<Integer>();
+		
+		// over the first two cells
+		indices.addAll(getChildIndices(h, new AABB(0.2, 0.8, 1.5, 3.0)));
+		TestCase.assertEquals(2, indices.size());
+		TestCase.assertEquals(0, indices.get(0).intValue());
+		TestCase.assertEquals(1, indices.get(1).intValue());
+		
+		// above the third cell but below the fourth
+		indices.clear();
+		indices.addAll(getChildIndices(h, new AABB(2.2, 0.6, 3.5, 3.0)));
+		TestCase.assertEquals(1, indices.size());
+		TestCase.assertEquals(3, indices.get(0).intValue());
+		
+		// outside the heightfield
+		indices.clear();
+		indices.addAll(getChildIndices(h, new AABB(-3.0, -1.0, -1.0, 1.0)));
+		indices.addAll(getChildIndices(h, new AABB(5.0, -1.0, 7.0, 1.0)));
+		indices.addAll(getChildIndices(h, new AABB(0.0, 3.0, 4.0, 4.0)));
+		TestCase.assertEquals(0, indices.size());
+		
+		// all of it
+		indices.addAll(getChildIndices(h, new AABB(-10.0, -10.0, 10.0, 10.0)));
+		TestCase.assertEquals(4, indices.size());
+		
+		// only the first indices are placed in an array that's too short
+		int[] array = new int[] { -1, -1 };
+		TestCase.assertEquals(4, h.getChildIndices(new AABB(-10.0, -10.0, 10.0, 10.0), array));
+		TestCase.assertEquals(0, array[0]);
+		TestCase.assertEquals(1, array[1]);
+		
+		// after translating
+		h.translate(10.0, 1.0);
+		indices.clear();
+		indices.addAll(getChildIndices(h, new AABB(0.2, 0.8, 1.5, 3.0)));
+		TestCase.assertEquals(0, indices.size());
+		indices.addAll(getChildIndices(h, new AABB(10.2, 1.8, 11.5, 4.0)));
+		TestCase.assertEquals(2, indices.size());
+	}
+	
+	/**
+	 * Tests the translate method.
+	 */
+	@Test
+	public void translate() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		h.translate(1.0, -2.0);
+		
+		TestCase.assertEquals(3.0, h.center.x, 1.0e-8);
+		TestCase.assertEquals(-1.5, h.center.y, 1.0e-8);
+		for (int i = 0; i < 4; i++) {
+			Link link = h.getChild(i);
+			TestCase.assertEquals(i + 1.0, link.getPoint1().x, 1.0e-8);
+			TestCase.assertEquals(HEIGHTS[i] - 2.0, link.getPoint1().y, 1.0e-8);
+			TestCase.assertEquals(i + 2.0, link.getPoint2().x, 1.0e-8);
+			TestCase.assertEquals(HEIGHTS[i + 1] - 2.0, link.getPoint2().y, 1.0e-8);
+			TestCase.assertEquals(i + 1.5, link.getCenter().x, 1.0e-8);
+		}
+	}
+	
+	/**
+	 * Tests that translating a heightfield updates the retained {@link AABB} 
+	 * of a fixture of one of its children.
+	 */
+	@Test
+	public void translateChildAABB() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		Fixture f = new Fixture(h.getChild(1));
+		Transform tx = new Transform();
+		
+		AABB aabb = f.getAABB(tx);
+		TestCase.assertEquals(1.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(2.0, aabb.getMaxX(), 1.0e-8);
+		
+		h.translate(2.0, -1.0);
+		aabb = f.getAABB(tx);
+		TestCase.assertEquals(3.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(-0.5, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(4.0, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(0.0, aabb.getMaxY(), 1.0e-8);
+		
+		h.rotate(Math.toRadians(90.0), 0.0, 0.0);
+		aabb = f.getAABB(tx);
+		TestCase.assertEquals(-0.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(3.0, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(0.5, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(4.0, aabb.getMaxY(), 1.0e-8);
+	}
+	
+	/**
+	 * Tests the rotate method.
+	 */
+	@Test
+	public void rotate() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		h.rotate(Math.toRadians(90.0), 0.0, 0.0);
+		
+		TestCase.assertEquals(-0.5, h.center.x, 1.0e-8);
+		TestCase.assertEquals(2.0, h.center.y, 1.0e-8);
+		for (int i = 0; i < 4; i++) {
+			Link link = h.getChild(i);
+			TestCase.assertEquals(-HEIGHTS[i], link.getPoint1().x, 1.0e-8);
+			TestCase.assertEquals(i, link.getPoint1().y, 1.0e-8);
+			TestCase.assertEquals(-HEIGHTS[i + 1], link.getPoint2().x, 1.0e-8);
+			TestCase.assertEquals(i + 1.0, link.getPoint2().y, 1.0e-8);
+		}
+		
+		// the cells are laid out along the y-axis
+		List<Integer> indices = new ArrayList<Integer>();
+		indices.addAll(getChildIndices(h, new AABB(-3.0, 0.2, 3.0, 0.8)));
+		TestCase.assertEquals(1, indices.size());
+		TestCase.assertEquals(0, indices.get(0).intValue());
+		indices.clear();
+		indices.addAll(getChildIndices(h, new AABB(0.5, 0.0, 3.0, 4.0)));
+		TestCase.assertEquals(2, indices.size());
+		TestCase.assertEquals(2, indices.get(0).intValue());
+		TestCase.assertEquals(3, indices.get(1).intValue());
+		
+		TestCase.assertTrue(h.contains(new Vector2(-0.5, 0.5)));
+		TestCase.assertFalse(h.contains(new Vector2(0.5, 0.5)));
+		
+		Vector2 p = h.getFarthestPoint(new Vector2(1.0, 0.0), Transform.IDENTITY);
+		TestCase.assertEquals(1.0, p.x, 1.0e-8);
+		TestCase.assertEquals(3.0, p.y, 1.0e-8);
+		
+		AABB aabb = h.createAABB(Transform.IDENTITY);
+		TestCase.assertEquals(-2.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(0.0, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(1.0, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(4.0, aabb.getMaxY(), 1.0e-8);
+		
+		// rotated by an arbitrary angle about another point
+		h = new Heightfield(HEIGHTS, 1.0);
+		h.rotate(Math.toRadians(30.0), 1.0, 2.0);
+		Transform tx = new Transform();
+		tx.rotate(Math.toRadians(20.0));
+		aabb = h.createAABB(tx);
+		for (int i = 0; i < 4; i++) {
+			TestCase.assertTrue(aabb.contains(h.getChild(i).createAABB(tx)));
+			// every cell overlapping the AABB of a cell is found
+			indices.clear();
+			indices.addAll(getChildIndices(h, h.getChild(i).createAABB(Transform.IDENTITY)));
+			TestCase.assertTrue(indices.contains(i));
+		}
+	}
+	
+	/**
+	 * Tests the getAxes method.
+	 */
+	@Test
+	public void getAxes() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		Vector2[] axes = h.getAxes(null, Transform.IDENTITY);
+		
+		// the axes are the edge normals of the hull of the vertices
+		TestCase.assertEquals(4, axes.length);
+		for (Vector2 axis : axes) {
+			TestCase.assertEquals(1.0, axis.getMagnitude(), 1.0e-8);
+			double max = -Double.MAX_VALUE;
+			int count = 0;
+			for (int i = 0; i < HEIGHTS.length; i++) {
+				double d = axis.dot(i, HEIGHTS[i]);
+				if (Math.abs(d - max) <= 1.0e-8) {
+					count++;
+				} else if (d > max) {
+					max = d;
+					count = 1;
+				}
+			}
+			TestCase.assertEquals(2, count);
+		}
+		
+		// a flat heightfield
+		h = new Heightfield(new double[] { 0.0, 0.0, 0.0 }, 1.0);
+		axes = h.getAxes(null, Transform.IDENTITY);
+		TestCase.assertNotNull(axes);
+		TestCase.assertTrue(axes.length > 0);
+	}
+	
+	/**
+	 * Tests the createAABB method.
+	 */
+	@Test
+	public void createAABB() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		
+		AABB aabb = h.createAABB(Transform.IDENTITY);
+		TestCase.assertEquals(0.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(-1.0, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(4.0, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(2.0, aabb.getMaxY(), 1.0e-8);
+		
+		Transform tx = new Transform();
+		tx.translate(1.0, 2.0);
+		aabb = h.createAABB(tx);
+		TestCase.assertEquals(1.0, aabb.getMinX(), 1.0e-8);
+		TestCase.assertEquals(1.0, aabb.getMinY(), 1.0e-8);
+		TestCase.assertEquals(5.0, aabb.getMaxX(), 1.0e-8);
+		TestCase.assertEquals(4.0, aabb.getMaxY(), 1.0e-8);
+		
+		// rotated the AABB is conservative
+		tx.rotate(Math.toRadians(30.0));
+		aabb = h.createAABB(tx);
+		for (int i = 0; i < 4; i++) {
+			TestCase.assertTrue(aabb.contains(h.getChild(i).createAABB(tx)));
+		}
+	}
+	
+	/**
+	 * Tests the project and getFarthestPoint methods.
+	 */
+	@Test
+	public void project() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		Transform tx = new Transform();
+		tx.translate(1.0, 0.0);
+		
+		Interval i = h.project(new Vector2(0.0, 1.0), tx);
+		TestCase.assertEquals(-1.0, i.min, 1.0e-8);
+		TestCase.assertEquals(2.0, i.max, 1.0e-8);
+		i = h.project(new Vector2(1.0, 0.0), tx);
+		TestCase.assertEquals(1.0, i.min, 1.0e-8);
+		TestCase.assertEquals(5.0, i.max, 1.0e-8);
+		
+		Vector2 p = h.getFarthestPoint(new Vector2(0.0, -1.0), tx);
+		TestCase.assertEquals(4.0, p.x, 1.0e-8);
+		TestCase.assertEquals(-1.0, p.y, 1.0e-8);
+		
+		PointFeature f = h.getFarthestFeature(new Vector2(0.0, 1.0), tx);
+		TestCase.assertEquals(4, f.getIndex());
+		TestCase.assertEquals(5.0, f.getPoint().x, 1.0e-8);
+	}
+	
+	/**
+	 * Tests the contains method.
+	 */
+	@Test
+	public void contains() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		
+		TestCase.assertTrue(h.contains(new Vector2(0.5, 0.5)));
+		TestCase.assertTrue(h.contains(new Vector2(2.0, 0.5)));
+		TestCase.assertFalse(h.contains(new Vector2(0.5, 0.0)));
+		TestCase.assertFalse(h.contains(new Vector2(-1.0, 0.0)));
+	}
+	
+	/**
+	 * Tests the createMass method.
+	 */
+	@Test
+	public void createMass() {
+		Heightfield h = new Heightfield(HEIGHTS, 1.0);
+		Mass m = h.createMass(1.0);
+		TestCase.assertEquals(0.0, m.getMass());
+		TestCase.assertEquals(0.0, m.getInertia());
+		TestCase.assertEquals(MassType.INFINITE, m.getType());
+	}
+
+	/**
+	 * Returns the indices of the children of the given {@link Composite} whose bounds 
+	 * overlap the given {@link AABB}.
+	 * @param composite the composite
+	 * @param aabb the local space {@link AABB}
+	 * @return List&lt;Integer&gt;
+	 */
+	private static List<Integer> getChildIndices(Composite composite, AABB aabb) {
+		int[] indices = new int[composite.getChildCount()];
+		int size = composite.getChildIndices(aabb, indices);
+		List<Integer> list = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(indices[i]);
+		}
+		return list;
+	}
+}
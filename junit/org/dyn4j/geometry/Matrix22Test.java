@@ -368,4 +368,27 @@ public class Matrix22Test {
 		TestCase.assertEquals(-1.0, x.x);
 		TestCase.assertEquals(-5.0, x.y);
 	}
+	
+	/**
+	 * Tests the product and solve methods that place the result in a destination vector.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void destination() {
+		Matrix22 A = new Matrix22(3.0, -1.0, 
+                			 -1.0, -1.0);
+		Vector2 b = new Vector2(2.0, 6.0);
+		Vector2 x = new Vector2();
+		TestCase.assertSame(x, A.solve(b, x));
+		TestCase.assertEquals(-1.0, x.x);
+		TestCase.assertEquals(-5.0, x.y);
+		
+		TestCase.assertSame(x, A.product(b, x));
+		TestCase.assertEquals(A.product(b), x);
+		
+		// the destination can be the given vector
+		A.solve(b, b);
+		TestCase.assertEquals(-1.0, b.x);
+		TestCase.assertEquals(-5.0, b.y);
+	}
 }
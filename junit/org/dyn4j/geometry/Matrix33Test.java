@@ -501,4 +501,26 @@ public class Matrix33Test {
 		TestCase.assertEquals( 1.0, x.y);
 		TestCase.assertEquals(-2.0, x.z);
 	}
+	
+	/**
+	 * Tests the solve methods that place the result in a destination vector.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void solveDestination() {
+		Matrix33 A = new Matrix33(1.0, -3.0, 3.0,
+                                  2.0, 3.0, -1.0,
+                                  4.0, -3.0, -1.0);
+		Vector3 b3 = new Vector3(-4.0, 15.0, 19.0);
+		Vector3 x3 = new Vector3();
+		TestCase.assertSame(x3, A.solve33(b3, x3));
+		TestCase.assertEquals( 5.0, x3.x);
+		TestCase.assertEquals( 1.0, x3.y);
+		TestCase.assertEquals(-2.0, x3.z);
+		
+		Vector2 b2 = new Vector2(-1.0, 4.0);
+		Vector2 x2 = new Vector2();
+		TestCase.assertSame(x2, A.solve22(b2, x2));
+		TestCase.assertEquals(A.solve22(b2), x2);
+	}
 }
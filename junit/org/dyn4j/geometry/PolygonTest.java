@@ -24,6 +24,8 @@
  */
 package org.dyn4j.geometry;
 
+import java.util.Random;
+
 import junit.framework.TestCase;
 
 import org.junit.Test;
@@ -31,7 +33,7 @@ import org.junit.Test;
 /**
  * Test case for the {@link Polygon} class.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class PolygonTest {
@@ -363,4 +365,101 @@ public class PolygonTest {
 		TestCase.assertEquals( 2.366, aabb.getMaxX(), 1.0e-3);
 		TestCase.assertEquals( 2.866, aabb.getMaxY(), 1.0e-3);
 	}
+	
+	/**
+	 * Tests the allocation free and hill climbing farthest point methods
+	 * against the farthest point method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void getFarthestVertexIndex() {
+		// create a polygon with many vertices
+		int n = 64;
+		Vector2[] vertices = new Vector2[n];
+		for (int i = 0; i < n; i++) {
+			double a = Geometry.TWO_PI * i / n;
+			vertices[i] = new Vector2(Math.cos(a) * 2.0, Math.sin(a));
+		}
+		Polygon p = new Polygon(vertices);
+		
+		Transform tx = new Transform();
+		tx.rotate(Math.toRadians(30.0));
+		tx.translate(1.0, -2.0);
+		
+		Random random = new Random(0);
+		Vector2 point = new Vector2();
+		int index = 0;
+		for (int i = 0; i < 1000; i++) {
+			Vector2 d = new Vector2(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+			Vector2 expected = p.getFarthestPoint(d, tx);
+			
+			// from the last index
+			index = p.getFarthestPoint(d, tx, index, point);
+			TestCase.assertEquals(expected.x, point.x, 1.0e-12);
+			TestCase.assertEquals(expected.y, point.y, 1.0e-12);
+			TestCase.assertEquals(point, tx.getTransformed(p.vertices[index]));
+			
+			// from a random index
+			int start = random.nextInt(n);
+			TestCase.assertEquals(index, p.getFarthestVertexIndex(d, tx, start));
+			
+			// allocation free
+			p.getFarthestPoint(d, tx, point);
+			TestCase.assertEquals(expected.x, point.x, 1.0e-12);
+			TestCase.assertEquals(expected.y, point.y, 1.0e-12);
+		}
+		
+		// invalid start index
+		TestCase.assertEquals(16, p.getFarthestVertexIndex(new Vector2(0.0, 1.0), Transform.IDENTITY, -1));
+		TestCase.assertEquals(16, p.getFarthestVertexIndex(new Vector2(0.0, 1.0), Transform.IDENTITY, n));
+	}
+	
+	/**
+	 * Tests the hill climbing farthest point method returns the same vertex
+	 * as a full search when an edge is perpendicular to the direction.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void getFarthestVertexIndexTie() {
+		// colinear vertices along the bottom edge
+		Polygon p = new Polygon(new Vector2[] {
+			new Vector2(-1.0, -1.0),
+			new Vector2( 0.0, -1.0),
+			new Vector2( 1.0, -1.0),
+			new Vector2( 1.0,  1.0),
+			new Vector2(-1.0,  1.0)
+		});
+		Vector2 up = new Vector2(0.0, 1.0);
+		Vector2 down = new Vector2(0.0, -1.0);
+		for (int i = 0; i < 5; i++) {
+			TestCase.assertEquals(3, p.getFarthestVertexIndex(up, Transform.IDENTITY, i));
+			TestCase.assertEquals(0, p.getFarthestVertexIndex(down, Transform.IDENTITY, i));
+		}
+	}
+	
+	/**
+	 * Tests the computeAABB method.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void computeAABB() {
+		Vector2[] vertices = new Vector2[] {
+				new Vector2(0.0, 1.0),
+				new Vector2(-1.0, -1.0),
+				new Vector2(1.0, -1.0)
+			};
+		Polygon p = new Polygon(vertices);
+		
+		Transform tx = new Transform();
+		tx.rotate(Math.toRadians(30.0));
+		tx.translate(1.0, 2.0);
+		
+		AABB expected = p.createAABB(tx);
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		p.computeAABB(tx, aabb);
+		TestCase.assertEquals(expected.getMinX(), aabb.getMinX());
+		TestCase.assertEquals(expected.getMinY(), aabb.getMinY());
+		TestCase.assertEquals(expected.getMaxX(), aabb.getMaxX());
+		TestCase.assertEquals(expected.getMaxY(), aabb.getMaxY());
+	}
 }
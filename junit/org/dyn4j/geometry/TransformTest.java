@@ -430,4 +430,31 @@ public class TransformTest {
 	public void identityTranslate2() {
 		Transform.IDENTITY.translate(2, 3);
 	}
+	
+	/**
+	 * Tests that the version is incremented when the transform is modified.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void getVersion() {
+		Transform t = new Transform();
+		int version = t.getVersion();
+		
+		t.translate(1.0, 0.0);
+		TestCase.assertTrue(t.getVersion() != version);
+		version = t.getVersion();
+		
+		t.rotate(Math.toRadians(30.0));
+		TestCase.assertTrue(t.getVersion() != version);
+		version = t.getVersion();
+		
+		t.set(new Transform());
+		TestCase.assertTrue(t.getVersion() != version);
+		version = t.getVersion();
+		
+		// reading shouldn't change the version
+		t.getTransformed(new Vector2(1.0, 1.0));
+		t.getTranslation();
+		TestCase.assertEquals(version, t.getVersion());
+	}
 }
@@ -479,4 +479,37 @@ public class Vector2Test {
 		// this should return in the range of -pi,pi
 		TestCase.assertTrue(Math.PI >= Math.abs(v1.getAngleBetween(v2)));
 	}
+	
+	/**
+	 * Tests the methods that place the result in a destination vector.
+	 * @since 3.2.4
+	 */
+	@Test
+	public void destination() {
+		Vector2 v1 = new Vector2(1.0, 2.0);
+		Vector2 v2 = new Vector2(-3.0, 0.5);
+		Vector2 d = new Vector2();
+		
+		TestCase.assertSame(d, v1.sum(v2, d));
+		TestCase.assertEquals(v1.sum(v2), d);
+		TestCase.assertSame(d, v1.difference(v2, d));
+		TestCase.assertEquals(v1.difference(v2), d);
+		TestCase.assertSame(d, v1.to(v2, d));
+		TestCase.assertEquals(v1.to(v2), d);
+		TestCase.assertSame(d, v1.product(-2.5, d));
+		TestCase.assertEquals(v1.product(-2.5), d);
+		TestCase.assertSame(d, v1.cross(3.0, d));
+		TestCase.assertEquals(v1.cross(3.0), d);
+		TestCase.assertSame(d, Vector2.tripleProduct(v1, v2, v2, d));
+		TestCase.assertEquals(Vector2.tripleProduct(v1, v2, v2), d);
+		
+		// the source vectors should not be modified
+		TestCase.assertEquals(1.0, v1.x);
+		TestCase.assertEquals(2.0, v1.y);
+		
+		// the destination can be the vector itself
+		Vector2 c = v1.cross(3.0);
+		v1.cross(3.0, v1);
+		TestCase.assertEquals(c, v1);
+	}
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+/**
+ * Represents an object that can create a copy of itself.
+ * <p>
+ * {@link org.dyn4j.dynamics.World#copy()} uses this interface to give the copy its own instances 
+ * of the algorithms (narrow-phase, contact constraint solver, etc.) of the world.  Algorithms 
+ * that don't implement this interface are shared between the world and its copy.  Algorithms 
+ * that keep their working storage per thread, like {@link org.dyn4j.collision.narrowphase.Sat}, 
+ * can be shared and don't need to implement it.  Sub classes of a {@link Copyable} class should 
+ * override the {@link #copy()} method.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @param <T> the type of the copy
+ */
+public interface Copyable<T> {
+	/**
+	 * Returns a new object of the same type, and with the same configuration, as this object.
+	 * <p>
+	 * The copy should not share any working storage with this object so that this object
+	 * and the copy can be used at the same time.
+	 * @return T
+	 */
+	public abstract T copy();
+}
@@ -40,7 +40,7 @@ import org.dyn4j.geometry.Vector2;
 /**
  * A base implementation of the {@link Collidable} interface.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.2.0
  * @param <T> the {@link Fixture} type
  */
@@ -84,6 +84,23 @@ public abstract class AbstractCollidable<T extends Fixture> implements Collidabl
 		this.transform = new Transform();
 	}
 	
+	/**
+	 * Copy constructor.
+	 * <p>
+	 * Creates a new {@link AbstractCollidable} with the same id, transform, rotation disc radius 
+	 * and user data as the given collidable.  The fixtures are not copied; the fixture list
+	 * is empty and sized to hold the given collidable's fixtures.
+	 * @param collidable the collidable to copy
+	 * @since 3.2.4
+	 */
+	protected AbstractCollidable(AbstractCollidable<?> collidable) {
+		this.id = collidable.id;
+		this.fixtures = new ArrayList<T>(collidable.fixtures.size());
+		this.radius = collidable.radius;
+		this.transform = collidable.transform.copy();
+		this.userData = collidable.userData;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
@@ -176,8 +193,8 @@ public abstract class AbstractCollidable<T extends Fixture> implements Collidabl
 	 * @param theta the angle of rotation in radians
 	 */
 	public void rotateAboutCenter(double theta) {
-		Vector2 center = this.getWorldCenter();
-		this.rotate(theta, center);
+		Vector2 center = this.getLocalCenter();
+		this.rotate(theta, this.transform.getTransformedX(center), this.transform.getTransformedY(center));
 	}
 
 	/* (non-Javadoc)
@@ -354,25 +371,45 @@ public abstract class AbstractCollidable<T extends Fixture> implements Collidabl
 	 */
 	@Override
 	public AABB createAABB() {
-		return this.createAABB(this.transform);
+		// get the number of fixtures
+		int size = this.fixtures.size();
+		// make sure there is at least one
+		if (size > 0) {
+			// the fixtures retain their aabbs for the current transform
+			AABB aabb = new AABB(this.fixtures.get(0).getAABB(this.transform));
+			// loop over the remaining fixtures, unioning the aabbs
+			for (int i = 1; i < size; i++) {
+				aabb.union(this.fixtures.get(i).getAABB(this.transform));
+			}
+			// return the aabb
+			return aabb;
+		}
+		return new AABB(new Vector2(0.0, 0.0), new Vector2(0.0, 0.0));
 	}
 	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.Collidable#createAABB(org.dyn4j.geometry.Transform)
 	 */
 	public AABB createAABB(Transform transform) {
+		// use the retained fixture aabbs for the current transform
+		if (transform == this.transform) {
+			return this.createAABB();
+		}
 		// get the number of fixtures
 		int size = this.fixtures.size();
 		// make sure there is at least one
 		if (size > 0) {
 			// create the aabb for the first fixture
 			AABB aabb = this.fixtures.get(0).getShape().createAABB(transform);
-			// loop over the remaining fixtures, unioning the aabbs
-			for (int i = 1; i < size; i++) {
-				// create the aabb for the current fixture
-				AABB faabb = this.fixtures.get(i).getShape().createAABB(transform);
-				// union the aabbs
-				aabb.union(faabb);
+			if (size > 1) {
+				// loop over the remaining fixtures, unioning the aabbs
+				AABB faabb = new AABB(0.0, 0.0, 0.0, 0.0);
+				for (int i = 1; i < size; i++) {
+					// compute the aabb for the current fixture
+					this.fixtures.get(i).getShape().computeAABB(transform, faabb);
+					// union the aabbs
+					aabb.union(faabb);
+				}
 			}
 			// return the aabb
 			return aabb;
@@ -27,8 +27,10 @@ package org.dyn4j.collision;
 import java.util.UUID;
 
 import org.dyn4j.DataContainer;
+import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.resources.Messages;
 
 /**
@@ -55,8 +57,13 @@ import org.dyn4j.resources.Messages;
  * <p>
  * A {@link Fixture} can be flagged as a sensor fixture to enable standard collision detection, but disable
  * collision resolution (response).
+ * <p>
+ * The world space {@link AABB} of the {@link Fixture} is retained by {@link #getAABB(Transform)} and
+ * only recomputed when the {@link Transform} or the {@link Shape} changes (see {@link Transform#getVersion()}
+ * and {@link Shape#getVersion()}), so it's computed at most once per step no matter how many times
+ * it's needed.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 2.0.0
  */
 public class Fixture implements DataContainer {
@@ -75,6 +82,18 @@ public class Fixture implements DataContainer {
 	/** The user data */
 	protected Object userData;
 	
+	/** The retained world space {@link AABB}; null until first requested */
+	private AABB aabb;
+	
+	/** The {@link Transform} the retained {@link AABB} was computed with */
+	private Transform aabbTransform;
+	
+	/** The version of the {@link Transform} the retained {@link AABB} was computed with */
+	private int aabbTransformVersion;
+	
+	/** The version of the {@link Shape} the retained {@link AABB} was computed with */
+	private int aabbShapeVersion;
+	
 	/**
 	 * Minimal constructor.
 	 * @param shape the {@link Convex} {@link Shape} for this fixture
@@ -88,6 +107,37 @@ public class Fixture implements DataContainer {
 		this.sensor = false;
 	}
 	
+	/**
+	 * Creates a new {@link Fixture} with the given id.
+	 * <p>
+	 * Used to create copies of fixtures (see {@link #copy()}).
+	 * @param id the id of the fixture
+	 * @param shape the {@link Convex} {@link Shape} for this fixture
+	 * @since 3.2.4
+	 */
+	protected Fixture(UUID id, Convex shape) {
+		this.id = id;
+		this.shape = shape;
+		this.filter = Filter.DEFAULT_FILTER;
+		this.sensor = false;
+	}
+	
+	/**
+	 * Returns a copy of this {@link Fixture}.
+	 * <p>
+	 * The copy has the same id, filter, sensor flag and user data as this fixture.
+	 * The {@link Convex} {@link Shape} is shared rather than copied.
+	 * @return {@link Fixture}
+	 * @since 3.2.4
+	 */
+	public Fixture copy() {
+		Fixture fixture = new Fixture(this.id, this.shape);
+		fixture.filter = this.filter;
+		fixture.sensor = this.sensor;
+		fixture.userData = this.userData;
+		return fixture;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
@@ -141,6 +191,34 @@ public class Fixture implements DataContainer {
 		return this.shape;
 	}
 	
+	/**
+	 * Returns the world space {@link AABB} of this fixture's {@link Shape} for the given {@link Transform}.
+	 * <p>
+	 * The {@link AABB} is retained and returned again until the given {@link Transform}, its version
+	 * or the version of the {@link Shape} changes.  The returned {@link AABB} should not be modified;
+	 * copy it instead.
+	 * @param transform the {@link Transform} of the {@link Collidable} containing this fixture
+	 * @return {@link AABB}
+	 * @throws NullPointerException if transform is null
+	 * @since 3.2.4
+	 */
+	public AABB getAABB(Transform transform) {
+		int transformVersion = transform.getVersion();
+		int shapeVersion = this.shape.getVersion();
+		if (this.aabb == null) {
+			this.aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		} else if (this.aabbTransform == transform && 
+				   this.aabbTransformVersion == transformVersion && 
+				   this.aabbShapeVersion == shapeVersion) {
+			return this.aabb;
+		}
+		this.shape.computeAABB(transform, this.aabb);
+		this.aabbTransform = transform;
+		this.aabbTransformVersion = transformVersion;
+		this.aabbShapeVersion = shapeVersion;
+		return this.aabb;
+	}
+	
 	/**
 	 * Returns the collision filter for this fixture.
 	 * @return {@link Filter}
@@ -24,6 +24,7 @@
  */
 package org.dyn4j.collision.broadphase;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.dyn4j.collision.Collidable;
@@ -33,11 +34,12 @@ import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
 
 /**
  * Abstract implementation of a {@link BroadphaseDetector}.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  * @param <T> the {@link Fixture} type
@@ -62,6 +64,16 @@ public abstract class AbstractBroadphaseDetector<E extends Collidable<T>, T exte
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#addAll(java.util.Collection)
+	 */
+	@Override
+	public void addAll(Collection<? extends E> collidables) {
+		for (E collidable : collidables) {
+			this.add(collidable);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#remove(org.dyn4j.collision.Collidable)
 	 */
@@ -195,6 +207,26 @@ public abstract class AbstractBroadphaseDetector<E extends Collidable<T>, T exte
 		return this.raycast(ray, length, this.defaultFilter);
 	}
 	
+	/**
+	 * Returns the {@link Fixture} of the given copy that corresponds to the given {@link Fixture}
+	 * of the given {@link Collidable}.
+	 * @param collidable the {@link Collidable}
+	 * @param fixture the {@link Fixture} of the {@link Collidable}
+	 * @param copy the copy of the {@link Collidable}
+	 * @return T
+	 * @see #copy(java.util.Map)
+	 * @since 3.2.4
+	 */
+	protected T getFixture(E collidable, T fixture, E copy) {
+		int size = collidable.getFixtureCount();
+		for (int i = 0; i < size; i++) {
+			if (collidable.getFixture(i) == fixture) {
+				return copy.getFixture(i);
+			}
+		}
+		throw new IllegalArgumentException(Messages.getString("collision.broadphase.copyMissingFixture"));
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#getAABBExpansion()
 	 */
@@ -24,7 +24,9 @@
  */
 package org.dyn4j.collision.broadphase;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Fixture;
@@ -106,6 +108,17 @@ public interface BroadphaseDetector<E extends Collidable<T>, T extends Fixture>
 	 */
 	public abstract void add(E collidable, T fixture);
 	
+	/**
+	 * Adds all the given {@link Collidable}s to the broad-phase.
+	 * <p>
+	 * This method is equivalent to calling {@link #add(Collidable)} for each collidable,
+	 * however, implementations may add the collidables in a single batch which is typically 
+	 * faster when adding many collidables at once (when loading a level for example).
+	 * @param collidables the {@link Collidable}s
+	 * @since 3.2.4
+	 */
+	public abstract void addAll(Collection<? extends E> collidables);
+	
 	/**
 	 * Removes the given {@link Collidable} from the broad-phase.
 	 * <p>
@@ -329,4 +342,20 @@ public interface BroadphaseDetector<E extends Collidable<T>, T extends Fixture>
 	 * @param expansion the expansion
 	 */
 	public abstract void setAABBExpansion(double expansion);
+	
+	/**
+	 * Returns a new broad-phase detector of the same type containing the copies of this 
+	 * broad-phase's {@link Collidable}s.
+	 * <p>
+	 * The given map must contain a copy of every {@link Collidable} in this broad-phase.  Each
+	 * copy must have the same id as its original and must have copies of the original's 
+	 * {@link Fixture}s, with the same ids, in the same order.
+	 * <p>
+	 * The copy has the same {@link AABB} expansion and contains the same {@link AABB}s as this
+	 * broad-phase; the {@link Collidable}s are not re-inserted.
+	 * @param collidables the map from each {@link Collidable} to its copy
+	 * @return {@link BroadphaseDetector}
+	 * @since 3.2.4
+	 */
+	public abstract BroadphaseDetector<E, T> copy(Map<E, E> collidables);
 }
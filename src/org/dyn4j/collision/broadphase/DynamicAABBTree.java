@@ -27,6 +27,7 @@ package org.dyn4j.collision.broadphase;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,7 +46,7 @@ import org.dyn4j.geometry.Vector2;
  * This class uses a self-balancing binary tree to store the AABBs.  The AABBs are sorted using the perimeter.
  * The perimeter hueristic is better than area for 2D because axis aligned segments would have zero area.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.0.0
  * @param <E> the {@link Collidable} type
  * @param <T> the {@link Fixture} type
@@ -104,8 +105,25 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 	 * @param fixture the fixture
 	 */
 	void add(BroadphaseKey key, E collidable, T fixture) {
+		DynamicAABBTreeLeaf<E, T> node = this.createLeaf(key, collidable, fixture);
+		// insert the node into the tree
+		this.insert(node);
+	}
+	
+	/**
+	 * Creates a new leaf node for the given collidable-fixture pair and adds
+	 * it to the map.
+	 * <p>
+	 * The leaf node is not inserted into the tree.
+	 * @param key the key for the collidable-fixture pair
+	 * @param collidable the collidable
+	 * @param fixture the fixture
+	 * @return {@link DynamicAABBTreeLeaf}
+	 * @since 3.2.4
+	 */
+	private DynamicAABBTreeLeaf<E, T> createLeaf(BroadphaseKey key, E collidable, T fixture) {
 		Transform tx = collidable.getTransform();
-		AABB aabb = fixture.getShape().createAABB(tx);
+		AABB aabb = new AABB(fixture.getAABB(tx));
 		// expand the aabb
 		aabb.expand(this.expansion);
 		// create a new node for the collidable
@@ -113,8 +131,149 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 		node.aabb = aabb;
 		// add the proxy to the map
 		this.map.put(key, node);
-		// insert the node into the tree
-		this.insert(node);
+		return node;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractBroadphaseDetector#addAll(java.util.Collection)
+	 */
+	@Override
+	public void addAll(Collection<? extends E> collidables) {
+		// create the leaf nodes for the new collidable-fixture pairs
+		List<DynamicAABBTreeLeaf<E, T>> leaves = new ArrayList<DynamicAABBTreeLeaf<E, T>>();
+		for (E collidable : collidables) {
+			int size = collidable.getFixtureCount();
+			for (int i = 0; i < size; i++) {
+				T fixture = collidable.getFixture(i);
+				BroadphaseKey key = BroadphaseKey.get(collidable, fixture);
+				// see if the collidable-fixture has already been added
+				DynamicAABBTreeLeaf<E, T> node = this.map.get(key);
+				if (node != null) {
+					this.update(key, node, collidable, fixture);
+				} else {
+					leaves.add(this.createLeaf(key, collidable, fixture));
+				}
+			}
+		}
+		
+		int lSize = leaves.size();
+		if (lSize == 0) return;
+		
+		// if only a few nodes are being added to a large tree then it's
+		// less work to insert them one at a time
+		int size = this.map.size();
+		if (lSize < size - lSize) {
+			for (int i = 0; i < lSize; i++) {
+				this.insert(leaves.get(i));
+			}
+			return;
+		}
+		
+		// otherwise rebuild the entire tree from the leaf nodes
+		DynamicAABBTreeNode[] nodes = this.map.values().toArray(new DynamicAABBTreeNode[size]);
+		this.root = this.build(nodes, 0, size);
+		this.root.parent = null;
+	}
+	
+	/**
+	 * Builds a tree from the given leaf nodes top-down by splitting the nodes at the 
+	 * median of their centers along the longest axis.
+	 * <p>
+	 * The resulting tree is balanced since the subtrees of each node differ in size
+	 * by at most one node.
+	 * @param nodes the leaf nodes
+	 * @param start the index of the first node (inclusive)
+	 * @param end the index of the last node (exclusive)
+	 * @return {@link DynamicAABBTreeNode} the root of the new subtree
+	 * @since 3.2.4
+	 */
+	DynamicAABBTreeNode build(DynamicAABBTreeNode[] nodes, int start, int end) {
+		if (end - start == 1) {
+			return nodes[start];
+		}
+		
+		// find the extent of the centers
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (int i = start; i < end; i++) {
+			AABB aabb = nodes[i].aabb;
+			double x = aabb.getMinX() + aabb.getMaxX();
+			double y = aabb.getMinY() + aabb.getMaxY();
+			if (x < minX) minX = x;
+			if (x > maxX) maxX = x;
+			if (y < minY) minY = y;
+			if (y > maxY) maxY = y;
+		}
+		
+		// split at the median along the longest axis
+		boolean xAxis = (maxX - minX) >= (maxY - minY);
+		int mid = (start + end) >>> 1;
+		DynamicAABBTree.select(nodes, start, end - 1, mid, xAxis);
+		
+		DynamicAABBTreeNode left = this.build(nodes, start, mid);
+		DynamicAABBTreeNode right = this.build(nodes, mid, end);
+		
+		DynamicAABBTreeNode node = new DynamicAABBTreeNode();
+		node.left = left;
+		node.right = right;
+		left.parent = node;
+		right.parent = node;
+		node.height = 1 + Math.max(left.height, right.height);
+		node.aabb = left.aabb.getUnion(right.aabb);
+		return node;
+	}
+	
+	/**
+	 * Partially sorts the given nodes such that the node at index k is the node
+	 * that would be at that index if the nodes were sorted by their centers along the
+	 * given axis (the nodes before it are less or equal and the nodes after it are 
+	 * greater or equal).
+	 * @param nodes the nodes
+	 * @param left the index of the first node (inclusive)
+	 * @param right the index of the last node (inclusive)
+	 * @param k the index of the node to select
+	 * @param xAxis true to use the x-axis; false to use the y-axis
+	 * @since 3.2.4
+	 */
+	private static void select(DynamicAABBTreeNode[] nodes, int left, int right, int k, boolean xAxis) {
+		while (right > left) {
+			double pivot = DynamicAABBTree.center(nodes[(left + right) >>> 1], xAxis);
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (DynamicAABBTree.center(nodes[i], xAxis) < pivot) i++;
+				while (DynamicAABBTree.center(nodes[j], xAxis) > pivot) j--;
+				if (i <= j) {
+					DynamicAABBTreeNode temp = nodes[i];
+					nodes[i] = nodes[j];
+					nodes[j] = temp;
+					i++;
+					j--;
+				}
+			}
+			// continue in the partition that contains k
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns twice the center of the given node's {@link AABB} along the given axis.
+	 * @param node the node
+	 * @param xAxis true to use the x-axis; false to use the y-axis
+	 * @return double
+	 * @since 3.2.4
+	 */
+	private static double center(DynamicAABBTreeNode node, boolean xAxis) {
+		AABB aabb = node.aabb;
+		return xAxis ? aabb.getMinX() + aabb.getMaxX() : aabb.getMinY() + aabb.getMaxY();
 	}
 	
 	/* (non-Javadoc)
@@ -163,14 +322,15 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 	 */
 	void update(BroadphaseKey key, DynamicAABBTreeLeaf<E, T> node, E collidable, T fixture) {
 		Transform tx = collidable.getTransform();
-		// create the new aabb
-		AABB aabb = fixture.getShape().createAABB(tx);
+		// compute the new aabb
+		AABB aabb = fixture.getAABB(tx);
 		// see if the old aabb contains the new one
 		if (node.aabb.contains(aabb)) {
 			// if so, don't do anything
 			return;
 		}
 		// otherwise expand the new aabb
+		aabb = new AABB(aabb);
 		aabb.expand(this.expansion);
 		// remove the current node from the tree
 		this.remove(node);
@@ -362,6 +522,57 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 		return list;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#copy(java.util.Map)
+	 */
+	@Override
+	public DynamicAABBTree<E, T> copy(Map<E, E> collidables) {
+		int size = this.map.size();
+		DynamicAABBTree<E, T> tree = new DynamicAABBTree<E, T>(size);
+		tree.expansion = this.expansion;
+		
+		// copy the leaves in the same order so that the pairs are detected in the same order
+		Map<DynamicAABBTreeNode, DynamicAABBTreeNode> leaves = new IdentityHashMap<DynamicAABBTreeNode, DynamicAABBTreeNode>(size);
+		for (Map.Entry<BroadphaseKey, DynamicAABBTreeLeaf<E, T>> entry : this.map.entrySet()) {
+			DynamicAABBTreeLeaf<E, T> leaf = entry.getValue();
+			E collidable = collidables.get(leaf.collidable);
+			T fixture = this.getFixture(leaf.collidable, leaf.fixture, collidable);
+			DynamicAABBTreeLeaf<E, T> copy = new DynamicAABBTreeLeaf<E, T>(collidable, fixture);
+			copy.aabb = new AABB(leaf.aabb);
+			copy.tested = leaf.tested;
+			// the copies have the same ids so the key can be shared
+			tree.map.put(entry.getKey(), copy);
+			leaves.put(leaf, copy);
+		}
+		
+		// copy the structure of the tree
+		if (this.root != null) {
+			tree.root = this.copy(this.root, leaves);
+		}
+		return tree;
+	}
+	
+	/**
+	 * Returns a copy of the subtree rooted at the given node.
+	 * @param node the root of the subtree
+	 * @param leaves the map from each leaf node to its copy
+	 * @return {@link DynamicAABBTreeNode}
+	 * @since 3.2.4
+	 */
+	private DynamicAABBTreeNode copy(DynamicAABBTreeNode node, Map<DynamicAABBTreeNode, DynamicAABBTreeNode> leaves) {
+		if (node.isLeaf()) {
+			return leaves.get(node);
+		}
+		DynamicAABBTreeNode copy = new DynamicAABBTreeNode();
+		copy.left = this.copy(node.left, leaves);
+		copy.right = this.copy(node.right, leaves);
+		copy.left.parent = copy;
+		copy.right.parent = copy;
+		copy.height = node.height;
+		copy.aabb = new AABB(node.aabb);
+		return copy;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Shiftable#shift(org.dyn4j.geometry.Vector2)
 	 */
@@ -621,11 +832,8 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 			// get its perimeter
 			double perimeter = aabb.getPerimeter();
 			
-			// union the new node's aabb and the current aabb
-			AABB union = aabb.getUnion(itemAABB);
-			
-			// get the union's perimeter
-			double unionPerimeter = union.getPerimeter();
+			// get the perimeter of the union of the new node's aabb and the current aabb
+			double unionPerimeter = aabb.getUnionPerimeter(itemAABB);
 			
 			// compute the cost of creating a new parent for the new
 			// node and the current node
@@ -641,23 +849,19 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 			// compute the cost of descending to the left
 			double costl = 0.0;
 			if (left.isLeaf()) {
-				AABB u = left.aabb.getUnion(itemAABB);
-				costl = u.getPerimeter() + descendCost;
+				costl = left.aabb.getUnionPerimeter(itemAABB) + descendCost;
 			} else {
-				AABB u = left.aabb.getUnion(itemAABB);
 				double oldPerimeter = left.aabb.getPerimeter();
-				double newPerimeter = u.getPerimeter();
+				double newPerimeter = left.aabb.getUnionPerimeter(itemAABB);
 				costl = newPerimeter - oldPerimeter + descendCost;
 			}
 			// compute the cost of descending to the right
 			double costr = 0.0;
 			if (right.isLeaf()) {
-				AABB u = right.aabb.getUnion(itemAABB);
-				costr = u.getPerimeter() + descendCost;
+				costr = right.aabb.getUnionPerimeter(itemAABB) + descendCost;
 			} else {
-				AABB u = right.aabb.getUnion(itemAABB);
 				double oldPerimeter = right.aabb.getPerimeter();
-				double newPerimeter = u.getPerimeter();
+				double newPerimeter = right.aabb.getUnionPerimeter(itemAABB);
 				costr = newPerimeter - oldPerimeter + descendCost;
 			}
 			
@@ -716,7 +920,8 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 			
 			// neither node should be null
 			node.height = 1 + Math.max(left.height, right.height);
-			node.aabb = left.aabb.getUnion(right.aabb);
+			// internal nodes own their aabb so it's updated in place
+			node.aabb.set(left.aabb).union(right.aabb);
 			
 			node = node.parent;
 		}
@@ -771,7 +976,7 @@ public class DynamicAABBTree<E extends Collidable<T>, T extends Fixture> extends
 				
 				// neither node should be null
 				n.height = 1 + Math.max(left.height, right.height);
-				n.aabb = left.aabb.getUnion(right.aabb);
+				n.aabb.set(left.aabb).union(right.aabb);
 				
 				n = n.parent;
 			}
@@ -107,7 +107,7 @@ public class Sap<E extends Collidable<T>, T extends Fixture> extends AbstractBro
 	 */
 	void add(BroadphaseKey key, E collidable, T fixture) {
 		Transform tx = collidable.getTransform();
-		AABB aabb = fixture.getShape().createAABB(tx);
+		AABB aabb = new AABB(fixture.getAABB(tx));
 		// expand the aabb
 		aabb.expand(this.expansion);
 		// create a new node for the collidable
@@ -160,14 +160,15 @@ public class Sap<E extends Collidable<T>, T extends Fixture> extends AbstractBro
 	 */
 	void update(BroadphaseKey key, SapProxy<E, T> proxy, E collidable, T fixture) {
 		Transform tx = collidable.getTransform();
-		// create the new aabb
-		AABB aabb = fixture.getShape().createAABB(tx);
+		// compute the new aabb
+		AABB aabb = fixture.getAABB(tx);
 		// see if the old aabb contains the new one
 		if (proxy.aabb.contains(aabb)) {
 			// if so, don't do anything
 			return;
 		}
 		// otherwise expand the new aabb
+		aabb = new AABB(aabb);
 		aabb.expand(this.expansion);
 		// remove the current proxy from the tree
 		this.tree.remove(proxy);
@@ -425,6 +426,26 @@ public class Sap<E extends Collidable<T>, T extends Fixture> extends AbstractBro
 		return list;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#copy(java.util.Map)
+	 */
+	@Override
+	public Sap<E, T> copy(Map<E, E> collidables) {
+		Sap<E, T> sap = new Sap<E, T>(this.map.size());
+		sap.expansion = this.expansion;
+		for (Map.Entry<BroadphaseKey, SapProxy<E, T>> entry : this.map.entrySet()) {
+			SapProxy<E, T> proxy = entry.getValue();
+			E collidable = collidables.get(proxy.collidable);
+			T fixture = this.getFixture(proxy.collidable, proxy.fixture, collidable);
+			SapProxy<E, T> copy = new SapProxy<E, T>(collidable, fixture, new AABB(proxy.aabb));
+			copy.tested = proxy.tested;
+			// the copies have the same ids so the key can be shared
+			sap.map.put(entry.getKey(), copy);
+			sap.tree.insert(copy);
+		}
+		return sap;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Shiftable#shift(org.dyn4j.geometry.Vector2)
 	 */
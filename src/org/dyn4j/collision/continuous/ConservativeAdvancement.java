@@ -24,6 +24,7 @@
  */
 package org.dyn4j.collision.continuous;
 
+import org.dyn4j.Copyable;
 import org.dyn4j.Epsilon;
 import org.dyn4j.collision.narrowphase.DistanceDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
@@ -41,10 +42,10 @@ import org.dyn4j.resources.Messages;
  * <p>
  * This method is described in "Continuous Collision Detection and Physics" by Erwin Coumans (Draft).
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.4
  * @since 1.2.0
  */
-public class ConservativeAdvancement implements TimeOfImpactDetector {
+public class ConservativeAdvancement implements TimeOfImpactDetector, Copyable<ConservativeAdvancement> {
 	/** The default distance epsilon */
 	public static final double DEFAULT_DISTANCE_EPSILON = Math.cbrt(Epsilon.E);
 	
@@ -77,6 +78,24 @@ public class ConservativeAdvancement implements TimeOfImpactDetector {
 		this.distanceDetector = distanceDetector;
 	}
 	
+	/**
+	 * Returns a new {@link ConservativeAdvancement} with the same configuration.
+	 * <p>
+	 * The {@link DistanceDetector} is copied if it's {@link Copyable}, otherwise it's shared.
+	 * @since 3.2.4
+	 */
+	@Override
+	public ConservativeAdvancement copy() {
+		DistanceDetector detector = this.distanceDetector;
+		if (detector instanceof Copyable) {
+			detector = (DistanceDetector)((Copyable<?>)detector).copy();
+		}
+		ConservativeAdvancement ca = new ConservativeAdvancement(detector);
+		ca.distanceEpsilon = this.distanceEpsilon;
+		ca.maxIterations = this.maxIterations;
+		return ca;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.continuous.TimeOfImpactDetector#getTimeOfImpact(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2, double, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2, double, org.dyn4j.collision.continuous.TimeOfImpact)
 	 */
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.manifold;
+
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
+
+/**
+ * Represents a {@link ManifoldSolver} that can use information retained from the last
+ * {@link Manifold} of a pair of {@link Convex} {@link Shape}s to speed up the next.
+ * <p>
+ * Resting contacts are solved every time step and their features rarely change.  The
+ * {@link ManifoldCache} retains the features of the last {@link Manifold} so that the search 
+ * for the next begins there.  The {@link Manifold}s found with and without a 
+ * {@link ManifoldCache} are the same.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see ManifoldCache
+ */
+public interface CachingManifoldSolver extends ManifoldSolver {
+	/**
+	 * Returns true if there exists a valid contact manifold between the two {@link Convex} {@link Shape}s. 
+	 * <p>
+	 * This method is the same as {@link #getManifold(Penetration, Convex, Transform, Convex, Transform, Manifold)}
+	 * except that the given {@link ManifoldCache} is used to speed up the search and is updated with the 
+	 * result.  The same {@link ManifoldCache} should be supplied for the same pair each time.
+	 * @param penetration the {@link Penetration}
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param manifold the {@link Manifold} object to fill
+	 * @param cache the {@link ManifoldCache} for the pair
+	 * @return boolean
+	 */
+	public abstract boolean getManifold(Penetration penetration, Convex convex1, Transform transform1, Convex convex2, Transform transform2, Manifold manifold, ManifoldCache cache);
+}
@@ -33,6 +33,7 @@ import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.EdgeFeature;
 import org.dyn4j.geometry.Feature;
 import org.dyn4j.geometry.PointFeature;
+import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
@@ -50,41 +51,64 @@ import org.dyn4j.geometry.Vector2;
  * <p>
  * It's possible that no contact points are returned, in which case the {@link #getManifold(Penetration, Convex, Transform, Convex, Transform, Manifold)}
  * method will return false.
+ * <p>
+ * When a {@link ManifoldCache} is supplied, the farthest features of {@link Polygon}s are found by walking
+ * from the last farthest vertices.
+ * <p>
+ * The contact points of {@link PointFeature}s are given the {@link ManifoldPointId#DISTANCE} id by default.
+ * See {@link #setPointFeatureIdsEnabled(boolean)} to give them {@link IndexedManifoldPointId}s instead.
  * @author William Bittle
- * @version 3.0.2
+ * @version 3.2.4
  * @since 1.0.0
  * @see <a href="http://www.dyn4j.org/2011/11/contact-points-using-clipping/" target="_blank">Contact Points Using Clipping</a>
  */
-public class ClippingManifoldSolver implements ManifoldSolver {
+public class ClippingManifoldSolver implements CachingManifoldSolver {
+	/** True if the contact points of {@link PointFeature}s are given {@link IndexedManifoldPointId}s */
+	private boolean pointFeatureIdsEnabled = false;
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.manifold.ManifoldSolver#getManifold(org.dyn4j.collision.narrowphase.Penetration, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.manifold.Manifold)
 	 */
 	@Override
 	public boolean getManifold(Penetration penetration, Convex convex1, Transform transform1, Convex convex2, Transform transform2, Manifold manifold) {
+		return this.getManifold(penetration, convex1, transform1, convex2, transform2, manifold, null);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.manifold.CachingManifoldSolver#getManifold(org.dyn4j.collision.narrowphase.Penetration, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.manifold.Manifold, org.dyn4j.collision.manifold.ManifoldCache)
+	 */
+	@Override
+	public boolean getManifold(Penetration penetration, Convex convex1, Transform transform1, Convex convex2, Transform transform2, Manifold manifold, ManifoldCache cache) {
 		// make sure the manifold passed in is cleared
 		manifold.clear();
 		
+		if (cache != null) {
+			cache.begin(convex1, convex2);
+		}
+		
 		// get the penetration normal
 		Vector2 n = penetration.getNormal();
 		
 		// get the reference feature for the first convex shape
-		Feature feature1 = convex1.getFarthestFeature(n, transform1);
+		Feature feature1 = this.getFarthestFeature(convex1, n, transform1, cache, true);
 		// check for vertex
 		if (feature1 instanceof PointFeature) {
 			// if the maximum
 			PointFeature vertex = (PointFeature) feature1;
-			ManifoldPoint mp = new ManifoldPoint(ManifoldPointId.DISTANCE, vertex.getPoint(), penetration.getDepth());
+			ManifoldPointId id = this.pointFeatureIdsEnabled ? new IndexedManifoldPointId(Feature.NOT_INDEXED, Feature.NOT_INDEXED, vertex.getIndex(), false) : ManifoldPointId.DISTANCE;
+			ManifoldPoint mp = new ManifoldPoint(id, vertex.getPoint(), penetration.getDepth());
 			manifold.points.add(mp);
 			manifold.normal = n.negate();
 			return true;
 		}
 		
 		// get the reference feature for the second convex shape
-		Feature feature2 = convex2.getFarthestFeature(n.getNegative(), transform2);
+		Feature feature2 = this.getFarthestFeature(convex2, n.getNegative(), transform2, cache, false);
 		// check for vertex
 		if (feature2 instanceof PointFeature) {
 			PointFeature vertex = (PointFeature) feature2;
-			ManifoldPoint mp = new ManifoldPoint(ManifoldPointId.DISTANCE, vertex.getPoint(), penetration.getDepth());
+			ManifoldPointId id = this.pointFeatureIdsEnabled ? new IndexedManifoldPointId(Feature.NOT_INDEXED, Feature.NOT_INDEXED, vertex.getIndex(), true) : ManifoldPointId.DISTANCE;
+			ManifoldPoint mp = new ManifoldPoint(id, vertex.getPoint(), penetration.getDepth());
 			manifold.points.add(mp);
 			manifold.normal = n.negate();
 			return true;
@@ -162,6 +186,58 @@ public class ClippingManifoldSolver implements ManifoldSolver {
 		return true;
 	}
 	
+	/**
+	 * Returns the farthest feature of the given {@link Convex} in the given direction.
+	 * <p>
+	 * The search for the farthest feature of a {@link Polygon} begins at the farthest vertex
+	 * retained in the given cache, if supplied, and the cache is updated with the result.
+	 * @param convex the {@link Convex}
+	 * @param n the direction
+	 * @param transform the {@link Convex}'s {@link Transform}
+	 * @param cache the {@link ManifoldCache}; can be null
+	 * @param first true if the {@link Convex} is the first of the pair
+	 * @return {@link Feature}
+	 */
+	private Feature getFarthestFeature(Convex convex, Vector2 n, Transform transform, ManifoldCache cache, boolean first) {
+		if (cache != null && convex instanceof Polygon) {
+			EdgeFeature feature = ((Polygon)convex).getFarthestFeature(n, transform, first ? cache.index1 : cache.index2);
+			int index = feature.getMaximum().getIndex();
+			if (first) {
+				cache.index1 = index;
+			} else {
+				cache.index2 = index;
+			}
+			return feature;
+		}
+		return convex.getFarthestFeature(n, transform);
+	}
+	
+	/**
+	 * Returns true if the contact points of {@link PointFeature}s are given {@link IndexedManifoldPointId}s.
+	 * @return boolean
+	 * @see #setPointFeatureIdsEnabled(boolean)
+	 * @since 3.2.4
+	 */
+	public boolean isPointFeatureIdsEnabled() {
+		return this.pointFeatureIdsEnabled;
+	}
+	
+	/**
+	 * Sets whether the contact points of {@link PointFeature}s (circles, ellipses, the ends of
+	 * capsules, etc.) are given {@link IndexedManifoldPointId}s.
+	 * <p>
+	 * By default these contact points are given the {@link ManifoldPointId#DISTANCE} id and
+	 * are matched with the contacts of the last time step by distance when warm starting.  When 
+	 * enabled, they are given an {@link IndexedManifoldPointId} with {@link Feature#NOT_INDEXED} 
+	 * edges, the index of the point feature and a flipped flag for the shape the point is on, 
+	 * so that they are matched by id instead.
+	 * @param flag true if the ids should be enabled
+	 * @since 3.2.4
+	 */
+	public void setPointFeatureIdsEnabled(boolean flag) {
+		this.pointFeatureIdsEnabled = flag;
+	}
+	
 	/**
 	 * Clips the segment given by s1 and s2 by n.
 	 * @param v1 the first vertex of the segment to be clipped
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.manifold;
+
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents the information a {@link CachingManifoldSolver} retains between manifolds of a 
+ * pair of {@link Convex} {@link Shape}s.
+ * <p>
+ * The indices of the farthest vertices of {@link Polygon}s along the last penetration normal are
+ * retained and used as the starting point of the next search for the reference and incident
+ * features (see {@link Polygon#getFarthestFeature(Vector2, Transform, int)}).  For resting contacts
+ * the features rarely change, so only a few vertices are tested regardless of the number of vertices.
+ * <p>
+ * The pair is identified by its {@link Convex} {@link Shape}s.  If the pair is given in the opposite
+ * order the retained information is reversed, and if a different pair is given it is cleared.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class ManifoldCache {
+	/** The first {@link Convex} of the pair */
+	Convex convex1;
+	
+	/** The second {@link Convex} of the pair */
+	Convex convex2;
+	
+	/** The index of the last farthest vertex of the first {@link Convex} */
+	int index1;
+	
+	/** The index of the last farthest vertex of the second {@link Convex} */
+	int index2;
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ManifoldCache[Index1=").append(this.index1)
+		.append("|Index2=").append(this.index2)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Prepares this cache for the manifold of the given pair.
+	 * <p>
+	 * The retained information is reversed if the pair is given in the opposite order
+	 * and cleared if this cache was last used for a different pair.
+	 * @param convex1 the first {@link Convex}
+	 * @param convex2 the second {@link Convex}
+	 */
+	final void begin(Convex convex1, Convex convex2) {
+		if (this.convex1 == convex1 && this.convex2 == convex2) {
+			return;
+		}
+		if (this.convex1 == convex2 && this.convex2 == convex1) {
+			// the same pair in the opposite order
+			int index = this.index1;
+			this.index1 = this.index2;
+			this.index2 = index;
+		} else {
+			this.index1 = 0;
+			this.index2 = 0;
+		}
+		this.convex1 = convex1;
+		this.convex2 = convex2;
+	}
+	
+	/**
+	 * Clears the retained information.
+	 */
+	public void clear() {
+		this.convex1 = null;
+		this.convex2 = null;
+		this.index1 = 0;
+		this.index2 = 0;
+	}
+}
@@ -49,8 +49,12 @@
  * <p>
  * Only one implementation of the {@link org.dyn4j.collision.manifold.ManifoldSolver} is provided: 
  * {@link org.dyn4j.collision.manifold.ClippingManifoldSolver}.
+ * <p>
+ * The {@link org.dyn4j.collision.manifold.ClippingManifoldSolver} is a {@link org.dyn4j.collision.manifold.CachingManifoldSolver}:
+ * it can retain the features of the last manifold of a pair in a {@link org.dyn4j.collision.manifold.ManifoldCache}
+ * and begin the next search there.  The {@link org.dyn4j.dynamics.World} retains a cache for each pair in collision.
  * @author William Bittle
- * @version 2.2.2
+ * @version 3.2.4
  * @since 1.0.0
  */
 package org.dyn4j.collision.manifold;
\ No newline at end of file
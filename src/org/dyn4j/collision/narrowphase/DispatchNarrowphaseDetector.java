@@ -0,0 +1,916 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.narrowphase;
+
+import org.dyn4j.Copyable;
+import org.dyn4j.Epsilon;
+import org.dyn4j.geometry.Capsule;
+import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Segment;
+import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * A {@link NarrowphaseDetector} that selects a specialized routine for each pair of
+ * {@link Shape} types.
+ * <p>
+ * The type of each {@link Convex} is looked up and the pair is dispatched through a table
+ * to one of the following closed form routines:
+ * <ul>
+ * <li>{@link Circle} - {@link Circle}: center distance (same as the {@link CircleDetector})</li>
+ * <li>{@link Circle} - {@link Polygon}: the face of maximum separation and its vertex regions</li>
+ * <li>{@link Polygon} - {@link Polygon}: the face of maximum separation of either polygon</li>
+ * <li>{@link Circle} - {@link Segment}/{@link Capsule}: the closest point on the segment</li>
+ * <li>{@link Segment}/{@link Capsule} - {@link Segment}/{@link Capsule}: the closest points of the segments</li>
+ * <li>{@link Segment}/{@link Capsule} - {@link Polygon}: the face of maximum separation or the closest points</li>
+ * </ul>
+ * A {@link Capsule} is treated as a segment between its cap foci with a radius.  {@link Polygon}s 
+ * include the {@link org.dyn4j.geometry.Rectangle} and {@link org.dyn4j.geometry.Triangle} classes.
+ * All other pairs are passed to the fallback {@link NarrowphaseDetector}, {@link Gjk} by default.
+ * <p>
+ * The {@link Penetration} produced has the same meaning as the other detectors: the normal is 
+ * the unit vector from the first {@link Convex} to the second along the axis of minimum penetration
+ * and the depth is the penetration along it.  The routines are exact where {@link Epa} is iterative,
+ * so depths may differ from {@link Gjk}'s by the {@link Epa}'s distance epsilon.  Shapes that
+ * only touch are not considered penetrating.  Like the {@link CircleDetector}, circles with
+ * coincident centers produce a zero normal.
+ * <p>
+ * The routines do not allocate, other than the normal placed in the {@link Penetration} and the
+ * foci of {@link Capsule}s.  Their working storage is kept per thread, so an instance can be used 
+ * by more than one thread at the same time if its fallback {@link NarrowphaseDetector} can.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class DispatchNarrowphaseDetector implements NarrowphaseDetector, Copyable<DispatchNarrowphaseDetector> {
+	// shape types
+	
+	/** The shape type of {@link Circle}s */
+	static final int CIRCLE = 0;
+	
+	/** The shape type of {@link Polygon}s */
+	static final int POLYGON = 1;
+	
+	/** The shape type of {@link Segment}s */
+	static final int SEGMENT = 2;
+	
+	/** The shape type of {@link Capsule}s */
+	static final int CAPSULE = 3;
+	
+	/** The shape type of all other {@link Convex} shapes */
+	static final int OTHER = 4;
+	
+	// routines
+	
+	/** Use the fallback detector */
+	static final int FALLBACK = 0;
+	
+	/** {@link Circle} - {@link Circle} */
+	static final int CIRCLE_CIRCLE = 1;
+	
+	/** {@link Circle} - {@link Polygon} */
+	static final int CIRCLE_POLYGON = 2;
+	
+	/** {@link Polygon} - {@link Circle} */
+	static final int POLYGON_CIRCLE = 3;
+	
+	/** {@link Polygon} - {@link Polygon} */
+	static final int POLYGON_POLYGON = 4;
+	
+	/** {@link Circle} - {@link Segment} or {@link Capsule} */
+	static final int CIRCLE_SEGMENT = 5;
+	
+	/** {@link Segment} or {@link Capsule} - {@link Circle} */
+	static final int SEGMENT_CIRCLE = 6;
+	
+	/** {@link Segment} or {@link Capsule} - {@link Segment} or {@link Capsule} */
+	static final int SEGMENT_SEGMENT = 7;
+	
+	/** {@link Segment} or {@link Capsule} - {@link Polygon} */
+	static final int SEGMENT_POLYGON = 8;
+	
+	/** {@link Polygon} - {@link Segment} or {@link Capsule} */
+	static final int POLYGON_SEGMENT = 9;
+	
+	/** The routine for each pair of shape types indexed by [type1][type2] */
+	static final int[][] DISPATCH = new int[][] {
+		//             CIRCLE          POLYGON          SEGMENT          CAPSULE          OTHER
+		/* CIRCLE  */ {CIRCLE_CIRCLE,  CIRCLE_POLYGON,  CIRCLE_SEGMENT,  CIRCLE_SEGMENT,  FALLBACK},
+		/* POLYGON */ {POLYGON_CIRCLE, POLYGON_POLYGON, POLYGON_SEGMENT, POLYGON_SEGMENT, FALLBACK},
+		/* SEGMENT */ {SEGMENT_CIRCLE, SEGMENT_POLYGON, SEGMENT_SEGMENT, SEGMENT_SEGMENT, FALLBACK},
+		/* CAPSULE */ {SEGMENT_CIRCLE, SEGMENT_POLYGON, SEGMENT_SEGMENT, SEGMENT_SEGMENT, FALLBACK},
+		/* OTHER   */ {FALLBACK,       FALLBACK,        FALLBACK,        FALLBACK,        FALLBACK}
+	};
+	
+	/** The detector used for pairs without a specialized routine */
+	protected final NarrowphaseDetector fallbackNarrowphaseDetector;
+	
+	/** The working storage of each thread using this detector */
+	private final ThreadLocal<Context> contexts = new ThreadLocal<Context>() {
+		@Override
+		protected Context initialValue() {
+			return new Context();
+		}
+	};
+	
+	/**
+	 * The working storage of the routines.
+	 * <p>
+	 * Each thread gets its own instance so that a {@link DispatchNarrowphaseDetector} 
+	 * instance can be used by many threads at the same time.
+	 * @author William Bittle
+	 * @version 3.2.4
+	 * @since 3.2.4
+	 */
+	private static final class Context {
+		/** The values of the first transform */
+		private final double[] transform1;
+		
+		/** The values of the second transform */
+		private final double[] transform2;
+		
+		/** The x component of the normal found by the last routine */
+		private double nx;
+		
+		/** The y component of the normal found by the last routine */
+		private double ny;
+		
+		/** The depth found by the last routine */
+		private double depth;
+		
+		/** The face index found by the last separation search */
+		private int index;
+		
+		/** The x component of the closest point on the first segment */
+		private double px1;
+		
+		/** The y component of the closest point on the first segment */
+		private double py1;
+		
+		/** The x component of the closest point on the second shape */
+		private double px2;
+		
+		/** The y component of the closest point on the second shape */
+		private double py2;
+		
+		/**
+		 * Default constructor.
+		 */
+		public Context() {
+			this.transform1 = new double[6];
+			this.transform2 = new double[6];
+		}
+	}
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses {@link Gjk} as the fallback detector.
+	 */
+	public DispatchNarrowphaseDetector() {
+		this(new Gjk());
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param fallbackNarrowphaseDetector the detector used for pairs without a specialized routine
+	 * @throws NullPointerException if fallbackNarrowphaseDetector is null
+	 */
+	public DispatchNarrowphaseDetector(NarrowphaseDetector fallbackNarrowphaseDetector) {
+		if (fallbackNarrowphaseDetector == null) throw new NullPointerException(Messages.getString("collision.narrowphase.dispatch.nullFallbackNarrowphaseDetector"));
+		this.fallbackNarrowphaseDetector = fallbackNarrowphaseDetector;
+	}
+	
+	/**
+	 * Returns a new {@link DispatchNarrowphaseDetector}.
+	 * <p>
+	 * The fallback {@link NarrowphaseDetector} is copied if it's {@link Copyable}, otherwise
+	 * it's shared.  The working storage of this detector is per thread and is not copied.
+	 * @since 3.2.4
+	 */
+	@Override
+	public DispatchNarrowphaseDetector copy() {
+		NarrowphaseDetector fallback = this.fallbackNarrowphaseDetector;
+		if (fallback instanceof Copyable) {
+			fallback = (NarrowphaseDetector)((Copyable<?>)fallback).copy();
+		}
+		return new DispatchNarrowphaseDetector(fallback);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration) {
+		int routine = DISPATCH[getType(convex1)][getType(convex2)];
+		if (routine == FALLBACK) {
+			return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+		Context context = this.contexts.get();
+		if (this.detect(context, routine, convex1, transform1, convex2, transform2)) {
+			penetration.normal = new Vector2(context.nx, context.ny);
+			penetration.depth = context.depth;
+			return true;
+		}
+		return false;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
+		int routine = DISPATCH[getType(convex1)][getType(convex2)];
+		if (routine == FALLBACK) {
+			return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2);
+		}
+		return this.detect(this.contexts.get(), routine, convex1, transform1, convex2, transform2);
+	}
+	
+	/**
+	 * Returns the fallback {@link NarrowphaseDetector}.
+	 * @return {@link NarrowphaseDetector}
+	 */
+	public NarrowphaseDetector getFallbackNarrowphaseDetector() {
+		return this.fallbackNarrowphaseDetector;
+	}
+	
+	/**
+	 * Returns true if a specialized routine is used for the given pair of {@link Convex} shapes.
+	 * @param convex1 the first {@link Convex}
+	 * @param convex2 the second {@link Convex}
+	 * @return boolean false if the fallback {@link NarrowphaseDetector} is used
+	 */
+	public boolean isSpecialized(Convex convex1, Convex convex2) {
+		return DISPATCH[getType(convex1)][getType(convex2)] != FALLBACK;
+	}
+	
+	/**
+	 * Returns the shape type of the given {@link Convex}.
+	 * @param convex the {@link Convex}
+	 * @return int
+	 */
+	static final int getType(Convex convex) {
+		if (convex instanceof Polygon) return POLYGON;
+		if (convex instanceof Circle) return CIRCLE;
+		if (convex instanceof Capsule) return CAPSULE;
+		if (convex instanceof Segment) return SEGMENT;
+		return OTHER;
+	}
+	
+	/**
+	 * Runs the given routine and returns true if the shapes are penetrating.
+	 * <p>
+	 * The normal and depth are stored in the given context.
+	 * @param context the working storage
+	 * @param routine the routine
+	 * @param convex1 the first {@link Convex}
+	 * @param transform1 the first {@link Convex}'s {@link Transform}
+	 * @param convex2 the second {@link Convex}
+	 * @param transform2 the second {@link Convex}'s {@link Transform}
+	 * @return boolean
+	 */
+	private boolean detect(Context context, int routine, Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
+		double[] t1 = context.transform1;
+		double[] t2 = context.transform2;
+		transform1.getValues(t1);
+		transform2.getValues(t2);
+		
+		boolean collision;
+		switch (routine) {
+			case CIRCLE_CIRCLE:
+				return this.circleCircle(context, (Circle)convex1, t1, (Circle)convex2, t2);
+			case CIRCLE_POLYGON:
+				return this.circlePolygon(context, (Circle)convex1, t1, (Polygon)convex2, t2);
+			case POLYGON_CIRCLE:
+				collision = this.circlePolygon(context, (Circle)convex2, t2, (Polygon)convex1, t1);
+				break;
+			case POLYGON_POLYGON:
+				return this.polygonPolygon(context, (Polygon)convex1, t1, (Polygon)convex2, t2);
+			case CIRCLE_SEGMENT:
+				return this.circleSegment(context, (Circle)convex1, t1, convex2, t2);
+			case SEGMENT_CIRCLE:
+				collision = this.circleSegment(context, (Circle)convex2, t2, convex1, t1);
+				break;
+			case SEGMENT_SEGMENT:
+				return this.segmentSegment(context, convex1, t1, convex2, t2);
+			case SEGMENT_POLYGON:
+				return this.segmentPolygon(context, convex1, t1, (Polygon)convex2, t2);
+			case POLYGON_SEGMENT:
+				collision = this.segmentPolygon(context, convex2, t2, (Polygon)convex1, t1);
+				break;
+			default:
+				return false;
+		}
+		
+		// the routine was run with the shapes swapped so flip the normal
+		context.nx = -context.nx;
+		context.ny = -context.ny;
+		return collision;
+	}
+	
+	/**
+	 * Returns the segment of the given {@link Segment} or {@link Capsule} in local coordinates.
+	 * @param convex the {@link Segment} or {@link Capsule}
+	 * @return {@link Vector2}[]
+	 */
+	private static final Vector2[] getSegment(Convex convex) {
+		if (convex instanceof Capsule) {
+			return ((Capsule)convex).getFoci();
+		}
+		return ((Segment)convex).getVertices();
+	}
+	
+	/**
+	 * Returns the radius of the given {@link Segment} or {@link Capsule}.
+	 * @param convex the {@link Segment} or {@link Capsule}
+	 * @return double
+	 */
+	private static final double getSegmentRadius(Convex convex) {
+		if (convex instanceof Capsule) {
+			return ((Capsule)convex).getCapRadius();
+		}
+		return 0.0;
+	}
+	
+	/**
+	 * Stores the given penetration (in the local coordinates of the given transform) 
+	 * in world coordinates and returns true if the depth is greater than zero.
+	 * @param context the working storage
+	 * @param nx the x component of the local normal
+	 * @param ny the y component of the local normal
+	 * @param depth the depth
+	 * @param t the transform values
+	 * @return boolean
+	 */
+	private boolean setLocal(Context context, double nx, double ny, double depth, double[] t) {
+		if (depth <= 0.0) return false;
+		context.nx = t[0] * nx + t[1] * ny;
+		context.ny = t[3] * nx + t[4] * ny;
+		context.depth = depth;
+		return true;
+	}
+	
+	/**
+	 * Detects a {@link Circle} - {@link Circle} collision.
+	 * @param context the working storage
+	 * @param circle1 the first circle
+	 * @param t1 the first transform values
+	 * @param circle2 the second circle
+	 * @param t2 the second transform values
+	 * @return boolean
+	 * @see CircleDetector#detect(Circle, Transform, Circle, Transform, Penetration)
+	 */
+	private boolean circleCircle(Context context, Circle circle1, double[] t1, Circle circle2, double[] t2) {
+		Vector2 c1 = circle1.getCenter();
+		Vector2 c2 = circle2.getCenter();
+		// the vector between the world centers
+		double vx = (t2[0] * c2.x + t2[1] * c2.y + t2[2]) - (t1[0] * c1.x + t1[1] * c1.y + t1[2]);
+		double vy = (t2[3] * c2.x + t2[4] * c2.y + t2[5]) - (t1[3] * c1.x + t1[4] * c1.y + t1[5]);
+		double radii = circle1.getRadius() + circle2.getRadius();
+		double mag = Math.sqrt(vx * vx + vy * vy);
+		if (mag < radii) {
+			// coincident centers leave the (zero) vector as is
+			if (mag > Epsilon.E) {
+				vx /= mag;
+				vy /= mag;
+			} else {
+				mag = 0.0;
+			}
+			context.nx = vx;
+			context.ny = vy;
+			context.depth = radii - mag;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Detects a {@link Circle} - {@link Polygon} collision.
+	 * <p>
+	 * The circle is tested against the face of the polygon with the maximum separation.  If
+	 * the center is inside the polygon that face is the axis of minimum penetration, otherwise
+	 * the closest point is on that face or one of its vertices.
+	 * @param context the working storage
+	 * @param circle the circle
+	 * @param t1 the circle's transform values
+	 * @param polygon the polygon
+	 * @param t2 the polygon's transform values
+	 * @return boolean
+	 */
+	private boolean circlePolygon(Context context, Circle circle, double[] t1, Polygon polygon, double[] t2) {
+		Vector2 c = circle.getCenter();
+		double r = circle.getRadius();
+		// the circle center in the polygon's local coordinates
+		double dx = (t1[0] * c.x + t1[1] * c.y + t1[2]) - t2[2];
+		double dy = (t1[3] * c.x + t1[4] * c.y + t1[5]) - t2[5];
+		double cx = t2[0] * dx + t2[3] * dy;
+		double cy = t2[1] * dx + t2[4] * dy;
+		
+		Vector2[] vertices = polygon.getVertices();
+		Vector2[] normals = polygon.getNormals();
+		int count = vertices.length;
+		
+		// find the face of maximum separation
+		double separation = -Double.MAX_VALUE;
+		int index = 0;
+		for (int i = 0; i < count; i++) {
+			Vector2 n = normals[i];
+			Vector2 v = vertices[i];
+			double s = n.x * (cx - v.x) + n.y * (cy - v.y);
+			// early out if separated
+			if (s >= r) return false;
+			if (s > separation) {
+				separation = s;
+				index = i;
+			}
+		}
+		
+		Vector2 n = normals[index];
+		if (separation <= 0.0) {
+			// the center is inside the polygon
+			return this.setLocal(context, -n.x, -n.y, r - separation, t2);
+		}
+		
+		// the center is outside the polygon; check the vertex regions of the face
+		Vector2 v1 = vertices[index];
+		Vector2 v2 = vertices[index + 1 == count ? 0 : index + 1];
+		double ex = v2.x - v1.x;
+		double ey = v2.y - v1.y;
+		Vector2 v = null;
+		if ((cx - v1.x) * ex + (cy - v1.y) * ey <= 0.0) {
+			v = v1;
+		} else if ((cx - v2.x) * -ex + (cy - v2.y) * -ey <= 0.0) {
+			v = v2;
+		}
+		
+		if (v != null) {
+			double vx = v.x - cx;
+			double vy = v.y - cy;
+			double d = Math.sqrt(vx * vx + vy * vy);
+			if (d >= r) return false;
+			return this.setLocal(context, vx / d, vy / d, r - d, t2);
+		}
+		
+		return this.setLocal(context, -n.x, -n.y, r - separation, t2);
+	}
+	
+	/**
+	 * Returns the maximum separation of polygon2 from the faces of polygon1.
+	 * <p>
+	 * The index of the face is stored in the index field of the given context.
+	 * @param context the working storage
+	 * @param polygon1 the first polygon
+	 * @param t1 the first transform values
+	 * @param polygon2 the second polygon
+	 * @param t2 the second transform values
+	 * @return double
+	 */
+	private double findMaxSeparation(Context context, Polygon polygon1, double[] t1, Polygon polygon2, double[] t2) {
+		// the transform from polygon1's local coordinates into polygon2's
+		double r00 = t2[0] * t1[0] + t2[3] * t1[3];
+		double r01 = t2[0] * t1[1] + t2[3] * t1[4];
+		double r10 = t2[1] * t1[0] + t2[4] * t1[3];
+		double r11 = t2[1] * t1[1] + t2[4] * t1[4];
+		double tx = t1[2] - t2[2];
+		double ty = t1[5] - t2[5];
+		double x = t2[0] * tx + t2[3] * ty;
+		double y = t2[1] * tx + t2[4] * ty;
+		
+		Vector2[] vertices1 = polygon1.getVertices();
+		Vector2[] normals1 = polygon1.getNormals();
+		Vector2[] vertices2 = polygon2.getVertices();
+		int count1 = vertices1.length;
+		int count2 = vertices2.length;
+		
+		double separation = -Double.MAX_VALUE;
+		int index = 0;
+		for (int i = 0; i < count1; i++) {
+			// the face normal and vertex in polygon2's local coordinates
+			Vector2 n = normals1[i];
+			Vector2 v = vertices1[i];
+			double nx = r00 * n.x + r01 * n.y;
+			double ny = r10 * n.x + r11 * n.y;
+			double vx = r00 * v.x + r01 * v.y + x;
+			double vy = r10 * v.x + r11 * v.y + y;
+			
+			// find the deepest point of polygon2 along the normal
+			double min = Double.MAX_VALUE;
+			for (int j = 0; j < count2; j++) {
+				Vector2 p = vertices2[j];
+				double d = nx * p.x + ny * p.y;
+				if (d < min) min = d;
+			}
+			
+			double s = min - (nx * vx + ny * vy);
+			if (s > separation) {
+				separation = s;
+				index = i;
+				// separated
+				if (s >= 0.0) break;
+			}
+		}
+		
+		context.index = index;
+		return separation;
+	}
+	
+	/**
+	 * Detects a {@link Polygon} - {@link Polygon} collision.
+	 * <p>
+	 * The minimum penetration axis of two convex polygons is one of their face normals.
+	 * @param context the working storage
+	 * @param polygon1 the first polygon
+	 * @param t1 the first transform values
+	 * @param polygon2 the second polygon
+	 * @param t2 the second transform values
+	 * @return boolean
+	 */
+	private boolean polygonPolygon(Context context, Polygon polygon1, double[] t1, Polygon polygon2, double[] t2) {
+		double separation1 = this.findMaxSeparation(context, polygon1, t1, polygon2, t2);
+		if (separation1 >= 0.0) return false;
+		int index1 = context.index;
+		
+		double separation2 = this.findMaxSeparation(context, polygon2, t2, polygon1, t1);
+		if (separation2 >= 0.0) return false;
+		int index2 = context.index;
+		
+		if (separation2 > separation1) {
+			// polygon1 is pushed out of polygon2's face
+			Vector2 n = polygon2.getNormals()[index2];
+			return this.setLocal(context, -n.x, -n.y, -separation2, t2);
+		}
+		// polygon2 is pushed out of polygon1's face
+		Vector2 n = polygon1.getNormals()[index1];
+		return this.setLocal(context, n.x, n.y, -separation1, t1);
+	}
+	
+	/**
+	 * Computes the closest point on the segment ab to the point p.
+	 * <p>
+	 * The point is stored in the px2 and py2 fields of the given context.
+	 * @param context the working storage
+	 * @param px the x component of the point
+	 * @param py the y component of the point
+	 * @param ax the x component of the segment start
+	 * @param ay the y component of the segment start
+	 * @param bx the x component of the segment end
+	 * @param by the y component of the segment end
+	 * @return double the squared distance
+	 */
+	private double closestPoint(Context context, double px, double py, double ax, double ay, double bx, double by) {
+		double ex = bx - ax;
+		double ey = by - ay;
+		double t = ((px - ax) * ex + (py - ay) * ey) / (ex * ex + ey * ey);
+		if (t < 0.0) t = 0.0;
+		else if (t > 1.0) t = 1.0;
+		context.px2 = ax + ex * t;
+		context.py2 = ay + ey * t;
+		double dx = context.px2 - px;
+		double dy = context.py2 - py;
+		return dx * dx + dy * dy;
+	}
+	
+	/**
+	 * Detects a {@link Circle} - {@link Segment}/{@link Capsule} collision.
+	 * @param context the working storage
+	 * @param circle the circle
+	 * @param t1 the circle's transform values
+	 * @param convex the {@link Segment} or {@link Capsule}
+	 * @param t2 the segment's transform values
+	 * @return boolean
+	 */
+	private boolean circleSegment(Context context, Circle circle, double[] t1, Convex convex, double[] t2) {
+		Vector2 c = circle.getCenter();
+		Vector2[] segment = getSegment(convex);
+		Vector2 a = segment[0];
+		Vector2 b = segment[1];
+		double radii = circle.getRadius() + getSegmentRadius(convex);
+		
+		// world coordinates
+		double cx = t1[0] * c.x + t1[1] * c.y + t1[2];
+		double cy = t1[3] * c.x + t1[4] * c.y + t1[5];
+		double ax = t2[0] * a.x + t2[1] * a.y + t2[2];
+		double ay = t2[3] * a.x + t2[4] * a.y + t2[5];
+		double bx = t2[0] * b.x + t2[1] * b.y + t2[2];
+		double by = t2[3] * b.x + t2[4] * b.y + t2[5];
+		
+		double d2 = this.closestPoint(context, cx, cy, ax, ay, bx, by);
+		if (d2 >= radii * radii) return false;
+		double d = Math.sqrt(d2);
+		if (d > Epsilon.E) {
+			context.nx = (context.px2 - cx) / d;
+			context.ny = (context.py2 - cy) / d;
+			context.depth = radii - d;
+			return true;
+		}
+		
+		// the center is on the segment; use the segment normal facing 
+		// from the circle center to the segment center
+		double ex = bx - ax;
+		double ey = by - ay;
+		double l = Math.sqrt(ex * ex + ey * ey);
+		double mx = -ey / l;
+		double my = ex / l;
+		if (((ax + bx) * 0.5 - cx) * mx + ((ay + by) * 0.5 - cy) * my < 0.0) {
+			mx = -mx;
+			my = -my;
+		}
+		context.nx = mx;
+		context.ny = my;
+		context.depth = radii;
+		return true;
+	}
+	
+	/**
+	 * Returns the maximum separation of segment ab from the segment cd along the
+	 * normals of segment cd.
+	 * <p>
+	 * The normal is stored in the nx and ny fields of the given context and points
+	 * from cd to ab.
+	 * @param context the working storage
+	 * @param ax the x component of the first segment start
+	 * @param ay the y component of the first segment start
+	 * @param bx the x component of the first segment end
+	 * @param by the y component of the first segment end
+	 * @param cx the x component of the second segment start
+	 * @param cy the y component of the second segment start
+	 * @param dx the x component of the second segment end
+	 * @param dy the y component of the second segment end
+	 * @return double
+	 */
+	private double findMaxSeparation(Context context, double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+		double ex = dx - cx;
+		double ey = dy - cy;
+		double l = Math.sqrt(ex * ex + ey * ey);
+		double mx = -ey / l;
+		double my = ex / l;
+		double c = mx * cx + my * cy;
+		double p1 = mx * ax + my * ay;
+		double p2 = mx * bx + my * by;
+		// along m and -m
+		double s1 = Math.min(p1, p2) - c;
+		double s2 = c - Math.max(p1, p2);
+		if (s1 >= s2) {
+			context.nx = mx;
+			context.ny = my;
+			return s1;
+		}
+		context.nx = -mx;
+		context.ny = -my;
+		return s2;
+	}
+	
+	/**
+	 * Detects a {@link Segment}/{@link Capsule} - {@link Segment}/{@link Capsule} collision.
+	 * <p>
+	 * If the segments intersect, the normal of either segment with the least penetration 
+	 * is used, otherwise the closest points give the normal and depth.
+	 * @param context the working storage
+	 * @param convex1 the first {@link Segment} or {@link Capsule}
+	 * @param t1 the first transform values
+	 * @param convex2 the second {@link Segment} or {@link Capsule}
+	 * @param t2 the second transform values
+	 * @return boolean
+	 */
+	private boolean segmentSegment(Context context, Convex convex1, double[] t1, Convex convex2, double[] t2) {
+		Vector2[] segment1 = getSegment(convex1);
+		Vector2[] segment2 = getSegment(convex2);
+		double radii = getSegmentRadius(convex1) + getSegmentRadius(convex2);
+		
+		// world coordinates
+		Vector2 a = segment1[0];
+		Vector2 b = segment1[1];
+		double ax = t1[0] * a.x + t1[1] * a.y + t1[2];
+		double ay = t1[3] * a.x + t1[4] * a.y + t1[5];
+		double bx = t1[0] * b.x + t1[1] * b.y + t1[2];
+		double by = t1[3] * b.x + t1[4] * b.y + t1[5];
+		a = segment2[0];
+		b = segment2[1];
+		double cx = t2[0] * a.x + t2[1] * a.y + t2[2];
+		double cy = t2[3] * a.x + t2[4] * a.y + t2[5];
+		double dx = t2[0] * b.x + t2[1] * b.y + t2[2];
+		double dy = t2[3] * b.x + t2[4] * b.y + t2[5];
+		
+		// find the segment normal with the least penetration
+		double separation2 = this.findMaxSeparation(context, ax, ay, bx, by, cx, cy, dx, dy);
+		double n2x = context.nx;
+		double n2y = context.ny;
+		double separation1 = this.findMaxSeparation(context, cx, cy, dx, dy, ax, ay, bx, by);
+		if (separation2 > separation1) {
+			// the normal points from segment2 to segment1
+			context.nx = -n2x;
+			context.ny = -n2y;
+			separation1 = separation2;
+		}
+		if (separation1 >= radii) return false;
+		
+		if (separation1 < 0.0) {
+			// the segments intersect
+			context.depth = radii - separation1;
+			return true;
+		}
+		
+		// otherwise find the closest points of the two segments
+		double d1x = bx - ax;
+		double d1y = by - ay;
+		double d2x = dx - cx;
+		double d2y = dy - cy;
+		double rx = ax - cx;
+		double ry = ay - cy;
+		double aa = d1x * d1x + d1y * d1y;
+		double e = d2x * d2x + d2y * d2y;
+		double f = d2x * rx + d2y * ry;
+		double c = d1x * rx + d1y * ry;
+		double bb = d1x * d2x + d1y * d2y;
+		double denom = aa * e - bb * bb;
+		
+		double s = 0.0;
+		if (denom > 0.0) {
+			s = clamp((bb * f - c * e) / denom);
+		}
+		double t = (bb * s + f) / e;
+		if (t < 0.0) {
+			t = 0.0;
+			s = clamp(-c / aa);
+		} else if (t > 1.0) {
+			t = 1.0;
+			s = clamp((bb - c) / aa);
+		}
+		
+		double vx = (cx + d2x * t) - (ax + d1x * s);
+		double vy = (cy + d2y * t) - (ay + d1y * s);
+		double d = Math.sqrt(vx * vx + vy * vy);
+		if (d >= radii) return false;
+		if (d > Epsilon.E) {
+			context.nx = vx / d;
+			context.ny = vy / d;
+			context.depth = radii - d;
+			return true;
+		}
+		
+		// the segments touch; keep the segment normal
+		context.depth = radii - separation1;
+		return context.depth > 0.0;
+	}
+	
+	/**
+	 * Detects a {@link Segment}/{@link Capsule} - {@link Polygon} collision.
+	 * <p>
+	 * If the segment intersects the polygon, the minimum penetration axis is either
+	 * a face normal of the polygon or the segment normal.  Otherwise the closest points
+	 * give the normal and depth.
+	 * @param context the working storage
+	 * @param convex the {@link Segment} or {@link Capsule}
+	 * @param t1 the segment's transform values
+	 * @param polygon the polygon
+	 * @param t2 the polygon's transform values
+	 * @return boolean
+	 */
+	private boolean segmentPolygon(Context context, Convex convex, double[] t1, Polygon polygon, double[] t2) {
+		Vector2[] segment = getSegment(convex);
+		double r = getSegmentRadius(convex);
+		
+		// the segment in the polygon's local coordinates
+		Vector2 a = segment[0];
+		Vector2 b = segment[1];
+		double tx = (t1[0] * a.x + t1[1] * a.y + t1[2]) - t2[2];
+		double ty = (t1[3] * a.x + t1[4] * a.y + t1[5]) - t2[5];
+		double ax = t2[0] * tx + t2[3] * ty;
+		double ay = t2[1] * tx + t2[4] * ty;
+		tx = (t1[0] * b.x + t1[1] * b.y + t1[2]) - t2[2];
+		ty = (t1[3] * b.x + t1[4] * b.y + t1[5]) - t2[5];
+		double bx = t2[0] * tx + t2[3] * ty;
+		double by = t2[1] * tx + t2[4] * ty;
+		
+		Vector2[] vertices = polygon.getVertices();
+		Vector2[] normals = polygon.getNormals();
+		int count = vertices.length;
+		
+		// the polygon's faces; the normal points from the segment to the polygon
+		double separation = -Double.MAX_VALUE;
+		double sx = 0.0;
+		double sy = 0.0;
+		for (int i = 0; i < count; i++) {
+			Vector2 n = normals[i];
+			Vector2 v = vertices[i];
+			double s = Math.min(n.x * ax + n.y * ay, n.x * bx + n.y * by) - (n.x * v.x + n.y * v.y);
+			if (s >= r) return false;
+			if (s > separation) {
+				separation = s;
+				sx = -n.x;
+				sy = -n.y;
+			}
+		}
+		
+		// the segment's normals
+		double ex = bx - ax;
+		double ey = by - ay;
+		double l = Math.sqrt(ex * ex + ey * ey);
+		double mx = -ey / l;
+		double my = ex / l;
+		double c = mx * ax + my * ay;
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			Vector2 v = vertices[i];
+			double p = mx * v.x + my * v.y;
+			if (p < min) min = p;
+			if (p > max) max = p;
+		}
+		// along m and -m
+		double s = min - c;
+		if (s > separation) {
+			separation = s;
+			sx = mx;
+			sy = my;
+		}
+		s = c - max;
+		if (s > separation) {
+			separation = s;
+			sx = -mx;
+			sy = -my;
+		}
+		if (separation >= r) return false;
+		
+		if (separation <= 0.0) {
+			// the segment intersects the polygon
+			return this.setLocal(context, sx, sy, r - separation, t2);
+		}
+		
+		// the segment is separated from the polygon but within its radius
+		// so find the closest points; one of them must be a vertex
+		double best = Double.MAX_VALUE;
+		double qx = 0.0;
+		double qy = 0.0;
+		for (int i = 0; i < count; i++) {
+			Vector2 v1 = vertices[i];
+			Vector2 v2 = vertices[i + 1 == count ? 0 : i + 1];
+			// the segment end points to the polygon's edges
+			double d2 = this.closestPoint(context, ax, ay, v1.x, v1.y, v2.x, v2.y);
+			if (d2 < best) {
+				best = d2;
+				context.px1 = ax; context.py1 = ay;
+				qx = context.px2; qy = context.py2;
+			}
+			d2 = this.closestPoint(context, bx, by, v1.x, v1.y, v2.x, v2.y);
+			if (d2 < best) {
+				best = d2;
+				context.px1 = bx; context.py1 = by;
+				qx = context.px2; qy = context.py2;
+			}
+			// the polygon's vertices to the segment
+			d2 = this.closestPoint(context, v1.x, v1.y, ax, ay, bx, by);
+			if (d2 < best) {
+				best = d2;
+				context.px1 = context.px2; context.py1 = context.py2;
+				qx = v1.x; qy = v1.y;
+			}
+		}
+		
+		double d = Math.sqrt(best);
+		if (d >= r) return false;
+		if (d > Epsilon.E) {
+			return this.setLocal(context, (qx - context.px1) / d, (qy - context.py1) / d, r - d, t2);
+		}
+		// the shapes touch; keep the separating axis
+		return this.setLocal(context, sx, sy, r - separation, t2);
+	}
+	
+	/**
+	 * Clamps the given value to the range [0, 1].
+	 * @param value the value
+	 * @return double
+	 */
+	private static final double clamp(double value) {
+		if (value < 0.0) return 0.0;
+		if (value > 1.0) return 1.0;
+		return value;
+	}
+}
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.dyn4j.Copyable;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Transform;
 
@@ -53,10 +54,10 @@ import org.dyn4j.geometry.Transform;
  * The primary and fallback detectors can also be {@link FallbackNarrowphaseDetector}s as well allowing for a chain of 
  * fallbacks.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.1.5
  */
-public class FallbackNarrowphaseDetector implements NarrowphaseDetector {
+public class FallbackNarrowphaseDetector implements NarrowphaseDetector, Copyable<FallbackNarrowphaseDetector> {
 	/** The primary {@link NarrowphaseDetector} */
 	protected final NarrowphaseDetector primaryNarrowphaseDetector;
 	
@@ -95,6 +96,26 @@ public class FallbackNarrowphaseDetector implements NarrowphaseDetector {
 		}
 	}
 	
+	/**
+	 * Returns a new {@link FallbackNarrowphaseDetector} with the same conditions.
+	 * <p>
+	 * The primary and fallback {@link NarrowphaseDetector}s are copied if they are {@link Copyable},
+	 * otherwise they are shared.  The conditions are shared.
+	 * @since 3.2.4
+	 */
+	@Override
+	public FallbackNarrowphaseDetector copy() {
+		NarrowphaseDetector primary = this.primaryNarrowphaseDetector;
+		if (primary instanceof Copyable) {
+			primary = (NarrowphaseDetector)((Copyable<?>)primary).copy();
+		}
+		NarrowphaseDetector fallback = this.fallbackNarrowphaseDetector;
+		if (fallback instanceof Copyable) {
+			fallback = (NarrowphaseDetector)((Copyable<?>)fallback).copy();
+		}
+		return new FallbackNarrowphaseDetector(primary, fallback, new ArrayList<FallbackCondition>(this.fallbackConditions));
+	}
+	
 	/**
 	 * Adds the given condition to the list of fallback conditions.
 	 * @param condition the condition
@@ -27,10 +27,12 @@ package org.dyn4j.collision.narrowphase;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dyn4j.Copyable;
 import org.dyn4j.Epsilon;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Segment;
 import org.dyn4j.geometry.Shape;
@@ -117,14 +119,21 @@ import org.dyn4j.resources.Messages;
  * The {@link Gjk} algorithm's original intent was to find the minimum distance between two {@link Convex}
  * {@link Shape}s.  Refer to {@link Gjk#distance(Convex, Transform, Convex, Transform, Separation)}
  * for details on the implementation.
+ * <p>
+ * {@link Gjk} is a {@link CachingNarrowphaseDetector}.  When a pair is found to be separated, the
+ * last search direction separates them and is retained in the {@link NarrowphaseCache}.  The next
+ * test of the pair computes one support point along the retained axis and, if the pair is still
+ * separated along it, returns immediately.  Otherwise the full algorithm is run, starting the
+ * {@link Polygon} support point searches from the last support vertices.  The initial direction
+ * is not changed so that the result is the same as without the cache.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.4
  * @since 1.0.0
  * @see Epa
  * @see <a href="http://www.dyn4j.org/2010/04/gjk-gilbert-johnson-keerthi/" target="_blank">GJK (Gilbert-Johnson-Keerthi)</a>
  * @see <a href="http://www.dyn4j.org/2010/04/gjk-distance-closest-points/" target="_blank">GJK - Distance &amp; Closest Points</a>
  */
-public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetector {
+public class Gjk implements CachingNarrowphaseDetector, DistanceDetector, RaycastDetector, Copyable<Gjk> {
 	/** The origin point */
 	private static final Vector2 ORIGIN = new Vector2();
 	
@@ -158,6 +167,25 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		this.minkowskiPenetrationSolver = minkowskiPenetrationSolver;
 	}
 	
+	/**
+	 * Returns a new {@link Gjk} with the same configuration.
+	 * <p>
+	 * The {@link MinkowskiPenetrationSolver} is copied if it's {@link Copyable}, otherwise
+	 * it's shared.
+	 * @since 3.2.4
+	 */
+	@Override
+	public Gjk copy() {
+		MinkowskiPenetrationSolver solver = this.minkowskiPenetrationSolver;
+		if (solver instanceof Copyable) {
+			solver = (MinkowskiPenetrationSolver)((Copyable<?>)solver).copy();
+		}
+		Gjk gjk = new Gjk(solver);
+		gjk.maxIterations = this.maxIterations;
+		gjk.distanceEpsilon = this.distanceEpsilon;
+		return gjk;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration)
 	 */
@@ -187,6 +215,55 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		return false;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.CachingNarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration, org.dyn4j.collision.narrowphase.NarrowphaseCache)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, NarrowphaseCache cache) {
+		// check for circles
+		if (convex1 instanceof Circle && convex2 instanceof Circle) {
+			// if its a circle - circle collision use the faster method
+			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
+		}
+		
+		cache.begin(convex1, transform1, convex2, transform2);
+		
+		// create a Minkowski sum starting from the last support vertices
+		MinkowskiSum ms = new MinkowskiSum(convex1, transform1, convex2, transform2);
+		ms.index1 = cache.index1;
+		ms.index2 = cache.index2;
+		
+		// are the shapes still separated along the last separating axis?
+		if (cache.separated) {
+			Vector2 axis = cache.axis;
+			if (ms.getSupportPoint(axis).dot(axis) <= 0.0) {
+				cache.index1 = ms.index1;
+				cache.index2 = ms.index2;
+				return false;
+			}
+		}
+		
+		// define the simplex
+		List<Vector2> simplex = new ArrayList<Vector2>(3);
+		
+		// choose some search direction
+		Vector2 d = this.getInitialDirection(convex1, transform1, convex2, transform2);
+		
+		// perform the detection
+		boolean collision = this.detect(ms, simplex, d);
+		if (collision) {
+			this.minkowskiPenetrationSolver.getPenetration(simplex, ms, penetration);
+			cache.separated = false;
+		} else {
+			// the last search direction separates the shapes
+			cache.setSeparatingAxis(d.x, d.y);
+		}
+		
+		cache.index1 = ms.index1;
+		cache.index2 = ms.index2;
+		return collision;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform)
 	 */
@@ -295,21 +372,32 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		// this method should never be supplied anything other than 2 or 3 points for the simplex
 		// get the last point added (a)
 		Vector2 a = simplex.get(simplex.size() - 1);
-		// this is the same as a.to(ORIGIN);
-		Vector2 ao = a.getNegative();
+		// this is the same as a.to(ORIGIN); the vectors are kept in
+		// locals rather than created for every iteration
+		double aox = -a.x;
+		double aoy = -a.y;
 		// check to see what type of simplex we have
 		if (simplex.size() == 3) {
 			// then we have a triangle
 			Vector2 b = simplex.get(1);
 			Vector2 c = simplex.get(0);
 			// get the edges
-			Vector2 ab = a.to(b);
-			Vector2 ac = a.to(c);
-			// get the edge normals
-			Vector2 abPerp = Vector2.tripleProduct(ac, ab, ab);
-			Vector2 acPerp = Vector2.tripleProduct(ab, ac, ac);
+			double abx = b.x - a.x;
+			double aby = b.y - a.y;
+			double acx = c.x - a.x;
+			double acy = c.y - a.y;
+			// get the edge normals; the same as Vector2.tripleProduct(ac, ab, ab)
+			// and Vector2.tripleProduct(ab, ac, ac)
+			double acab = acx * abx + acy * aby;
+			double abab = abx * abx + aby * aby;
+			double abPerpX = abx * acab - acx * abab;
+			double abPerpY = aby * acab - acy * abab;
+			double abac = abx * acx + aby * acy;
+			double acac = acx * acx + acy * acy;
+			double acPerpX = acx * abac - abx * acac;
+			double acPerpY = acy * abac - aby * acac;
 			// see where the origin is at
-			double acLocation = acPerp.dot(ao);
+			double acLocation = acPerpX * aox + acPerpY * aoy;
 			if (acLocation >= 0.0) {
 				// the origin lies on the right side of A->C
 				// because of the condition for the gjk loop to continue the origin 
@@ -320,9 +408,9 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 				// but was changed since the origin may lie on the segment created
 				// by a -> c in which case would produce a zero vector normal
 				// calculating ac's normal using b is more robust
-				direction.set(acPerp);
+				direction.set(acPerpX, acPerpY);
 			} else {
-				double abLocation = abPerp.dot(ao);
+				double abLocation = abPerpX * aox + abPerpY * aoy;
 				// the origin lies on the left side of A->C
 				if (abLocation < 0.0) {
 					// the origin lies on the right side of A->B and therefore in the
@@ -336,23 +424,27 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 					// but was changed since the origin may lie on the segment created
 					// by a -> b in which case would produce a zero vector normal
 					// calculating ab's normal using c is more robust
-					direction.set(abPerp);
+					direction.set(abPerpX, abPerpY);
 				}
 			}
 		} else {
 			// get the b point
 			Vector2 b = simplex.get(0);
-			Vector2 ab = a.to(b);
+			double abx = b.x - a.x;
+			double aby = b.y - a.y;
 			// otherwise we have 2 points (line segment)
 			// because of the condition for the gjk loop to continue the origin 
 			// must lie in between A and B, so keep both points in the simplex and
-			// set the direction to the perp of the line segment towards the origin
-			direction.set(Vector2.tripleProduct(ab, ao, ab));
+			// set the direction to the perp of the line segment towards the origin;
+			// the same as Vector2.tripleProduct(ab, ao, ab)
+			double abab = abx * abx + aby * aby;
+			double aoab = aox * abx + aoy * aby;
+			direction.set(aox * abab - abx * aoab, aoy * abab - aby * aoab);
 			// check for degenerate cases where the origin lies on the segment
 			// created by a -> b which will yield a zero edge normal
 			if (direction.getMagnitudeSquared() <= Epsilon.E) {
 				// in this case just choose either normal (left or right)
-				direction.set(ab.left());
+				direction.set(aby, -abx);
 			}
 		}
 		return false;
@@ -391,7 +483,11 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		b = ms.getSupportPoints(d);
 		// find the point on the simplex (segment) closest to the origin
 		// and use that as the new search direction
-		d = Segment.getPointOnSegmentClosestToPoint(ORIGIN, b.point, a.point);
+		d = Segment.getPointOnSegmentClosestToPoint(ORIGIN, b.point, a.point, d);
+		// the closest points on each new segment; the closer one becomes the
+		// search direction and the old search direction is reused in its place
+		Vector2 p1 = new Vector2();
+		Vector2 p2 = new Vector2();
 		for (int i = 0; i < this.maxIterations; i++) {
 			// the vector from the point we found to the origin is the new search direction
 			d.negate();
@@ -427,8 +523,8 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 			}
 			
 			// get the closest point on each segment to the origin
-			Vector2 p1 = Segment.getPointOnSegmentClosestToPoint(ORIGIN, a.point, c.point);
-			Vector2 p2 = Segment.getPointOnSegmentClosestToPoint(ORIGIN, c.point, b.point);
+			Segment.getPointOnSegmentClosestToPoint(ORIGIN, a.point, c.point, p1);
+			Segment.getPointOnSegmentClosestToPoint(ORIGIN, c.point, b.point, p2);
 			
 			// get the distance to the origin
 			double p1Mag = p1.getMagnitudeSquared();
@@ -458,11 +554,15 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 			if (p1Mag < p2Mag) {
 				// a was closest so replace b with c
 				b = c;
+				Vector2 t = d;
 				d = p1;
+				p1 = t;
 			} else {
 				// b was closest so replace a with c
 				a = c;
+				Vector2 t = d;
 				d = p2;
+				p2 = t;
 			}
 		}
 		// if we made it here then we know that we hit the maximum number of iterations
@@ -25,6 +25,7 @@
 package org.dyn4j.collision.narrowphase;
 
 import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
@@ -35,8 +36,12 @@ import org.dyn4j.geometry.Vector2;
  * This class is used by the {@link Gjk} and {@link Epa} classes to compute support points.
  * <p>
  * This class doesn't actually compute the Minkowski sum.
+ * <p>
+ * Support points of {@link Polygon}s are found using {@link Polygon#getFarthestVertexIndex(Vector2, Transform, int)}
+ * starting from the vertex found by the previous query.  Since successive search directions
+ * are usually close, this avoids testing every vertex of polygons with many vertices.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class MinkowskiSum {
@@ -51,7 +56,13 @@ public class MinkowskiSum {
 	
 	/** The second {@link Convex}'s {@link Transform} */
 	final Transform transform2;
-		
+	
+	/** The index of the last support vertex of the first {@link Convex} if its a {@link Polygon} */
+	int index1;
+	
+	/** The index of the last support vertex of the second {@link Convex} if its a {@link Polygon} */
+	int index2;
+	
 	/**
 	 * Full constructor.
 	 * @param convex1 the first {@link Convex}
@@ -87,10 +98,10 @@ public class MinkowskiSum {
 	 */
 	public final Vector2 getSupportPoint(Vector2 direction) {
 		// get the farthest point in the given direction in convex1
-		Vector2 point1 = this.convex1.getFarthestPoint(direction, this.transform1);
+		Vector2 point1 = this.getFarthestPoint1(direction);
 		direction.negate();
 		// get the farthest point in the opposite direction in convex2
-		Vector2 point2 = this.convex2.getFarthestPoint(direction, this.transform2);
+		Vector2 point2 = this.getFarthestPoint2(direction);
 		direction.negate();
 		// return the Minkowski sum point
 		return point1.subtract(point2);
@@ -103,15 +114,45 @@ public class MinkowskiSum {
 	 */
 	public final MinkowskiSumPoint getSupportPoints(Vector2 direction) {
 		// get the farthest point in the given direction in convex1
-		Vector2 point1 = this.convex1.getFarthestPoint(direction, this.transform1);
+		Vector2 point1 = this.getFarthestPoint1(direction);
 		direction.negate();
 		// get the farthest point in the opposite direction in convex2
-		Vector2 point2 = this.convex2.getFarthestPoint(direction, this.transform2);
+		Vector2 point2 = this.getFarthestPoint2(direction);
 		direction.negate();
 		// set the Minkowski sum point given the support points
 		return new MinkowskiSumPoint(point1, point2);
 	}
 
+	/**
+	 * Returns the farthest point in the given direction in the first {@link Convex}.
+	 * @param direction the search direction
+	 * @return {@link Vector2}
+	 * @since 3.2.4
+	 */
+	private final Vector2 getFarthestPoint1(Vector2 direction) {
+		if (this.convex1 instanceof Polygon) {
+			Vector2 point = new Vector2();
+			this.index1 = ((Polygon)this.convex1).getFarthestPoint(direction, this.transform1, this.index1, point);
+			return point;
+		}
+		return this.convex1.getFarthestPoint(direction, this.transform1);
+	}
+	
+	/**
+	 * Returns the farthest point in the given direction in the second {@link Convex}.
+	 * @param direction the search direction
+	 * @return {@link Vector2}
+	 * @since 3.2.4
+	 */
+	private final Vector2 getFarthestPoint2(Vector2 direction) {
+		if (this.convex2 instanceof Polygon) {
+			Vector2 point = new Vector2();
+			this.index2 = ((Polygon)this.convex2).getFarthestPoint(direction, this.transform2, this.index2, point);
+			return point;
+		}
+		return this.convex2.getFarthestPoint(direction, this.transform2);
+	}
+	
 	/**
 	 * Returns the first {@link Convex} {@link Shape}.
 	 * @return {@link Convex}
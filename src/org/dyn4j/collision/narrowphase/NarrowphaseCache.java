@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.narrowphase;
+
+import org.dyn4j.Epsilon;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents the information a {@link CachingNarrowphaseDetector} retains between tests of a 
+ * pair of {@link Convex} {@link Shape}s.
+ * <p>
+ * When the pair is separated, the separating axis is retained.  The axis points from the first
+ * {@link Convex} to the second such that the first is entirely behind the second along it.
+ * The next test projects the pair onto the axis first, and if the axis still separates them, 
+ * reports them as separated without running the full test.  Since an axis only separates
+ * the pair if they are actually separated, the retained axis never changes the result.
+ * <p>
+ * The indices of the last support vertices of {@link Polygon}s are also retained and used as the
+ * starting point of the next search (see {@link Polygon#getFarthestVertexIndex(Vector2, Transform, int)}).
+ * <p>
+ * The pair is identified by its {@link Convex} {@link Shape}s and {@link Transform} objects.  If the
+ * pair is given in the opposite order the retained information is reversed, and if a different
+ * pair is given it is cleared.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class NarrowphaseCache {
+	/** The first {@link Convex} of the pair */
+	Convex convex1;
+	
+	/** The first {@link Convex}'s {@link Transform} */
+	Transform transform1;
+	
+	/** The second {@link Convex} of the pair */
+	Convex convex2;
+	
+	/** The second {@link Convex}'s {@link Transform} */
+	Transform transform2;
+	
+	/** The normalized separating axis; valid if separated is true */
+	final Vector2 axis;
+	
+	/** True if the pair was separated in the last test */
+	boolean separated;
+	
+	/** The index of the last support vertex of the first {@link Convex} */
+	int index1;
+	
+	/** The index of the last support vertex of the second {@link Convex} */
+	int index2;
+	
+	/**
+	 * Default constructor.
+	 */
+	public NarrowphaseCache() {
+		this.axis = new Vector2();
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("NarrowphaseCache[Separated=").append(this.separated)
+		.append("|Axis=").append(this.axis)
+		.append("|Index1=").append(this.index1)
+		.append("|Index2=").append(this.index2)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Prepares this cache for a test of the given pair.
+	 * <p>
+	 * The retained information is reversed if the pair is given in the opposite order
+	 * and cleared if this cache was last used for a different pair.
+	 * @param convex1 the first {@link Convex}
+	 * @param transform1 the first {@link Convex}'s {@link Transform}
+	 * @param convex2 the second {@link Convex}
+	 * @param transform2 the second {@link Convex}'s {@link Transform}
+	 */
+	final void begin(Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
+		if (this.convex1 == convex1 && this.transform1 == transform1 && 
+			this.convex2 == convex2 && this.transform2 == transform2) {
+			return;
+		}
+		if (this.convex1 == convex2 && this.transform1 == transform2 && 
+			this.convex2 == convex1 && this.transform2 == transform1) {
+			// the same pair in the opposite order
+			this.axis.negate();
+			int index = this.index1;
+			this.index1 = this.index2;
+			this.index2 = index;
+		} else {
+			this.separated = false;
+			this.index1 = 0;
+			this.index2 = 0;
+		}
+		this.convex1 = convex1;
+		this.transform1 = transform1;
+		this.convex2 = convex2;
+		this.transform2 = transform2;
+	}
+	
+	/**
+	 * Sets the separating axis.
+	 * <p>
+	 * The axis is normalized; a zero axis is not retained.
+	 * @param x the x component of the axis
+	 * @param y the y component of the axis
+	 */
+	final void setSeparatingAxis(double x, double y) {
+		double magnitude = Math.sqrt(x * x + y * y);
+		if (magnitude <= Epsilon.E) {
+			this.separated = false;
+			return;
+		}
+		this.axis.x = x / magnitude;
+		this.axis.y = y / magnitude;
+		this.separated = true;
+	}
+	
+	/**
+	 * Clears the retained information.
+	 */
+	public void clear() {
+		this.convex1 = null;
+		this.transform1 = null;
+		this.convex2 = null;
+		this.transform2 = null;
+		this.separated = false;
+		this.index1 = 0;
+		this.index2 = 0;
+	}
+	
+	/**
+	 * Returns true if the pair was separated in the last test.
+	 * @return boolean
+	 */
+	public boolean isSeparated() {
+		return this.separated;
+	}
+	
+	/**
+	 * Returns a copy of the axis that separated the pair in the last test or
+	 * null if the pair was not separated.
+	 * @return {@link Vector2}
+	 */
+	public Vector2 getSeparatingAxis() {
+		if (this.separated) {
+			return this.axis.copy();
+		}
+		return null;
+	}
+}
@@ -24,9 +24,12 @@
  */
 package org.dyn4j.collision.narrowphase;
 
+import org.dyn4j.Epsilon;
 import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Interval;
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Rectangle;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
@@ -45,12 +48,98 @@ import org.dyn4j.geometry.Vector2;
  * If the {@link Convex} {@link Shape}s are penetrating, a {@link Penetration} object can be built from the {@link Interval}s
  * with the least overlap.  The normal will be the edge normal of the {@link Interval} and the depth will be the {@link Interval}
  * overlap.
+ * <p>
+ * {@link Polygon} and {@link Circle} pairs are tested without creating any objects, other than the
+ * normal placed in the {@link Penetration}.  The world space vertices and normals of the last few 
+ * {@link Polygon}s tested are retained and only recomputed when their {@link Transform} changes, 
+ * so a {@link Polygon} that doesn't move, or is tested against many others in a row, is only 
+ * transformed once.  This working storage is kept per thread, so an instance can be used by more
+ * than one thread at the same time.  Other {@link Convex} {@link Shape}s use the {@link Convex#getAxes(Vector2[], Transform)}
+ * and {@link Convex#project(Vector2, Transform)} methods.
+ * <p>
+ * {@link Sat} is a {@link CachingNarrowphaseDetector}; the axis that separated a pair is retained
+ * in the {@link NarrowphaseCache} and tested first the next time.
  * @author William Bittle
- * @version 3.0.2
+ * @version 3.2.4
  * @since 1.0.0
  * @see <a href="http://www.dyn4j.org/2010/01/sat/" target="_blank">SAT (Separating Axis Theorem)</a>
  */
-public class Sat implements NarrowphaseDetector {
+public class Sat implements CachingNarrowphaseDetector {
+	/** The number of {@link Polygon}s whose world space vertices and normals are retained */
+	private static final int CACHE_SIZE = 4;
+	
+	/** The working storage of each thread using this detector */
+	private final ThreadLocal<Context> contexts = new ThreadLocal<Context>() {
+		@Override
+		protected Context initialValue() {
+			return new Context();
+		}
+	};
+	
+	/**
+	 * The working storage of the primitive tests.
+	 * <p>
+	 * Each thread gets its own instance so that a {@link Sat} instance can be used
+	 * by many threads at the same time.
+	 * @author William Bittle
+	 * @version 3.2.4
+	 * @since 3.2.4
+	 */
+	private static final class Context {
+		/** The retained world space {@link Polygon}s */
+		private final TransformedPolygon[] polygons;
+		
+		/** The index of the next retained {@link Polygon} to replace */
+		private int next;
+		
+		/** The transform values */
+		private final double[] values;
+		
+		// the shapes of the current test; the polygon is null for a circle
+		
+		/** The first shape's world space {@link Polygon} */
+		private TransformedPolygon polygon1;
+		
+		/** The second shape's world space {@link Polygon} */
+		private TransformedPolygon polygon2;
+		
+		/** The first shape's world space center and radius */
+		private double cx1, cy1, r1;
+		
+		/** The second shape's world space center and radius */
+		private double cx2, cy2, r2;
+		
+		// the results of the current test
+		
+		/** The last projection */
+		private double projectionMin, projectionMax;
+		
+		/** The axis of minimum penetration */
+		private double nx, ny;
+		
+		/** The minimum penetration */
+		private double overlap;
+		
+		/** The axis that separated the shapes, pointing from the first to the second */
+		private double sx, sy;
+		
+		/**
+		 * Default constructor.
+		 */
+		public Context() {
+			this.polygons = new TransformedPolygon[CACHE_SIZE];
+			for (int i = 0; i < CACHE_SIZE; i++) {
+				this.polygons[i] = new TransformedPolygon();
+			}
+			this.values = new double[6];
+		}
+	}
+	
+	/**
+	 * Default constructor.
+	 */
+	public Sat() {}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration)
 	 */
@@ -62,6 +151,12 @@ public class Sat implements NarrowphaseDetector {
 			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
 		}
 		
+		// check for polygons and circles
+		if (this.isSupported(convex1) && this.isSupported(convex2)) {
+			penetration.clear();
+			return this.detect(this.contexts.get(), convex1, transform1, convex2, transform2, true, penetration, null);
+		}
+		
 		penetration.clear();
 		Vector2 n = null;
 		double overlap = Double.MAX_VALUE;
@@ -89,6 +184,7 @@ public class Sat implements NarrowphaseDetector {
 		            // cannot be intersecting
 		            if (!intervalA.overlaps(intervalB)) {
 		            	// the shapes cannot be intersecting so immediately return null
+		            	this.setSeparatingAxis(axis, intervalA, intervalB);
 		            	return false;
 		            } else {
 		            	// get the overlap
@@ -134,6 +230,7 @@ public class Sat implements NarrowphaseDetector {
 		            // cannot be intersecting
 		            if (!intervalA.overlaps(intervalB)) {
 		            	// the shapes cannot be intersecting so immediately return null
+		            	this.setSeparatingAxis(axis, intervalA, intervalB);
 		            	return false;
 		            } else {
 		            	// if the intervals do overlap then get save the depth and axis
@@ -190,6 +287,11 @@ public class Sat implements NarrowphaseDetector {
 			// if its a circle - circle collision use the faster method
 			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2);
 		}
+		
+		// check for polygons and circles
+		if (this.isSupported(convex1) && this.isSupported(convex2)) {
+			return this.detect(this.contexts.get(), convex1, transform1, convex2, transform2, false, null, null);
+		}
 
 		// get the foci from both shapes, the foci are used to test any
 		// voronoi regions of the other shape
@@ -243,4 +345,377 @@ public class Sat implements NarrowphaseDetector {
 		// if we get here, then we have intersection
 		return true;
 	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.CachingNarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration, org.dyn4j.collision.narrowphase.NarrowphaseCache)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, NarrowphaseCache cache) {
+		// check for circles
+		if (convex1 instanceof Circle && convex2 instanceof Circle) {
+			// if its a circle - circle collision use the faster method
+			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
+		}
+		
+		cache.begin(convex1, transform1, convex2, transform2);
+		
+		Context context = this.contexts.get();
+		boolean collision = false;
+		if (this.isSupported(convex1) && this.isSupported(convex2)) {
+			penetration.clear();
+			collision = this.detect(context, convex1, transform1, convex2, transform2, true, penetration, cache);
+		} else {
+			// test the last separating axis first
+			if (cache.separated) {
+				Interval intervalA = convex1.project(cache.axis, transform1);
+				Interval intervalB = convex2.project(cache.axis, transform2);
+				if (!intervalA.overlaps(intervalB)) {
+					return false;
+				}
+			}
+			collision = this.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+		
+		if (collision) {
+			cache.separated = false;
+		} else {
+			cache.setSeparatingAxis(context.sx, context.sy);
+		}
+		return collision;
+	}
+	
+	/**
+	 * Saves the given separating axis oriented from the first shape to the second.
+	 * @param axis the separating axis
+	 * @param interval1 the projection of the first shape
+	 * @param interval2 the projection of the second shape
+	 * @since 3.2.4
+	 */
+	private final void setSeparatingAxis(Vector2 axis, Interval interval1, Interval interval2) {
+		Context context = this.contexts.get();
+		if (interval2.getMin() > interval1.getMax()) {
+			context.sx = axis.x;
+			context.sy = axis.y;
+		} else {
+			context.sx = -axis.x;
+			context.sy = -axis.y;
+		}
+	}
+	
+	/**
+	 * Returns true if the given {@link Convex} is tested using the primitive methods.
+	 * @param convex the {@link Convex}
+	 * @return boolean
+	 * @since 3.2.4
+	 */
+	private final boolean isSupported(Convex convex) {
+		return convex instanceof Polygon || convex instanceof Circle;
+	}
+	
+	/**
+	 * Performs the separating axis test on {@link Polygon}s and {@link Circle}s without
+	 * creating any objects, other than the normal placed in the {@link Penetration}.
+	 * <p>
+	 * The axes are tested in the same order as {@link Convex#getAxes(Vector2[], Transform)} 
+	 * would return them so the result is the same as the general test.
+	 * @param context the working storage
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Convex} {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Convex} {@link Shape}'s {@link Transform}
+	 * @param penetrate true if the minimum penetration should be found
+	 * @param penetration the {@link Penetration} object to fill; null if penetrate is false
+	 * @param cache the {@link NarrowphaseCache} whose separating axis should be tested first; can be null
+	 * @return boolean
+	 * @since 3.2.4
+	 */
+	private final boolean detect(Context context, Convex convex1, Transform transform1, Convex convex2, Transform transform2, boolean penetrate, Penetration penetration, NarrowphaseCache cache) {
+		// put the shapes into world space
+		context.polygon1 = null;
+		context.polygon2 = null;
+		double[] values = context.values;
+		
+		transform1.getValues(values);
+		Vector2 c = convex1.getCenter();
+		context.cx1 = values[0] * c.x + values[1] * c.y + values[2];
+		context.cy1 = values[3] * c.x + values[4] * c.y + values[5];
+		if (convex1 instanceof Polygon) {
+			context.polygon1 = this.getTransformedPolygon(context, (Polygon)convex1, transform1, values, null);
+		} else {
+			context.r1 = convex1.getRadius();
+		}
+		
+		transform2.getValues(values);
+		c = convex2.getCenter();
+		context.cx2 = values[0] * c.x + values[1] * c.y + values[2];
+		context.cy2 = values[3] * c.x + values[4] * c.y + values[5];
+		if (convex2 instanceof Polygon) {
+			context.polygon2 = this.getTransformedPolygon(context, (Polygon)convex2, transform2, values, context.polygon1);
+		} else {
+			context.r2 = convex2.getRadius();
+		}
+		
+		// test the last separating axis first
+		if (cache != null && cache.separated && !this.test(context, cache.axis.x, cache.axis.y, false)) {
+			return false;
+		}
+		
+		context.overlap = Double.MAX_VALUE;
+		context.nx = 0.0;
+		context.ny = 0.0;
+		
+		// test the first shape's axes; a circle only contributes the 
+		// axis from its center to the closest vertex of the polygon
+		if (context.polygon1 != null) {
+			if (!this.test(context, context.polygon1, penetrate)) return false;
+			if (context.polygon2 == null && !this.test(context, context.polygon1, context.cx2, context.cy2, penetrate)) return false;
+		}
+		
+		// test the second shape's axes
+		if (context.polygon2 != null) {
+			if (!this.test(context, context.polygon2, penetrate)) return false;
+			if (context.polygon1 == null && !this.test(context, context.polygon2, context.cx1, context.cy1, penetrate)) return false;
+		}
+		
+		if (penetrate) {
+			double nx = context.nx;
+			double ny = context.ny;
+			// make sure the vector is pointing from shape1 to shape2
+			if ((context.cx2 - context.cx1) * nx + (context.cy2 - context.cy1) * ny < 0) {
+				// negate the normal if its not
+				nx = -nx;
+				ny = -ny;
+			}
+			
+			// fill the penetration object
+			penetration.normal = new Vector2(nx, ny);
+			penetration.depth = context.overlap;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the retained world space {@link Polygon} for the given {@link Polygon} and
+	 * transform values, updating it if necessary.
+	 * @param context the working storage
+	 * @param polygon the {@link Polygon}
+	 * @param transform the {@link Transform}
+	 * @param values the transform values
+	 * @param exclude the retained world space {@link Polygon} that should not be used; can be null
+	 * @return {@link TransformedPolygon}
+	 * @since 3.2.4
+	 */
+	private final TransformedPolygon getTransformedPolygon(Context context, Polygon polygon, Transform transform, double[] values, TransformedPolygon exclude) {
+		TransformedPolygon[] polygons = context.polygons;
+		TransformedPolygon tp = null;
+		for (int i = 0; i < CACHE_SIZE; i++) {
+			TransformedPolygon p = polygons[i];
+			if (p.polygon == polygon && p != exclude) {
+				tp = p;
+				break;
+			}
+		}
+		
+		if (tp == null) {
+			// replace the oldest
+			tp = polygons[context.next];
+			if (tp == exclude) {
+				context.next = context.next + 1 == CACHE_SIZE ? 0 : context.next + 1;
+				tp = polygons[context.next];
+			}
+			context.next = context.next + 1 == CACHE_SIZE ? 0 : context.next + 1;
+		}
+		
+		tp.update(polygon, transform, values);
+		return tp;
+	}
+	
+	/**
+	 * Tests the edge normals of the given world space {@link Polygon}.
+	 * @param context the working storage
+	 * @param polygon the world space {@link Polygon}
+	 * @param penetrate true if the minimum penetration should be tracked
+	 * @return boolean true if no separating axis was found
+	 * @since 3.2.4
+	 */
+	private final boolean test(Context context, TransformedPolygon polygon, boolean penetrate) {
+		double[] normals = polygon.normals;
+		int i = 0;
+		int size = polygon.count * 2;
+		// a rectangle only has two unique axes (see Rectangle.getAxes)
+		if (polygon.polygon instanceof Rectangle) {
+			i = 2;
+			size = 6;
+		}
+		for (; i < size; i += 2) {
+			if (!this.test(context, normals[i], normals[i + 1], penetrate)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Tests the axis from the given focus to the closest vertex of the given world space {@link Polygon}.
+	 * @param context the working storage
+	 * @param polygon the world space {@link Polygon}
+	 * @param fx the x coordinate of the focus
+	 * @param fy the y coordinate of the focus
+	 * @param penetrate true if the minimum penetration should be tracked
+	 * @return boolean true if the axis is not a separating axis
+	 * @since 3.2.4
+	 */
+	private final boolean test(Context context, TransformedPolygon polygon, double fx, double fy, boolean penetrate) {
+		double[] vertices = polygon.vertices;
+		int size = polygon.count * 2;
+		// find the closest vertex to the focus
+		double px = vertices[0];
+		double py = vertices[1];
+		double dx = fx - px;
+		double dy = fy - py;
+		double d = dx * dx + dy * dy;
+		for (int i = 2; i < size; i += 2) {
+			dx = fx - vertices[i];
+			dy = fy - vertices[i + 1];
+			double dt = dx * dx + dy * dy;
+			if (dt < d) {
+				px = vertices[i];
+				py = vertices[i + 1];
+				d = dt;
+			}
+		}
+		// create the axis from the focus to the point and normalize it
+		double ax = px - fx;
+		double ay = py - fy;
+		double magnitude = Math.sqrt(ax * ax + ay * ay);
+		if (magnitude > Epsilon.E) {
+			double m = 1.0 / magnitude;
+			ax *= m;
+			ay *= m;
+		}
+		return this.test(context, ax, ay, penetrate);
+	}
+	
+	/**
+	 * Projects both shapes onto the given axis returning false if the projections do not overlap.
+	 * <p>
+	 * If penetrate is true, the axis and overlap are saved if the overlap is the least so far.
+	 * @param context the working storage
+	 * @param ax the x component of the axis
+	 * @param ay the y component of the axis
+	 * @param penetrate true if the minimum penetration should be tracked
+	 * @return boolean true if the axis is not a separating axis
+	 * @since 3.2.4
+	 */
+	private final boolean test(Context context, double ax, double ay, boolean penetrate) {
+		// check for the zero vector
+		if (Math.abs(ax) <= Epsilon.E && Math.abs(ay) <= Epsilon.E) {
+			return true;
+		}
+		
+		// project both shapes onto the axis
+		double min1, max1, min2, max2;
+		if (context.polygon1 != null) {
+			this.project(context, context.polygon1, context.cx1, context.cy1, ax, ay);
+			min1 = context.projectionMin;
+			max1 = context.projectionMax;
+		} else {
+			double c = context.cx1 * ax + context.cy1 * ay;
+			min1 = c - context.r1;
+			max1 = c + context.r1;
+		}
+		if (context.polygon2 != null) {
+			this.project(context, context.polygon2, context.cx2, context.cy2, ax, ay);
+			min2 = context.projectionMin;
+			max2 = context.projectionMax;
+		} else {
+			double c = context.cx2 * ax + context.cy2 * ay;
+			min2 = c - context.r2;
+			max2 = c + context.r2;
+		}
+		
+		// if the intervals do not overlap then the two shapes
+		// cannot be intersecting
+		if (min1 > max2 || min2 > max1) {
+			// save the axis pointing from the first shape to the second
+			if (min2 > max1) {
+				context.sx = ax;
+				context.sy = ay;
+			} else {
+				context.sx = -ax;
+				context.sy = -ay;
+			}
+			return false;
+		}
+		
+		if (penetrate) {
+			// get the overlap
+			double o = Math.min(max1, max2) - Math.max(min1, min2);
+			// check for containment
+			if ((min2 > min1 && max2 < max1) || (min1 > min2 && max1 < max2)) {
+				// if containment exists then get the overlap plus the distance
+				// to between the two end points that are the closest
+				double max = Math.abs(max1 - max2);
+				double min = Math.abs(min1 - min2);
+				if (max > min) {
+					// if the min differences is less than the max then we need
+					// to flip the penetration axis
+					ax = -ax;
+					ay = -ay;
+					o += min;
+				} else {
+					o += max;
+				}
+			}
+			// get the minimum penetration depth and axis
+			if (o < context.overlap) {
+				context.overlap = o;
+				context.nx = ax;
+				context.ny = ay;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Projects the given world space {@link Polygon} onto the given axis placing
+	 * the result in the projection fields of the given working storage.
+	 * @param context the working storage
+	 * @param polygon the world space {@link Polygon}
+	 * @param cx the x coordinate of the world space center
+	 * @param cy the y coordinate of the world space center
+	 * @param ax the x component of the axis
+	 * @param ay the y component of the axis
+	 * @since 3.2.4
+	 */
+	private final void project(Context context, TransformedPolygon polygon, double cx, double cy, double ax, double ay) {
+		if (polygon.polygon instanceof Rectangle) {
+			// project using the extents (see Rectangle.project)
+			Rectangle rectangle = (Rectangle)polygon.polygon;
+			double[] normals = polygon.normals;
+			double c = cx * ax + cy * ay;
+			double e = (rectangle.getWidth() * 0.5) * Math.abs(normals[2] * ax + normals[3] * ay) + 
+					   (rectangle.getHeight() * 0.5) * Math.abs(normals[4] * ax + normals[5] * ay);
+			context.projectionMin = c - e;
+			context.projectionMax = c + e;
+			return;
+		}
+		
+		double[] vertices = polygon.vertices;
+		int size = polygon.count * 2;
+		double min = ax * vertices[0] + ay * vertices[1];
+		double max = min;
+		for (int i = 2; i < size; i += 2) {
+			double v = ax * vertices[i] + ay * vertices[i + 1];
+			if (v < min) {
+				min = v;
+			} else if (v > max) {
+				max = v;
+			}
+		}
+		context.projectionMin = min;
+		context.projectionMax = max;
+	}
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.narrowphase;
+
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents the world space vertices and edge normals of a {@link Polygon} for a {@link Transform}.
+ * <p>
+ * The vertices and normals are stored as x, y pairs in primitive arrays and are only
+ * recomputed when the {@link Transform} or the {@link Polygon} changes.  The normals are
+ * only recomputed when the rotation changes.  When the same {@link Transform} is given
+ * again, its version and the version of the {@link Polygon} (see {@link Transform#getVersion()}
+ * and {@link Polygon#getVersion()}) tell whether anything changed without comparing values.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see Sat
+ */
+final class TransformedPolygon {
+	/** The polygon */
+	Polygon polygon;
+	
+	/** The number of vertices */
+	int count;
+	
+	/** The world space vertices as x, y pairs */
+	double[] vertices;
+	
+	/** The world space edge normals as x, y pairs */
+	double[] normals;
+	
+	/** The transform values (m00, m01, x, m10, m11, y) the vertices were computed with */
+	final double[] values;
+	
+	/** The local space first vertex and normal the vertices were computed with */
+	private double vx, vy, nx, ny;
+	
+	/** The transform the vertices were computed with */
+	private Transform transform;
+	
+	/** The versions of the transform and polygon the vertices were computed with */
+	private int transformVersion, polygonVersion;
+	
+	/**
+	 * Default constructor.
+	 */
+	public TransformedPolygon() {
+		this.vertices = new double[16];
+		this.normals = new double[16];
+		this.values = new double[6];
+	}
+	
+	/**
+	 * Updates the world space vertices and normals for the given {@link Polygon}
+	 * and {@link Transform} values.
+	 * @param polygon the polygon
+	 * @param transform the transform
+	 * @param values the transform values in the order returned by {@link Transform#getValues(double[])}
+	 */
+	public void update(Polygon polygon, Transform transform, double[] values) {
+		int transformVersion = transform.getVersion();
+		int polygonVersion = polygon.getVersion();
+		if (this.polygon == polygon && this.transform == transform &&
+			this.transformVersion == transformVersion && this.polygonVersion == polygonVersion) {
+			// neither has been modified since the last update
+			return;
+		}
+		this.transform = transform;
+		this.transformVersion = transformVersion;
+		this.polygonVersion = polygonVersion;
+		
+		Vector2[] vs = polygon.getVertices();
+		Vector2[] ns = polygon.getNormals();
+		Vector2 v0 = vs[0];
+		Vector2 n0 = ns[0];
+		
+		double[] t = this.values;
+		boolean rotated = true;
+		if (this.polygon == polygon &&
+			// the polygon may have been rotated or translated since the last update
+			this.vx == v0.x && this.vy == v0.y && 
+			this.nx == n0.x && this.ny == n0.y) {
+			rotated = t[0] != values[0] || t[1] != values[1] || t[3] != values[3] || t[4] != values[4];
+			if (!rotated && t[2] == values[2] && t[5] == values[5]) {
+				// nothing has changed
+				return;
+			}
+		}
+		
+		int count = vs.length;
+		int size = count * 2;
+		if (this.vertices.length < size) {
+			this.vertices = new double[size];
+			this.normals = new double[size];
+		}
+		
+		double m00 = values[0];
+		double m01 = values[1];
+		double x = values[2];
+		double m10 = values[3];
+		double m11 = values[4];
+		double y = values[5];
+		
+		double[] wv = this.vertices;
+		for (int i = 0, j = 0; i < count; i++, j += 2) {
+			Vector2 v = vs[i];
+			wv[j] = m00 * v.x + m01 * v.y + x;
+			wv[j + 1] = m10 * v.x + m11 * v.y + y;
+		}
+		
+		if (rotated) {
+			double[] wn = this.normals;
+			for (int i = 0, j = 0; i < count; i++, j += 2) {
+				Vector2 n = ns[i];
+				wn[j] = m00 * n.x + m01 * n.y;
+				wn[j + 1] = m10 * n.x + m11 * n.y;
+			}
+		}
+		
+		System.arraycopy(values, 0, t, 0, 6);
+		this.polygon = polygon;
+		this.count = count;
+		this.vx = v0.x;
+		this.vy = v0.y;
+		this.nx = n0.x;
+		this.ny = n0.y;
+	}
+}
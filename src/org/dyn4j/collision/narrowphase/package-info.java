@@ -50,6 +50,15 @@
  * There are two {@link org.dyn4j.collision.narrowphase.NarrowphaseDetector} implementations provided: 
  * {@link org.dyn4j.collision.narrowphase.Sat} and {@link org.dyn4j.collision.narrowphase.Gjk}.
  * <p>
+ * The {@link org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector} selects a specialized, closed form
+ * routine for common shape pairs (circles, polygons, segments and capsules) and uses another
+ * {@link org.dyn4j.collision.narrowphase.NarrowphaseDetector} for the rest.
+ * <p>
+ * Both {@link org.dyn4j.collision.narrowphase.Sat} and {@link org.dyn4j.collision.narrowphase.Gjk} are
+ * {@link org.dyn4j.collision.narrowphase.CachingNarrowphaseDetector}s: they can retain the axis that 
+ * separated a pair in a {@link org.dyn4j.collision.narrowphase.NarrowphaseCache} and test it first the next
+ * time the pair is tested.  The {@link org.dyn4j.dynamics.World} retains a cache for each broad-phase pair.
+ * <p>
  * <strong>NOTE: The {@link org.dyn4j.collision.narrowphase.Sat} algorithm doesn't
  * support the {@link org.dyn4j.geometry.Ellipse} and {@link org.dyn4j.geometry.HalfEllipse} shapes.</strong>
  * <p>
@@ -76,7 +85,7 @@
  * distance.  For raycasting, it's also advisable to perform a raycast against a {@link org.dyn4j.collision.broadphase.BroadphaseDetector}
  * first to rule out the obvious failures.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 package org.dyn4j.collision.narrowphase;
\ No newline at end of file
@@ -24,6 +24,7 @@
  */
 package org.dyn4j.dynamics;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -80,7 +81,7 @@ import org.dyn4j.resources.Messages;
  * setting in the world's {@link Settings}.  Use this if the body is a fast moving
  * body, but be careful as this will incur a performance hit.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Body extends AbstractCollidable<BodyFixture> implements Collidable<BodyFixture>, Transformable, DataContainer {
@@ -134,6 +135,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	/** The world this body belongs to */
 	World world;
 	
+	/** The index of this body in the world's body list */
+	int worldIndex;
+	
 	/** The time that the {@link Body} has been waiting to be put sleep */
 	double sleepTime;
 
@@ -161,6 +165,46 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	/** The {@link Body}'s joints */
 	final List<JointEdge> joints;
 	
+	// persistent island (see IslandManager)
+	
+	/** The parent of this {@link Body} in the island union-find structure */
+	Body islandParent;
+	
+	/** The rank of the island; only valid for the island root */
+	int islandRank;
+	
+	/** The next {@link Body} in the island's member list */
+	Body islandNext;
+	
+	/** The last {@link Body} in the island's member list; only valid for the island root */
+	Body islandLast;
+	
+	/** The number of {@link Body}s on the island; only valid for the island root */
+	int islandSize;
+	
+	/** True if the island must be split; only valid for the island root */
+	boolean islandDirty;
+	
+	/** The number of contacts at the last time step; used to detect ended contacts */
+	int islandContactCount;
+	
+	// body index (see BodyIndex)
+	
+	/** The category of this {@link Body} in the world's body index */
+	int indexCategory;
+	
+	/** The position of this {@link Body} within its category */
+	int indexPosition;
+	
+	/** True if this {@link Body} is in the body index's list of changed bodies */
+	boolean indexChanged;
+	
+	/** True if the transform of this {@link Body} was modified since it was changed */
+	boolean indexMoved;
+	
+	/** True if this {@link Body} should be updated in the broad-phase when changed bodies are detected */
+	boolean indexStale;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -181,6 +225,7 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 */
 	public Body(int fixtureCount) {
 		super(fixtureCount);
+		this.transform = new BodyTransform(this);
 		this.world = null;
 		this.radius = 0.0;
 		this.mass = new Mass();
@@ -208,6 +253,79 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		// then they do, so by default don't allocate anything
 		// for the joints list
 		this.joints = new ArrayList<JointEdge>(0);
+		// start as its own island
+		this.islandParent = this;
+		this.islandLast = this;
+		this.islandSize = 1;
+		// not in a body index
+		this.indexCategory = BodyIndex.NONE;
+	}
+	
+	/**
+	 * Copy constructor.
+	 * <p>
+	 * Creates a new {@link Body} with the same id, fixtures, mass, transforms, velocities, 
+	 * damping and state as the given body.  Pending {@link Force}s and {@link Torque}s are copied
+	 * by value.  The {@link BodyFixture}s are copied (see {@link BodyFixture#copy()}) but their 
+	 * {@link Convex} {@link Shape}s are shared.
+	 * <p>
+	 * The new body isn't a member of a world: it has no contacts or joints and is its own island.
+	 * @param body the body to copy
+	 * @see #copy()
+	 * @since 3.2.4
+	 */
+	protected Body(Body body) {
+		super(body);
+		this.transform = new BodyTransform(this);
+		this.transform.set(body.transform);
+		int size = body.fixtures.size();
+		for (int i = 0; i < size; i++) {
+			this.fixtures.add(body.fixtures.get(i).copy());
+		}
+		this.world = null;
+		// the mass is never modified once created
+		this.mass = body.mass;
+		this.transform0 = body.transform0.copy();
+		this.velocity = body.velocity.copy();
+		this.angularVelocity = body.angularVelocity;
+		this.force = body.force.copy();
+		this.torque = body.torque;
+		size = body.forces.size();
+		this.forces = new ArrayList<Force>(Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			this.forces.add(new Force(body.forces.get(i)));
+		}
+		size = body.torques.size();
+		this.torques = new ArrayList<Torque>(Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			this.torques.add(new Torque(body.torques.get(i)));
+		}
+		this.state = body.state;
+		this.sleepTime = body.sleepTime;
+		this.linearDamping = body.linearDamping;
+		this.angularDamping = body.angularDamping;
+		this.gravityScale = body.gravityScale;
+		this.contacts = new ArrayList<ContactEdge>(body.contacts.size());
+		this.joints = new ArrayList<JointEdge>(body.joints.size());
+		this.islandParent = this;
+		this.islandLast = this;
+		this.islandSize = 1;
+		this.indexCategory = BodyIndex.NONE;
+	}
+	
+	/**
+	 * Returns a copy of this {@link Body}.
+	 * <p>
+	 * The copy has the same id and is equal to this body.  It's used by {@link World#copy()}
+	 * to copy the bodies of a world.  Subclasses of {@link Body} should override this method
+	 * (using the {@link #Body(Body)} constructor) to have {@link World#copy()} create copies
+	 * of the same type.
+	 * @return {@link Body}
+	 * @see #Body(Body)
+	 * @since 3.2.4
+	 */
+	public Body copy() {
+		return new Body(this);
 	}
 	
 	/* (non-Javadoc)
@@ -464,6 +582,8 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		this.mass.setType(type);
 		// compute the rotation disc radius
 		this.setRotationDiscRadius();
+		// the mass type may have changed
+		this.updateIndex();
 		// return this body to facilitate chaining
 		return this;
 	}
@@ -481,6 +601,8 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		this.mass = mass;
 		// compute the rotation disc radius
 		this.setRotationDiscRadius();
+		// the mass type may have changed
+		this.updateIndex();
 		return this;
 	}
 	
@@ -503,6 +625,7 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		if (type == null) throw new NullPointerException(Messages.getString("dynamics.body.nullMassType"));
 		// otherwise just set the type
 		this.mass.setType(type);
+		this.updateIndex();
 		// return this body
 		return this;
 	}
@@ -572,6 +695,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	public Body applyForce(Vector2 force) {
 		// check for null
 		if (force == null) throw new NullPointerException(Messages.getString("dynamics.body.nullForce"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyForce(this, force);
 		// check the linear mass of the body
 		if (this.mass.getMass() == 0.0) {
 			// this means that applying a force will do nothing
@@ -605,6 +731,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	public Body applyForce(Force force) {
 		// check for null
 		if (force == null) throw new NullPointerException(Messages.getString("dynamics.body.nullForce"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyForce(this, force.force);
 		// check the linear mass of the body
 		if (this.mass.getMass() == 0.0) {
 			// this means that applying a force will do nothing
@@ -635,6 +764,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * @since 3.1.1
 	 */
 	public Body applyTorque(double torque) {
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyTorque(this, torque);
 		// apply the torque
 		this.torques.add(new Torque(torque));
 		// check the angular mass of the body
@@ -668,6 +800,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	public Body applyTorque(Torque torque) {
 		// check for null
 		if (torque == null) throw new NullPointerException(Messages.getString("dynamics.body.nullTorque"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyTorque(this, torque.torque);
 		// check the angular mass of the body
 		if (this.mass.getInertia() == 0.0) {
 			// this means that applying a torque will do nothing
@@ -707,6 +842,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		// check for null
 		if (force == null) throw new NullPointerException(Messages.getString("dynamics.body.nullForceForTorque"));
 		if (point == null) throw new NullPointerException(Messages.getString("dynamics.body.nullPointForTorque"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyForce(this, force, point);
 		boolean awaken = false;
 		// check the linear mass of the body
 		if (this.mass.getMass() != 0.0) {
@@ -755,6 +893,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	public Body applyImpulse(Vector2 impulse) {
 		// check for null
 		if (impulse == null) throw new NullPointerException(Messages.getString("dynamics.body.nullImpulse"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyImpulse(this, impulse);
 		// get the inverse linear mass
 		double invM = this.mass.getInverseMass();
 		// check the linear mass
@@ -787,6 +928,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * @since 3.1.1
 	 */
 	public Body applyImpulse(double impulse) {
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyImpulse(this, impulse);
 		double invI = this.mass.getInverseInertia();
 		// check the angular mass
 		if (invI == 0.0) {
@@ -825,6 +969,9 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		// check for null
 		if (impulse == null) throw new NullPointerException(Messages.getString("dynamics.body.nullImpulse"));
 		if (point == null) throw new NullPointerException(Messages.getString("dynamics.body.nullPointForImpulse"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.applyImpulse(this, impulse, point);
 		boolean awaken = false;
 		// get the inverse mass
 		double invM = this.mass.getInverseMass();
@@ -883,6 +1030,16 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		this.torques.clear();
 	}
 	
+	/**
+	 * Returns the recorder of the {@link World} this body is a member of.
+	 * @return {@link WorldRecorder}; null if this body is not a member of a world or the world is not being recorded
+	 * @since 3.2.4
+	 */
+	private WorldRecorder getRecorder() {
+		World world = this.world;
+		return world != null ? world.recorder : null;
+	}
+	
 	/**
 	 * Accumulates the forces and torques.
 	 * @param elapsedTime the elapsed time since the last call
@@ -925,6 +1082,111 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		}
 	}
 	
+	/**
+	 * Returns the number of bytes written by {@link #snapshot(ByteBuffer, double[])}.
+	 * @return int
+	 * @since 3.2.4
+	 */
+	int getSnapshotSize() {
+		// transforms, velocity, force, sleep time, state, index and the pending forces
+		return 19 * 8 + 4 * 4 + this.forces.size() * 16 + 4 + this.torques.size() * 8;
+	}
+	
+	/**
+	 * Writes the simulation state of this {@link Body} to the given buffer.
+	 * <p>
+	 * The simulation state is the state that changes from one time step to the next: 
+	 * the transforms, velocities, forces, sleep state and the position in the
+	 * {@link BodyIndex}.  The pending {@link Force}s and {@link Torque}s are written
+	 * by value.
+	 * @param buffer the buffer
+	 * @param values temporary storage for the transform values
+	 * @see #restore(ByteBuffer, double[])
+	 * @since 3.2.4
+	 */
+	void snapshot(ByteBuffer buffer, double[] values) {
+		this.transform.getValues(values);
+		for (int i = 0; i < 6; i++) buffer.putDouble(values[i]);
+		this.transform0.getValues(values);
+		for (int i = 0; i < 6; i++) buffer.putDouble(values[i]);
+		buffer.putDouble(this.velocity.x);
+		buffer.putDouble(this.velocity.y);
+		buffer.putDouble(this.angularVelocity);
+		buffer.putDouble(this.force.x);
+		buffer.putDouble(this.force.y);
+		buffer.putDouble(this.torque);
+		buffer.putDouble(this.sleepTime);
+		buffer.putInt(this.state);
+		buffer.putInt(this.indexCategory);
+		buffer.putInt(this.indexPosition);
+		
+		int size = this.forces.size();
+		buffer.putInt(size);
+		for (int i = 0; i < size; i++) {
+			Vector2 f = this.forces.get(i).force;
+			buffer.putDouble(f.x);
+			buffer.putDouble(f.y);
+		}
+		size = this.torques.size();
+		buffer.putInt(size);
+		for (int i = 0; i < size; i++) {
+			buffer.putDouble(this.torques.get(i).torque);
+		}
+	}
+	
+	/**
+	 * Reads the simulation state of this {@link Body} from the given buffer.
+	 * <p>
+	 * The pending {@link Force}s and {@link Torque}s are replaced with {@link Force}s 
+	 * and {@link Torque}s of the same value.
+	 * <p>
+	 * The {@link BodyIndex} and the broad-phase are not updated.
+	 * @param buffer the buffer
+	 * @param values temporary storage for the transform values
+	 * @see #snapshot(ByteBuffer, double[])
+	 * @since 3.2.4
+	 */
+	void restore(ByteBuffer buffer, double[] values) {
+		for (int i = 0; i < 6; i++) values[i] = buffer.getDouble();
+		this.transform.setValues(values);
+		for (int i = 0; i < 6; i++) values[i] = buffer.getDouble();
+		this.transform0.setValues(values);
+		this.velocity.x = buffer.getDouble();
+		this.velocity.y = buffer.getDouble();
+		this.angularVelocity = buffer.getDouble();
+		this.force.x = buffer.getDouble();
+		this.force.y = buffer.getDouble();
+		this.torque = buffer.getDouble();
+		this.sleepTime = buffer.getDouble();
+		this.state = buffer.getInt();
+		this.indexCategory = buffer.getInt();
+		this.indexPosition = buffer.getInt();
+		
+		int size = buffer.getInt();
+		this.forces.clear();
+		for (int i = 0; i < size; i++) {
+			double x = buffer.getDouble();
+			double y = buffer.getDouble();
+			this.forces.add(new Force(x, y));
+		}
+		size = buffer.getInt();
+		this.torques.clear();
+		for (int i = 0; i < size; i++) {
+			this.torques.add(new Torque(buffer.getDouble()));
+		}
+	}
+	
+	/**
+	 * Returns the index of the given {@link BodyFixture} or -1 if
+	 * it's not attached to this {@link Body}.
+	 * @param fixture the fixture
+	 * @return int
+	 * @since 3.2.4
+	 */
+	int getFixtureIndex(BodyFixture fixture) {
+		return this.fixtures.indexOf(fixture);
+	}
+	
 	/**
 	 * Returns true if this body has infinite mass and
 	 * the velocity and angular velocity is zero.
@@ -988,6 +1250,10 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * <p>
 	 * If flag is true, this body's velocity, angular velocity,
 	 * force, torque, and accumulators are cleared.
+	 * <p>
+	 * Sleeping bodies are skipped by collision detection and their contacts
+	 * with other sleeping or static bodies are retained until they wake up.
+	 * A sleeping body that is moved is woken up at the next time step.
 	 * @param flag true if the body should be put to sleep
 	 */
 	public void setAsleep(boolean flag) {
@@ -1006,6 +1272,7 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 			}
 			// otherwise do nothing
 		}
+		this.updateIndex();
 	}
 	
 	/**
@@ -1026,6 +1293,89 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 		} else {
 			this.state &= ~Body.ACTIVE;
 		}
+		this.updateIndex();
+	}
+	
+	/**
+	 * Notifies the {@link World} this {@link Body} belongs to that the state
+	 * of this body may have changed.
+	 * @since 3.2.4
+	 */
+	private void updateIndex() {
+		if (this.world != null) {
+			this.world.bodyIndex.update(this);
+		}
+	}
+	
+	/**
+	 * A {@link Transform} that notifies the {@link World} its {@link Body} belongs
+	 * to when it's modified.
+	 * <p>
+	 * Translations and rotations by zero are ignored since the solvers move
+	 * static bodies by zero.
+	 * @author William Bittle
+	 * @version 3.2.4
+	 * @since 3.2.4
+	 */
+	private static final class BodyTransform extends Transform {
+		/** The body */
+		private final Body body;
+		
+		/**
+		 * Full constructor.
+		 * @param body the body
+		 */
+		public BodyTransform(Body body) {
+			this.body = body;
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#rotate(double)
+		 */
+		@Override
+		public void rotate(double theta) {
+			if (theta == 0.0) return;
+			super.rotate(theta);
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#rotate(double, double, double)
+		 */
+		@Override
+		public void rotate(double theta, double x, double y) {
+			if (theta == 0.0) return;
+			super.rotate(theta, x, y);
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#translate(double, double)
+		 */
+		@Override
+		public void translate(double x, double y) {
+			if (x == 0.0 && y == 0.0) return;
+			super.translate(x, y);
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#translate(org.dyn4j.geometry.Vector2)
+		 */
+		@Override
+		public void translate(Vector2 vector) {
+			if (vector.x == 0.0 && vector.y == 0.0) return;
+			super.translate(vector);
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#modified()
+		 */
+		@Override
+		protected void modified() {
+			super.modified();
+			Body body = this.body;
+			if (body.world != null) {
+				body.world.bodyIndex.moved(body);
+			}
+		}
 	}
 	
 	/**
@@ -1224,19 +1574,20 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * @since 3.1.1
 	 */
 	public AABB createSweptAABB(Transform initialTransform, Transform finalTransform) {
+		Vector2 c = this.mass.getCenter();
 		// get the initial transform's world center
-		Vector2 iCenter = initialTransform.getTransformed(this.mass.getCenter());
+		double ix = initialTransform.getTransformedX(c);
+		double iy = initialTransform.getTransformedY(c);
 		// get the final transform's world center
-		Vector2 fCenter = finalTransform.getTransformed(this.mass.getCenter());
+		double fx = finalTransform.getTransformedX(c);
+		double fy = finalTransform.getTransformedY(c);
 		// return an AABB containing both points (expanded into circles by the
 		// rotation disc radius)
 		return new AABB(
-				new Vector2(
-					Math.min(iCenter.x, fCenter.x) - this.radius,
-					Math.min(iCenter.y, fCenter.y) - this.radius),
-				new Vector2(
-					Math.max(iCenter.x, fCenter.x) + this.radius,
-					Math.max(iCenter.y, fCenter.y) + this.radius));
+				Math.min(ix, fx) - this.radius,
+				Math.min(iy, fy) - this.radius,
+				Math.max(ix, fx) + this.radius,
+				Math.max(iy, fy) + this.radius);
 	}
 	
 	/**
@@ -1305,6 +1656,10 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * @since 3.1.5
 	 */
 	public Vector2 getLinearVelocity() {
+		// the velocity of a static body may be modified through the returned vector
+		if (this.world != null) {
+			this.world.bodyIndex.changed(this);
+		}
 		return this.velocity;
 	}
 	
@@ -1334,7 +1689,12 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 */
 	public void setLinearVelocity(Vector2 velocity) {
 		if (velocity == null) throw new NullPointerException(Messages.getString("dynamics.body.nullVelocity"));
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.setLinearVelocity(this, velocity.x, velocity.y);
 		this.velocity.set(velocity);
+		// the body may have become kinematic or static
+		this.updateIndex();
 	}
 
 	/**
@@ -1347,8 +1707,13 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * @since 3.1.5
 	 */
 	public void setLinearVelocity(double x, double y) {
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.setLinearVelocity(this, x, y);
 		this.velocity.x = x;
 		this.velocity.y = y;
+		// the body may have become kinematic or static
+		this.updateIndex();
 	}
 	
 	/**
@@ -1367,7 +1732,12 @@ public class Body extends AbstractCollidable<BodyFixture> implements Collidable<
 	 * @param angularVelocity the angular velocity in radians per second
 	 */
 	public void setAngularVelocity(double angularVelocity) {
+		// record the input
+		WorldRecorder recorder = this.getRecorder();
+		if (recorder != null) recorder.setAngularVelocity(this, angularVelocity);
 		this.angularVelocity = angularVelocity;
+		// the body may have become kinematic or static
+		this.updateIndex();
 	}
 	
 	/**
@@ -24,8 +24,12 @@
  */
 package org.dyn4j.dynamics;
 
+import java.util.List;
+import java.util.UUID;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.collision.Fixture;
+import org.dyn4j.geometry.Composite;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Mass;
 import org.dyn4j.geometry.Shape;
@@ -37,7 +41,7 @@ import org.dyn4j.resources.Messages;
  * {@link BodyFixture} extends the {@link Fixture} class, adding physical features
  * like density and friction.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 2.0.0
  * @see Fixture
  */
@@ -60,6 +64,12 @@ public class BodyFixture extends Fixture implements DataContainer {
 	/** The coefficient of restitution */
 	protected double restitution;
 	
+	/** The child fixtures of a {@link Composite} shape; created as needed */
+	ChildFixture[] children;
+	
+	/** The information retained for the pairs this is the first fixture of; created as needed */
+	List<PairCache> caches;
+	
 	/**
 	 * Minimal constructor.
 	 * @param shape the {@link Convex} {@link Shape} for this fixture
@@ -71,6 +81,53 @@ public class BodyFixture extends Fixture implements DataContainer {
 		this.restitution = BodyFixture.DEFAULT_RESTITUTION;
 	}
 	
+	/**
+	 * Creates a new {@link BodyFixture} with the given id.
+	 * <p>
+	 * Used to create copies of fixtures (see {@link #copy()}).
+	 * @param id the id of the fixture
+	 * @param shape the {@link Convex} {@link Shape} for this fixture
+	 * @since 3.2.4
+	 */
+	protected BodyFixture(UUID id, Convex shape) {
+		super(id, shape);
+		this.density = BodyFixture.DEFAULT_DENSITY;
+		this.friction = BodyFixture.DEFAULT_FRICTION;
+		this.restitution = BodyFixture.DEFAULT_RESTITUTION;
+	}
+	
+	/**
+	 * Returns a copy of this {@link BodyFixture}.
+	 * <p>
+	 * The copy has the same id, filter, sensor flag, user data, density, friction
+	 * and restitution as this fixture.  The {@link Convex} {@link Shape} is shared 
+	 * rather than copied.  The {@link ChildFixture}s created so far are copied so that
+	 * they keep their ids.
+	 * @return {@link BodyFixture}
+	 * @since 3.2.4
+	 */
+	@Override
+	public BodyFixture copy() {
+		BodyFixture fixture = new BodyFixture(this.id, this.shape);
+		fixture.filter = this.filter;
+		fixture.sensor = this.sensor;
+		fixture.userData = this.userData;
+		fixture.density = this.density;
+		fixture.friction = this.friction;
+		fixture.restitution = this.restitution;
+		if (this.children != null) {
+			int size = this.children.length;
+			fixture.children = new ChildFixture[size];
+			for (int i = 0; i < size; i++) {
+				ChildFixture child = this.children[i];
+				if (child != null) {
+					fixture.children[i] = new ChildFixture(fixture, child);
+				}
+			}
+		}
+		return fixture;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -177,4 +234,28 @@ public class BodyFixture extends Fixture implements DataContainer {
 	public Mass createMass() {
 		return this.shape.createMass(this.density);
 	}
+	
+	/**
+	 * Returns the {@link ChildFixture} for the child at the given index of this
+	 * fixture's {@link Composite} shape.
+	 * <p>
+	 * The same {@link ChildFixture} is returned for the same index every time.
+	 * @param index the index of the child
+	 * @return {@link ChildFixture}
+	 * @throws ClassCastException if this fixture's shape is not a {@link Composite}
+	 * @since 3.2.4
+	 */
+	ChildFixture getChildFixture(int index) {
+		ChildFixture[] children = this.children;
+		if (children == null) {
+			children = new ChildFixture[((Composite)this.shape).getChildCount()];
+			this.children = children;
+		}
+		ChildFixture child = children[index];
+		if (child == null) {
+			child = new ChildFixture(this, index);
+			children[index] = child;
+		}
+		return child;
+	}
 }
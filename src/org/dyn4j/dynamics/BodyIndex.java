@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the {@link Body}s of a {@link World} partitioned by their current state so that
+ * each phase of a time step only iterates the bodies it needs.
+ * <p>
+ * Each {@link Body} is a member of exactly one category: inactive, asleep, dynamic (awake with
+ * finite mass), kinematic (infinite mass and moving) or static (infinite mass and not moving).
+ * The category and position of a body are stored on the body itself so that moving a body 
+ * between categories is a constant time operation.
+ * <p>
+ * The {@link Body} notifies this index of its state changes.  Since the velocity and mass of a
+ * body can be modified without notification, the callers should also call {@link #update(Body)} 
+ * for the bodies they iterate so that those changes are picked up at the next time step.
+ * <p>
+ * While locked (see {@link #lock()}) all category changes are deferred until {@link #unlock()}
+ * is called so that the lists can be iterated while bodies change state.
+ * <p>
+ * The sleeping and static {@link Body}s are not iterated at each time step, so this index also
+ * tracks the sleeping and static bodies that changed since the last time they were updated in the
+ * broad-phase: the bodies that were put to sleep or made static, the bodies that were moved and
+ * the static bodies whose velocity may have been modified (see {@link #getChanged()}).
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class BodyIndex {
+	/** The category of a {@link Body} that is not in the index */
+	static final int NONE = -1;
+	
+	/** The category of inactive {@link Body}s */
+	static final int INACTIVE = 0;
+	
+	/** The category of active, sleeping {@link Body}s */
+	static final int ASLEEP = 1;
+	
+	/** The category of active, awake {@link Body}s with finite mass */
+	static final int DYNAMIC = 2;
+	
+	/** The category of active, awake {@link Body}s with infinite mass and non-zero velocity */
+	static final int KINEMATIC = 3;
+	
+	/** The category of active, awake {@link Body}s with infinite mass and zero velocity */
+	static final int STATIC = 4;
+	
+	/** The number of categories */
+	private static final int COUNT = 5;
+	
+	/** The {@link Body}s by category */
+	private final List<List<Body>> categories;
+	
+	/** The {@link Body}s whose category may have changed while locked */
+	private final List<Body> pending;
+	
+	/** The sleeping and static {@link Body}s that changed */
+	private final List<Body> changed;
+	
+	/** True if category changes should be deferred */
+	private boolean locked;
+	
+	/**
+	 * Full constructor.
+	 * @param initialCapacity the initial capacity
+	 */
+	public BodyIndex(Capacity initialCapacity) {
+		// most bodies are typically dynamic or static
+		int bodyCount = initialCapacity.getBodyCount();
+		this.categories = new ArrayList<List<Body>>(COUNT);
+		for (int i = 0; i < COUNT; i++) {
+			if (i == DYNAMIC || i == STATIC) {
+				this.categories.add(new ArrayList<Body>(bodyCount));
+			} else {
+				this.categories.add(new ArrayList<Body>());
+			}
+		}
+		this.pending = new ArrayList<Body>();
+		this.changed = new ArrayList<Body>();
+		this.locked = false;
+	}
+	
+	/**
+	 * Returns the {@link Body}s of the given category.
+	 * <p>
+	 * The returned list should not be modified.
+	 * @param category the category
+	 * @return List&lt;{@link Body}&gt;
+	 */
+	public List<Body> get(int category) {
+		return this.categories.get(category);
+	}
+	
+	/**
+	 * Adds the given {@link Body} to this index.
+	 * @param body the body
+	 */
+	public void add(Body body) {
+		this.insert(body, BodyIndex.getCategory(body));
+	}
+	
+	/**
+	 * Removes the given {@link Body} from this index.
+	 * @param body the body
+	 */
+	public void remove(Body body) {
+		if (body.indexCategory == NONE) return;
+		this.delete(body);
+		if (body.indexChanged) {
+			this.changed.remove(body);
+			body.indexChanged = false;
+			body.indexMoved = false;
+			body.indexStale = false;
+		}
+	}
+	
+	/**
+	 * Moves the given {@link Body} to the category of its current state.
+	 * <p>
+	 * If this index is locked, the move is deferred until {@link #unlock()} is called.
+	 * @param body the body
+	 */
+	public void update(Body body) {
+		// ignore bodies that are not in the index
+		if (body.indexCategory == NONE) return;
+		int category = BodyIndex.getCategory(body);
+		if (category == body.indexCategory) return;
+		if (this.locked) {
+			// duplicates are fine since the category is checked again
+			this.pending.add(body);
+		} else {
+			this.delete(body);
+			this.insert(body, category);
+		}
+	}
+	
+	/**
+	 * Called when the transform of the given {@link Body} is modified.
+	 * <p>
+	 * Sleeping and static bodies are added to the list of changed bodies.
+	 * @param body the body
+	 */
+	public void moved(Body body) {
+		int category = body.indexCategory;
+		if (category != ASLEEP && category != STATIC) return;
+		body.indexMoved = true;
+		body.indexStale = true;
+		this.change(body);
+	}
+	
+	/**
+	 * Called when the velocity of the given {@link Body} may be modified without notification.
+	 * <p>
+	 * Static bodies are added to the list of changed bodies.
+	 * @param body the body
+	 */
+	public void changed(Body body) {
+		if (body.indexCategory != STATIC) return;
+		this.change(body);
+	}
+	
+	/**
+	 * Returns the sleeping and static {@link Body}s that changed since the last call 
+	 * to {@link #clearChanged()}.
+	 * <p>
+	 * The bodies that were moved have their <code>indexMoved</code> flag set and the bodies
+	 * that should be updated in the broad-phase (moved or added) have their <code>indexStale</code> flag set.
+	 * The bodies may have changed category since.  The returned list should not be modified.
+	 * @return List&lt;{@link Body}&gt;
+	 */
+	public List<Body> getChanged() {
+		return this.changed;
+	}
+	
+	/**
+	 * Clears the list of changed {@link Body}s.
+	 */
+	public void clearChanged() {
+		int size = this.changed.size();
+		for (int i = 0; i < size; i++) {
+			Body body = this.changed.get(i);
+			body.indexChanged = false;
+			body.indexMoved = false;
+			body.indexStale = false;
+		}
+		this.changed.clear();
+	}
+	
+	/**
+	 * Removes all {@link Body}s from this index.
+	 */
+	public void clear() {
+		for (int i = 0; i < COUNT; i++) {
+			List<Body> bodies = this.categories.get(i);
+			int size = bodies.size();
+			for (int j = 0; j < size; j++) {
+				bodies.get(j).indexCategory = NONE;
+			}
+			bodies.clear();
+		}
+		this.pending.clear();
+		this.clearChanged();
+	}
+	
+	/**
+	 * Rebuilds this index from the category and position stored on the given {@link Body}s.
+	 * <p>
+	 * This is used to restore the index to the order it had when the stored category
+	 * and positions were recorded.  The list of changed bodies is rebuilt from the
+	 * <code>indexChanged</code> flag of the given bodies.
+	 * @param bodies all the bodies in the index
+	 * @see World#restore(java.nio.ByteBuffer)
+	 */
+	public void restore(List<Body> bodies) {
+		for (int i = 0; i < COUNT; i++) {
+			this.categories.get(i).clear();
+		}
+		this.pending.clear();
+		this.changed.clear();
+		
+		// size the lists first since the bodies are placed by position
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			if (body.indexCategory == NONE) continue;
+			this.categories.get(body.indexCategory).add(null);
+		}
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			if (body.indexCategory == NONE) continue;
+			this.categories.get(body.indexCategory).set(body.indexPosition, body);
+			if (body.indexChanged) {
+				this.changed.add(body);
+			}
+		}
+	}
+	
+	/**
+	 * Defers all category changes until {@link #unlock()} is called.
+	 */
+	public void lock() {
+		this.locked = true;
+	}
+	
+	/**
+	 * Applies all the category changes deferred since {@link #lock()} was called.
+	 */
+	public void unlock() {
+		this.locked = false;
+		int size = this.pending.size();
+		for (int i = 0; i < size; i++) {
+			this.update(this.pending.get(i));
+		}
+		this.pending.clear();
+	}
+	
+	/**
+	 * Returns the category of the given {@link Body} given its current state.
+	 * @param body the body
+	 * @return int
+	 */
+	static int getCategory(Body body) {
+		if (!body.isActive()) return INACTIVE;
+		if (body.isAsleep()) return ASLEEP;
+		if (body.isDynamic()) return DYNAMIC;
+		if (body.isStatic()) return STATIC;
+		return KINEMATIC;
+	}
+	
+	/**
+	 * Appends the given {@link Body} to the given category.
+	 * @param body the body
+	 * @param category the category
+	 */
+	private void insert(Body body, int category) {
+		List<Body> bodies = this.categories.get(category);
+		body.indexCategory = category;
+		body.indexPosition = bodies.size();
+		bodies.add(body);
+		// the body is updated in the broad-phase one last time
+		if (category == ASLEEP || category == STATIC) {
+			body.indexStale = true;
+			this.change(body);
+		}
+	}
+	
+	/**
+	 * Adds the given {@link Body} to the list of changed bodies if it's not already.
+	 * @param body the body
+	 */
+	private void change(Body body) {
+		if (body.indexChanged) return;
+		body.indexChanged = true;
+		this.changed.add(body);
+	}
+	
+	/**
+	 * Removes the given {@link Body} from its category by moving the last 
+	 * {@link Body} of the category into its place.
+	 * @param body the body
+	 */
+	private void delete(Body body) {
+		List<Body> bodies = this.categories.get(body.indexCategory);
+		int last = bodies.size() - 1;
+		Body moved = bodies.remove(last);
+		if (moved != body) {
+			bodies.set(body.indexPosition, moved);
+			moved.indexPosition = body.indexPosition;
+		}
+		body.indexCategory = NONE;
+		body.indexPosition = 0;
+	}
+}
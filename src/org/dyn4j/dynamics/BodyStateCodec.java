@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.nio.ByteBuffer;
+
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Encodes and decodes the state of the {@link Body}s of a {@link World} as a delta from 
+ * a baseline for network replication.
+ * <p>
+ * The position, rotation, linear velocity and angular velocity of each body are quantized 
+ * using the given precisions.  Only the values that have changed from the baseline are 
+ * written and each value is written as a variable length integer difference from the 
+ * baseline, so small changes take only a byte or two.  Bodies that were asleep when the
+ * baseline was recorded and are still asleep are skipped entirely.
+ * <p>
+ * Both the encoder (the server for example) and the decoder (the client) maintain a baseline
+ * that's updated every time a state is encoded or decoded.  A server should use one instance 
+ * for each client.  The states must be decoded in the same order they were encoded, without 
+ * loss (a reliable, ordered channel).  Use the {@link #reset()} method on both ends to 
+ * resynchronize, in which case the next state is encoded relative to a zero baseline.
+ * <p>
+ * The bodies are identified by their index in the {@link World} so both worlds must contain
+ * the same bodies in the same order.
+ * <p>
+ * The state is written at the buffer's current position.  An encoded state takes at most
+ * {@link #getMaximumEncodedSize(int)} bytes.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class BodyStateCodec {
+	/** The default linear precision in meters */
+	public static final double DEFAULT_LINEAR_PRECISION = 0.0001;
+	
+	/** The default angular precision in radians */
+	public static final double DEFAULT_ANGULAR_PRECISION = 0.0001;
+	
+	/** The number of quantized values per body */
+	private static final int VALUES = 6;
+	
+	/** The flag indicating the sleep state changed */
+	private static final int SLEEP_CHANGED = 1 << VALUES;
+	
+	/** The precision of the position and linear velocity */
+	private final double linearPrecision;
+	
+	/** The precision of the rotation and angular velocity */
+	private final double angularPrecision;
+	
+	/** The quantized x, y, rotation, velocity x, velocity y and angular velocity of each body */
+	private long[] baseline;
+	
+	/** The sleep state of each body */
+	private boolean[] asleep;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses the {@link #DEFAULT_LINEAR_PRECISION} and {@link #DEFAULT_ANGULAR_PRECISION}.
+	 */
+	public BodyStateCodec() {
+		this(DEFAULT_LINEAR_PRECISION, DEFAULT_ANGULAR_PRECISION);
+	}
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * The linear precision is used for the position (in meters) and the linear velocity (in
+	 * meters / second).  The angular precision is used for the rotation (in radians) and the
+	 * angular velocity (in radians / second).
+	 * @param linearPrecision the linear precision
+	 * @param angularPrecision the angular precision
+	 * @throws IllegalArgumentException if either precision is less than or equal to zero
+	 */
+	public BodyStateCodec(double linearPrecision, double angularPrecision) {
+		if (linearPrecision <= 0.0 || angularPrecision <= 0.0) throw new IllegalArgumentException(Messages.getString("dynamics.bodyStateCodec.invalidPrecision"));
+		this.linearPrecision = linearPrecision;
+		this.angularPrecision = angularPrecision;
+		this.baseline = new long[0];
+		this.asleep = new boolean[0];
+	}
+	
+	/**
+	 * Returns the maximum number of bytes written by {@link #encode(World, ByteBuffer)} for
+	 * the given number of bodies.
+	 * @param bodyCount the number of bodies
+	 * @return int
+	 */
+	public static int getMaximumEncodedSize(int bodyCount) {
+		// the count, the terminator and for each body the index gap, 
+		// the flags and a variable length long for each value
+		return 5 + 2 + bodyCount * (5 + 1 + VALUES * 10);
+	}
+	
+	/**
+	 * Resets the baseline so that the next state is encoded or decoded 
+	 * relative to zero.
+	 */
+	public void reset() {
+		this.baseline = new long[0];
+		this.asleep = new boolean[0];
+	}
+	
+	/**
+	 * Writes the state of the bodies of the given world that changed since the last call 
+	 * to this method to the given buffer and updates the baseline.
+	 * @param world the world
+	 * @param buffer the buffer
+	 * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space remaining
+	 */
+	public void encode(World world, ByteBuffer buffer) {
+		int size = world.getBodyCount();
+		this.ensureSize(size);
+		long[] baseline = this.baseline;
+		boolean[] asleep = this.asleep;
+		long[] values = new long[VALUES];
+		
+		BodyStateCodec.putVarint(buffer, size);
+		int last = -1;
+		for (int i = 0; i < size; i++) {
+			Body body = world.getBody(i);
+			boolean sleeping = body.isAsleep();
+			// sleeping bodies don't move
+			if (sleeping && asleep[i]) continue;
+			
+			this.quantize(body, values);
+			int offset = i * VALUES;
+			int flags = 0;
+			for (int j = 0; j < VALUES; j++) {
+				if (values[j] != baseline[offset + j]) {
+					flags |= 1 << j;
+				}
+			}
+			if (sleeping != asleep[i]) {
+				flags |= SLEEP_CHANGED;
+			}
+			if (flags == 0) continue;
+			
+			BodyStateCodec.putVarint(buffer, i - last - 1);
+			buffer.put((byte)flags);
+			for (int j = 0; j < VALUES; j++) {
+				if ((flags & (1 << j)) != 0) {
+					BodyStateCodec.putVarlong(buffer, BodyStateCodec.zigzag(values[j] - baseline[offset + j]));
+					baseline[offset + j] = values[j];
+				}
+			}
+			asleep[i] = sleeping;
+			last = i;
+		}
+		// a zero flags byte ends the state
+		BodyStateCodec.putVarint(buffer, 0);
+		buffer.put((byte)0);
+	}
+	
+	/**
+	 * Reads a state written by {@link #encode(World, ByteBuffer)} from the given buffer, 
+	 * applies it to the bodies of the given world and updates the baseline.
+	 * <p>
+	 * Only the bodies in the state are modified.  Their transforms are updated in the
+	 * broad-phase of the given world.
+	 * @param buffer the buffer
+	 * @param world the world
+	 * @throws IllegalArgumentException if the number of bodies in the state doesn't match the world
+	 */
+	public void decode(ByteBuffer buffer, World world) {
+		int size = BodyStateCodec.getVarint(buffer);
+		if (size != world.getBodyCount()) throw new IllegalArgumentException(Messages.getString("dynamics.bodyStateCodec.bodyCountMismatch"));
+		this.ensureSize(size);
+		long[] baseline = this.baseline;
+		boolean[] asleep = this.asleep;
+		
+		int i = -1;
+		while (true) {
+			i += BodyStateCodec.getVarint(buffer) + 1;
+			int flags = buffer.get() & 0xFF;
+			if (flags == 0) break;
+			
+			int offset = i * VALUES;
+			for (int j = 0; j < VALUES; j++) {
+				if ((flags & (1 << j)) != 0) {
+					baseline[offset + j] += BodyStateCodec.unzigzag(BodyStateCodec.getVarlong(buffer));
+				}
+			}
+			if ((flags & SLEEP_CHANGED) != 0) {
+				asleep[i] = !asleep[i];
+			}
+			
+			Body body = world.getBody(i);
+			// position and rotation
+			if ((flags & 7) != 0) {
+				Transform transform = body.getTransform();
+				transform.identity();
+				transform.rotate(baseline[offset + 2] * this.angularPrecision);
+				transform.translate(baseline[offset] * this.linearPrecision, baseline[offset + 1] * this.linearPrecision);
+				world.getBroadphaseDetector().update(body);
+			}
+			// the sleep state before the velocity since sleeping clears the velocity
+			if ((flags & SLEEP_CHANGED) != 0) {
+				body.setAsleep(asleep[i]);
+			}
+			if ((flags & (7 << 3)) != 0) {
+				body.setLinearVelocity(baseline[offset + 3] * this.linearPrecision, baseline[offset + 4] * this.linearPrecision);
+				body.setAngularVelocity(baseline[offset + 5] * this.angularPrecision);
+			}
+		}
+	}
+	
+	/**
+	 * Quantizes the state of the given body.
+	 * @param body the body
+	 * @param values the destination for the quantized values
+	 */
+	private void quantize(Body body, long[] values) {
+		Transform transform = body.getTransform();
+		Vector2 velocity = body.getLinearVelocity();
+		values[0] = Math.round(transform.getTranslationX() / this.linearPrecision);
+		values[1] = Math.round(transform.getTranslationY() / this.linearPrecision);
+		values[2] = Math.round(transform.getRotation() / this.angularPrecision);
+		values[3] = Math.round(velocity.x / this.linearPrecision);
+		values[4] = Math.round(velocity.y / this.linearPrecision);
+		values[5] = Math.round(body.getAngularVelocity() / this.angularPrecision);
+	}
+	
+	/**
+	 * Grows the baseline to the given number of bodies.
+	 * <p>
+	 * New bodies start with a zero baseline.
+	 * @param size the number of bodies
+	 */
+	private void ensureSize(int size) {
+		int n = this.asleep.length;
+		if (size <= n) return;
+		long[] baseline = new long[size * VALUES];
+		boolean[] asleep = new boolean[size];
+		System.arraycopy(this.baseline, 0, baseline, 0, n * VALUES);
+		System.arraycopy(this.asleep, 0, asleep, 0, n);
+		this.baseline = baseline;
+		this.asleep = asleep;
+	}
+	
+	/**
+	 * Returns the zig-zag encoding of the given value so that values with a small
+	 * magnitude have a small encoding regardless of sign.
+	 * @param value the value
+	 * @return long
+	 */
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+	
+	/**
+	 * Returns the value of the given zig-zag encoded value.
+	 * @param value the encoded value
+	 * @return long
+	 */
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	/**
+	 * Writes the given non-negative int using 7 bits per byte.
+	 * @param buffer the buffer
+	 * @param value the value
+	 */
+	private static void putVarint(ByteBuffer buffer, int value) {
+		BodyStateCodec.putVarlong(buffer, value & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Writes the given long using 7 bits per byte.
+	 * @param buffer the buffer
+	 * @param value the value
+	 */
+	private static void putVarlong(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte)value);
+	}
+	
+	/**
+	 * Reads an int written by {@link #putVarint(ByteBuffer, int)}.
+	 * @param buffer the buffer
+	 * @return int
+	 */
+	private static int getVarint(ByteBuffer buffer) {
+		return (int)BodyStateCodec.getVarlong(buffer);
+	}
+	
+	/**
+	 * Reads a long written by {@link #putVarlong(ByteBuffer, long)}.
+	 * @param buffer the buffer
+	 * @return long
+	 */
+	private static long getVarlong(ByteBuffer buffer) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = buffer.get();
+			value |= (long)(b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+	
+	/**
+	 * Returns the linear precision.
+	 * @return double
+	 */
+	public double getLinearPrecision() {
+		return this.linearPrecision;
+	}
+	
+	/**
+	 * Returns the angular precision.
+	 * @return double
+	 */
+	public double getAngularPrecision() {
+		return this.angularPrecision;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.Comparator;
+
+import org.dyn4j.collision.broadphase.BroadphaseDetector;
+import org.dyn4j.collision.broadphase.BroadphasePair;
+
+/**
+ * Represents a comparator that sorts {@link BroadphasePair}s by the indices of their
+ * {@link Body}s in the {@link World} and then by the indices of their {@link BodyFixture}s.
+ * <p>
+ * The order of the pairs returned by a {@link BroadphaseDetector} depends on its internal
+ * structure, which depends on the history of the updates.  Sorting the pairs makes the order
+ * the pairs are tested in (and therefore the order of the contacts and islands) depend only 
+ * on the state of the bodies, so that a restored {@link World} steps exactly like the world
+ * the snapshot was taken from.
+ * <p>
+ * The pairs are compared as if the {@link Body} with the lowest index was first.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class BroadphasePairComparator implements Comparator<BroadphasePair<Body, BodyFixture>> {
+	/* (non-Javadoc)
+	 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public int compare(BroadphasePair<Body, BodyFixture> pair1, BroadphasePair<Body, BodyFixture> pair2) {
+		Body a1 = pair1.getCollidable1();
+		Body b1 = pair1.getCollidable2();
+		BodyFixture fa1 = pair1.getFixture1();
+		BodyFixture fb1 = pair1.getFixture2();
+		if (a1.worldIndex > b1.worldIndex) {
+			Body body = a1;
+			a1 = b1;
+			b1 = body;
+			BodyFixture fixture = fa1;
+			fa1 = fb1;
+			fb1 = fixture;
+		}
+		
+		Body a2 = pair2.getCollidable1();
+		Body b2 = pair2.getCollidable2();
+		BodyFixture fa2 = pair2.getFixture1();
+		BodyFixture fb2 = pair2.getFixture2();
+		if (a2.worldIndex > b2.worldIndex) {
+			Body body = a2;
+			a2 = b2;
+			b2 = body;
+			BodyFixture fixture = fa2;
+			fa2 = fb2;
+			fb2 = fixture;
+		}
+		
+		if (a1 != a2) return a1.worldIndex < a2.worldIndex ? -1 : 1;
+		if (b1 != b2) return b1.worldIndex < b2.worldIndex ? -1 : 1;
+		// only bodies with more than one fixture can have more than one pair
+		if (fa1 != fa2) return a1.getFixtureIndex(fa1) < a1.getFixtureIndex(fa2) ? -1 : 1;
+		if (fb1 != fb2) return b1.getFixtureIndex(fb1) < b1.getFixtureIndex(fb2) ? -1 : 1;
+		return 0;
+	}
+}
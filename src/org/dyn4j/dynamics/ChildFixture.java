@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.DataContainer;
+import org.dyn4j.collision.Filter;
+import org.dyn4j.geometry.Composite;
+
+/**
+ * Represents a child of a {@link BodyFixture} whose shape is a {@link Composite}.
+ * <p>
+ * The collision detection of a {@link Composite} is performed against its children, so the
+ * contacts, listeners and results involving a {@link Composite} are given a {@link ChildFixture} 
+ * rather than the fixture that was added to the {@link Body}.  Its shape is the child shape and
+ * its index is the index of the child in the {@link Composite}.  Use the {@link #getParent()} method 
+ * to get the fixture that was added to the {@link Body}.
+ * <p>
+ * The filter, sensor flag, density, friction, restitution and user data are those of the parent
+ * fixture.  Setting them sets them on the parent fixture.
+ * <p>
+ * The child fixtures are created by the parent fixture as needed and are retained for the life
+ * of the parent fixture.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class ChildFixture extends BodyFixture implements DataContainer {
+	/** The fixture whose shape is the composite */
+	final BodyFixture parent;
+	
+	/** The index of the child in the composite */
+	final int index;
+	
+	/**
+	 * Full constructor.
+	 * @param parent the fixture whose shape is the composite
+	 * @param index the index of the child in the composite
+	 */
+	ChildFixture(BodyFixture parent, int index) {
+		super(((Composite)parent.getShape()).getChild(index));
+		this.parent = parent;
+		this.index = index;
+	}
+	
+	/**
+	 * Copy constructor.
+	 * <p>
+	 * The copy has the same id and child shape as the given fixture.
+	 * @param parent the copy of the given fixture's parent
+	 * @param fixture the fixture to copy
+	 */
+	ChildFixture(BodyFixture parent, ChildFixture fixture) {
+		super(fixture.id, fixture.shape);
+		this.parent = parent;
+		this.index = fixture.index;
+	}
+	
+	/**
+	 * Returns a copy of this {@link ChildFixture} for the same parent fixture.
+	 * <p>
+	 * The copy of a {@link Body} copies the child fixtures with their parents (see {@link BodyFixture#copy()}).
+	 * @return {@link ChildFixture}
+	 */
+	@Override
+	public ChildFixture copy() {
+		return new ChildFixture(this.parent, this);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ChildFixture[Id=").append(this.id)
+		.append("|Parent=").append(this.parent.getId())
+		.append("|Index=").append(this.index)
+		.append("|Shape=").append(this.shape)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns the fixture whose shape is the {@link Composite}.
+	 * @return {@link BodyFixture}
+	 */
+	public BodyFixture getParent() {
+		return this.parent;
+	}
+	
+	/**
+	 * Returns the index of the child in the {@link Composite}.
+	 * @return int
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Fixture#getFilter()
+	 */
+	@Override
+	public Filter getFilter() {
+		return this.parent.getFilter();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Fixture#setFilter(org.dyn4j.collision.Filter)
+	 */
+	@Override
+	public void setFilter(Filter filter) {
+		this.parent.setFilter(filter);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Fixture#isSensor()
+	 */
+	@Override
+	public boolean isSensor() {
+		return this.parent.isSensor();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Fixture#setSensor(boolean)
+	 */
+	@Override
+	public void setSensor(boolean flag) {
+		this.parent.setSensor(flag);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Fixture#getUserData()
+	 */
+	@Override
+	public Object getUserData() {
+		return this.parent.getUserData();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Fixture#setUserData(java.lang.Object)
+	 */
+	@Override
+	public void setUserData(Object userData) {
+		this.parent.setUserData(userData);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#getDensity()
+	 */
+	@Override
+	public double getDensity() {
+		return this.parent.getDensity();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#setDensity(double)
+	 */
+	@Override
+	public void setDensity(double density) {
+		this.parent.setDensity(density);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#getFriction()
+	 */
+	@Override
+	public double getFriction() {
+		return this.parent.getFriction();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#setFriction(double)
+	 */
+	@Override
+	public void setFriction(double friction) {
+		this.parent.setFriction(friction);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#getRestitution()
+	 */
+	@Override
+	public double getRestitution() {
+		return this.parent.getRestitution();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.BodyFixture#setRestitution(double)
+	 */
+	@Override
+	public void setRestitution(double restitution) {
+		this.parent.setRestitution(restitution);
+	}
+}
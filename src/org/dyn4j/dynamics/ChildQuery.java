@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Composite;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Finds the children of a {@link Composite} whose bounds overlap a world space {@link AABB}.
+ * <p>
+ * The indices of the children are stored in an array that's grown as needed, so a 
+ * {@link ChildQuery} can be reused without creating any objects.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class ChildQuery {
+	/** The initial number of indices */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/** The local space {@link AABB} */
+	private final AABB aabb;
+	
+	/** The local space x-axis of the world space {@link AABB} */
+	private final Vector2 u;
+	
+	/** The local space y-axis of the world space {@link AABB} */
+	private final Vector2 v;
+	
+	/** The local space center of the world space {@link AABB} */
+	private final Vector2 c;
+	
+	/** The indices of the children found by the last query */
+	int[] indices;
+	
+	/** The number of children found by the last query */
+	int size;
+	
+	/**
+	 * Default constructor.
+	 */
+	public ChildQuery() {
+		this.aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.u = new Vector2();
+		this.v = new Vector2();
+		this.c = new Vector2();
+		this.indices = new int[INITIAL_CAPACITY];
+	}
+	
+	/**
+	 * Finds the children of the given {@link Composite} whose bounds overlap the given 
+	 * world space {@link AABB}.
+	 * <p>
+	 * The indices of the children are placed in the {@link #indices} array in ascending order.
+	 * @param composite the {@link Composite}
+	 * @param transform the {@link Composite}'s {@link Transform}
+	 * @param aabb the world space {@link AABB}
+	 * @return int the number of children found
+	 */
+	public int query(Composite composite, Transform transform, AABB aabb) {
+		// put the AABB in the local space of the composite
+		double ex = aabb.getWidth() * 0.5;
+		double ey = aabb.getHeight() * 0.5;
+		Vector2 c = this.c;
+		Vector2 u = this.u;
+		Vector2 v = this.v;
+		c.set(aabb.getMinX() + ex, aabb.getMinY() + ey);
+		transform.getInverseTransformed(c, c);
+		u.set(1.0, 0.0);
+		transform.getInverseTransformedR(u, u);
+		v.set(0.0, 1.0);
+		transform.getInverseTransformedR(v, v);
+		double hx = Math.abs(u.x) * ex + Math.abs(v.x) * ey;
+		double hy = Math.abs(u.y) * ex + Math.abs(v.y) * ey;
+		AABB local = this.aabb.set(c.x - hx, c.y - hy, c.x + hx, c.y + hy);
+		
+		int size = composite.getChildIndices(local, this.indices);
+		if (size > this.indices.length) {
+			this.indices = new int[size];
+			composite.getChildIndices(local, this.indices);
+		}
+		this.size = size;
+		return size;
+	}
+}
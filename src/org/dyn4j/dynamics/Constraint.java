@@ -30,7 +30,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Represents some physical constraint between a pair of {@link Body}s.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public abstract class Constraint implements Shiftable {
@@ -53,6 +53,20 @@ public abstract class Constraint implements Shiftable {
 	 */
 	World world;
 	
+	/** 
+	 * The index of the constraint in the world's joint list
+	 * <p>
+	 * This is only used for Joints.
+	 */
+	int worldIndex;
+	
+	/** 
+	 * The edge from the first body to the second body
+	 * <p>
+	 * This is only used for Joints.
+	 */
+	JointEdge edge;
+	
 	/**
 	 * Full constructor.
 	 * @param body1 the first participating {@link Body}
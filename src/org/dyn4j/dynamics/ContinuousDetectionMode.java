@@ -27,7 +27,7 @@ package org.dyn4j.dynamics;
 /**
  * Enumeration of Continuous Collision Detection modes.
  * @author William Bittle
- * @version 2.2.3
+ * @version 3.2.4
  * @since 2.2.3
  */
 public enum ContinuousDetectionMode {
@@ -55,5 +55,24 @@ public enum ContinuousDetectionMode {
 	 * <li>Bullet vs. Dynamic</li>
 	 * </ul> 
 	 */
-	ALL
+	ALL,
+	
+	/**
+	 * Speculative contacts are created for all pairs that can come into contact
+	 * during the next step instead of solving the time of impact after each step.
+	 * <p>
+	 * A speculative contact is created when the separation of a pair is less than 
+	 * the distance the bodies can approach one another in one step.  Its depth is the
+	 * negative of the separation and the {@link org.dyn4j.dynamics.contact.ContactConstraintSolver}
+	 * only allows the bodies to close the separation within the step.  This stops fast
+	 * bodies at the surface as part of the island solve, so no additional pass is needed.
+	 * <p>
+	 * All pairs with a dynamic body are tested.  Restitution is applied to speculative 
+	 * contacts that end up touching after the velocity constraints are solved when the 
+	 * solver is a {@link org.dyn4j.dynamics.contact.SpeculativeContactConstraintSolver}.  The 
+	 * {@link org.dyn4j.dynamics.contact.ContactListener}s are notified of them like any other 
+	 * contact.
+	 * @since 3.2.4
+	 */
+	SPECULATIVE
 }
@@ -47,6 +47,8 @@ public class DetectBroadphaseFilter extends DefaultBroadphaseFilter<Body, BodyFi
 	public boolean isAllowed(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
 		// inactive objects don't have collision detection/response
 		if (!body1.isActive() || !body2.isActive()) return false;
+		// the contacts between sleeping and static bodies are retained
+		if (!World.isAwake(body1) && !World.isAwake(body2)) return false;
 		// one body must be dynamic (unless one is a sensor)
 		if (!body1.isDynamic() && !body2.isDynamic() && !fixture1.isSensor() && !fixture2.isSensor()) return false;
 		// check for connected pairs who's collision is not allowed
@@ -24,10 +24,12 @@
  */
 package org.dyn4j.dynamics;
 
+import java.util.List;
+
 /**
  * Represents an interaction of a body in an interaction graph.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.2.0
  * @param <T> the interaction type
  */
@@ -38,6 +40,12 @@ abstract class InteractionEdge<T> {
 	/** The interaction between the bodies */
 	final T interaction;
 	
+	/** The edge of the other body for the same interaction */
+	InteractionEdge<?> reciprocal;
+	
+	/** The index of this edge in its body's edge list */
+	int index;
+	
 	/**
 	 * Full constructor.
 	 * @param other the other {@link Body} in contact
@@ -48,6 +56,43 @@ abstract class InteractionEdge<T> {
 		this.interaction = interaction;
 	}
 	
+	/**
+	 * Links the given edges to each other and appends them to the given edge lists.
+	 * @param edges1 the edge list of the first body
+	 * @param edge1 the edge from the first body to the second
+	 * @param edges2 the edge list of the second body
+	 * @param edge2 the edge from the second body to the first
+	 * @param <E> the edge type
+	 * @since 3.2.4
+	 */
+	static <E extends InteractionEdge<?>> void link(List<E> edges1, E edge1, List<E> edges2, E edge2) {
+		edge1.reciprocal = edge2;
+		edge2.reciprocal = edge1;
+		edge1.index = edges1.size();
+		edges1.add(edge1);
+		edge2.index = edges2.size();
+		edges2.add(edge2);
+	}
+	
+	/**
+	 * Removes the given edge from the given edge list by moving the last edge
+	 * of the list into its place.
+	 * <p>
+	 * The order of the remaining edges is not maintained.
+	 * @param edges the edge list the edge belongs to
+	 * @param edge the edge to remove
+	 * @param <E> the edge type
+	 * @since 3.2.4
+	 */
+	static <E extends InteractionEdge<?>> void unlink(List<E> edges, InteractionEdge<?> edge) {
+		int last = edges.size() - 1;
+		E moved = edges.remove(last);
+		if (moved != edge) {
+			edges.set(edge.index, moved);
+			moved.index = edge.index;
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -31,6 +31,7 @@ import org.dyn4j.Epsilon;
 import org.dyn4j.collision.Collisions;
 import org.dyn4j.dynamics.contact.ContactConstraint;
 import org.dyn4j.dynamics.contact.ContactConstraintSolver;
+import org.dyn4j.dynamics.contact.SpeculativeContactConstraintSolver;
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.geometry.Interval;
 import org.dyn4j.geometry.Vector2;
@@ -39,7 +40,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Used to solve the contact constraints and joints for a group of interconnected bodies.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 final class Island {
@@ -52,6 +53,9 @@ final class Island {
 	/** The list of {@link ContactConstraint}s on this {@link Island} */
 	final List<ContactConstraint> contactConstraints;
 	
+	/** The number of position solver iterations used by the last call to solve */
+	int positionIterations;
+	
 	/**
 	 * Default constructor.
 	 * <p>
@@ -190,6 +194,11 @@ final class Island {
 			solver.solveVelocityContraints(this.contactConstraints, step, settings);
 		}
 		
+		// apply restitution to the speculative contacts that are now touching
+		if (solver instanceof SpeculativeContactConstraintSolver) {
+			((SpeculativeContactConstraintSolver)solver).solveRestitution(this.contactConstraints, step, settings);
+		}
+		
 		// the max settings
 		double maxTranslation = settings.getMaximumTranslation();
 		double maxRotation = settings.getMaximumRotation();
@@ -226,6 +235,7 @@ final class Island {
 		
 		// solve the position constraints
 		boolean positionConstraintsSolved = false;
+		this.positionIterations = positionSolverIterations;
 		for (int i = 0; i < positionSolverIterations; i++) {
 			boolean contactsSolved = solver.solvePositionContraints(this.contactConstraints, step, settings);
 			
@@ -239,6 +249,7 @@ final class Island {
 			
 			if (contactsSolved && jointsSolved) {
 				positionConstraintsSolved = true;
+				this.positionIterations = i + 1;
 				break;
 			}
 		}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.joint.Joint;
+
+/**
+ * Maintains the islands of a {@link World} between time steps using an incremental
+ * union-find (disjoint set) structure.
+ * <p>
+ * Islands are merged as contacts and joints between non-static {@link Body}s are found.
+ * Islands are only split when a connection may have been lost (a contact ended, a joint 
+ * or body was removed, a body became static or inactive, etc.) and only the affected 
+ * islands are rebuilt.  Since an island that is larger than it needs to be is still solved 
+ * correctly, splitting is performed lazily at the beginning of the next time step.
+ * <p>
+ * The union-find data is stored on the {@link Body}s themselves.  Each island root 
+ * maintains a singly linked list of its members so that the members of an island can be
+ * enumerated without touching the rest of the world.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class IslandManager {
+	/** The island roots that need to be split */
+	private final List<Body> dirty;
+	
+	/** Reusable storage for the members of the island being split */
+	private final List<Body> members;
+	
+	/**
+	 * Full constructor.
+	 * @param initialCapacity the initial capacity
+	 */
+	public IslandManager(Capacity initialCapacity) {
+		this.dirty = new ArrayList<Body>();
+		this.members = new ArrayList<Body>(initialCapacity.getBodyCount());
+	}
+	
+	/**
+	 * Adds the given {@link Body} as its own island.
+	 * @param body the body
+	 */
+	public void add(Body body) {
+		IslandManager.reset(body);
+	}
+	
+	/**
+	 * Removes the given {@link Body} from its island.
+	 * <p>
+	 * This method should be called after all the contact and joint edges
+	 * of the body have been removed.  The remaining members of the island are 
+	 * split immediately.
+	 * @param body the body
+	 */
+	public void remove(Body body) {
+		Body root = this.find(body);
+		this.split(root);
+	}
+	
+	/**
+	 * Clears all pending splits.
+	 * <p>
+	 * This should be called when all bodies are removed from the world.
+	 */
+	public void clear() {
+		this.dirty.clear();
+		this.members.clear();
+	}
+	
+	/**
+	 * Returns the number of bytes written by {@link #snapshot(List, ByteBuffer)}.
+	 * @param bodies all the bodies
+	 * @return int
+	 * @since 3.2.4
+	 */
+	public int getSnapshotSize(List<Body> bodies) {
+		return bodies.size() * 25 + 4 + this.dirty.size() * 4;
+	}
+	
+	/**
+	 * Writes the island information of the given {@link Body}s and the pending 
+	 * splits to the given buffer.
+	 * <p>
+	 * The bodies are referenced using their index in the given list (see {@link Body#worldIndex}).
+	 * @param bodies all the bodies
+	 * @param buffer the buffer
+	 * @since 3.2.4
+	 */
+	public void snapshot(List<Body> bodies, ByteBuffer buffer) {
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			buffer.putInt(body.islandParent.worldIndex);
+			buffer.putInt(body.islandRank);
+			buffer.putInt(body.islandNext != null ? body.islandNext.worldIndex : -1);
+			buffer.putInt(body.islandLast.worldIndex);
+			buffer.putInt(body.islandSize);
+			buffer.put(body.islandDirty ? (byte)1 : (byte)0);
+			buffer.putInt(body.islandContactCount);
+		}
+		size = this.dirty.size();
+		buffer.putInt(size);
+		for (int i = 0; i < size; i++) {
+			buffer.putInt(this.dirty.get(i).worldIndex);
+		}
+	}
+	
+	/**
+	 * Reads the island information of the given {@link Body}s and the pending
+	 * splits from the given buffer.
+	 * @param bodies all the bodies
+	 * @param buffer the buffer
+	 * @see #snapshot(List, ByteBuffer)
+	 * @since 3.2.4
+	 */
+	public void restore(List<Body> bodies, ByteBuffer buffer) {
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			body.islandParent = bodies.get(buffer.getInt());
+			body.islandRank = buffer.getInt();
+			int next = buffer.getInt();
+			body.islandNext = next >= 0 ? bodies.get(next) : null;
+			body.islandLast = bodies.get(buffer.getInt());
+			body.islandSize = buffer.getInt();
+			body.islandDirty = buffer.get() != 0;
+			body.islandContactCount = buffer.getInt();
+		}
+		this.dirty.clear();
+		size = buffer.getInt();
+		for (int i = 0; i < size; i++) {
+			this.dirty.add(bodies.get(buffer.getInt()));
+		}
+	}
+	
+	/**
+	 * Copies the island information of the given {@link Body}s to their copies along with
+	 * the pending splits of the given manager.
+	 * <p>
+	 * The copies are found using the world index of the given bodies.
+	 * @param manager the manager of the given bodies
+	 * @param bodies all the bodies
+	 * @param copies the copies of the bodies in the same order
+	 * @see World#copy()
+	 * @since 3.2.4
+	 */
+	public void copy(IslandManager manager, List<Body> bodies, List<Body> copies) {
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			Body copy = copies.get(i);
+			copy.islandParent = copies.get(body.islandParent.worldIndex);
+			copy.islandRank = body.islandRank;
+			copy.islandNext = body.islandNext != null ? copies.get(body.islandNext.worldIndex) : null;
+			copy.islandLast = copies.get(body.islandLast.worldIndex);
+			copy.islandSize = body.islandSize;
+			copy.islandDirty = body.islandDirty;
+			copy.islandContactCount = body.islandContactCount;
+		}
+		this.dirty.clear();
+		size = manager.dirty.size();
+		for (int i = 0; i < size; i++) {
+			this.dirty.add(copies.get(manager.dirty.get(i).worldIndex));
+		}
+	}
+	
+	/**
+	 * Resets the island information of the given {@link Body} so that
+	 * it's the only member of its island.
+	 * @param body the body
+	 */
+	private static void reset(Body body) {
+		body.islandParent = body;
+		body.islandRank = 0;
+		body.islandNext = null;
+		body.islandLast = body;
+		body.islandSize = 1;
+		body.islandDirty = false;
+	}
+	
+	/**
+	 * Returns the root of the island the given {@link Body} is a member of.
+	 * @param body the body
+	 * @return {@link Body}
+	 */
+	public Body find(Body body) {
+		Body b = body;
+		while (b.islandParent != b) {
+			// path halving
+			b.islandParent = b.islandParent.islandParent;
+			b = b.islandParent;
+		}
+		return b;
+	}
+	
+	/**
+	 * Merges the islands of the given {@link Body}s.
+	 * <p>
+	 * The caller is responsible for ensuring that neither body is static.
+	 * @param body1 the first body
+	 * @param body2 the second body
+	 */
+	public void union(Body body1, Body body2) {
+		Body r1 = this.find(body1);
+		Body r2 = this.find(body2);
+		if (r1 == r2) return;
+		
+		// attach the smaller tree to the larger
+		if (r1.islandRank < r2.islandRank) {
+			Body t = r1;
+			r1 = r2;
+			r2 = t;
+		}
+		r2.islandParent = r1;
+		if (r1.islandRank == r2.islandRank) {
+			r1.islandRank++;
+		}
+		
+		// append the member list
+		r1.islandLast.islandNext = r2;
+		r1.islandLast = r2.islandLast;
+		r1.islandSize += r2.islandSize;
+		
+		// carry over any pending split
+		if (r2.islandDirty) {
+			r2.islandDirty = false;
+			this.invalidate(r1);
+		}
+	}
+	
+	/**
+	 * Flags the island of the given {@link Body} to be split at the
+	 * next call to {@link #split()}.
+	 * @param body the body
+	 */
+	public void invalidate(Body body) {
+		Body root = this.find(body);
+		if (!root.islandDirty) {
+			root.islandDirty = true;
+			this.dirty.add(root);
+		}
+	}
+	
+	/**
+	 * Splits all the islands flagged by {@link #invalidate(Body)}.
+	 */
+	public void split() {
+		int size = this.dirty.size();
+		for (int i = 0; i < size; i++) {
+			Body root = this.find(this.dirty.get(i));
+			// the same island may appear more than once
+			if (root.islandDirty) {
+				this.split(root);
+			}
+		}
+		this.dirty.clear();
+	}
+	
+	/**
+	 * Splits the island with the given root by resetting its members and
+	 * merging them again using their current contact and joint edges.
+	 * @param root the island root
+	 */
+	private void split(Body root) {
+		List<Body> members = this.members;
+		
+		// reset all the members
+		Body body = root;
+		while (body != null) {
+			Body next = body.islandNext;
+			IslandManager.reset(body);
+			members.add(body);
+			body = next;
+		}
+		
+		// merge them using the current connections
+		int size = members.size();
+		for (int i = 0; i < size; i++) {
+			body = members.get(i);
+			// skip removed, inactive and static bodies
+			if (body.world == null || !body.isActive() || body.isStatic()) continue;
+			
+			int ceSize = body.contacts.size();
+			for (int j = 0; j < ceSize; j++) {
+				ContactEdge contactEdge = body.contacts.get(j);
+				ContactConstraint contactConstraint = contactEdge.interaction;
+				Body other = contactEdge.other;
+				if (contactConstraint.isSensor() || !other.isActive() || other.isStatic()) continue;
+				this.union(body, other);
+			}
+			
+			int jeSize = body.joints.size();
+			for (int j = 0; j < jeSize; j++) {
+				JointEdge jointEdge = body.joints.get(j);
+				Joint joint = jointEdge.interaction;
+				Body other = jointEdge.other;
+				if (!joint.isActive() || other.isStatic()) continue;
+				this.union(body, other);
+			}
+		}
+		
+		members.clear();
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dyn4j.collision.manifold.CachingManifoldSolver;
+import org.dyn4j.collision.manifold.ManifoldCache;
+import org.dyn4j.collision.narrowphase.CachingNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.NarrowphaseCache;
+
+/**
+ * Represents the information retained between time steps for a pair of {@link BodyFixture}s.
+ * <p>
+ * The {@link PairCache}s of a pair are stored on the first {@link BodyFixture} of the pair
+ * so that they can be found without allocating a key.  Like the pairs reported by the 
+ * broad-phase, a {@link PairCache} only lasts from one detection to the next: if it isn't
+ * used by a detection it's removed the next time the list it's stored in is searched.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+final class PairCache {
+	/** The second {@link BodyFixture} of the pair */
+	final BodyFixture fixture;
+	
+	/** The detection this cache was last used by */
+	int detection;
+	
+	/** The information retained by the {@link CachingNarrowphaseDetector}; created as needed */
+	NarrowphaseCache narrowphase;
+	
+	/** The information retained by the {@link CachingManifoldSolver}; created as needed */
+	ManifoldCache manifold;
+	
+	/**
+	 * Full constructor.
+	 * @param fixture the second fixture of the pair
+	 */
+	public PairCache(BodyFixture fixture) {
+		this.fixture = fixture;
+	}
+	
+	/**
+	 * Returns the {@link PairCache} of the given pair of {@link BodyFixture}s for the given 
+	 * detection, creating it if necessary.
+	 * <p>
+	 * The pair may be given in either order.  The caches of the fixtures that were not 
+	 * used by the given or the previous detection are removed while searching.
+	 * @param fixture1 the first fixture
+	 * @param fixture2 the second fixture
+	 * @param detection the current detection
+	 * @return {@link PairCache}
+	 */
+	static PairCache get(BodyFixture fixture1, BodyFixture fixture2, int detection) {
+		PairCache cache = PairCache.find(fixture2.caches, fixture1, detection);
+		if (cache == null) {
+			if (fixture1.caches == null) {
+				fixture1.caches = new ArrayList<PairCache>(2);
+			}
+			cache = PairCache.find(fixture1.caches, fixture2, detection);
+			if (cache == null) {
+				cache = new PairCache(fixture2);
+				fixture1.caches.add(cache);
+			}
+		}
+		cache.detection = detection;
+		return cache;
+	}
+	
+	/**
+	 * Returns the {@link PairCache} for the given {@link BodyFixture} in the given list or null.
+	 * <p>
+	 * The caches that were not used by the given or the previous detection are removed, including
+	 * the cache of the given fixture.
+	 * @param caches the caches; can be null
+	 * @param fixture the second fixture of the pair
+	 * @param detection the current detection
+	 * @return {@link PairCache}
+	 */
+	private static PairCache find(List<PairCache> caches, BodyFixture fixture, int detection) {
+		if (caches == null) return null;
+		PairCache result = null;
+		// iterate in reverse since the stale caches are replaced by the last cache
+		for (int i = caches.size() - 1; i >= 0; i--) {
+			PairCache cache = caches.get(i);
+			if (detection - cache.detection > 1) {
+				int last = caches.size() - 1;
+				caches.set(i, caches.get(last));
+				caches.remove(last);
+			} else if (cache.fixture == fixture) {
+				result = cache;
+			}
+		}
+		return result;
+	}
+}
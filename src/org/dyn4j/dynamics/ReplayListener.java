@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.dynamics.joint.Joint;
+
+/**
+ * Interface to listen for the structural changes of a {@link World} while a log 
+ * recorded by a {@link WorldRecorder} is replayed.
+ * <p>
+ * The log doesn't contain the {@link Body}s and {@link Joint}s themselves, so the
+ * application must add the same bodies and joints, in the same order, when notified.
+ * Removals are replayed by the {@link WorldReplayer}.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see WorldReplayer
+ */
+public interface ReplayListener {
+	/**
+	 * Called when the recorded {@link World} had {@link Body}s added.
+	 * <p>
+	 * The bodies must be added to the given world so that the first is at the given index.
+	 * Use {@link World#addBody(Body)} when the count is one and {@link World#addBodies(java.util.Collection)}
+	 * otherwise.
+	 * @param world the world being replayed
+	 * @param index the index of the first added body
+	 * @param count the number of added bodies
+	 */
+	public void bodiesAdded(World world, int index, int count);
+	
+	/**
+	 * Called when the recorded {@link World} had {@link Joint}s added.
+	 * <p>
+	 * The joints must be added to the given world so that the first is at the given index.
+	 * Use {@link World#addJoint(Joint)} when the count is one and {@link World#addJoints(java.util.Collection)}
+	 * otherwise.
+	 * @param world the world being replayed
+	 * @param index the index of the first added joint
+	 * @param count the number of added joints
+	 */
+	public void jointsAdded(World world, int index, int count);
+}
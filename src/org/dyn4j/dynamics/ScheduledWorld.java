@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents a {@link World} that has been added to a {@link WorldScheduler}.
+ * <p>
+ * Each time the scheduler is updated the elapsed time is added to this world's 
+ * pending time.  When the world is run, the pending time is passed to the
+ * {@link World#update(double, double, int)} method which performs zero or more 
+ * fixed time steps and accumulates the remaining time in the world.
+ * <p>
+ * A world that is still running when the scheduler is updated is not scheduled 
+ * again; the elapsed time is kept as pending time and used the next time the
+ * world runs.  If the world falls behind and its accumulated time exceeds the 
+ * maximum backlog, the excess time is dropped and the world runs slower than 
+ * real time rather than falling further behind.
+ * <p>
+ * The world is only ever updated by one thread at a time.  It's safe to access 
+ * the world from another thread when {@link #isRunning()} returns false, for
+ * example after {@link WorldScheduler#awaitIdle()} returns.  Listeners attached 
+ * to the world are notified on the thread that updates the world.
+ * <p>
+ * The metrics are updated after each run and can be read at any time.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see WorldScheduler
+ */
+public final class ScheduledWorld {
+	/** The scheduler */
+	final WorldScheduler scheduler;
+	
+	/** The world */
+	final World world;
+	
+	/** The task run by the executor */
+	final Runnable task;
+	
+	/** True if the world is running or waiting to run */
+	final AtomicBoolean running;
+	
+	/** True while the world is a member of the scheduler */
+	volatile boolean scheduled;
+	
+	/** The time, in seconds, to advance the simulation each step; zero or less to use the step frequency */
+	private volatile double stepElapsedTime;
+	
+	/** The maximum number of steps per run */
+	private volatile int maximumSteps;
+	
+	/** The maximum accumulated time, in seconds; zero or less to use the maximum steps times the step frequency */
+	private volatile double maximumBacklog;
+	
+	/** The exception thrown by the last run; null if none */
+	private volatile RuntimeException exception;
+	
+	// guarded by this
+	
+	/** The elapsed time, in seconds, that has not been given to the world yet */
+	private double pendingTime;
+	
+	/** The number of runs */
+	private long updateCount;
+	
+	/** The number of steps performed */
+	private long stepCount;
+	
+	/** The number of scheduler updates skipped because the world was still running */
+	private long skippedUpdateCount;
+	
+	/** The total time, in seconds, that was dropped */
+	private double droppedTime;
+	
+	/** The time of the last run in nanoseconds */
+	private long lastUpdateTime;
+	
+	/** The total time of all runs in nanoseconds */
+	private long totalUpdateTime;
+	
+	/** The maximum time of a run in nanoseconds */
+	private long maximumUpdateTime;
+	
+	/**
+	 * Full constructor.
+	 * @param scheduler the scheduler
+	 * @param world the world
+	 * @param stepElapsedTime the time, in seconds, to advance the simulation each step
+	 * @param maximumSteps the maximum number of steps per run
+	 */
+	ScheduledWorld(WorldScheduler scheduler, World world, double stepElapsedTime, int maximumSteps) {
+		this.scheduler = scheduler;
+		this.world = world;
+		this.stepElapsedTime = stepElapsedTime;
+		this.maximumSteps = maximumSteps;
+		this.maximumBacklog = 0.0;
+		this.running = new AtomicBoolean(false);
+		this.scheduled = true;
+		this.task = new Runnable() {
+			@Override
+			public void run() {
+				ScheduledWorld.this.run();
+			}
+		};
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		synchronized (this) {
+			sb.append("ScheduledWorld[UpdateCount=").append(this.updateCount)
+			.append("|StepCount=").append(this.stepCount)
+			.append("|SkippedUpdateCount=").append(this.skippedUpdateCount)
+			.append("|DroppedTime=").append(this.droppedTime)
+			.append("|AverageStepTime=").append(this.getAverageStepTime())
+			.append("|MaximumUpdateTime=").append(this.maximumUpdateTime)
+			.append("]");
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Adds the given elapsed time to the pending time.
+	 * @param elapsedTime the elapsed time in seconds
+	 * @param skipped true if the world was still running
+	 */
+	synchronized void accumulate(double elapsedTime, boolean skipped) {
+		this.pendingTime += elapsedTime;
+		if (skipped) {
+			this.skippedUpdateCount++;
+		}
+	}
+	
+	/**
+	 * Updates the world with the pending time.
+	 * <p>
+	 * Called by the executor's thread.
+	 */
+	void run() {
+		double elapsedTime;
+		synchronized (this) {
+			elapsedTime = this.pendingTime;
+			this.pendingTime = 0.0;
+		}
+		
+		try {
+			long start = System.nanoTime();
+			
+			World world = this.world;
+			int maximumSteps = this.maximumSteps;
+			double invhz = world.getSettings().getStepFrequency();
+			double before = world.getAccumulatedTime() + elapsedTime;
+			
+			world.update(elapsedTime, this.stepElapsedTime, maximumSteps);
+			
+			// the number of steps performed is the time consumed divided by the step frequency
+			double after = world.getAccumulatedTime();
+			int steps = (int)Math.round((before - after) / invhz);
+			
+			// drop the time the world cannot catch up on
+			double maximumBacklog = this.maximumBacklog;
+			if (maximumBacklog <= 0.0) {
+				maximumBacklog = maximumSteps * invhz;
+			}
+			double dropped = 0.0;
+			if (after > maximumBacklog) {
+				dropped = after - maximumBacklog;
+				world.setAccumulatedTime(maximumBacklog);
+			}
+			
+			long time = System.nanoTime() - start;
+			synchronized (this) {
+				this.updateCount++;
+				this.stepCount += steps;
+				this.droppedTime += dropped;
+				this.lastUpdateTime = time;
+				this.totalUpdateTime += time;
+				if (time > this.maximumUpdateTime) this.maximumUpdateTime = time;
+			}
+		} catch (RuntimeException e) {
+			// keep the exception and stop scheduling the world
+			this.exception = e;
+		} finally {
+			this.running.set(false);
+			this.scheduler.finished();
+		}
+	}
+	
+	/**
+	 * Returns the world.
+	 * <p>
+	 * The world should only be accessed when {@link #isRunning()} returns false.
+	 * @return {@link World}
+	 */
+	public World getWorld() {
+		return this.world;
+	}
+	
+	/**
+	 * Returns the scheduler this world was added to.
+	 * @return {@link WorldScheduler}
+	 */
+	public WorldScheduler getScheduler() {
+		return this.scheduler;
+	}
+	
+	/**
+	 * Returns true if this world is a member of its scheduler.
+	 * @return boolean
+	 */
+	public boolean isScheduled() {
+		return this.scheduled;
+	}
+	
+	/**
+	 * Returns true if the world is being updated or is waiting to be updated
+	 * by the scheduler's executor.
+	 * @return boolean
+	 */
+	public boolean isRunning() {
+		return this.running.get();
+	}
+	
+	/**
+	 * Returns the time, in seconds, the simulation is advanced each step.
+	 * <p>
+	 * Returns zero or less if the world's step frequency is used.
+	 * @return double
+	 * @see World#update(double, double, int)
+	 */
+	public double getStepElapsedTime() {
+		return this.stepElapsedTime;
+	}
+	
+	/**
+	 * Sets the time, in seconds, the simulation is advanced each step.
+	 * <p>
+	 * Use zero or less to use the world's step frequency.
+	 * <p>
+	 * Takes effect on the next run of the world.
+	 * @param stepElapsedTime the time in seconds
+	 * @see World#update(double, double, int)
+	 */
+	public void setStepElapsedTime(double stepElapsedTime) {
+		this.stepElapsedTime = stepElapsedTime;
+	}
+	
+	/**
+	 * Returns the maximum number of steps performed each time the world is run.
+	 * @return int
+	 */
+	public int getMaximumSteps() {
+		return this.maximumSteps;
+	}
+	
+	/**
+	 * Sets the maximum number of steps performed each time the world is run.
+	 * <p>
+	 * Takes effect on the next run of the world.
+	 * @param maximumSteps the maximum number of steps; must be greater than zero
+	 * @throws IllegalArgumentException if maximumSteps is less than one
+	 */
+	public void setMaximumSteps(int maximumSteps) {
+		if (maximumSteps < 1) throw new IllegalArgumentException(Messages.getString("dynamics.worldScheduler.invalidMaximumSteps"));
+		this.maximumSteps = maximumSteps;
+	}
+	
+	/**
+	 * Returns the maximum time, in seconds, the world can accumulate before time is dropped.
+	 * <p>
+	 * Returns zero or less if the maximum steps times the step frequency is used.
+	 * @return double
+	 */
+	public double getMaximumBacklog() {
+		return this.maximumBacklog;
+	}
+	
+	/**
+	 * Sets the maximum time, in seconds, the world can accumulate before time is dropped.
+	 * <p>
+	 * After each run, any accumulated time above this value is dropped and added to the
+	 * dropped time.  Use zero or less to use the maximum steps times the step frequency, 
+	 * which allows the world to catch up in the next run.
+	 * @param maximumBacklog the maximum backlog in seconds
+	 */
+	public void setMaximumBacklog(double maximumBacklog) {
+		this.maximumBacklog = maximumBacklog;
+	}
+	
+	/**
+	 * Returns the exception thrown by the world during its last run or null if none.
+	 * <p>
+	 * A world that threw an exception is not run again until the exception is cleared.
+	 * @return RuntimeException
+	 * @see #clearException()
+	 */
+	public RuntimeException getException() {
+		return this.exception;
+	}
+	
+	/**
+	 * Clears the exception thrown by the world so that it's run again.
+	 */
+	public void clearException() {
+		this.exception = null;
+	}
+	
+	/**
+	 * Returns the elapsed time, in seconds, that has not been given to the world yet.
+	 * @return double
+	 */
+	public synchronized double getPendingTime() {
+		return this.pendingTime;
+	}
+	
+	/**
+	 * Returns the number of times the world has been run.
+	 * @return long
+	 */
+	public synchronized long getUpdateCount() {
+		return this.updateCount;
+	}
+	
+	/**
+	 * Returns the number of steps the world has performed.
+	 * @return long
+	 */
+	public synchronized long getStepCount() {
+		return this.stepCount;
+	}
+	
+	/**
+	 * Returns the number of scheduler updates that were skipped because the world 
+	 * was still running.
+	 * @return long
+	 */
+	public synchronized long getSkippedUpdateCount() {
+		return this.skippedUpdateCount;
+	}
+	
+	/**
+	 * Returns the total time, in seconds, that was dropped because the world fell behind.
+	 * @return double
+	 * @see #setMaximumBacklog(double)
+	 */
+	public synchronized double getDroppedTime() {
+		return this.droppedTime;
+	}
+	
+	/**
+	 * Returns the time of the last run in nanoseconds.
+	 * @return long
+	 */
+	public synchronized long getLastUpdateTime() {
+		return this.lastUpdateTime;
+	}
+	
+	/**
+	 * Returns the total time of all runs in nanoseconds.
+	 * @return long
+	 */
+	public synchronized long getTotalUpdateTime() {
+		return this.totalUpdateTime;
+	}
+	
+	/**
+	 * Returns the maximum time of a run in nanoseconds.
+	 * @return long
+	 */
+	public synchronized long getMaximumUpdateTime() {
+		return this.maximumUpdateTime;
+	}
+	
+	/**
+	 * Returns the average time of a step in nanoseconds.
+	 * <p>
+	 * Returns zero if no steps have been performed.
+	 * @return double
+	 */
+	public synchronized double getAverageStepTime() {
+		if (this.stepCount == 0) return 0.0;
+		return (double)this.totalUpdateTime / (double)this.stepCount;
+	}
+	
+	/**
+	 * Clears the metrics to start a new measurement period.
+	 * <p>
+	 * The pending time is not cleared.
+	 */
+	public synchronized void resetMetrics() {
+		this.updateCount = 0;
+		this.stepCount = 0;
+		this.skippedUpdateCount = 0;
+		this.droppedTime = 0.0;
+		this.lastUpdateTime = 0;
+		this.totalUpdateTime = 0;
+		this.maximumUpdateTime = 0;
+	}
+}
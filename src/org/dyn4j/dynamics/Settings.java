@@ -29,7 +29,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Responsible for housing all of the dynamics engine's settings.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Settings {
@@ -75,6 +75,9 @@ public class Settings {
 	/** The default baumgarte */
 	public static final double DEFAULT_BAUMGARTE = 0.2;
 	
+	/** The number of values copied by {@link #getValues(double[])} */
+	static final int VALUE_COUNT = 17;
+	
 	/** The step frequency of the dynamics engine */
 	private double stepFrequency = Settings.DEFAULT_STEP_FREQUENCY;
 	
@@ -156,6 +159,9 @@ public class Settings {
 	/** The continuous collision detection flag */
 	private ContinuousDetectionMode continuousDetectionMode = ContinuousDetectionMode.ALL;
 	
+	/** The step statistics flag */
+	private boolean stepStatisticsEnabled = false;
+	
 	/** Default constructor */
 	public Settings() {}
 	
@@ -182,6 +188,7 @@ public class Settings {
 		.append("|MaximumAngularCorrection=").append(this.maximumAngularCorrection)
 		.append("|Baumgarte=").append(this.baumgarte)
 		.append("|ContinuousDetectionMode=").append(this.continuousDetectionMode)
+		.append("|StepStatisticsEnabled=").append(this.stepStatisticsEnabled)
 		.append("]");
 		return sb.toString();
 	}
@@ -215,6 +222,7 @@ public class Settings {
 		this.angularToleranceSquared = Settings.DEFAULT_ANGULAR_TOLERANCE * Settings.DEFAULT_ANGULAR_TOLERANCE;
 		this.baumgarte = Settings.DEFAULT_BAUMGARTE;
 		this.continuousDetectionMode = ContinuousDetectionMode.ALL;
+		this.stepStatisticsEnabled = false;
 	}
 	
 	/**
@@ -716,4 +724,83 @@ public class Settings {
 		// set the mode
 		this.continuousDetectionMode = mode;
 	}
+	
+	/**
+	 * Returns true if the {@link World} collects {@link StepStatistics} for each step.
+	 * @return boolean
+	 * @since 3.2.4
+	 * @see #setStepStatisticsEnabled(boolean)
+	 */
+	public boolean isStepStatisticsEnabled() {
+		return this.stepStatisticsEnabled;
+	}
+	
+	/**
+	 * Sets whether the {@link World} should collect {@link StepStatistics} for each step.
+	 * <p>
+	 * When enabled, the time spent in each phase of the step is measured along with
+	 * various counters like the number of broad-phase pairs, islands, etc.  The
+	 * statistics for the last step are available from {@link World#getStepStatistics()} and
+	 * the accumulated statistics from {@link World#getStepHistogram()}.
+	 * <p>
+	 * This is disabled by default.
+	 * @param flag true if step statistics should be collected
+	 * @since 3.2.4
+	 */
+	public void setStepStatisticsEnabled(boolean flag) {
+		this.stepStatisticsEnabled = flag;
+	}
+	
+	/**
+	 * Copies the settings that affect the simulation into the given array.
+	 * <p>
+	 * The step statistics flag is not included.
+	 * @param values the values; must have a length of at least {@link #VALUE_COUNT}
+	 * @since 3.2.4
+	 */
+	void getValues(double[] values) {
+		values[0] = this.stepFrequency;
+		values[1] = this.maximumTranslation;
+		values[2] = this.maximumRotation;
+		values[3] = this.autoSleepingEnabled ? 1.0 : 0.0;
+		values[4] = this.sleepLinearVelocity;
+		values[5] = this.sleepAngularVelocity;
+		values[6] = this.sleepTime;
+		values[7] = this.velocityConstraintSolverIterations;
+		values[8] = this.positionConstraintSolverIterations;
+		values[9] = this.warmStartDistance;
+		values[10] = this.restitutionVelocity;
+		values[11] = this.linearTolerance;
+		values[12] = this.angularTolerance;
+		values[13] = this.maximumLinearCorrection;
+		values[14] = this.maximumAngularCorrection;
+		values[15] = this.baumgarte;
+		values[16] = this.continuousDetectionMode.ordinal();
+	}
+	
+	/**
+	 * Sets the settings that affect the simulation from the given array.
+	 * @param values the values obtained from {@link #getValues(double[])}
+	 * @throws IllegalArgumentException if any value is invalid
+	 * @since 3.2.4
+	 */
+	void setValues(double[] values) {
+		this.setStepFrequency(values[0]);
+		this.setMaximumTranslation(values[1]);
+		this.setMaximumRotation(values[2]);
+		this.setAutoSleepingEnabled(values[3] != 0.0);
+		this.setSleepLinearVelocity(values[4]);
+		this.setSleepAngularVelocity(values[5]);
+		this.setSleepTime(values[6]);
+		this.setVelocityConstraintSolverIterations((int)values[7]);
+		this.setPositionConstraintSolverIterations((int)values[8]);
+		this.setWarmStartDistance(values[9]);
+		this.setRestitutionVelocity(values[10]);
+		this.setLinearTolerance(values[11]);
+		this.setAngularTolerance(values[12]);
+		this.setMaximumLinearCorrection(values[13]);
+		this.setMaximumAngularCorrection(values[14]);
+		this.setBaumgarte(values[15]);
+		this.setContinuousDetectionMode(ContinuousDetectionMode.values()[(int)values[16]]);
+	}
 }
@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+/**
+ * Accumulates {@link StepStatistics} over many simulation steps.
+ * <p>
+ * The total time and counters for each phase are summed and the total step time
+ * is recorded in a histogram with power of two microsecond buckets.  Bucket 
+ * <code>i</code> contains the number of steps whose total time was in the range
+ * [2<sup>i</sup>, 2<sup>i + 1</sup>) microseconds, except for the first bucket which
+ * also contains steps less than one microsecond and the last bucket which contains
+ * all steps above its lower bound.
+ * <p>
+ * The {@link World} maintains an instance of this class that is updated at the end 
+ * of every step when {@link Settings#isStepStatisticsEnabled()} returns true.  Use
+ * the {@link #reset()} method to start a new measurement period.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see StepStatistics
+ */
+public class StepHistogram {
+	/** The number of histogram buckets */
+	public static final int BUCKET_COUNT = 24;
+	
+	/** The number of steps recorded */
+	private long steps;
+	
+	/** The accumulated statistics */
+	private final long[] totals;
+	
+	/** The minimum step time */
+	private long minimumStepTime;
+	
+	/** The maximum step time */
+	private long maximumStepTime;
+	
+	/** The histogram buckets */
+	private final long[] buckets;
+	
+	// indices into the totals array
+	
+	/** Index of the total step time */
+	private static final int STEP_TIME = 0;
+	
+	/** Index of the total broad-phase time */
+	private static final int BROADPHASE_TIME = 1;
+	
+	/** Index of the total narrow-phase time */
+	private static final int NARROWPHASE_TIME = 2;
+	
+	/** Index of the total manifold time */
+	private static final int MANIFOLD_TIME = 3;
+	
+	/** Index of the total contact update time */
+	private static final int CONTACT_UPDATE_TIME = 4;
+	
+	/** Index of the total island time */
+	private static final int ISLAND_TIME = 5;
+	
+	/** Index of the total solve time */
+	private static final int SOLVE_TIME = 6;
+	
+	/** Index of the total time of impact time */
+	private static final int TIME_OF_IMPACT_TIME = 7;
+	
+	/** Index of the total broad-phase pairs */
+	private static final int BROADPHASE_PAIRS = 8;
+	
+	/** Index of the total narrow-phase collisions */
+	private static final int NARROWPHASE_COLLISIONS = 9;
+	
+	/** Index of the total contact constraints */
+	private static final int CONTACT_CONSTRAINTS = 10;
+	
+	/** Index of the total islands */
+	private static final int ISLANDS = 11;
+	
+	/** Index of the total time of impact tests */
+	private static final int TIME_OF_IMPACT_TESTS = 12;
+	
+	/** Index of the total velocity iterations */
+	private static final int VELOCITY_ITERATIONS = 13;
+	
+	/** Index of the total position iterations */
+	private static final int POSITION_ITERATIONS = 14;
+	
+	/**
+	 * Default constructor.
+	 */
+	public StepHistogram() {
+		this.totals = new long[15];
+		this.buckets = new long[StepHistogram.BUCKET_COUNT];
+		this.reset();
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("StepHistogram[StepCount=").append(this.steps)
+		.append("|AverageStepTime=").append(this.getAverageStepTime())
+		.append("|MinimumStepTime=").append(this.getMinimumStepTime())
+		.append("|MaximumStepTime=").append(this.maximumStepTime)
+		.append("|Buckets={");
+		for (int i = 0; i < this.buckets.length; i++) {
+			if (i != 0) sb.append(",");
+			sb.append(this.buckets[i]);
+		}
+		sb.append("}]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Clears all the accumulated information.
+	 */
+	public void reset() {
+		this.steps = 0;
+		this.minimumStepTime = Long.MAX_VALUE;
+		this.maximumStepTime = 0;
+		for (int i = 0; i < this.totals.length; i++) {
+			this.totals[i] = 0;
+		}
+		for (int i = 0; i < this.buckets.length; i++) {
+			this.buckets[i] = 0;
+		}
+	}
+	
+	/**
+	 * Adds the given step statistics to this histogram.
+	 * @param statistics the statistics for one step
+	 * @throws NullPointerException if statistics is null
+	 */
+	public void add(StepStatistics statistics) {
+		long t = statistics.stepTime;
+		
+		this.steps++;
+		this.totals[STEP_TIME] += t;
+		this.totals[BROADPHASE_TIME] += statistics.broadphaseTime;
+		this.totals[NARROWPHASE_TIME] += statistics.narrowphaseTime;
+		this.totals[MANIFOLD_TIME] += statistics.manifoldTime;
+		this.totals[CONTACT_UPDATE_TIME] += statistics.contactUpdateTime;
+		this.totals[ISLAND_TIME] += statistics.islandTime;
+		this.totals[SOLVE_TIME] += statistics.solveTime;
+		this.totals[TIME_OF_IMPACT_TIME] += statistics.timeOfImpactTime;
+		this.totals[BROADPHASE_PAIRS] += statistics.broadphasePairs;
+		this.totals[NARROWPHASE_COLLISIONS] += statistics.narrowphaseCollisions;
+		this.totals[CONTACT_CONSTRAINTS] += statistics.contactConstraints;
+		this.totals[ISLANDS] += statistics.islands;
+		this.totals[TIME_OF_IMPACT_TESTS] += statistics.timeOfImpactTests;
+		this.totals[VELOCITY_ITERATIONS] += statistics.velocityIterations;
+		this.totals[POSITION_ITERATIONS] += statistics.positionIterations;
+		
+		if (t < this.minimumStepTime) this.minimumStepTime = t;
+		if (t > this.maximumStepTime) this.maximumStepTime = t;
+		
+		this.buckets[StepHistogram.getBucketIndex(t)]++;
+	}
+	
+	/**
+	 * Returns the bucket index for the given time.
+	 * @param time the time in nanoseconds
+	 * @return int
+	 */
+	static final int getBucketIndex(long time) {
+		long us = time / 1000;
+		if (us <= 1) return 0;
+		// floor(log2(us))
+		int index = 63 - Long.numberOfLeadingZeros(us);
+		return index < StepHistogram.BUCKET_COUNT ? index : StepHistogram.BUCKET_COUNT - 1;
+	}
+	
+	/**
+	 * Returns the number of steps recorded.
+	 * @return long
+	 */
+	public long getStepCount() {
+		return this.steps;
+	}
+	
+	/**
+	 * Returns the number of steps recorded in the given bucket.
+	 * @param index the bucket index in the range [0, {@link #BUCKET_COUNT})
+	 * @return long
+	 * @throws IndexOutOfBoundsException if index is not in the range [0, {@link #BUCKET_COUNT})
+	 */
+	public long getBucket(int index) {
+		return this.buckets[index];
+	}
+	
+	/**
+	 * Returns the exclusive upper bound of the given bucket in nanoseconds.
+	 * <p>
+	 * Returns {@link Long#MAX_VALUE} for the last bucket.
+	 * @param index the bucket index in the range [0, {@link #BUCKET_COUNT})
+	 * @return long
+	 * @throws IndexOutOfBoundsException if index is not in the range [0, {@link #BUCKET_COUNT})
+	 */
+	public long getBucketUpperBound(int index) {
+		if (index < 0 || index >= StepHistogram.BUCKET_COUNT) throw new IndexOutOfBoundsException();
+		if (index == StepHistogram.BUCKET_COUNT - 1) return Long.MAX_VALUE;
+		return (1L << (index + 1)) * 1000L;
+	}
+	
+	/**
+	 * Returns an upper bound estimate of the step time for the given percentile 
+	 * in nanoseconds.
+	 * <p>
+	 * The value returned is the upper bound of the bucket that contains the 
+	 * given percentile so the accuracy is limited by the bucket sizes.  The 
+	 * result is clamped to the maximum recorded step time.
+	 * <p>
+	 * Returns zero if no steps have been recorded.
+	 * @param percentile the percentile in the range [0, 1]
+	 * @return long
+	 */
+	public long getPercentileStepTime(double percentile) {
+		if (this.steps == 0) return 0;
+		long target = (long)Math.ceil(percentile * this.steps);
+		long count = 0;
+		for (int i = 0; i < StepHistogram.BUCKET_COUNT; i++) {
+			count += this.buckets[i];
+			if (count >= target) {
+				return Math.min(this.getBucketUpperBound(i), this.maximumStepTime);
+			}
+		}
+		return this.maximumStepTime;
+	}
+	
+	/**
+	 * Returns the average step time in nanoseconds.
+	 * @return double
+	 */
+	public double getAverageStepTime() {
+		return this.getAverage(STEP_TIME);
+	}
+	
+	/**
+	 * Returns the minimum step time in nanoseconds.
+	 * @return long
+	 */
+	public long getMinimumStepTime() {
+		return this.steps == 0 ? 0 : this.minimumStepTime;
+	}
+	
+	/**
+	 * Returns the maximum step time in nanoseconds.
+	 * @return long
+	 */
+	public long getMaximumStepTime() {
+		return this.maximumStepTime;
+	}
+	
+	/**
+	 * Returns the total time spent in steps in nanoseconds.
+	 * @return long
+	 */
+	public long getTotalStepTime() {
+		return this.totals[STEP_TIME];
+	}
+	
+	/**
+	 * Returns the total broad-phase time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getBroadphaseTime()
+	 */
+	public long getTotalBroadphaseTime() {
+		return this.totals[BROADPHASE_TIME];
+	}
+	
+	/**
+	 * Returns the total narrow-phase time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getNarrowphaseTime()
+	 */
+	public long getTotalNarrowphaseTime() {
+		return this.totals[NARROWPHASE_TIME];
+	}
+	
+	/**
+	 * Returns the total manifold time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getManifoldTime()
+	 */
+	public long getTotalManifoldTime() {
+		return this.totals[MANIFOLD_TIME];
+	}
+	
+	/**
+	 * Returns the total contact update time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getContactUpdateTime()
+	 */
+	public long getTotalContactUpdateTime() {
+		return this.totals[CONTACT_UPDATE_TIME];
+	}
+	
+	/**
+	 * Returns the total island building time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getIslandTime()
+	 */
+	public long getTotalIslandTime() {
+		return this.totals[ISLAND_TIME];
+	}
+	
+	/**
+	 * Returns the total island solve time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getSolveTime()
+	 */
+	public long getTotalSolveTime() {
+		return this.totals[SOLVE_TIME];
+	}
+	
+	/**
+	 * Returns the total time of impact time in nanoseconds.
+	 * @return long
+	 * @see StepStatistics#getTimeOfImpactTime()
+	 */
+	public long getTotalTimeOfImpactTime() {
+		return this.totals[TIME_OF_IMPACT_TIME];
+	}
+	
+	/**
+	 * Returns the average number of broad-phase pairs per step.
+	 * @return double
+	 */
+	public double getAverageBroadphasePairCount() {
+		return this.getAverage(BROADPHASE_PAIRS);
+	}
+	
+	/**
+	 * Returns the average number of narrow-phase collisions per step.
+	 * @return double
+	 */
+	public double getAverageNarrowphaseCollisionCount() {
+		return this.getAverage(NARROWPHASE_COLLISIONS);
+	}
+	
+	/**
+	 * Returns the average number of contact constraints per step.
+	 * @return double
+	 */
+	public double getAverageContactConstraintCount() {
+		return this.getAverage(CONTACT_CONSTRAINTS);
+	}
+	
+	/**
+	 * Returns the average number of islands per step.
+	 * @return double
+	 */
+	public double getAverageIslandCount() {
+		return this.getAverage(ISLANDS);
+	}
+	
+	/**
+	 * Returns the average number of time of impact tests per step.
+	 * @return double
+	 */
+	public double getAverageTimeOfImpactTestCount() {
+		return this.getAverage(TIME_OF_IMPACT_TESTS);
+	}
+	
+	/**
+	 * Returns the average number of velocity iterations per step.
+	 * @return double
+	 */
+	public double getAverageVelocityIterationCount() {
+		return this.getAverage(VELOCITY_ITERATIONS);
+	}
+	
+	/**
+	 * Returns the average number of position iterations per step.
+	 * @return double
+	 */
+	public double getAveragePositionIterationCount() {
+		return this.getAverage(POSITION_ITERATIONS);
+	}
+	
+	/**
+	 * Returns the average of the total at the given index.
+	 * @param index the total index
+	 * @return double
+	 */
+	private double getAverage(int index) {
+		if (this.steps == 0) return 0.0;
+		return (double)this.totals[index] / (double)this.steps;
+	}
+}
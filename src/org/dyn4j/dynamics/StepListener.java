@@ -31,7 +31,7 @@ import org.dyn4j.Listener;
  * <p>
  * Modification of the {@link World} is permitted in any of these methods.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public interface StepListener extends Listener {
@@ -62,6 +62,9 @@ public interface StepListener extends Listener {
 	
 	/**
 	 * Called after a simulation step has been performed.
+	 * <p>
+	 * If {@link Settings#isStepStatisticsEnabled()} is true, the {@link StepStatistics}
+	 * for the step are complete and available from {@link World#getStepStatistics()}.
 	 * @param step the step information
 	 * @param world the simulation {@link World}
 	 */
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.Listener;
+
+/**
+ * Convenience class for implementing the {@link StepPhaseListener} interface.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class StepPhaseAdapter implements StepPhaseListener, Listener {
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#detectBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void detectBegin(World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#detectEnd(org.dyn4j.dynamics.World, int, int, int)
+	 */
+	@Override
+	public void detectEnd(World world, int bodyCount, int pairCount, int contactConstraintCount) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#islandBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void islandBegin(World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#islandEnd(org.dyn4j.dynamics.World, int, int, int)
+	 */
+	@Override
+	public void islandEnd(World world, int bodyCount, int jointCount, int contactConstraintCount) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#timeOfImpactBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void timeOfImpactBegin(World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#timeOfImpactEnd(org.dyn4j.dynamics.World, int)
+	 */
+	@Override
+	public void timeOfImpactEnd(World world, int bodyCount) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#broadphaseRebuildBegin(org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void broadphaseRebuildBegin(World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepPhaseListener#broadphaseRebuildEnd(org.dyn4j.dynamics.World, int)
+	 */
+	@Override
+	public void broadphaseRebuildEnd(World world, int bodyCount) {}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.Listener;
+
+/**
+ * Listener notified at the beginning and end of the individual phases of a 
+ * simulation step by the {@link World}.
+ * <p>
+ * This listener is intended for tracing and profiling tools.  Each begin method
+ * is followed by the matching end method for the same phase before any other 
+ * phase begins, with the exception of the island phase which happens within 
+ * the step and the detect phase which can happen at the beginning and end of 
+ * the step.  The counts passed to the end methods describe the work done in 
+ * the phase.
+ * <p>
+ * The {@link World} does not compute the counts or call these methods when no
+ * listeners of this type are attached.
+ * <p>
+ * Modification of the {@link World} is <b>not</b> permitted in any of these methods.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see StepListener
+ */
+public interface StepPhaseListener extends Listener {
+	/**
+	 * Called before collision detection is performed.
+	 * @param world the simulation {@link World}
+	 */
+	public abstract void detectBegin(World world);
+	
+	/**
+	 * Called after collision detection has been performed.
+	 * @param world the simulation {@link World}
+	 * @param bodyCount the number of bodies updated in the broad-phase
+	 * @param pairCount the number of broad-phase pairs found
+	 * @param contactConstraintCount the number of contact constraints found
+	 */
+	public abstract void detectEnd(World world, int bodyCount, int pairCount, int contactConstraintCount);
+	
+	/**
+	 * Called before an island is solved.
+	 * @param world the simulation {@link World}
+	 */
+	public abstract void islandBegin(World world);
+	
+	/**
+	 * Called after an island has been solved.
+	 * @param world the simulation {@link World}
+	 * @param bodyCount the number of bodies in the island
+	 * @param jointCount the number of joints in the island
+	 * @param contactConstraintCount the number of contact constraints in the island
+	 */
+	public abstract void islandEnd(World world, int bodyCount, int jointCount, int contactConstraintCount);
+	
+	/**
+	 * Called before time of impact is solved.
+	 * <p>
+	 * This method is not called if continuous collision detection is disabled.
+	 * @param world the simulation {@link World}
+	 */
+	public abstract void timeOfImpactBegin(World world);
+	
+	/**
+	 * Called after time of impact has been solved.
+	 * @param world the simulation {@link World}
+	 * @param bodyCount the number of bodies time of impact was solved for
+	 */
+	public abstract void timeOfImpactEnd(World world, int bodyCount);
+	
+	/**
+	 * Called before all bodies are added to a new {@link org.dyn4j.collision.broadphase.BroadphaseDetector}.
+	 * @param world the simulation {@link World}
+	 * @see World#setBroadphaseDetector(org.dyn4j.collision.broadphase.BroadphaseDetector)
+	 */
+	public abstract void broadphaseRebuildBegin(World world);
+	
+	/**
+	 * Called after all bodies have been added to a new {@link org.dyn4j.collision.broadphase.BroadphaseDetector}.
+	 * @param world the simulation {@link World}
+	 * @param bodyCount the number of bodies added
+	 * @see World#setBroadphaseDetector(org.dyn4j.collision.broadphase.BroadphaseDetector)
+	 */
+	public abstract void broadphaseRebuildEnd(World world, int bodyCount);
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+/**
+ * Represents the timing and counter information collected for a single
+ * simulation step of a {@link World}.
+ * <p>
+ * The statistics are only collected when {@link Settings#isStepStatisticsEnabled()}
+ * returns true.  Use the {@link World#getStepStatistics()} method to obtain the
+ * statistics for the last step, typically from the {@link StepListener#end(Step, World)}
+ * method.
+ * <p>
+ * All times are in nanoseconds as reported by {@link System#nanoTime()}.  The
+ * detection times include both the detection performed at the end of the step and
+ * the detection performed at the beginning of the step when an update was required.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see StepHistogram
+ */
+public class StepStatistics {
+	// times
+	
+	/** The total time spent in the step */
+	long stepTime;
+	
+	/** The time spent updating the broad-phase and detecting broad-phase pairs */
+	long broadphaseTime;
+	
+	/** The time spent in the narrow-phase */
+	long narrowphaseTime;
+	
+	/** The time spent generating contact manifolds */
+	long manifoldTime;
+	
+	/** The time spent updating and notifying the contact manager */
+	long contactUpdateTime;
+	
+	/** The time spent building islands */
+	long islandTime;
+	
+	/** The time spent solving islands */
+	long solveTime;
+	
+	/** The time spent solving time of impact */
+	long timeOfImpactTime;
+	
+	// counters
+	
+	/** The number of broad-phase pairs tested */
+	int broadphasePairs;
+	
+	/** The number of narrow-phase collisions found */
+	int narrowphaseCollisions;
+	
+	/** The number of contact constraints created */
+	int contactConstraints;
+	
+	/** The number of islands solved */
+	int islands;
+	
+	/** The number of time of impact tests performed */
+	int timeOfImpactTests;
+	
+	/** The number of velocity solver iterations used (summed over all islands) */
+	int velocityIterations;
+	
+	/** The number of position solver iterations used (summed over all islands) */
+	int positionIterations;
+	
+	/**
+	 * Default constructor.
+	 */
+	public StepStatistics() {}
+	
+	/**
+	 * Copy constructor.
+	 * @param statistics the statistics to copy
+	 * @throws NullPointerException if statistics is null
+	 */
+	public StepStatistics(StepStatistics statistics) {
+		this.set(statistics);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("StepStatistics[StepTime=").append(this.stepTime)
+		.append("|BroadphaseTime=").append(this.broadphaseTime)
+		.append("|NarrowphaseTime=").append(this.narrowphaseTime)
+		.append("|ManifoldTime=").append(this.manifoldTime)
+		.append("|ContactUpdateTime=").append(this.contactUpdateTime)
+		.append("|IslandTime=").append(this.islandTime)
+		.append("|SolveTime=").append(this.solveTime)
+		.append("|TimeOfImpactTime=").append(this.timeOfImpactTime)
+		.append("|BroadphasePairs=").append(this.broadphasePairs)
+		.append("|NarrowphaseCollisions=").append(this.narrowphaseCollisions)
+		.append("|ContactConstraints=").append(this.contactConstraints)
+		.append("|Islands=").append(this.islands)
+		.append("|TimeOfImpactTests=").append(this.timeOfImpactTests)
+		.append("|VelocityIterations=").append(this.velocityIterations)
+		.append("|PositionIterations=").append(this.positionIterations)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Resets all times and counters to zero.
+	 */
+	public void reset() {
+		this.stepTime = 0;
+		this.broadphaseTime = 0;
+		this.narrowphaseTime = 0;
+		this.manifoldTime = 0;
+		this.contactUpdateTime = 0;
+		this.islandTime = 0;
+		this.solveTime = 0;
+		this.timeOfImpactTime = 0;
+		this.broadphasePairs = 0;
+		this.narrowphaseCollisions = 0;
+		this.contactConstraints = 0;
+		this.islands = 0;
+		this.timeOfImpactTests = 0;
+		this.velocityIterations = 0;
+		this.positionIterations = 0;
+	}
+	
+	/**
+	 * Copies the given statistics into this statistics object.
+	 * @param statistics the statistics to copy
+	 * @throws NullPointerException if statistics is null
+	 */
+	public void set(StepStatistics statistics) {
+		this.stepTime = statistics.stepTime;
+		this.broadphaseTime = statistics.broadphaseTime;
+		this.narrowphaseTime = statistics.narrowphaseTime;
+		this.manifoldTime = statistics.manifoldTime;
+		this.contactUpdateTime = statistics.contactUpdateTime;
+		this.islandTime = statistics.islandTime;
+		this.solveTime = statistics.solveTime;
+		this.timeOfImpactTime = statistics.timeOfImpactTime;
+		this.broadphasePairs = statistics.broadphasePairs;
+		this.narrowphaseCollisions = statistics.narrowphaseCollisions;
+		this.contactConstraints = statistics.contactConstraints;
+		this.islands = statistics.islands;
+		this.timeOfImpactTests = statistics.timeOfImpactTests;
+		this.velocityIterations = statistics.velocityIterations;
+		this.positionIterations = statistics.positionIterations;
+	}
+	
+	/**
+	 * Returns the total time spent in the step in nanoseconds.
+	 * @return long
+	 */
+	public long getStepTime() {
+		return this.stepTime;
+	}
+	
+	/**
+	 * Returns the time spent updating the broad-phase and finding 
+	 * broad-phase pairs in nanoseconds.
+	 * @return long
+	 */
+	public long getBroadphaseTime() {
+		return this.broadphaseTime;
+	}
+	
+	/**
+	 * Returns the time spent in narrow-phase collision detection in nanoseconds.
+	 * @return long
+	 */
+	public long getNarrowphaseTime() {
+		return this.narrowphaseTime;
+	}
+	
+	/**
+	 * Returns the time spent generating contact manifolds in nanoseconds.
+	 * @return long
+	 */
+	public long getManifoldTime() {
+		return this.manifoldTime;
+	}
+	
+	/**
+	 * Returns the time spent updating the {@link org.dyn4j.dynamics.contact.ContactManager} 
+	 * in nanoseconds.
+	 * <p>
+	 * This includes the notification of the contact listeners.
+	 * @return long
+	 */
+	public long getContactUpdateTime() {
+		return this.contactUpdateTime;
+	}
+	
+	/**
+	 * Returns the total time spent in collision detection in nanoseconds.
+	 * <p>
+	 * This is the sum of the broad-phase, narrow-phase, manifold and contact update times.
+	 * @return long
+	 */
+	public long getDetectTime() {
+		return this.broadphaseTime + this.narrowphaseTime + this.manifoldTime + this.contactUpdateTime;
+	}
+	
+	/**
+	 * Returns the time spent building islands in nanoseconds.
+	 * @return long
+	 */
+	public long getIslandTime() {
+		return this.islandTime;
+	}
+	
+	/**
+	 * Returns the time spent solving islands in nanoseconds.
+	 * @return long
+	 */
+	public long getSolveTime() {
+		return this.solveTime;
+	}
+	
+	/**
+	 * Returns the time spent solving time of impact in nanoseconds.
+	 * @return long
+	 */
+	public long getTimeOfImpactTime() {
+		return this.timeOfImpactTime;
+	}
+	
+	/**
+	 * Returns the number of broad-phase pairs found.
+	 * @return int
+	 */
+	public int getBroadphasePairCount() {
+		return this.broadphasePairs;
+	}
+	
+	/**
+	 * Returns the number of narrow-phase collisions found.
+	 * @return int
+	 */
+	public int getNarrowphaseCollisionCount() {
+		return this.narrowphaseCollisions;
+	}
+	
+	/**
+	 * Returns the number of contact constraints created.
+	 * @return int
+	 */
+	public int getContactConstraintCount() {
+		return this.contactConstraints;
+	}
+	
+	/**
+	 * Returns the number of islands solved.
+	 * @return int
+	 */
+	public int getIslandCount() {
+		return this.islands;
+	}
+	
+	/**
+	 * Returns the number of time of impact tests performed.
+	 * @return int
+	 */
+	public int getTimeOfImpactTestCount() {
+		return this.timeOfImpactTests;
+	}
+	
+	/**
+	 * Returns the number of velocity solver iterations used summed over all islands.
+	 * @return int
+	 */
+	public int getVelocityIterationCount() {
+		return this.velocityIterations;
+	}
+	
+	/**
+	 * Returns the number of position solver iterations used summed over all islands.
+	 * <p>
+	 * The position solver will exit early if all constraints are solved, so this 
+	 * number can be less than the configured number of iterations times the number
+	 * of islands.
+	 * @return int
+	 */
+	public int getPositionIterationCount() {
+		return this.positionIterations;
+	}
+}
@@ -24,18 +24,22 @@
  */
 package org.dyn4j.dynamics;
 
-import java.util.ArrayDeque;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.dyn4j.Copyable;
 import org.dyn4j.DataContainer;
 import org.dyn4j.Listener;
 import org.dyn4j.collision.Bounds;
 import org.dyn4j.collision.BoundsListener;
+import org.dyn4j.collision.Collisions;
 import org.dyn4j.collision.Filter;
 import org.dyn4j.collision.Fixture;
 import org.dyn4j.collision.broadphase.BroadphaseDetector;
@@ -46,16 +50,23 @@ import org.dyn4j.collision.broadphase.DynamicAABBTree;
 import org.dyn4j.collision.continuous.ConservativeAdvancement;
 import org.dyn4j.collision.continuous.TimeOfImpact;
 import org.dyn4j.collision.continuous.TimeOfImpactDetector;
+import org.dyn4j.collision.manifold.CachingManifoldSolver;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldCache;
+import org.dyn4j.collision.manifold.ManifoldPoint;
 import org.dyn4j.collision.manifold.ManifoldSolver;
+import org.dyn4j.collision.narrowphase.CachingNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.DistanceDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.LinkPostProcessor;
+import org.dyn4j.collision.narrowphase.NarrowphaseCache;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.NarrowphasePostProcessor;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Raycast;
 import org.dyn4j.collision.narrowphase.RaycastDetector;
+import org.dyn4j.collision.narrowphase.Separation;
 import org.dyn4j.dynamics.contact.Contact;
 import org.dyn4j.dynamics.contact.ContactConstraint;
 import org.dyn4j.dynamics.contact.ContactConstraintSolver;
@@ -68,6 +79,7 @@ import org.dyn4j.dynamics.contact.TimeOfImpactSolver;
 import org.dyn4j.dynamics.contact.WarmStartingContactManager;
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Composite;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Shiftable;
@@ -86,8 +98,8 @@ import org.dyn4j.resources.Messages;
  * Some listener types return a boolean to indicate continuing or allowing something, like {@link CollisionListener}.  If, for example,
  * there are multiple {@link CollisionListener}s and <b>any</b> one of them returns false for an event, the collision is skipped.  However,
  * all listeners will still be called no matter if the first returned false.
- * @author William Bittle
- * @version 3.2.4
+ * @author William Bittle
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class World implements Shiftable, DataContainer {
@@ -96,6 +108,9 @@ public class World implements Shiftable, DataContainer {
 	
 	/** Zero gravity constant */
 	public static final Vector2 ZERO_GRAVITY = new Vector2(0.0, 0.0);
+	
+	/** The order the broad-phase pairs are tested in */
+	private static final BroadphasePairComparator BROADPHASE_PAIR_COMPARATOR = new BroadphasePairComparator();
 
 	/** The world id */
 	protected final UUID id = UUID.randomUUID();
@@ -136,6 +151,9 @@ public class World implements Shiftable, DataContainer {
 	
 	/** The {@link RaycastDetector} */
 	protected RaycastDetector raycastDetector;
+	
+	/** The {@link DistanceDetector} used for speculative contacts */
+	protected DistanceDetector distanceDetector;
 
 	/** The {@link ContactManager} */
 	protected ContactManager contactManager;
@@ -162,22 +180,62 @@ public class World implements Shiftable, DataContainer {
 	// bodies/joints
 	
 	/** The {@link Body} list */
-	private final List<Body> bodies;
+	private final ArrayList<Body> bodies;
 	
 	/** The {@link Joint} list */
-	private final List<Joint> joints;
+	private final ArrayList<Joint> joints;
 	
 	// temp data
 	
 	/** The reusable island */
 	private Island island;
 	
+	/** The persistent islands */
+	final IslandManager islandManager;
+	
+	/** The bodies by state */
+	final BodyIndex bodyIndex;
+	
 	/** The accumulated time */
 	private double time;
 	
 	/** Flag to find new contacts */
 	private boolean updateRequired;
 	
+	/** The number of detections performed; identifies the current {@link PairCache}s */
+	private int detection;
+	
+	/** The {@link AABB} used to find the children of a {@link Composite} fixture in collision */
+	private final AABB compositeAABB;
+	
+	/** The children of the first {@link Composite} fixture of the pair being tested */
+	private final ChildQuery childQuery1;
+	
+	/** The children of the second {@link Composite} fixture of the pair being tested */
+	private final ChildQuery childQuery2;
+	
+	/** The {@link AABB} used to find the speculative pairs of a fixture */
+	private final AABB speculativeAABB;
+	
+	/** The {@link Separation} of the speculative pair being tested */
+	private final Separation speculativeSeparation;
+	
+	/** The {@link Transform} of the second fixture of the speculative pair being tested */
+	private final Transform speculativeTransform;
+	
+	// statistics
+	
+	/** The statistics for the last step */
+	private final StepStatistics statistics;
+	
+	/** The accumulated step statistics */
+	private final StepHistogram histogram;
+	
+	// recording
+	
+	/** The recorder of the inputs; null if this world is not being recorded */
+	WorldRecorder recorder;
+	
 	/**
 	 * Default constructor.
 	 * <p>
@@ -250,6 +308,7 @@ public class World implements Shiftable, DataContainer {
 		this.manifoldSolver = new ClippingManifoldSolver();
 		this.timeOfImpactDetector = new ConservativeAdvancement();
 		this.raycastDetector = new Gjk();
+		this.distanceDetector = new Gjk();
 		this.coefficientMixer = CoefficientMixer.DEFAULT_MIXER;
 		this.contactManager = new WarmStartingContactManager(initialCapacity);
 		this.contactConstraintSolver = new SequentialImpulses();
@@ -260,9 +319,95 @@ public class World implements Shiftable, DataContainer {
 		this.listeners = new ArrayList<Listener>(initialCapacity.getListenerCount());
 		
 		this.island = new Island(initialCapacity);
+		this.islandManager = new IslandManager(initialCapacity);
+		this.bodyIndex = new BodyIndex(initialCapacity);
 		
 		this.time = 0.0;
 		this.updateRequired = true;
+		
+		this.compositeAABB = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.childQuery1 = new ChildQuery();
+		this.childQuery2 = new ChildQuery();
+		this.speculativeAABB = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.speculativeSeparation = new Separation();
+		this.speculativeTransform = new Transform();
+		
+		this.statistics = new StepStatistics();
+		this.histogram = new StepHistogram();
+	}
+	
+	/**
+	 * Creates an empty {@link World} with the configuration of the given world.
+	 * <p>
+	 * The settings, step and gravity are copied.  The algorithms are copied if they are 
+	 * {@link Copyable}, otherwise they are shared.  The bounds and user data are shared.
+	 * The broad-phase and contact manager are assigned by {@link #copy()}.
+	 * @param world the world to copy
+	 * @see #copy()
+	 * @since 3.2.4
+	 */
+	private World(World world) {
+		Capacity initialCapacity = new Capacity(world.bodies.size(), world.joints.size(), 0);
+		
+		double[] values = new double[Settings.VALUE_COUNT];
+		world.settings.getValues(values);
+		this.settings = new Settings();
+		this.settings.setValues(values);
+		this.step = new Step(world.step.dt);
+		this.step.dt0 = world.step.dt0;
+		this.step.invdt0 = world.step.invdt0;
+		this.step.invdt = world.step.invdt;
+		this.step.dtRatio = world.step.dtRatio;
+		this.gravity = world.gravity.copy();
+		this.bounds = world.bounds;
+		
+		this.detectBroadphaseFilter = world.detectBroadphaseFilter;
+		this.narrowphaseDetector = World.copy(world.narrowphaseDetector);
+		this.narrowphasePostProcessor = World.copy(world.narrowphasePostProcessor);
+		this.manifoldSolver = World.copy(world.manifoldSolver);
+		this.timeOfImpactDetector = World.copy(world.timeOfImpactDetector);
+		this.raycastDetector = World.copy(world.raycastDetector);
+		this.distanceDetector = World.copy(world.distanceDetector);
+		this.coefficientMixer = World.copy(world.coefficientMixer);
+		this.contactConstraintSolver = World.copy(world.contactConstraintSolver);
+		this.timeOfImpactSolver = World.copy(world.timeOfImpactSolver);
+		this.userData = world.userData;
+		
+		this.bodies = new ArrayList<Body>(initialCapacity.getBodyCount());
+		this.joints = new ArrayList<Joint>(initialCapacity.getJointCount());
+		this.listeners = new ArrayList<Listener>(initialCapacity.getListenerCount());
+		
+		this.island = new Island(initialCapacity);
+		this.islandManager = new IslandManager(initialCapacity);
+		this.bodyIndex = new BodyIndex(initialCapacity);
+		
+		this.time = world.time;
+		this.updateRequired = world.updateRequired;
+		
+		this.compositeAABB = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.childQuery1 = new ChildQuery();
+		this.childQuery2 = new ChildQuery();
+		this.speculativeAABB = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.speculativeSeparation = new Separation();
+		this.speculativeTransform = new Transform();
+		
+		this.statistics = new StepStatistics();
+		this.histogram = new StepHistogram();
+	}
+	
+	/**
+	 * Returns a copy of the given algorithm if it's {@link Copyable}, otherwise
+	 * returns the given algorithm.
+	 * @param algorithm the algorithm
+	 * @return T
+	 * @since 3.2.4
+	 */
+	@SuppressWarnings("unchecked")
+	private static final <T> T copy(T algorithm) {
+		if (algorithm instanceof Copyable) {
+			return (T)((Copyable<?>)algorithm).copy();
+		}
+		return algorithm;
 	}
 	
 	/**
@@ -484,8 +629,25 @@ public class World implements Shiftable, DataContainer {
 		// get all the step listeners
 		List<StepListener> stepListeners = this.getListeners(StepListener.class);
 		List<ContactListener> contactListeners = this.getListeners(ContactListener.class);
+		List<StepPhaseListener> phaseListeners = this.getListeners(StepPhaseListener.class);
 		
 		int sSize = stepListeners.size();
+		int pSize = phaseListeners.size();
+		
+		// check if we should collect statistics
+		boolean profile = this.settings.isStepStatisticsEnabled();
+		StepStatistics statistics = this.statistics;
+		long stepStart = 0;
+		long t0 = 0;
+		if (profile) {
+			statistics.reset();
+			stepStart = System.nanoTime();
+		}
+		
+		// record the beginning of the step
+		if (this.recorder != null) {
+			this.recorder.begin(this.step);
+		}
 		
 		// notify the step listeners
 		for (int i = 0; i < sSize; i++) {
@@ -493,6 +655,22 @@ public class World implements Shiftable, DataContainer {
 			sl.begin(this.step, this);
 		}
 		
+		// sleeping bodies that were moved are woken up, static bodies whose 
+		// velocity was modified directly are kinematic now and the other static
+		// bodies that were moved start from their new position (only the changed
+		// bodies are visited; the list is cleared by the detection)
+		BodyIndex bodyIndex = this.bodyIndex;
+		List<Body> changedBodies = bodyIndex.getChanged();
+		for (int i = 0; i < changedBodies.size(); i++) {
+			Body body = changedBodies.get(i);
+			if (body.indexCategory == BodyIndex.ASLEEP && body.indexMoved) {
+				body.setAsleep(false);
+			}
+			if (body.indexCategory != BodyIndex.STATIC) continue;
+			body.transform0.set(body.getTransform());
+			bodyIndex.update(body);
+		}
+		
 		// check if we need to update the contacts first
 		if (this.updateRequired) {
 			// if so then update the contacts
@@ -512,38 +690,38 @@ public class World implements Shiftable, DataContainer {
 		// check for CCD
 		ContinuousDetectionMode continuousDetectionMode = this.settings.getContinuousDetectionMode();
 		
-		// get the number of bodies
-		int size = this.bodies.size();
+		if (profile) t0 = System.nanoTime();
+		
+		// the persistent islands
+		IslandManager islandManager = this.islandManager;
+		
+		// only the awake, moving bodies are iterated (sleeping and inactive 
+		// bodies don't move and static bodies don't join islands) and any 
+		// state changes are deferred until all the islands have been solved
+		List<Body> dynamicBodies = bodyIndex.get(BodyIndex.DYNAMIC);
+		List<Body> kinematicBodies = bodyIndex.get(BodyIndex.KINEMATIC);
+		
+		bodyIndex.lock();
+		
+		// the bodies are modified by the joints while solving; these
+		// aren't inputs so don't record them
+		WorldRecorder recorder = this.recorder;
+		if (recorder != null) {
+			recorder.suspended = true;
+		}
 		
-		// test for out of bounds objects
-		// clear the body contacts
 		// clear the island flag
 		// save the current transform for CCD
+		// look for ended contacts
+		int size = dynamicBodies.size();
 		for (int i = 0; i < size; i++) {
-			Body body = this.bodies.get(i);
-			// remove the island flag
-			body.setOnIsland(false);
-			// we only need to save the old transform for CCD so don't
-			// bother if its completely disabled
-			if (continuousDetectionMode != ContinuousDetectionMode.NONE) {
-				// save the current transform into the previous transform
-				body.transform0.set(body.getTransform());
-			}
+			this.prepare(dynamicBodies.get(i), continuousDetectionMode);
 		}
-		
-		// clear the joint island flags
-		int jSize = this.joints.size();
-		for (int i = 0; i < jSize; i++) {
-			// get the joint
-			Constraint joint = this.joints.get(i);
-			// set the island flag to false
-			joint.setOnIsland(false);
+		size = kinematicBodies.size();
+		for (int i = 0; i < size; i++) {
+			this.prepare(kinematicBodies.get(i), continuousDetectionMode);
 		}
 		
-		// perform a depth first search of the contact graph
-		// to create islands for constraint solving
-		Deque<Body> stack = new ArrayDeque<Body>(size);
-
 		// temp storage
 		// we put these here so we can implicitly convert from joint and
 		// contact constraint to constraint so that we have package private
@@ -552,32 +730,69 @@ public class World implements Shiftable, DataContainer {
 		ContactConstraint contactConstraint;
 		Constraint constraint;
 		
-		// loop over the bodies and their contact edges to create the islands
+		// clear the joint island flags and merge the
+		// islands of the joined bodies
+		int jSize = this.joints.size();
+		for (int i = 0; i < jSize; i++) {
+			// get the joint
+			constraint = joint = this.joints.get(i);
+			// set the island flag to false
+			constraint.setOnIsland(false);
+			// only active joints between non-static bodies join islands
+			Body body1 = joint.getBody1();
+			Body body2 = joint.getBody2();
+			if (joint.isActive() && !body1.isStatic() && !body2.isStatic()) {
+				islandManager.union(body1, body2);
+			}
+		}
+		
+		// split any islands that may have lost a connection
+		islandManager.split();
+		
+		if (profile) statistics.islandTime += System.nanoTime() - t0;
+		
+		// loop over the bodies and solve the islands they belong to
+		int dSize = dynamicBodies.size();
+		size = dSize + kinematicBodies.size();
 		for (int i = 0; i < size; i++) {
-			Body seed = this.bodies.get(i);
+			Body seed = i < dSize ? dynamicBodies.get(i) : kinematicBodies.get(i - dSize);
 			// skip if asleep, in active, static, or already on an island
 			if (seed.isOnIsland() || seed.isAsleep() || !seed.isActive() || seed.isStatic()) continue;
 			
 			// set the island to the reusable island
 			Island island = this.island;
 			
+			if (profile) t0 = System.nanoTime();
+			
 			island.clear();
-			stack.clear();
-			stack.push(seed);
 			
-			while (stack.size() > 0) {
-				// get the next body
-				Body body = stack.pop();
-				// add it to the island
-				island.add(body);
-				// flag that it has been added
-				body.setOnIsland(true);
-				// make sure the body is awake
-				body.setAsleep(false);
-				// if its static then continue since we dont want the
-				// island to span more than one static object
-				// this keeps the size of the islands small
-				if (body.isStatic()) continue;
+			// add all the members of the island
+			Body body = islandManager.find(seed);
+			while (body != null) {
+				// static and inactive bodies don't join islands; if one is found
+				// then the body changed since it was merged so split the island
+				// on the next step
+				if (!body.isActive() || body.isStatic()) {
+					islandManager.invalidate(body);
+				} else {
+					// add it to the island
+					island.add(body);
+					// flag that it has been added
+					body.setOnIsland(true);
+					// sleeping bodies were skipped when saving the transforms
+					if (body.isAsleep() && continuousDetectionMode != ContinuousDetectionMode.NONE) {
+						body.transform0.set(body.getTransform());
+					}
+					// make sure the body is awake
+					body.setAsleep(false);
+				}
+				body = body.islandNext;
+			}
+			
+			// add the constraints between the members
+			int bSize = island.bodies.size();
+			for (int k = 0; k < bSize; k++) {
+				body = island.bodies.get(k);
 				// loop over the contact edges of this body
 				int ceSize = body.contacts.size();
 				for (int j = 0; j < ceSize; j++) {
@@ -587,18 +802,12 @@ public class World implements Shiftable, DataContainer {
 					// skip sensor contacts
 					// check if the contact constraint has already been added to an island
 					if (contactConstraint.isSensor() || constraint.isOnIsland()) continue;
-					// get the other body
-					Body other = contactEdge.other;
 					// add the contact constraint to the island list
 					island.add(contactConstraint);
 					// set the island flag on the contact constraint
 					constraint.setOnIsland(true);
-					// has the other body been added to an island yet?
-					if (!other.isOnIsland()) {
-						// if not then add this body to the stack
-						stack.push(other);
-						other.setOnIsland(true);
-					}
+					// static bodies are added to the island but don't extend it
+					this.addStatic(island, contactEdge.other);
 				}
 				// loop over the joint edges of this body
 				int jeSize = body.joints.size();
@@ -607,49 +816,80 @@ public class World implements Shiftable, DataContainer {
 					JointEdge jointEdge = body.joints.get(j);
 					// get the joint
 					constraint = joint = jointEdge.interaction;
-					// check if the joint is inactive
+					// check if the joint is inactive or has already been added to an island
 					if (!joint.isActive() || constraint.isOnIsland()) continue;
-					// get the other body
-					Body other = jointEdge.other;
-					// check if the joint has already been added to an island
-					// or if the other body is not active
-					if (!other.isActive()) continue;
 					// add the joint to the island
 					island.add(joint);
 					// set the island flag on the joint
 					constraint.setOnIsland(true);
-					// check if the other body has been added to an island
-					if (!other.isOnIsland()) {
-						// if not then add the body to the stack
-						stack.push(other);
-						other.setOnIsland(true);
-					}
+					// static bodies are added to the island but don't extend it
+					this.addStatic(island, jointEdge.other);
 				}
 			}
 			
+			long t1 = 0;
+			if (profile) {
+				t1 = System.nanoTime();
+				statistics.islandTime += t1 - t0;
+			}
+			
+			// notify of the island solve
+			for (int j = 0; j < pSize; j++) {
+				StepPhaseListener pl = phaseListeners.get(j);
+				pl.islandBegin(this);
+			}
+			
 			// solve the island
 			island.solve(this.contactConstraintSolver, this.gravity, this.step, this.settings);
 			
-			// allow static bodies to participate in other islands
-			for (int j = 0; j < size; j++) {
-				Body body = this.bodies.get(j);
-				if (body.isStatic()) {
-					body.setOnIsland(false);
-				}
+			for (int j = 0; j < pSize; j++) {
+				StepPhaseListener pl = phaseListeners.get(j);
+				pl.islandEnd(this, island.bodies.size(), island.joints.size(), island.contactConstraints.size());
+			}
+			
+			// allow the static bodies to participate in other islands
+			int iSize = island.bodies.size();
+			for (int k = bSize; k < iSize; k++) {
+				island.bodies.get(k).setOnIsland(false);
+			}
+			
+			// reset the contact constraint island flags since contact
+			// constraints are retained when the island falls asleep
+			int cSize = island.contactConstraints.size();
+			for (int k = 0; k < cSize; k++) {
+				constraint = island.contactConstraints.get(k);
+				constraint.setOnIsland(false);
+			}
+			
+			if (profile) {
+				statistics.solveTime += System.nanoTime() - t1;
+				statistics.islands++;
+				statistics.velocityIterations += this.settings.getVelocityConstraintSolverIterations();
+				statistics.positionIterations += island.positionIterations;
 			}
 		}
 		
 		// allow memory to be reclaimed
-		stack.clear();
 		this.island.clear();
 		
+		// record the end of the solve
+		if (recorder != null) {
+			recorder.suspended = false;
+			recorder.postSolve();
+		}
+		
+		// apply the state changes (bodies that fell asleep or were woken up)
+		bodyIndex.unlock();
+		
 		// notify of the all solved contacts
 		this.contactManager.postSolveNotify(contactListeners);
 		
-		// make sure CCD is enabled
-		if (continuousDetectionMode != ContinuousDetectionMode.NONE) {
+		// make sure CCD is enabled (speculative contacts were solved with the islands)
+		if (continuousDetectionMode != ContinuousDetectionMode.NONE && continuousDetectionMode != ContinuousDetectionMode.SPECULATIVE) {
+			if (profile) t0 = System.nanoTime();
 			// solve time of impact
 			this.solveTOI(continuousDetectionMode);
+			if (profile) statistics.timeOfImpactTime += System.nanoTime() - t0;
 		}
 		
 		// notify the step listener
@@ -666,6 +906,18 @@ public class World implements Shiftable, DataContainer {
 		// set the update required flag to false
 		this.updateRequired = false;
 		
+		// record the statistics before notifying the listeners
+		// so that they are available in the end method
+		if (profile) {
+			statistics.stepTime = System.nanoTime() - stepStart;
+			this.histogram.add(statistics);
+		}
+		
+		// record the end of the step
+		if (this.recorder != null) {
+			this.recorder.end();
+		}
+		
 		// notify the step listener
 		for (int i = 0; i < sSize; i++) {
 			StepListener sl = stepListeners.get(i);
@@ -673,6 +925,34 @@ public class World implements Shiftable, DataContainer {
 		}
 	}
 	
+	/**
+	 * Prepares the given awake {@link Body} for island solving.
+	 * <p>
+	 * Clears the island flag, saves the current transform for CCD, and invalidates
+	 * the island of the body if it lost a contact.
+	 * @param body the body
+	 * @param continuousDetectionMode the CCD mode
+	 * @since 3.2.4
+	 */
+	private void prepare(Body body, ContinuousDetectionMode continuousDetectionMode) {
+		// remove the island flag
+		body.setOnIsland(false);
+		// the mass or velocity may have been modified directly
+		this.bodyIndex.update(body);
+		// we only need to save the old transform for CCD so don't
+		// bother if its completely disabled
+		if (continuousDetectionMode != ContinuousDetectionMode.NONE) {
+			// save the current transform into the previous transform
+			body.transform0.set(body.getTransform());
+		}
+		// if the body lost a contact its island may need to be split
+		int cSize = body.contacts.size();
+		if (cSize < body.islandContactCount) {
+			this.islandManager.invalidate(body);
+		}
+		body.islandContactCount = cSize;
+	}
+	
 	/**
 	 * Finds new contacts for all bodies in this world.
 	 * <p>
@@ -697,44 +977,60 @@ public class World implements Shiftable, DataContainer {
 		// get the bounds listeners
 		List<BoundsListener> boundsListeners = this.getListeners(BoundsListener.class);
 		List<CollisionListener> collisionListeners = this.getListeners(CollisionListener.class);
+		List<StepPhaseListener> phaseListeners = this.getListeners(StepPhaseListener.class);
 		
 		// get the number of bodies
 		int size = this.bodies.size();
 		int blSize = boundsListeners.size();
-		int clSize = collisionListeners.size();
+		int plSize = phaseListeners.size();
+		
+		// notify of the detection
+		for (int i = 0; i < plSize; i++) {
+			StepPhaseListener pl = phaseListeners.get(i);
+			pl.detectBegin(this);
+		}
+		// the pair caches not used by this detection or the last are discarded
+		this.detection++;
+		// the number of pairs and contact constraints found
+		int pairCount = 0;
+		int contactConstraintCount = 0;
+		
+		// check if we should collect statistics
+		boolean profile = this.settings.isStepStatisticsEnabled();
+		StepStatistics statistics = this.statistics;
+		long t0 = 0;
+		long t1 = 0;
+		if (profile) t0 = System.nanoTime();
 		
 		// test for out of bounds objects
 		// clear the body contacts
 		// update the broadphase
-		for (int i = 0; i < size; i++) {
-			Body body = this.bodies.get(i);
-			// skip if already not active
-			if (!body.isActive()) continue;
-			// clear all the old contacts
-			body.contacts.clear();
-			// check if bounds have been set
-			// check if the body is out of bounds
-			if (this.bounds != null && this.bounds.isOutside(body)) {
-				// set the body to inactive
-				body.setActive(false);
-				// if so, notify via the listeners
-				for (int j = 0; j < blSize; j++) {
-					BoundsListener bl = boundsListeners.get(j);
-					bl.outside(body);
-				}
-			}
-			// update the broadphase with the new position/orientation
-			this.broadphaseDetector.update(body);
-		}
+		// (inactive bodies don't move so they don't need to be checked against
+		// the bounds or updated in the broad-phase and sleeping and static bodies 
+		// only need to be when they change)
+		BodyIndex bodyIndex = this.bodyIndex;
+		this.detectChanged(boundsListeners);
+		bodyIndex.lock();
+		this.detect(bodyIndex.get(BodyIndex.DYNAMIC), boundsListeners);
+		this.detect(bodyIndex.get(BodyIndex.KINEMATIC), boundsListeners);
+		bodyIndex.unlock();
 		
 		// make sure there are some bodies
 		if (size > 0) {
 			// test for collisions via the broad-phase
 			List<BroadphasePair<Body, BodyFixture>> pairs = this.broadphaseDetector.detect(this.detectBroadphaseFilter);
 			int pSize = pairs.size();
-			boolean allow = true;
+			pairCount = pSize;
+			// test the pairs in an order that doesn't depend on the broad-phase
+			Collections.sort(pairs, World.BROADPHASE_PAIR_COMPARATOR);
+			
+			if (profile) {
+				statistics.broadphaseTime += System.nanoTime() - t0;
+				statistics.broadphasePairs += pSize;
+			}
 			
 			// using the broad-phase results, test for narrow-phase
+			boolean speculative = this.settings.getContinuousDetectionMode() == ContinuousDetectionMode.SPECULATIVE;
 			for (int i = 0; i < pSize; i++) {
 				BroadphasePair<Body, BodyFixture> pair = pairs.get(i);
 				
@@ -743,43 +1039,453 @@ public class World implements Shiftable, DataContainer {
 				Body body2 = pair.getCollidable2();
 				BodyFixture fixture1 = pair.getFixture1();
 				BodyFixture fixture2 = pair.getFixture2();
-				
-				allow = true;
-				for (int j = 0; j < clSize; j++) {
-					CollisionListener cl = collisionListeners.get(j);
-					if (!cl.collision(body1, fixture1, body2, fixture2)) {
-						// if any collision listener returned false then skip this collision
-						// we must allow all the listeners to get notified first, then skip
-						// the collision
-						allow = false;
-					}
+				if (body1.worldIndex > body2.worldIndex) {
+					body1 = pair.getCollidable2();
+					body2 = pair.getCollidable1();
+					fixture1 = pair.getFixture2();
+					fixture2 = pair.getFixture1();
 				}
-				if (!allow) continue;
 				
-				// get their transforms
-				Transform transform1 = body1.getTransform();
-				Transform transform2 = body2.getTransform();
+				// the contacts between sleeping bodies are retained
+				if (!isAwake(body1) && !isAwake(body2)) continue;
 				
-				Convex convex2 = fixture2.getShape();
-				Convex convex1 = fixture1.getShape();
+				// the children of a composite are tested individually
+				if (fixture1.getShape() instanceof Composite || fixture2.getShape() instanceof Composite) {
+					contactConstraintCount += this.detectComposite(body1, fixture1, body2, fixture2, collisionListeners);
+				} else if (this.detect(body1, fixture1, body2, fixture2, collisionListeners)) {
+					contactConstraintCount++;
+				}
+			}
+			
+			// fast bodies can reach pairs that don't overlap in the broad-phase
+			if (speculative) {
+				contactConstraintCount += this.detectSpeculative(collisionListeners);
+			}
+		} else if (profile) {
+			statistics.broadphaseTime += System.nanoTime() - t0;
+		}
+		
+		if (profile) t1 = System.nanoTime();
+		
+		// warm start the contact constraints
+		this.contactManager.updateAndNotify(this.getListeners(ContactListener.class), this.settings);
+		
+		if (profile) statistics.contactUpdateTime += System.nanoTime() - t1;
+		
+		for (int i = 0; i < plSize; i++) {
+			StepPhaseListener pl = phaseListeners.get(i);
+			pl.detectEnd(this, size, pairCount, contactConstraintCount);
+		}
+	}
+	
+	/**
+	 * Detects the collision between the given fixtures and adds a {@link ContactConstraint}
+	 * if they are in collision.
+	 * <p>
+	 * The fixtures are tested using the {@link NarrowphaseDetector} and, if they are in collision,
+	 * the {@link ManifoldSolver}.  In {@link ContinuousDetectionMode#SPECULATIVE} mode, separated 
+	 * fixtures that can come into contact during the next step are also added.
+	 * <p>
+	 * This method notifies the {@link CollisionListener}s.  If any {@link CollisionListener} 
+	 * returns false, the collision is ignored.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @param collisionListeners the collision listeners to notify
+	 * @return boolean true if a contact constraint was added
+	 * @since 3.2.4
+	 */
+	private boolean detect(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, List<CollisionListener> collisionListeners) {
+		int clSize = collisionListeners.size();
+		boolean profile = this.settings.isStepStatisticsEnabled();
+		StepStatistics statistics = this.statistics;
+		long t0 = 0;
+		boolean caching = this.narrowphaseDetector instanceof CachingNarrowphaseDetector;
+		boolean manifoldCaching = this.manifoldSolver instanceof CachingManifoldSolver;
+		boolean speculative = this.settings.getContinuousDetectionMode() == ContinuousDetectionMode.SPECULATIVE;
+		
+		boolean allow = true;
+		for (int j = 0; j < clSize; j++) {
+			CollisionListener cl = collisionListeners.get(j);
+			if (!cl.collision(body1, fixture1, body2, fixture2)) {
+				// if any collision listener returned false then skip this collision
+				// we must allow all the listeners to get notified first, then skip
+				// the collision
+				allow = false;
+			}
+		}
+		if (!allow) return false;
+		
+		// get their transforms
+		Transform transform1 = body1.getTransform();
+		Transform transform2 = body2.getTransform();
+		
+		Convex convex2 = fixture2.getShape();
+		Convex convex1 = fixture1.getShape();
+		
+		Penetration penetration = new Penetration();
+		if (profile) t0 = System.nanoTime();
+		// test the two convex shapes
+		boolean collision = false;
+		PairCache pairCache = null;
+		if (caching) {
+			// use the information retained from the last test of the pair
+			pairCache = PairCache.get(fixture1, fixture2, this.detection);
+			NarrowphaseCache cache = pairCache.narrowphase;
+			if (cache == null) {
+				cache = new NarrowphaseCache();
+				pairCache.narrowphase = cache;
+			}
+			collision = ((CachingNarrowphaseDetector)this.narrowphaseDetector).detect(convex1, transform1, convex2, transform2, penetration, cache);
+		} else {
+			collision = this.narrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+		if (profile) statistics.narrowphaseTime += System.nanoTime() - t0;
+		if (collision) {
+			// check for zero penetration
+			if (penetration.getDepth() == 0.0) {
+				// this should only happen if numerical error occurs
+				return false;
+			}
+			// perform post processing
+			if (this.narrowphasePostProcessor != null) {
+				this.narrowphasePostProcessor.process(convex1, transform1, convex2, transform2, penetration);
+			}
+			// notify of the narrow-phase collision
+			allow = true;
+			for (int j = 0; j < clSize; j++) {
+				CollisionListener cl = collisionListeners.get(j);
+				if (!cl.collision(body1, fixture1, body2, fixture2, penetration)) {
+					// if any collision listener returned false then skip this collision
+					// we must allow all the listeners to get notified first, then skip
+					// the collision
+					allow = false;
+				}
+			}
+			if (!allow) return false;
+			if (profile) {
+				statistics.narrowphaseCollisions++;
+				t0 = System.nanoTime();
+			}
+			Manifold manifold = new Manifold();
+			// if there is penetration then find a contact manifold
+			// using the filled in penetration object
+			boolean found = false;
+			if (manifoldCaching) {
+				// use the features of the last manifold of the pair
+				if (pairCache == null) {
+					pairCache = PairCache.get(fixture1, fixture2, this.detection);
+				}
+				ManifoldCache cache = pairCache.manifold;
+				if (cache == null) {
+					cache = new ManifoldCache();
+					pairCache.manifold = cache;
+				}
+				found = ((CachingManifoldSolver)this.manifoldSolver).getManifold(penetration, convex1, transform1, convex2, transform2, manifold, cache);
+			} else {
+				found = this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform2, manifold);
+			}
+			if (profile) statistics.manifoldTime += System.nanoTime() - t0;
+			if (found) {
+				// check for zero points
+				if (manifold.getPoints().size() == 0) {
+					// this should only happen if numerical error occurs
+					return false;
+				}
+				// add the contact constraint
+				return this.addContactConstraint(body1, fixture1, body2, fixture2, manifold, collisionListeners);
+			}
+		} else if (speculative) {
+			// the pair may come into contact during the next step
+			Manifold manifold = this.getSpeculativeManifold(body1, fixture1, body2, fixture2);
+			if (manifold != null) {
+				return this.addContactConstraint(body1, fixture1, body2, fixture2, manifold, collisionListeners);
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Detects the collisions between the children of the {@link Composite} fixture of the 
+	 * given pair and the other fixture and adds a {@link ContactConstraint} for each child
+	 * in collision.
+	 * <p>
+	 * Only the children whose bounds overlap the other fixture's {@link AABB} are tested.  In
+	 * {@link ContinuousDetectionMode#SPECULATIVE} mode the {@link AABB} is expanded by the 
+	 * distance the bodies can approach one another in the next step.
+	 * <p>
+	 * The contacts are between the {@link ChildFixture}s and the other fixture.  If both
+	 * fixtures are {@link Composite}s, the children of the first are tested against the
+	 * children of the second whose bounds overlap them, and the contacts are between the
+	 * {@link ChildFixture}s of both.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @param collisionListeners the collision listeners to notify
+	 * @return int the number of contact constraints added
+	 * @since 3.2.4
+	 */
+	private int detectComposite(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, List<CollisionListener> collisionListeners) {
+		Transform transform1 = body1.getTransform();
+		Transform transform2 = body2.getTransform();
+		Convex convex1 = fixture1.getShape();
+		Convex convex2 = fixture2.getShape();
+		
+		// the distance the bodies can approach one another in the next step
+		double expansion = 0.0;
+		if (this.settings.getContinuousDetectionMode() == ContinuousDetectionMode.SPECULATIVE) {
+			double w1 = Math.abs(body1.getAngularVelocity()) * body1.getRotationDiscRadius();
+			double w2 = Math.abs(body2.getAngularVelocity()) * body2.getRotationDiscRadius();
+			double reach = (body1.velocity.distance(body2.velocity) + w1 + w2) * this.step.getDeltaTime();
+			expansion = 2.0 * reach;
+		}
+		
+		AABB aabb = this.compositeAABB;
+		int count = 0;
+		if (!(convex1 instanceof Composite)) {
+			// test the children of the second against the first
+			aabb.set(fixture1.getAABB(transform1));
+			aabb.expand(expansion);
+			ChildQuery query = this.childQuery2;
+			int size = query.query((Composite)convex2, transform2, aabb);
+			for (int i = 0; i < size; i++) {
+				BodyFixture child = fixture2.getChildFixture(query.indices[i]);
+				if (this.detect(body1, fixture1, body2, child, collisionListeners)) {
+					count++;
+				}
+			}
+			return count;
+		}
+		
+		// test the children of the first against the second, or its children
+		boolean composite = convex2 instanceof Composite;
+		aabb.set(fixture2.getAABB(transform2));
+		aabb.expand(expansion);
+		ChildQuery query1 = this.childQuery1;
+		int size1 = query1.query((Composite)convex1, transform1, aabb);
+		for (int i = 0; i < size1; i++) {
+			BodyFixture child1 = fixture1.getChildFixture(query1.indices[i]);
+			if (!composite) {
+				if (this.detect(body1, child1, body2, fixture2, collisionListeners)) {
+					count++;
+				}
+				continue;
+			}
+			aabb.set(child1.getAABB(transform1));
+			aabb.expand(expansion);
+			ChildQuery query2 = this.childQuery2;
+			int size2 = query2.query((Composite)convex2, transform2, aabb);
+			for (int j = 0; j < size2; j++) {
+				BodyFixture child2 = fixture2.getChildFixture(query2.indices[j]);
+				if (this.detect(body1, child1, body2, child2, collisionListeners)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Adds the given fixture to the given list or, if its shape is a {@link Composite},
+	 * its {@link ChildFixture}s whose bounds overlap the given world space {@link AABB}.
+	 * @param fixture the fixture
+	 * @param transform the fixture's body's transform
+	 * @param aabb the world space {@link AABB}
+	 * @param fixtures the list to add the fixtures to
+	 * @since 3.2.4
+	 */
+	private static void addFixtures(BodyFixture fixture, Transform transform, AABB aabb, List<BodyFixture> fixtures) {
+		if (fixture.getShape() instanceof Composite) {
+			World.addChildFixtures(fixture, transform, aabb, fixtures);
+		} else {
+			fixtures.add(fixture);
+		}
+	}
+	
+	/**
+	 * Adds the given fixture to the given list or, if its shape is a {@link Composite},
+	 * its {@link ChildFixture}s whose bounds overlap the given {@link Ray}.
+	 * @param fixture the fixture
+	 * @param transform the fixture's body's transform
+	 * @param ray the {@link Ray}
+	 * @param length the length of the ray; zero or less for infinite length
+	 * @param fixtures the list to add the fixtures to
+	 * @since 3.2.4
+	 */
+	private static void addFixtures(BodyFixture fixture, Transform transform, Ray ray, double length, List<BodyFixture> fixtures) {
+		Convex convex = fixture.getShape();
+		if (convex instanceof Composite) {
+			Vector2 s = ray.getStart();
+			if (length <= 0.0) {
+				// an infinite ray only needs to reach the far side of the composite
+				AABB bounds = convex.createAABB(transform);
+				double ex = bounds.getWidth() * 0.5;
+				double ey = bounds.getHeight() * 0.5;
+				length = s.distance(bounds.getMinX() + ex, bounds.getMinY() + ey) + Math.sqrt(ex * ex + ey * ey);
+			}
+			Vector2 d = ray.getDirectionVector();
+			double x = s.x + d.x * length;
+			double y = s.y + d.y * length;
+			AABB aabb = new AABB(Math.min(s.x, x), Math.min(s.y, y), Math.max(s.x, x), Math.max(s.y, y));
+			World.addChildFixtures(fixture, transform, aabb, fixtures);
+		} else {
+			fixtures.add(fixture);
+		}
+	}
+	
+	/**
+	 * Adds the {@link ChildFixture}s of the given fixture whose bounds overlap the given
+	 * world space {@link AABB} to the given list.
+	 * @param fixture the fixture whose shape is a {@link Composite}
+	 * @param transform the fixture's body's transform
+	 * @param aabb the world space {@link AABB}
+	 * @param fixtures the list to add the fixtures to
+	 * @since 3.2.4
+	 */
+	private static void addChildFixtures(BodyFixture fixture, Transform transform, AABB aabb, List<BodyFixture> fixtures) {
+		ChildQuery query = new ChildQuery();
+		int size = query.query((Composite)fixture.getShape(), transform, aabb);
+		for (int i = 0; i < size; i++) {
+			fixtures.add(fixture.getChildFixture(query.indices[i]));
+		}
+	}
+	
+	/**
+	 * Creates a {@link ContactConstraint} from the given {@link Manifold} and adds it to
+	 * both bodies and the contact manager.
+	 * <p>
+	 * The {@link CollisionListener}s are notified of the manifold and the contact constraint.
+	 * If any {@link CollisionListener} returns false, the collision is ignored.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @param manifold the contact manifold
+	 * @param collisionListeners the collision listeners to notify
+	 * @return boolean true if the contact constraint was added
+	 * @since 3.2.4
+	 */
+	private boolean addContactConstraint(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Manifold manifold, List<CollisionListener> collisionListeners) {
+		int clSize = collisionListeners.size();
+		// notify of the manifold solving result
+		boolean allow = true;
+		for (int j = 0; j < clSize; j++) {
+			CollisionListener cl = collisionListeners.get(j);
+			if (!cl.collision(body1, fixture1, body2, fixture2, manifold)) {
+				// if any collision listener returned false then skip this collision
+				// we must allow all the listeners to get notified first, then skip
+				// the collision
+				allow = false;
+			}
+		}
+		if (!allow) return false;
+		// create a contact constraint
+		ContactConstraint contactConstraint = new ContactConstraint(body1, fixture1, 
+				                                                    body2, fixture2, 
+				                                                    manifold,
+				                                                    this.coefficientMixer.mixFriction(fixture1.getFriction(), fixture2.getFriction()),
+				                                                    this.coefficientMixer.mixRestitution(fixture1.getRestitution(), fixture2.getRestitution()));
+		
+		allow = true;
+		// notify of the created contact constraint
+		for (int j = 0; j < clSize; j++) {
+			CollisionListener cl = collisionListeners.get(j);
+			if (!cl.collision(contactConstraint)) {
+				// if any collision listener returned false then skip this collision
+				// we must allow all the listeners to get notified first, then skip
+				// the collision
+				allow = false;
+			}
+		}
+		if (!allow) return false;
+		
+		// add a contact edge to both bodies
+		ContactEdge contactEdge1 = new ContactEdge(body2, contactConstraint);
+		ContactEdge contactEdge2 = new ContactEdge(body1, contactConstraint);
+		InteractionEdge.link(body1.contacts, contactEdge1, body2.contacts, contactEdge2);
+		// merge the islands of the bodies
+		if (!contactConstraint.isSensor() && !body1.isStatic() && !body2.isStatic()) {
+			this.islandManager.union(body1, body2);
+		}
+		// add the contact constraint to the contact manager
+		this.contactManager.queue(contactConstraint);
+		if (this.settings.isStepStatisticsEnabled()) this.statistics.contactConstraints++;
+		return true;
+	}
+	
+	/**
+	 * Finds the speculative contacts of the awake dynamic bodies that can reach fixtures
+	 * whose {@link AABB}s don't overlap their own in the broad-phase.
+	 * <p>
+	 * The broad-phase {@link AABB}s don't account for the motion of the bodies, so the
+	 * broad-phase is queried with the {@link AABB} of each fixture expanded by the distance
+	 * its body can travel in the next step.  The pairs that overlap in the broad-phase
+	 * were already tested and are skipped.
+	 * <p>
+	 * A pair of awake dynamic bodies is only tested by the body that can travel the furthest
+	 * (the first in the index if they can travel the same distance).  Its query is expanded by
+	 * twice its reach so it finds every pair the other body could.
+	 * @param collisionListeners the collision listeners to notify
+	 * @return int the number of contact constraints added
+	 * @see ContinuousDetectionMode#SPECULATIVE
+	 * @since 3.2.4
+	 */
+	private int detectSpeculative(List<CollisionListener> collisionListeners) {
+		int clSize = collisionListeners.size();
+		int count = 0;
+		double dt = this.step.getDeltaTime();
+		AABB aabb = this.speculativeAABB;
+		
+		List<Body> bodies = this.bodyIndex.get(BodyIndex.DYNAMIC);
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body1 = bodies.get(i);
+			if (!body1.isActive()) continue;
+			// the distance the body can travel in the next step (twice over so that
+			// the pairs of two moving bodies are found by the faster of the two)
+			double reach = World.getReach(body1, dt);
+			if (reach <= 0.0) continue;
+			
+			Transform transform1 = body1.getTransform();
+			int fSize = body1.getFixtureCount();
+			for (int j = 0; j < fSize; j++) {
+				BodyFixture fixture1 = body1.getFixture(j);
+				if (fixture1.isSensor()) continue;
+				AABB aabb1 = this.broadphaseDetector.getAABB(body1, fixture1);
+				aabb.set(fixture1.getAABB(transform1));
+				aabb.expand(4.0 * reach);
+				// if it's within the broad-phase AABB then all pairs were already tested
+				if (aabb1.contains(aabb)) continue;
 				
-				Penetration penetration = new Penetration();
-				// test the two convex shapes
-				if (this.narrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration)) {
-					// check for zero penetration
-					if (penetration.getDepth() == 0.0) {
-						// this should only happen if numerical error occurs
-						continue;
+				List<BroadphaseItem<Body, BodyFixture>> items = this.broadphaseDetector.detect(aabb);
+				int iSize = items.size();
+				for (int k = 0; k < iSize; k++) {
+					BroadphaseItem<Body, BodyFixture> item = items.get(k);
+					Body body2 = item.getCollidable();
+					BodyFixture fixture2 = item.getFixture();
+					if (body1 == body2) continue;
+					// pairs that overlap in the broad-phase were tested already
+					if (aabb1.overlaps(this.broadphaseDetector.getAABB(body2, fixture2))) continue;
+					if (!this.detectBroadphaseFilter.isAllowed(body1, fixture1, body2, fixture2)) continue;
+					
+					// the pairs of two awake dynamic bodies are tested by the one that can travel furthest
+					if (body2.indexCategory == BodyIndex.DYNAMIC && !fixture2.isSensor()) {
+						double reach2 = World.getReach(body2, dt);
+						if (reach2 > reach || (reach2 == reach && body2.indexPosition < i)) continue;
 					}
-					// perform post processing
-					if (this.narrowphasePostProcessor != null) {
-						this.narrowphasePostProcessor.process(convex1, transform1, convex2, transform2, penetration);
+					
+					// the children of a composite are tested individually
+					if (fixture1.getShape() instanceof Composite || fixture2.getShape() instanceof Composite) {
+						count += this.detectComposite(body1, fixture1, body2, fixture2, collisionListeners);
+						continue;
 					}
-					// notify of the narrow-phase collision
-					allow = true;
-					for (int j = 0; j < clSize; j++) {
-						CollisionListener cl = collisionListeners.get(j);
-						if (!cl.collision(body1, fixture1, body2, fixture2, penetration)) {
+					
+					boolean allow = true;
+					for (int l = 0; l < clSize; l++) {
+						CollisionListener cl = collisionListeners.get(l);
+						if (!cl.collision(body1, fixture1, body2, fixture2)) {
 							// if any collision listener returned false then skip this collision
 							// we must allow all the listeners to get notified first, then skip
 							// the collision
@@ -787,61 +1493,268 @@ public class World implements Shiftable, DataContainer {
 						}
 					}
 					if (!allow) continue;
-					Manifold manifold = new Manifold();
-					// if there is penetration then find a contact manifold
-					// using the filled in penetration object
-					if (this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform2, manifold)) {
-						// check for zero points
-						if (manifold.getPoints().size() == 0) {
-							// this should only happen if numerical error occurs
-							continue;
-						}
-						// notify of the manifold solving result
-						allow = true;
-						for (int j = 0; j < clSize; j++) {
-							CollisionListener cl = collisionListeners.get(j);
-							if (!cl.collision(body1, fixture1, body2, fixture2, manifold)) {
-								// if any collision listener returned false then skip this collision
-								// we must allow all the listeners to get notified first, then skip
-								// the collision
-								allow = false;
-							}
-						}
-						if (!allow) continue;
-						// create a contact constraint
-						ContactConstraint contactConstraint = new ContactConstraint(body1, fixture1, 
-								                                                    body2, fixture2, 
-								                                                    manifold,
-								                                                    this.coefficientMixer.mixFriction(fixture1.getFriction(), fixture2.getFriction()),
-								                                                    this.coefficientMixer.mixRestitution(fixture1.getRestitution(), fixture2.getRestitution()));
-						
-						allow = true;
-						// notify of the created contact constraint
-						for (int j = 0; j < clSize; j++) {
-							CollisionListener cl = collisionListeners.get(j);
-							if (!cl.collision(contactConstraint)) {
-								// if any collision listener returned false then skip this collision
-								// we must allow all the listeners to get notified first, then skip
-								// the collision
-								allow = false;
-							}
+					
+					Manifold manifold = this.getSpeculativeManifold(body1, fixture1, body2, fixture2);
+					if (manifold != null) {
+						if (this.addContactConstraint(body1, fixture1, body2, fixture2, manifold, collisionListeners)) {
+							count++;
 						}
-						if (!allow) continue;
-						
-						// add a contact edge to both bodies
-						ContactEdge contactEdge1 = new ContactEdge(body2, contactConstraint);
-						ContactEdge contactEdge2 = new ContactEdge(body1, contactConstraint);
-						body1.contacts.add(contactEdge1);
-						body2.contacts.add(contactEdge2);
-						// add the contact constraint to the contact manager
-						this.contactManager.queue(contactConstraint);
 					}
 				}
 			}
 		}
 		
-		// warm start the contact constraints
-		this.contactManager.updateAndNotify(this.getListeners(ContactListener.class), this.settings);
+		return count;
+	}
+	
+	/**
+	 * Returns the distance the given {@link Body} can travel in the next step.
+	 * @param body the body
+	 * @param dt the step
+	 * @return double
+	 * @since 3.2.4
+	 */
+	private static final double getReach(Body body, double dt) {
+		return (body.getLinearVelocity().getMagnitude() + Math.abs(body.getAngularVelocity()) * body.getRotationDiscRadius()) * dt;
+	}
+	
+	/**
+	 * Returns a {@link Manifold} with the speculative contacts of the given separated fixtures
+	 * if they can come into contact during the next step.
+	 * <p>
+	 * The fixtures can come into contact if their separation is less than the distance
+	 * the bodies can approach one another along the separation normal in one step.  The
+	 * manifold is found by the {@link ManifoldSolver} as if the second fixture had moved
+	 * that distance, so it includes all the points within reach, and the depth of each 
+	 * point is the negative of its separation.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @return {@link Manifold} null if the fixtures can't come into contact during the next step
+	 * @see ContinuousDetectionMode#SPECULATIVE
+	 * @since 3.2.4
+	 */
+	private Manifold getSpeculativeManifold(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+		// sensors don't need to be stopped
+		if (fixture1.isSensor() || fixture2.isSensor()) return null;
+		
+		double dt = this.step.getDeltaTime();
+		Vector2 v1 = body1.getLinearVelocity();
+		Vector2 v2 = body2.getLinearVelocity();
+		double w1 = Math.abs(body1.getAngularVelocity()) * body1.getRotationDiscRadius();
+		double w2 = Math.abs(body2.getAngularVelocity()) * body2.getRotationDiscRadius();
+		
+		// the most the bodies can approach one another in any direction
+		double reach = (v1.distance(v2) + w1 + w2) * dt;
+		if (reach <= 0.0) return null;
+		
+		Convex convex1 = fixture1.getShape();
+		Convex convex2 = fixture2.getShape();
+		Transform transform1 = body1.getTransform();
+		Transform transform2 = body2.getTransform();
+		
+		// quickly reject the pairs that are too far apart
+		AABB aabb1 = fixture1.getAABB(transform1);
+		AABB aabb2 = fixture2.getAABB(transform2);
+		if (aabb1.getMinX() - reach > aabb2.getMaxX() || aabb1.getMaxX() + reach < aabb2.getMinX() ||
+			aabb1.getMinY() - reach > aabb2.getMaxY() || aabb1.getMaxY() + reach < aabb2.getMinY()) {
+			return null;
+		}
+		
+		Separation separation = this.speculativeSeparation;
+		if (!this.distanceDetector.distance(convex1, transform1, convex2, transform2, separation)) return null;
+		
+		// the separation normal points from the first fixture to the second
+		Vector2 n = separation.getNormal();
+		double distance = separation.getDistance();
+		double approach = ((v1.x - v2.x) * n.x + (v1.y - v2.y) * n.y + w1 + w2) * dt;
+		if (distance > approach) return null;
+		
+		// find the points of the manifold that are within reach by moving the second
+		// fixture the whole approach distance towards the first
+		Transform transform = this.speculativeTransform;
+		transform.set(transform2);
+		transform.translate(-n.x * approach, -n.y * approach);
+		Penetration penetration = new Penetration(n.copy(), approach - distance);
+		Manifold manifold = new Manifold();
+		if (!this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform, manifold)) return null;
+		
+		// the points may be on either fixture, so move them along the normal to halfway
+		// between the closest points (this doesn't change the contact's effect on rotation)
+		Vector2 p1 = separation.getPoint1();
+		Vector2 p2 = separation.getPoint2();
+		double offset = ((p1.x + p2.x) * n.x + (p1.y + p2.y) * n.y) * 0.5;
+		
+		// the depth of each point is the negative of its separation
+		List<ManifoldPoint> points = manifold.getPoints();
+		int size = points.size();
+		if (size == 0) return null;
+		for (int i = 0; i < size; i++) {
+			ManifoldPoint point = points.get(i);
+			Vector2 p = point.getPoint();
+			double d = offset - p.dot(n);
+			p.add(n.x * d, n.y * d);
+			point.setDepth(point.getDepth() - approach);
+		}
+		return manifold;
+	}
+	
+	/**
+	 * Returns true if the given {@link Body} is awake.
+	 * <p>
+	 * A {@link Body} is awake if it's active, not asleep and not static.  Collision
+	 * detection is only performed on pairs where at least one {@link Body} is awake.
+	 * @param body the body
+	 * @return boolean
+	 * @see ContactConstraint#isAsleep()
+	 */
+	static boolean isAwake(Body body) {
+		return body.isActive() && !body.isAsleep() && !body.isStatic();
+	}
+	
+	/**
+	 * Clears the contacts of the given awake {@link Body}.
+	 * <p>
+	 * The contacts are removed from both bodies since the other body may be
+	 * sleeping or static, in which case it retains its other contacts.
+	 * @param body the body
+	 */
+	private void clearContacts(Body body) {
+		int cSize = body.contacts.size();
+		for (int i = 0; i < cSize; i++) {
+			ContactEdge contactEdge = body.contacts.get(i);
+			Body other = contactEdge.other;
+			// awake bodies clear their own contacts and inactive
+			// bodies are skipped during detection
+			if (isAwake(other) || !other.isActive()) continue;
+			// remove the contact edge from the other body
+			InteractionEdge.unlink(other.contacts, contactEdge.reciprocal);
+		}
+		body.contacts.clear();
+	}
+	
+	/**
+	 * Adds the given static {@link Body} to the given {@link Island}.
+	 * <p>
+	 * Static bodies are not members of the persistent islands so that a single static
+	 * body doesn't join all the islands resting on it, but they must still be added to
+	 * each island they interact with so that they are put to sleep and woken up with it.
+	 * @param island the island
+	 * @param body the body
+	 */
+	private void addStatic(Island island, Body body) {
+		if (body.isStatic() && body.isActive() && !body.isOnIsland()) {
+			island.add(body);
+			body.setOnIsland(true);
+			body.setAsleep(false);
+		}
+	}
+	
+	/**
+	 * Wakes up the sleeping {@link Body}s that were moved and tests the other sleeping 
+	 * and static bodies that changed since the last detection against the bounds and 
+	 * updates them in the broad-phase.
+	 * <p>
+	 * The woken bodies and the static bodies that are now kinematic are handled with the
+	 * other awake bodies by {@link #detect(List, List)}, so this method should be called before.
+	 * @param boundsListeners the bounds listeners to notify
+	 * @see BodyIndex#getChanged()
+	 * @since 3.2.4
+	 */
+	private void detectChanged(List<BoundsListener> boundsListeners) {
+		BodyIndex bodyIndex = this.bodyIndex;
+		List<Body> bodies = bodyIndex.getChanged();
+		int blSize = boundsListeners.size();
+		for (int i = 0; i < bodies.size(); i++) {
+			Body body = bodies.get(i);
+			// the velocity of a static body may have been modified directly
+			bodyIndex.update(body);
+			// the retained contacts of a sleeping body that was moved are invalid
+			if (body.indexCategory == BodyIndex.ASLEEP && body.indexMoved) {
+				body.setAsleep(false);
+			}
+			// the body may have changed category since
+			int category = body.indexCategory;
+			if (category == BodyIndex.STATIC) {
+				// so are those of the sleeping bodies touching or joined
+				// to a static body that was moved
+				if (body.indexMoved) {
+					World.wakeInteracting(body);
+				}
+			} else if (category != BodyIndex.ASLEEP) {
+				continue;
+			}
+			// a static body whose velocity was only read (by a joint for
+			// example) hasn't moved since its last broad-phase update
+			if (!body.indexStale) continue;
+			if (this.bounds != null && this.bounds.isOutside(body)) {
+				body.setActive(false);
+				for (int j = 0; j < blSize; j++) {
+					BoundsListener bl = boundsListeners.get(j);
+					bl.outside(body);
+				}
+			}
+			this.broadphaseDetector.update(body);
+		}
+		bodyIndex.clearChanged();
+	}
+	
+	/**
+	 * Wakes up the sleeping {@link Body}s in contact with or joined to the given {@link Body}.
+	 * @param body the body
+	 * @since 3.2.4
+	 */
+	private static void wakeInteracting(Body body) {
+		List<ContactEdge> contacts = body.contacts;
+		int size = contacts.size();
+		for (int i = 0; i < size; i++) {
+			contacts.get(i).other.setAsleep(false);
+		}
+		List<JointEdge> joints = body.joints;
+		size = joints.size();
+		for (int i = 0; i < size; i++) {
+			joints.get(i).other.setAsleep(false);
+		}
+	}
+	
+	/**
+	 * Tests the given awake {@link Body}s against the bounds, clears their 
+	 * contacts and updates them in the broad-phase.
+	 * <p>
+	 * The {@link #bodyIndex} should be locked since the bodies may change state.
+	 * @param bodies the bodies
+	 * @param boundsListeners the bounds listeners to notify
+	 * @since 3.2.4
+	 */
+	private void detect(List<Body> bodies, List<BoundsListener> boundsListeners) {
+		int size = bodies.size();
+		int blSize = boundsListeners.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			// skip if already not active
+			if (!body.isActive()) continue;
+			// the velocity or mass may have been modified directly
+			this.bodyIndex.update(body);
+			// the contacts of static bodies with sleeping or static bodies are retained
+			if (isAwake(body)) {
+				// clear all the old contacts
+				this.clearContacts(body);
+			}
+			// check if bounds have been set
+			// check if the body is out of bounds
+			if (this.bounds != null && this.bounds.isOutside(body)) {
+				// set the body to inactive
+				body.setActive(false);
+				// if so, notify via the listeners
+				for (int j = 0; j < blSize; j++) {
+					BoundsListener bl = boundsListeners.get(j);
+					bl.outside(body);
+				}
+			}
+			// update the broadphase with the new position/orientation
+			this.broadphaseDetector.update(body);
+		}
 	}
 	
 	/**
@@ -866,17 +1779,26 @@ public class World implements Shiftable, DataContainer {
 	 */
 	protected void solveTOI(ContinuousDetectionMode mode) {
 		List<TimeOfImpactListener> listeners = this.getListeners(TimeOfImpactListener.class);
-		// get the number of bodies
-		int size = this.bodies.size();
+		List<StepPhaseListener> phaseListeners = this.getListeners(StepPhaseListener.class);
+		int plSize = phaseListeners.size();
+		int count = 0;
 		
 		// check the CCD mode
 		boolean bulletsOnly = (mode == ContinuousDetectionMode.BULLETS_ONLY);
 		
+		// notify of the time of impact solving
+		for (int i = 0; i < plSize; i++) {
+			StepPhaseListener pl = phaseListeners.get(i);
+			pl.timeOfImpactBegin(this);
+		}
+		
 		// loop over all the bodies and find the minimum TOI for each
 		// dynamic body
+		List<Body> bodies = this.bodyIndex.get(BodyIndex.DYNAMIC);
+		int size = bodies.size();
 		for (int i = 0; i < size; i++) {
 			// get the body
-			Body body = this.bodies.get(i);
+			Body body = bodies.get(i);
 			
 			// if we are only doing CCD on bullets only, then check
 			// to make sure that the current body is a bullet
@@ -900,6 +1822,12 @@ public class World implements Shiftable, DataContainer {
 
 			// solve for time of impact
 			this.solveTOI(body, listeners);
+			count++;
+		}
+		
+		for (int i = 0; i < plSize; i++) {
+			StepPhaseListener pl = phaseListeners.get(i);
+			pl.timeOfImpactEnd(this, count);
 		}
 	}
 	
@@ -923,8 +1851,6 @@ public class World implements Shiftable, DataContainer {
 	 * @since 3.1.0
 	 */
 	protected void solveTOI(Body body1, List<TimeOfImpactListener> listeners) {
-		int size = this.bodies.size();
-		
 		// generate a swept AABB for this body
 		AABB aabb1 = body1.createSweptAABB();
 		boolean bullet = body1.isBullet();
@@ -938,110 +1864,127 @@ public class World implements Shiftable, DataContainer {
 		Body minBody = null;
 		
 		// loop over all the other bodies to find the minimum TOI
-		for (int i = 0; i < size; i++) {
-			// get the other body
-			Body body2 = this.bodies.get(i);
+		// (inactive bodies are skipped, as are awake dynamic bodies unless
+		// the body is a bullet)
+		BodyIndex bodyIndex = this.bodyIndex;
+		for (int category = BodyIndex.ASLEEP; category <= BodyIndex.STATIC; category++) {
+			// skip other awake dynamic bodies unless its a bullet
+			if (category == BodyIndex.DYNAMIC && !bullet) continue;
+			List<Body> bodies = bodyIndex.get(category);
+			int size = bodies.size();
+			for (int i = 0; i < size; i++) {
+				// get the other body
+				Body body2 = bodies.get(i);
 
-			// skip this test if they are the same body
-			if (body1 == body2) continue;
+				// skip this test if they are the same body
+				if (body1 == body2) continue;
 			
-			// make sure the other body is active
-			if (!body2.isActive()) continue;
+				// make sure the other body is active
+				if (!body2.isActive()) continue;
 
-			// skip other dynamic bodies; we only do TOI for
-			// dynamic vs. static/kinematic unless its a bullet
-			if (body2.isDynamic() && !bullet) continue;
+				// skip other dynamic bodies; we only do TOI for
+				// dynamic vs. static/kinematic unless its a bullet
+				if (body2.isDynamic() && !bullet) continue;
 			
-			// check for connected pairs who's collision is not allowed
-			if (body1.isConnected(body2, false)) continue;
+				// check for connected pairs who's collision is not allowed
+				if (body1.isConnected(body2, false)) continue;
 			
-			// check for bodies already in collision
-			if (body1.isInContact(body2)) continue;
+				// check for bodies already in collision
+				if (body1.isInContact(body2)) continue;
 
-			// create a swept AABB for the other body
-			AABB aabb2 = body2.createSweptAABB();
-			// if the swept AABBs don't overlap then don't bother testing them
-			if (!aabb1.overlaps(aabb2)) continue; 
+				// create a swept AABB for the other body
+				AABB aabb2 = body2.createSweptAABB();
+				// if the swept AABBs don't overlap then don't bother testing them
+				if (!aabb1.overlaps(aabb2)) continue; 
 
-			TimeOfImpact toi = new TimeOfImpact();
-			int fc1 = body1.getFixtureCount();
-			int fc2 = body2.getFixtureCount();
+				TimeOfImpact toi = new TimeOfImpact();
+				boolean profile = this.settings.isStepStatisticsEnabled();
 			
-			// get the velocities for the time step since we want
-			// [t1, t2] to be bound to this time step
-			double dt = this.step.getDeltaTime();
-			// the linear and angular velocities should match what 
-			// we did when we advanced the position. alternatively
-			// we could calculate these from the start and end transforms
-			// but this has the problem of not knowing which direction
-			// the angular velocity is going (clockwise or anti-clockwise).
-			// however, this also has the problem of being different that
-			// the way the bodies are advanced in the Island solving
-			// (for now they are the same, but could be changed in the
-			// future).
-			Vector2 v1 = body1.getLinearVelocity().product(dt);
-			Vector2 v2 = body2.getLinearVelocity().product(dt);
-			double av1 = body1.getAngularVelocity() * dt;
-			double av2 = body2.getAngularVelocity() * dt;
+				// get the velocities for the time step since we want
+				// [t1, t2] to be bound to this time step
+				double dt = this.step.getDeltaTime();
+				// the linear and angular velocities should match what 
+				// we did when we advanced the position. alternatively
+				// we could calculate these from the start and end transforms
+				// but this has the problem of not knowing which direction
+				// the angular velocity is going (clockwise or anti-clockwise).
+				// however, this also has the problem of being different that
+				// the way the bodies are advanced in the Island solving
+				// (for now they are the same, but could be changed in the
+				// future).
+				Vector2 v1 = body1.getLinearVelocity().product(dt);
+				Vector2 v2 = body2.getLinearVelocity().product(dt);
+				double av1 = body1.getAngularVelocity() * dt;
+				double av2 = body2.getAngularVelocity() * dt;
 			
-			Transform tx1 = body1.getInitialTransform();
-			Transform tx2 = body2.getInitialTransform();
+				Transform tx1 = body1.getInitialTransform();
+				Transform tx2 = body2.getInitialTransform();
+				
+				// the children of composites are tested individually: those within
+				// reach of the other body's swept AABB during the step
+				List<BodyFixture> fixtures1 = this.getFixtures(body1, tx1, v1, av1, aabb2);
+				List<BodyFixture> fixtures2 = this.getFixtures(body2, tx2, v2, av2, aabb1);
+				int fc1 = fixtures1.size();
+				int fc2 = fixtures2.size();
 			
-			// test against all fixture pairs taking the fixture
-			// with the smallest time of impact
-			for (int j = 0; j < fc1; j++) {
-				BodyFixture f1 = body1.getFixture(j);
+				// test against all fixture pairs taking the fixture
+				// with the smallest time of impact
+				for (int j = 0; j < fc1; j++) {
+					BodyFixture f1 = fixtures1.get(j);
 				
-				// skip sensor fixtures
-				if (f1.isSensor()) continue;
+					// skip sensor fixtures
+					if (f1.isSensor()) continue;
 				
-				for (int k = 0; k < fc2; k++) {
-					BodyFixture f2 = body2.getFixture(k);
+					for (int k = 0; k < fc2; k++) {
+						BodyFixture f2 = fixtures2.get(k);
 					
-					// skip sensor fixtures
-					if (f2.isSensor()) continue;
+						// skip sensor fixtures
+						if (f2.isSensor()) continue;
 
-					Filter filter1 = f1.getFilter();
-					Filter filter2 = f2.getFilter();
+						Filter filter1 = f1.getFilter();
+						Filter filter2 = f2.getFilter();
 					
-					// make sure the fixture filters allow the collision
-					if (!filter1.isAllowed(filter2)) {
-						continue;
-					}
+						// make sure the fixture filters allow the collision
+						if (!filter1.isAllowed(filter2)) {
+							continue;
+						}
+					
+						Convex c1 = f1.getShape();
+						Convex c2 = f2.getShape();
 					
-					Convex c1 = f1.getShape();
-					Convex c2 = f2.getShape();
+						if (profile) this.statistics.timeOfImpactTests++;
 					
-					// get the time of impact for the fixture pair
-					if (this.timeOfImpactDetector.getTimeOfImpact(c1, tx1, v1, av1, c2, tx2, v2, av2, t1, t2, toi)) {
-						// get the time of impact
-						double t = toi.getTime();
-						// check if the time of impact is less than
-						// the current time of impact
-						if (t < t2) {
-							// if it is then ask the listeners if we should use this collision
-							boolean allow = true;
-							for (TimeOfImpactListener tl : listeners) {
-								if (!tl.collision(body1, f1, body2, f2, toi)) {
-									// if any toi listener doesnt allow it, then don't allow it
-									// we need to allow all listeners to be notified before we continue
-									allow = false;
+						// get the time of impact for the fixture pair
+						if (this.timeOfImpactDetector.getTimeOfImpact(c1, tx1, v1, av1, c2, tx2, v2, av2, t1, t2, toi)) {
+							// get the time of impact
+							double t = toi.getTime();
+							// check if the time of impact is less than
+							// the current time of impact
+							if (t < t2) {
+								// if it is then ask the listeners if we should use this collision
+								boolean allow = true;
+								for (TimeOfImpactListener tl : listeners) {
+									if (!tl.collision(body1, f1, body2, f2, toi)) {
+										// if any toi listener doesnt allow it, then don't allow it
+										// we need to allow all listeners to be notified before we continue
+										allow = false;
+									}
+								}
+								if (allow) {
+									// set the new upper bound
+									t2 = t;
+									// save the minimum toi and body
+									minToi = toi;
+									minBody = body2;
 								}
-							}
-							if (allow) {
-								// set the new upper bound
-								t2 = t;
-								// save the minimum toi and body
-								minToi = toi;
-								minBody = body2;
 							}
 						}
 					}
 				}
+				// if the bodies are intersecting or do not intersect
+				// within the range of motion then skip this body
+				// and move to the next
 			}
-			// if the bodies are intersecting or do not intersect
-			// within the range of motion then skip this body
-			// and move to the next
 		}
 		
 		// make sure the time of impact is not null
@@ -1069,6 +2012,40 @@ public class World implements Shiftable, DataContainer {
 		}
 	}
 
+	/**
+	 * Returns the fixtures of the given {@link Body} to test for time of impact against
+	 * another body with the given swept {@link AABB}.
+	 * <p>
+	 * The fixtures whose shape is a {@link Composite} are replaced by their {@link ChildFixture}s
+	 * that are within reach of the swept {@link AABB} during the step.
+	 * @param body the body
+	 * @param transform the initial transform of the body
+	 * @param dp the change in position of the body during the step
+	 * @param da the change in angle of the body during the step
+	 * @param aabb the swept {@link AABB} of the other body
+	 * @return List&lt;{@link BodyFixture}&gt;
+	 * @since 3.2.4
+	 */
+	private List<BodyFixture> getFixtures(Body body, Transform transform, Vector2 dp, double da, AABB aabb) {
+		List<BodyFixture> fixtures = body.getFixtures();
+		int size = fixtures.size();
+		List<BodyFixture> result = null;
+		for (int i = 0; i < size; i++) {
+			BodyFixture fixture = fixtures.get(i);
+			if (fixture.getShape() instanceof Composite) {
+				if (result == null) {
+					result = new ArrayList<BodyFixture>(fixtures.subList(0, i));
+				}
+				// the children can move towards the other body during the step
+				AABB reach = aabb.getExpanded(2.0 * (dp.getMagnitude() + Math.abs(da) * body.getRotationDiscRadius()));
+				World.addChildFixtures(fixture, transform, reach, result);
+			} else if (result != null) {
+				result.add(fixture);
+			}
+		}
+		return result != null ? result : fixtures;
+	}
+	
 	/**
 	 * Performs a raycast against all the {@link Body}s in the {@link World}.
 	 * <p>
@@ -1283,58 +2260,66 @@ public class World implements Shiftable, DataContainer {
 		int size = items.size();
 		boolean found = false;
 		boolean allow = true;
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 		for (int i = 0; i < size; i++) {
 			// get a body to test
 			BroadphaseItem<Body, BodyFixture> item = items.get(i);
 			Body body = item.getCollidable();
-			BodyFixture fixture = item.getFixture();
 			Transform transform = body.getTransform();
+			
+			// the children of a composite are tested individually
+			fixtures.clear();
+			World.addFixtures(item.getFixture(), transform, ray, max, fixtures);
+			int fSize = fixtures.size();
+			for (int k = 0; k < fSize; k++) {
+				BodyFixture fixture = fixtures.get(k);
+				
+				// create a raycast object to store the result
+				Raycast raycast = new Raycast();
 
-			// create a raycast object to store the result
-			Raycast raycast = new Raycast();
-
-			// notify the listeners to see if we should test this fixture
-			allow = true;
-			for (int j = 0; j < rlSize; j++) {
-				RaycastListener rl = listeners.get(j);
-				// see if we should test this fixture
-				if (!rl.allow(ray, body, fixture)) {
-					allow = false;
-				}
-			}
-			if (!allow) continue;
-			// get the convex shape
-			Convex convex = fixture.getShape();
-			// perform the raycast
-			if (this.raycastDetector.raycast(ray, max, convex, transform, raycast)) {
-				// notify the listeners to see if we should allow this result
+				// notify the listeners to see if we should test this fixture
 				allow = true;
 				for (int j = 0; j < rlSize; j++) {
 					RaycastListener rl = listeners.get(j);
 					// see if we should test this fixture
-					if (!rl.allow(ray, body, fixture, raycast)) {
+					if (!rl.allow(ray, body, fixture)) {
 						allow = false;
 					}
 				}
 				if (!allow) continue;
+				// get the convex shape
+				Convex convex = fixture.getShape();
+				// perform the raycast
+				if (this.raycastDetector.raycast(ray, max, convex, transform, raycast)) {
+					// notify the listeners to see if we should allow this result
+					allow = true;
+					for (int j = 0; j < rlSize; j++) {
+						RaycastListener rl = listeners.get(j);
+						// see if we should test this fixture
+						if (!rl.allow(ray, body, fixture, raycast)) {
+							allow = false;
+						}
+					}
+					if (!allow) continue;
 				
-				if (!all) {
-					if (result == null) {
-						result = new RaycastResult(body, fixture, raycast);
-						results.add(result);
-						found = true;
+					if (!all) {
+						if (result == null) {
+							result = new RaycastResult(body, fixture, raycast);
+							results.add(result);
+							found = true;
+						} else {
+							result.body = body;
+							result.fixture = fixture;
+							result.raycast = raycast;
+						}
+						// we are only looking for the closest so
+						// set the new maximum
+						max = result.raycast.getDistance();
 					} else {
-						result.body = body;
-						result.fixture = fixture;
-						result.raycast = raycast;
+						// add this result to the results
+						results.add(new RaycastResult(body, fixture, raycast));
+						found = true;
 					}
-					// we are only looking for the closest so
-					// set the new maximum
-					max = result.raycast.getDistance();
-				} else {
-					// add this result to the results
-					results.add(new RaycastResult(body, fixture, raycast));
-					found = true;
 				}
 			}
 		}
@@ -1470,50 +2455,58 @@ public class World implements Shiftable, DataContainer {
 		Raycast raycast = new Raycast();
 		// loop over the fixtures finding the closest one
 		boolean found = false;
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 		for (int i = 0; i < size; i++) {
 			// get the fixture
-			BodyFixture fixture = body.getFixture(i);
+			BodyFixture bodyFixture = body.getFixture(i);
 			// check for sensor
-			if (ignoreSensors && fixture.isSensor()) {
+			if (ignoreSensors && bodyFixture.isSensor()) {
 				// skip this fixture
 				continue;
 			}
 			// check against the filter
-			if (filter != null && !filter.isAllowed(fixture.getFilter())) {
+			if (filter != null && !filter.isAllowed(bodyFixture.getFilter())) {
 				continue;
 			}
-			// notify the listeners to see if we should test this fixture
-			allow = true;
-			for (int j = 0; j < rlSize; j++) {
-				RaycastListener rl = listeners.get(j);
-				// see if we should test this fixture
-				if (!rl.allow(ray, body, fixture)) {
-					allow = false;
-				}
-			}
-			if (!allow) continue;
-			// get the convex shape
-			Convex convex = fixture.getShape();
-			// perform the raycast
-			if (this.raycastDetector.raycast(ray, max, convex, transform, raycast)) {
-				// notify the listeners to see if we should allow this result
+			// the children of a composite are tested individually
+			fixtures.clear();
+			World.addFixtures(bodyFixture, transform, ray, max, fixtures);
+			int fSize = fixtures.size();
+			for (int k = 0; k < fSize; k++) {
+				BodyFixture fixture = fixtures.get(k);
+				// notify the listeners to see if we should test this fixture
 				allow = true;
 				for (int j = 0; j < rlSize; j++) {
 					RaycastListener rl = listeners.get(j);
 					// see if we should test this fixture
-					if (!rl.allow(ray, body, fixture, raycast)) {
+					if (!rl.allow(ray, body, fixture)) {
 						allow = false;
 					}
 				}
 				if (!allow) continue;
-				// if the raycast detected a collision then set the new
-				// maximum distance
-				max = raycast.getDistance();
-				// assign the fixture
-				result.fixture = fixture;
-				// the last raycast will always be the minimum raycast
-				// flag that we did get a successful raycast
-				found = true;
+				// get the convex shape
+				Convex convex = fixture.getShape();
+				// perform the raycast
+				if (this.raycastDetector.raycast(ray, max, convex, transform, raycast)) {
+					// notify the listeners to see if we should allow this result
+					allow = true;
+					for (int j = 0; j < rlSize; j++) {
+						RaycastListener rl = listeners.get(j);
+						// see if we should test this fixture
+						if (!rl.allow(ray, body, fixture, raycast)) {
+							allow = false;
+						}
+					}
+					if (!allow) continue;
+					// if the raycast detected a collision then set the new
+					// maximum distance
+					max = raycast.getDistance();
+					// assign the fixture
+					result.fixture = fixture;
+					// the last raycast will always be the minimum raycast
+					// flag that we did get a successful raycast
+					found = true;
+				}
 			}
 		}
 		
@@ -1735,9 +2728,9 @@ public class World implements Shiftable, DataContainer {
 		// use the broadphase to filter first
 		List<BroadphaseItem<Body, BodyFixture>> items = this.broadphaseDetector.detect(aabb, bpFilter);
 		// loop over the potential collisions
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 		for (BroadphaseItem<Body, BodyFixture> item : items) {
 			Body body = item.getCollidable();
-			BodyFixture fixture = item.getFixture();
 			
 			// only get the minimum fixture
 			double ft2 = t2;
@@ -1747,39 +2740,47 @@ public class World implements Shiftable, DataContainer {
 			BodyFixture bodyMinFixture = null;
 			Transform bodyTransform = body.getTransform();
 			
-			// notify the listeners to see if we should test this fixture
-			allow = true;
-			for (int j = 0; j < clSize; j++) {
-				ConvexCastListener ccl = listeners.get(j);
-				// see if we should test this fixture
-				if (!ccl.allow(convex, body, fixture)) {
-					allow = false;
-				}
-			}
-			if (!allow) continue;
-			
-			// get the time of impact
-			Convex c = fixture.getShape();
-			TimeOfImpact timeOfImpact = new TimeOfImpact();
-			// we pass the zero vector and 0 for the change in position and angle for the body
-			// since we assume that it is not moving since this is a static test
-			if (this.timeOfImpactDetector.getTimeOfImpact(convex, transform, deltaPosition, deltaAngle, c, bodyTransform, dp2, 0.0, 0.0, ft2, timeOfImpact)) {
+			// the children of a composite are tested individually
+			fixtures.clear();
+			World.addFixtures(item.getFixture(), bodyTransform, aabb, fixtures);
+			int fSize = fixtures.size();
+			for (int k = 0; k < fSize; k++) {
+				BodyFixture fixture = fixtures.get(k);
+				
 				// notify the listeners to see if we should test this fixture
 				allow = true;
 				for (int j = 0; j < clSize; j++) {
 					ConvexCastListener ccl = listeners.get(j);
 					// see if we should test this fixture
-					if (!ccl.allow(convex, body, fixture, timeOfImpact)) {
+					if (!ccl.allow(convex, body, fixture)) {
 						allow = false;
 					}
 				}
 				if (!allow) continue;
+			
+				// get the time of impact
+				Convex c = fixture.getShape();
+				TimeOfImpact timeOfImpact = new TimeOfImpact();
+				// we pass the zero vector and 0 for the change in position and angle for the body
+				// since we assume that it is not moving since this is a static test
+				if (this.timeOfImpactDetector.getTimeOfImpact(convex, transform, deltaPosition, deltaAngle, c, bodyTransform, dp2, 0.0, 0.0, ft2, timeOfImpact)) {
+					// notify the listeners to see if we should test this fixture
+					allow = true;
+					for (int j = 0; j < clSize; j++) {
+						ConvexCastListener ccl = listeners.get(j);
+						// see if we should test this fixture
+						if (!ccl.allow(convex, body, fixture, timeOfImpact)) {
+							allow = false;
+						}
+					}
+					if (!allow) continue;
 				
-				// only save the minimum for the body
-				if (bodyMinToi == null || timeOfImpact.getTime() < bodyMinToi.getTime()) {
-					ft2 = timeOfImpact.getTime();
-					bodyMinToi = timeOfImpact;
-					bodyMinFixture = fixture;
+					// only save the minimum for the body
+					if (bodyMinToi == null || timeOfImpact.getTime() < bodyMinToi.getTime()) {
+						ft2 = timeOfImpact.getTime();
+						bodyMinToi = timeOfImpact;
+						bodyMinFixture = fixture;
+					}
 				}
 			}
 			if (bodyMinToi != null) {
@@ -1789,7 +2790,7 @@ public class World implements Shiftable, DataContainer {
 						min = new ConvexCastResult(body, bodyMinFixture, bodyMinToi);
 					}
 				} else {
-					ConvexCastResult result = new ConvexCastResult(body, fixture, timeOfImpact);
+					ConvexCastResult result = new ConvexCastResult(body, bodyMinFixture, bodyMinToi);
 					results.add(result);
 				}
 				found = true;
@@ -1903,6 +2904,10 @@ public class World implements Shiftable, DataContainer {
 		int bSize = body.getFixtureCount();
 		Transform bodyTransform = body.getTransform();
 		
+		// the swept AABB of the convex
+		AABB aabb = null;
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
+		
 		// loop through all the body fixtures until we find
 		// a the fixture that has the smallest time of impact
 		for (int i = 0; i < bSize; i++) {
@@ -1912,41 +2917,57 @@ public class World implements Shiftable, DataContainer {
 			// check the filter
 			if (filter != null && !filter.isAllowed(bodyFixture.getFilter())) continue;
 			
-			allow = true;
-			for (int j = 0; j < clSize; j++) {
-				ConvexCastListener ccl = listeners.get(j);
-				// see if we should test this body
-				if (!ccl.allow(convex, body, bodyFixture)) {
-					allow = false;
+			// the children of a composite are tested individually
+			fixtures.clear();
+			if (bodyFixture.getShape() instanceof Composite) {
+				if (aabb == null) {
+					aabb = convex.createAABB(transform);
+					aabb.union(convex.createAABB(transform.lerped(deltaPosition, deltaAngle, 1.0)));
 				}
+				World.addChildFixtures(bodyFixture, bodyTransform, aabb, fixtures);
+			} else {
+				fixtures.add(bodyFixture);
 			}
-			if (!allow) return false;
-			
-			// get the time of impact
-			Convex c = bodyFixture.getShape();
-			TimeOfImpact toi = new TimeOfImpact();
-			// we pass the zero vector and 0 for the change in position and angle for the body
-			// since we assume that it is not moving since this is a static test
-			if (this.timeOfImpactDetector.getTimeOfImpact(convex, transform, deltaPosition, deltaAngle, c, bodyTransform, dp2, 0.0, 0.0, t2, toi)) {
-				// notify the listeners to see if we should test this fixture
+			int fSize = fixtures.size();
+			for (int k = 0; k < fSize; k++) {
+				BodyFixture fixture = fixtures.get(k);
+				
 				allow = true;
 				for (int j = 0; j < clSize; j++) {
 					ConvexCastListener ccl = listeners.get(j);
-					// see if we should test this fixture
-					if (!ccl.allow(convex, body, bodyFixture, toi)) {
+					// see if we should test this body
+					if (!ccl.allow(convex, body, fixture)) {
 						allow = false;
 					}
-				}
-				if (!allow) continue;
+				}
+				if (!allow) return false;
+			
+				// get the time of impact
+				Convex c = fixture.getShape();
+				TimeOfImpact toi = new TimeOfImpact();
+				// we pass the zero vector and 0 for the change in position and angle for the body
+				// since we assume that it is not moving since this is a static test
+				if (this.timeOfImpactDetector.getTimeOfImpact(convex, transform, deltaPosition, deltaAngle, c, bodyTransform, dp2, 0.0, 0.0, t2, toi)) {
+					// notify the listeners to see if we should test this fixture
+					allow = true;
+					for (int j = 0; j < clSize; j++) {
+						ConvexCastListener ccl = listeners.get(j);
+						// see if we should test this fixture
+						if (!ccl.allow(convex, body, fixture, toi)) {
+							allow = false;
+						}
+					}
+					if (!allow) continue;
 				
-				// set the new maximum time
-				t2 = toi.getTime();
-				// save the min time of impact
-				result.fixture = bodyFixture;
-				result.timeOfImpact = toi;
-				result.body = body;
-				// set the found flag
-				found = true;
+					// set the new maximum time
+					t2 = toi.getTime();
+					// save the min time of impact
+					result.fixture = fixture;
+					result.timeOfImpact = toi;
+					result.body = body;
+					// set the found flag
+					found = true;
+				}
 			}
 		}
 		
@@ -2012,6 +3033,9 @@ public class World implements Shiftable, DataContainer {
 	 * <p>
 	 * If this method returns true, the results list will contain the bodies and
 	 * fixtures that the convex overlaps.
+	 * <p>
+	 * The children of a {@link Composite} are tested individually and the results 
+	 * contain a {@link ChildFixture} for each child whose {@link AABB} overlaps.
 	 * @param aabb the world space {@link AABB}
 	 * @param filter the {@link Filter} to use against the fixtures; can be null
 	 * @param ignoreSensors true if sensor fixtures should be ignored
@@ -2030,31 +3054,39 @@ public class World implements Shiftable, DataContainer {
 		
 		int bSize = collisions.size();
 		boolean allow;
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 		for (int i = 0; i < bSize; i++) {
 			BroadphaseItem<Body, BodyFixture> item = collisions.get(i);
 			Body body = item.getCollidable();
-			BodyFixture fixture = item.getFixture();
 			// check body's fixtures next
 			Transform transform = body.getTransform();
-			// pass through the listeners
-			allow = true;
-			for (int j = 0; j < dlSize; j++) {
-				DetectListener dl = listeners.get(j);
-				if (!dl.allow(aabb, body, fixture)) {
-					allow = false;
+			
+			// the children of a composite are tested individually
+			fixtures.clear();
+			World.addFixtures(item.getFixture(), transform, aabb, fixtures);
+			int fSize = fixtures.size();
+			for (int k = 0; k < fSize; k++) {
+				BodyFixture fixture = fixtures.get(k);
+				// pass through the listeners
+				allow = true;
+				for (int j = 0; j < dlSize; j++) {
+					DetectListener dl = listeners.get(j);
+					if (!dl.allow(aabb, body, fixture)) {
+						allow = false;
+					}
+				}
+				if (!allow) {
+					continue;
+				}
+				// get the AABB of the fixture
+				AABB faabb = fixture.getAABB(transform);
+				// test the aabbs
+				if (aabb.overlaps(faabb)) {
+					// add this fixture to the results list
+					DetectResult result = new DetectResult(body, fixture);
+					results.add(result);
+					found = true;
 				}
-			}
-			if (!allow) {
-				continue;
-			}
-			// create an AABB for the fixture
-			AABB faabb = fixture.getShape().createAABB(transform);
-			// test the aabbs
-			if (aabb.overlaps(faabb)) {
-				// add this fixture to the results list
-				DetectResult result = new DetectResult(body, fixture);
-				results.add(result);
-				found = true;
 			}
 		}
 		
@@ -2307,40 +3339,48 @@ public class World implements Shiftable, DataContainer {
 		// now perform a more accurate test
 		int bSize = items.size();
 		boolean found = false;
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 		for (int i = 0; i < bSize; i++) {
 			BroadphaseItem<Body, BodyFixture> item = items.get(i);
 			Body body = item.getCollidable();
-			BodyFixture fixture = item.getFixture();
 			// get the body transform
 			Transform bt = body.getTransform();
 			
-			// pass through the listeners
-			allow = true;
-			for (int j = 0; j < dlSize; j++) {
-				DetectListener dl = listeners.get(j);
-				if (!dl.allow(convex, transform, body, fixture)) {
-					allow = false;
+			// the children of a composite are tested individually
+			fixtures.clear();
+			World.addFixtures(item.getFixture(), bt, aabb, fixtures);
+			int fSize = fixtures.size();
+			for (int k = 0; k < fSize; k++) {
+				BodyFixture fixture = fixtures.get(k);
+				
+				// pass through the listeners
+				allow = true;
+				for (int j = 0; j < dlSize; j++) {
+					DetectListener dl = listeners.get(j);
+					if (!dl.allow(convex, transform, body, fixture)) {
+						allow = false;
+					}
+				}
+				if (!allow) {
+					continue;
 				}
-			}
-			if (!allow) {
-				continue;
-			}
 			
-			// just perform a boolean test since its typically faster
-			Convex bc = fixture.getShape();
-			boolean collision = false;
-			// should we use the fast method or the one that returns the collision info
-			Penetration penetration = (includeCollisionData ? new Penetration() : null); 
-			if (includeCollisionData) {
-				collision = this.narrowphaseDetector.detect(convex, transform, bc, bt, penetration);
-			} else {
-				collision = this.narrowphaseDetector.detect(convex, transform, bc, bt);
-			}
-			if (collision) {
-				// add this fixture to the results list
-				DetectResult result = new DetectResult(body, fixture, penetration);
-				results.add(result);
-				found = true;
+				// just perform a boolean test since its typically faster
+				Convex bc = fixture.getShape();
+				boolean collision = false;
+				// should we use the fast method or the one that returns the collision info
+				Penetration penetration = (includeCollisionData ? new Penetration() : null); 
+				if (includeCollisionData) {
+					collision = this.narrowphaseDetector.detect(convex, transform, bc, bt, penetration);
+				} else {
+					collision = this.narrowphaseDetector.detect(convex, transform, bc, bt);
+				}
+				if (collision) {
+					// add this fixture to the results list
+					DetectResult result = new DetectResult(body, fixture, penetration);
+					results.add(result);
+					found = true;
+				}
 			}
 		}
 		// return the bodies in collision
@@ -2374,6 +3414,9 @@ public class World implements Shiftable, DataContainer {
 	 * <p>
 	 * Use the {@link Body#isInContact(Body)} method instead if you want to test if two bodies
 	 * are colliding.
+	 * <p>
+	 * The children of a {@link Composite} are tested individually and the results 
+	 * contain a {@link ChildFixture} for each child whose {@link AABB} overlaps.
 	 * @param aabb the {@link AABB} in world coordinates
 	 * @param body the {@link Body} to test against
 	 * @param filter the {@link Filter} to use against the fixtures; can be null
@@ -2396,31 +3439,39 @@ public class World implements Shiftable, DataContainer {
 			// check body's fixtures next
 			Transform transform = body.getTransform();
 			int fSize = body.getFixtureCount();
+			List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 			for (int j = 0; j < fSize; j++) {
-				BodyFixture fixture = body.getFixture(j);
+				BodyFixture bodyFixture = body.getFixture(j);
 				// test for sensors
-				if (ignoreSensors && fixture.isSensor()) continue;
+				if (ignoreSensors && bodyFixture.isSensor()) continue;
 				// test the filter
-				if (filter != null && !filter.isAllowed(fixture.getFilter())) continue;
-				// pass through the listeners
-				allow = true;
-				for (int k = 0; k < dlSize; k++) {
-					DetectListener dl = listeners.get(k);
-					if (!dl.allow(aabb, body, fixture)) {
-						allow = false;
+				if (filter != null && !filter.isAllowed(bodyFixture.getFilter())) continue;
+				// the children of a composite are tested individually
+				fixtures.clear();
+				World.addFixtures(bodyFixture, transform, aabb, fixtures);
+				int cSize = fixtures.size();
+				for (int c = 0; c < cSize; c++) {
+					BodyFixture fixture = fixtures.get(c);
+					// pass through the listeners
+					allow = true;
+					for (int k = 0; k < dlSize; k++) {
+						DetectListener dl = listeners.get(k);
+						if (!dl.allow(aabb, body, fixture)) {
+							allow = false;
+						}
+					}
+					if (!allow) {
+						continue;
+					}
+					// get the AABB of the fixture
+					AABB faabb = fixture.getAABB(transform);
+					// test the aabbs
+					if (aabb.overlaps(faabb)) {
+						// add this fixture to the results list
+						DetectResult result = new DetectResult(body, fixture);
+						results.add(result);
+						found = true;
 					}
-				}
-				if (!allow) {
-					continue;
-				}
-				// create an AABB for the fixture
-				AABB faabb = fixture.getShape().createAABB(transform);
-				// test the aabbs
-				if (aabb.overlaps(faabb)) {
-					// add this fixture to the results list
-					DetectResult result = new DetectResult(body, fixture);
-					results.add(result);
-					found = true;
 				}
 			}
 		}
@@ -2587,41 +3638,50 @@ public class World implements Shiftable, DataContainer {
 			Transform bt = body.getTransform();
 			// test all the fixtures
 			int fSize = body.getFixtureCount();
+			List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
 			for (int i = 0; i < fSize; i++) {
-				BodyFixture fixture = body.getFixture(i);
+				BodyFixture bodyFixture = body.getFixture(i);
 				// check against the sensor flag
-				if (ignoreSensors && fixture.isSensor()) continue;
+				if (ignoreSensors && bodyFixture.isSensor()) continue;
 				// check against the filter if given
-				Filter ff = fixture.getFilter();
+				Filter ff = bodyFixture.getFilter();
 				if (filter != null && !ff.isAllowed(filter)) continue;
-
-				// pass through the listeners
-				allow = true;
-				for (int j = 0; j < dlSize; j++) {
-					DetectListener dl = listeners.get(j);
-					if (!dl.allow(convex, transform, body, fixture)) {
-						allow = false;
+				
+				// the children of a composite are tested individually
+				fixtures.clear();
+				World.addFixtures(bodyFixture, bt, aabb, fixtures);
+				int cSize = fixtures.size();
+				for (int k = 0; k < cSize; k++) {
+					BodyFixture fixture = fixtures.get(k);
+					
+					// pass through the listeners
+					allow = true;
+					for (int j = 0; j < dlSize; j++) {
+						DetectListener dl = listeners.get(j);
+						if (!dl.allow(convex, transform, body, fixture)) {
+							allow = false;
+						}
+					}
+					if (!allow) {
+						continue;
 					}
-				}
-				if (!allow) {
-					continue;
-				}
 				
-				// just perform a boolean test since its typically faster
-				Convex bc = fixture.getShape();
-				boolean collision = false;
-				// should we use the fast method or the one that returns the collision info
-				Penetration penetration = (includeCollisionData ? new Penetration() : null); 
-				if (includeCollisionData) {
-					collision = this.narrowphaseDetector.detect(convex, transform, bc, bt, penetration);
-				} else {
-					collision = this.narrowphaseDetector.detect(convex, transform, bc, bt);
-				}
-				if (collision) {
-					// add this fixture to the results list
-					DetectResult result = new DetectResult(body, fixture, penetration);
-					results.add(result);
-					found = true;
+					// just perform a boolean test since its typically faster
+					Convex bc = fixture.getShape();
+					boolean collision = false;
+					// should we use the fast method or the one that returns the collision info
+					Penetration penetration = (includeCollisionData ? new Penetration() : null); 
+					if (includeCollisionData) {
+						collision = this.narrowphaseDetector.detect(convex, transform, bc, bt, penetration);
+					} else {
+						collision = this.narrowphaseDetector.detect(convex, transform, bc, bt);
+					}
+					if (collision) {
+						// add this fixture to the results list
+						DetectResult result = new DetectResult(body, fixture, penetration);
+						results.add(result);
+						found = true;
+					}
 				}
 			}
 		}
@@ -2667,8 +3727,439 @@ public class World implements Shiftable, DataContainer {
 		if (this.bounds != null) {
 			this.bounds.shift(shift);
 		}
-		// update contact manager
-		this.contactManager.shift(shift);
+		// update contact manager
+		this.contactManager.shift(shift);
+	}
+	
+	/**
+	 * Returns the number of bytes required to store a snapshot of this {@link World}
+	 * in its current state.
+	 * <p>
+	 * The size changes as the world is stepped since the number of contacts and the
+	 * number of pending forces and torques change.
+	 * @return int
+	 * @see #snapshot(ByteBuffer)
+	 * @since 3.2.4
+	 */
+	public int getSnapshotSize() {
+		// accumulated time, update flag, step and counts
+		int size = 8 + 1 + 5 * 8 + 3 * 4;
+		int bSize = this.bodies.size();
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			size += body.getSnapshotSize() + 4;
+			int cSize = body.contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				ContactConstraint contactConstraint = body.contacts.get(j).interaction;
+				// each contact constraint is written once
+				if (contactConstraint.getBody1() == body) {
+					size += 8 * 4 + contactConstraint.getSnapshotSize();
+				}
+			}
+		}
+		size += this.islandManager.getSnapshotSize(this.bodies);
+		int jSize = this.joints.size();
+		for (int i = 0; i < jSize; i++) {
+			size += this.joints.get(i).getSnapshotSize();
+		}
+		return size;
+	}
+	
+	/**
+	 * Writes the simulation state of this {@link World} to the given buffer.
+	 * <p>
+	 * The simulation state is everything that changes from one time step to the next:
+	 * the transforms, velocities, forces and sleep state of the bodies, the accumulated
+	 * time, the contacts (including their accumulated impulses used for warm starting), 
+	 * the accumulated impulses of the joints and the islands.  Use the {@link #restore(ByteBuffer)}
+	 * method to return this world to the state in the snapshot (rollback for example).
+	 * <p>
+	 * The configuration of the world is not written: the bodies, fixtures, joints, 
+	 * mass, settings, listeners, etc. must not change between the snapshot and the restore.
+	 * Pending {@link Force}s and {@link Torque}s are written by value.
+	 * <p>
+	 * The state is written at the buffer's current position, using the buffer's byte order,
+	 * and the position is advanced by {@link #getSnapshotSize()} bytes.  This method does
+	 * not create any objects so the same buffer can be reused every time step.
+	 * <p>
+	 * This method should not be called during a time step.
+	 * @param buffer the buffer
+	 * @throws java.nio.BufferOverflowException if the buffer's remaining space is less than {@link #getSnapshotSize()}
+	 * @throws IllegalArgumentException if a contact was created by a {@link ManifoldSolver} that doesn't use {@link org.dyn4j.collision.manifold.IndexedManifoldPointId}s or {@link org.dyn4j.collision.manifold.ManifoldPointId#DISTANCE}
+	 * @since 3.2.4
+	 */
+	public void snapshot(ByteBuffer buffer) {
+		double[] values = new double[6];
+		int bSize = this.bodies.size();
+		int jSize = this.joints.size();
+		
+		buffer.putDouble(this.time);
+		buffer.put(this.updateRequired ? (byte)1 : (byte)0);
+		buffer.putDouble(this.step.dt0);
+		buffer.putDouble(this.step.invdt0);
+		buffer.putDouble(this.step.dt);
+		buffer.putDouble(this.step.invdt);
+		buffer.putDouble(this.step.dtRatio);
+		buffer.putInt(bSize);
+		buffer.putInt(jSize);
+		
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			body.snapshot(buffer, values);
+			buffer.putInt(body.contacts.size());
+		}
+		this.islandManager.snapshot(this.bodies, buffer);
+		for (int i = 0; i < jSize; i++) {
+			this.joints.get(i).snapshot(buffer);
+		}
+		
+		// write each contact constraint once along with the position
+		// of its contact edges so that the edge order is maintained
+		int countPosition = buffer.position();
+		int count = 0;
+		buffer.putInt(0);
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			int cSize = body.contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				ContactEdge contactEdge = body.contacts.get(j);
+				ContactConstraint contactConstraint = contactEdge.interaction;
+				if (contactConstraint.getBody1() != body) continue;
+				Body other = contactEdge.other;
+				BodyFixture fixture1 = contactConstraint.getFixture1();
+				BodyFixture fixture2 = contactConstraint.getFixture2();
+				buffer.putInt(i);
+				buffer.putInt(j);
+				buffer.putInt(World.getFixtureIndex(body, fixture1));
+				buffer.putInt(World.getChildIndex(fixture1));
+				buffer.putInt(other.worldIndex);
+				buffer.putInt(contactEdge.reciprocal.index);
+				buffer.putInt(World.getFixtureIndex(other, fixture2));
+				buffer.putInt(World.getChildIndex(fixture2));
+				contactConstraint.snapshot(buffer);
+				count++;
+			}
+		}
+		buffer.putInt(countPosition, count);
+	}
+	
+	/**
+	 * Restores the simulation state of this {@link World} from a snapshot written
+	 * by the {@link #snapshot(ByteBuffer)} method.
+	 * <p>
+	 * The snapshot is read from the buffer's current position, using the buffer's byte order.
+	 * The bodies, fixtures and joints of this world must be the same, and in the same order, as
+	 * when the snapshot was taken.  The bodies and joints are updated in place.  The contacts between
+	 * the same fixtures as in the snapshot are also updated in place; the others are created or removed.
+	 * The information retained for each pair of fixtures between detections (see 
+	 * {@link CachingNarrowphaseDetector} and {@link CachingManifoldSolver}) is discarded.
+	 * <p>
+	 * The broad-phase pairs are tested in the order of the bodies in the world, so a restored
+	 * world steps exactly like the world did after the snapshot was taken.  In the 
+	 * {@link ContinuousDetectionMode#SPECULATIVE} mode, the speculative contacts of fast bodies
+	 * may still be found in a different order.
+	 * <p>
+	 * No listeners are notified.  The broad-phase is updated with the restored transforms.
+	 * <p>
+	 * This method should not be called during a time step.
+	 * @param buffer the buffer
+	 * @throws IllegalArgumentException if the number of bodies or joints in the snapshot doesn't match this world
+	 * @since 3.2.4
+	 */
+	public void restore(ByteBuffer buffer) {
+		double[] values = new double[6];
+		int bSize = this.bodies.size();
+		int jSize = this.joints.size();
+		
+		int start = buffer.position();
+		double time = buffer.getDouble();
+		boolean updateRequired = buffer.get() != 0;
+		double dt0 = buffer.getDouble();
+		double invdt0 = buffer.getDouble();
+		double dt = buffer.getDouble();
+		double invdt = buffer.getDouble();
+		double dtRatio = buffer.getDouble();
+		if (buffer.getInt() != bSize || buffer.getInt() != jSize) {
+			buffer.position(start);
+			throw new IllegalArgumentException(Messages.getString("dynamics.world.invalidSnapshot"));
+		}
+		
+		this.time = time;
+		this.updateRequired = updateRequired;
+		this.step.dt0 = dt0;
+		this.step.invdt0 = invdt0;
+		this.step.dt = dt;
+		this.step.invdt = invdt;
+		this.step.dtRatio = dtRatio;
+		
+		// the contact edges are rebuilt once the contacts have been read
+		int[] edgeCounts = new int[bSize];
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			body.restore(buffer, values);
+			// the broad-phase is updated for all the bodies below
+			body.indexChanged = false;
+			body.indexMoved = false;
+			body.indexStale = false;
+			edgeCounts[i] = buffer.getInt();
+		}
+		this.islandManager.restore(this.bodies, buffer);
+		for (int i = 0; i < jSize; i++) {
+			this.joints.get(i).restore(buffer);
+		}
+		
+		// the current contacts are replaced, but the contact constraints (and their edges)
+		// that are between the same fixtures as in the snapshot are restored in place
+		this.contactManager.clear();
+		int count = buffer.getInt();
+		List<ContactEdge> edges = new ArrayList<ContactEdge>(count);
+		for (int i = 0; i < count; i++) {
+			Body body1 = this.bodies.get(buffer.getInt());
+			int index1 = buffer.getInt();
+			BodyFixture fixture1 = World.getFixture(body1, buffer.getInt(), buffer.getInt());
+			Body body2 = this.bodies.get(buffer.getInt());
+			int index2 = buffer.getInt();
+			BodyFixture fixture2 = World.getFixture(body2, buffer.getInt(), buffer.getInt());
+			
+			ContactEdge contactEdge1 = World.findContactEdge(body1, fixture1, body2, fixture2);
+			ContactConstraint contactConstraint = null;
+			if (contactEdge1 != null) {
+				contactConstraint = contactEdge1.interaction;
+				contactConstraint.restore(buffer);
+			} else {
+				contactConstraint = new ContactConstraint(body1, fixture1, body2, fixture2, buffer);
+				contactEdge1 = new ContactEdge(body2, contactConstraint);
+				ContactEdge contactEdge2 = new ContactEdge(body1, contactConstraint);
+				contactEdge1.reciprocal = contactEdge2;
+				contactEdge2.reciprocal = contactEdge1;
+			}
+			contactEdge1.index = index1;
+			contactEdge1.reciprocal.index = index2;
+			edges.add(contactEdge1);
+			
+			this.contactManager.queue(contactConstraint);
+		}
+		
+		// place the edges at their positions in the snapshot
+		for (int i = 0; i < bSize; i++) {
+			List<ContactEdge> contacts = this.bodies.get(i).contacts;
+			contacts.clear();
+			for (int j = edgeCounts[i]; j > 0; j--) {
+				contacts.add(null);
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			ContactEdge contactEdge1 = edges.get(i);
+			ContactEdge contactEdge2 = (ContactEdge)contactEdge1.reciprocal;
+			contactEdge2.other.contacts.set(contactEdge1.index, contactEdge1);
+			contactEdge1.other.contacts.set(contactEdge2.index, contactEdge2);
+		}
+		
+		// add the contact constraints to the contact manager without notification
+		this.contactManager.updateAndNotify(null, this.settings);
+		
+		// the information retained for each pair only speeds up the detection (it never
+		// changes the results) and may not match the restored transforms, so it's discarded
+		this.clearPairCaches();
+		
+		this.bodyIndex.restore(this.bodies);
+		for (int i = 0; i < bSize; i++) {
+			this.broadphaseDetector.update(this.bodies.get(i));
+		}
+		
+		if (this.recorder != null) {
+			this.recorder.restored();
+		}
+	}
+	
+	/**
+	 * Returns the {@link ContactEdge} of the first {@link Body} for the {@link ContactConstraint}
+	 * between the given {@link BodyFixture}s or null if there isn't one.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @return {@link ContactEdge}
+	 * @since 3.2.4
+	 */
+	private static ContactEdge findContactEdge(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+		List<ContactEdge> contacts = body1.contacts;
+		int size = contacts.size();
+		for (int i = 0; i < size; i++) {
+			ContactEdge contactEdge = contacts.get(i);
+			ContactConstraint contactConstraint = contactEdge.interaction;
+			if (contactEdge.other == body2 &&
+				contactConstraint.getFixture1() == fixture1 &&
+				contactConstraint.getFixture2() == fixture2) {
+				return contactEdge;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns a deep copy of this {@link World} that can be stepped independently of this world.
+	 * <p>
+	 * The bodies, fixtures, joints, contacts (including the accumulated impulses used for
+	 * warm starting), islands and broad-phase are copied.  The broad-phase structure is copied
+	 * as is rather than rebuilt.  The {@link Convex} {@link org.dyn4j.geometry.Shape}s, the
+	 * {@link Bounds} and the user data of the world, bodies, fixtures and joints are shared 
+	 * with this world.  The copied bodies, fixtures and joints have the same ids as the originals; 
+	 * use the {@link #getBody(int)} and {@link #getJoint(int)} methods to find the copy of a body
+	 * or joint since they are at the same index.
+	 * <p>
+	 * The algorithms (narrow-phase, manifold solver, raycast, distance and time of impact detectors,
+	 * contact constraint solver, etc.) that implement {@link Copyable} are copied, all the others
+	 * are shared with this world.  All the algorithms supplied with dyn4j that keep working storage
+	 * implement {@link Copyable}, so this world and the copy can be stepped at the same time on
+	 * different threads.  Custom algorithms that keep working storage should implement 
+	 * {@link Copyable} to allow the same.
+	 * <p>
+	 * Stepping the copy produces the same results as stepping this world.  This makes the copy
+	 * useful for speculative or predictive simulation (predicting a trajectory, evaluating an
+	 * action, etc.).  Listeners and the {@link WorldRecorder} are not copied.  Pending 
+	 * {@link Force}s and {@link Torque}s are copied by value.
+	 * <p>
+	 * The bodies are copied using the {@link Body#copy()} method and the joints using the 
+	 * {@link Joint#copy(Body, Body)} method.  The broad-phase and contact manager are copied
+	 * using their respective copy methods.
+	 * <p>
+	 * This method should not be called during a time step.
+	 * @return {@link World}
+	 * @throws UnsupportedOperationException if a joint doesn't support copying
+	 * @since 3.2.4
+	 */
+	public World copy() {
+		World world = new World(this);
+		int bSize = this.bodies.size();
+		int jSize = this.joints.size();
+		
+		// copy the bodies
+		Map<Body, Body> bodies = new IdentityHashMap<Body, Body>(bSize);
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			Body copy = body.copy();
+			copy.world = world;
+			copy.worldIndex = i;
+			copy.indexCategory = body.indexCategory;
+			copy.indexPosition = body.indexPosition;
+			copy.indexChanged = body.indexChanged;
+			copy.indexMoved = body.indexMoved;
+			copy.indexStale = body.indexStale;
+			// reserve a place for each edge so that the edge order is maintained
+			for (int j = body.joints.size(); j > 0; j--) {
+				copy.joints.add(null);
+			}
+			for (int j = body.contacts.size(); j > 0; j--) {
+				copy.contacts.add(null);
+			}
+			world.bodies.add(copy);
+			bodies.put(body, copy);
+		}
+		world.islandManager.copy(this.islandManager, this.bodies, world.bodies);
+		world.bodyIndex.restore(world.bodies);
+		
+		// copy the joints
+		for (int i = 0; i < jSize; i++) {
+			Joint joint = this.joints.get(i);
+			Body body1 = world.bodies.get(joint.getBody1().worldIndex);
+			Body body2 = world.bodies.get(joint.getBody2().worldIndex);
+			Joint copy = joint.copy(body1, body2);
+			Constraint constraint = copy;
+			constraint.world = world;
+			constraint.worldIndex = i;
+			world.joints.add(copy);
+			
+			InteractionEdge<?> edge = ((Constraint)joint).edge;
+			JointEdge jointEdge1 = new JointEdge(body2, copy);
+			JointEdge jointEdge2 = new JointEdge(body1, copy);
+			jointEdge1.reciprocal = jointEdge2;
+			jointEdge2.reciprocal = jointEdge1;
+			jointEdge1.index = edge.index;
+			jointEdge2.index = edge.reciprocal.index;
+			body1.joints.set(jointEdge1.index, jointEdge1);
+			body2.joints.set(jointEdge2.index, jointEdge2);
+			constraint.edge = jointEdge1;
+		}
+		
+		// copy each contact constraint once
+		Map<ContactConstraint, ContactConstraint> contactConstraints = new IdentityHashMap<ContactConstraint, ContactConstraint>(Collisions.getEstimatedCollisionPairs(bSize));
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			int cSize = body.contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				ContactEdge contactEdge = body.contacts.get(j);
+				ContactConstraint contactConstraint = contactEdge.interaction;
+				if (contactConstraint.getBody1() != body) continue;
+				Body other = contactEdge.other;
+				Body body1 = world.bodies.get(i);
+				Body body2 = world.bodies.get(other.worldIndex);
+				BodyFixture fixture1 = World.getFixture(body1, World.getFixtureIndex(body, contactConstraint.getFixture1()), World.getChildIndex(contactConstraint.getFixture1()));
+				BodyFixture fixture2 = World.getFixture(body2, World.getFixtureIndex(other, contactConstraint.getFixture2()), World.getChildIndex(contactConstraint.getFixture2()));
+				ContactConstraint copy = new ContactConstraint(contactConstraint, body1, fixture1, body2, fixture2);
+				
+				ContactEdge contactEdge1 = new ContactEdge(body2, copy);
+				ContactEdge contactEdge2 = new ContactEdge(body1, copy);
+				contactEdge1.reciprocal = contactEdge2;
+				contactEdge2.reciprocal = contactEdge1;
+				contactEdge1.index = j;
+				contactEdge2.index = contactEdge.reciprocal.index;
+				body1.contacts.set(contactEdge1.index, contactEdge1);
+				body2.contacts.set(contactEdge2.index, contactEdge2);
+				
+				contactConstraints.put(contactConstraint, copy);
+			}
+		}
+		
+		world.contactManager = this.contactManager.copy(contactConstraints);
+		world.broadphaseDetector = this.broadphaseDetector.copy(bodies);
+		return world;
+	}
+	
+	/**
+	 * Returns the index of the given fixture in the given {@link Body}, or the index of its
+	 * parent if it's a {@link ChildFixture}.
+	 * @param body the body
+	 * @param fixture the fixture
+	 * @return int
+	 * @since 3.2.4
+	 */
+	private static int getFixtureIndex(Body body, BodyFixture fixture) {
+		if (fixture instanceof ChildFixture) {
+			return body.getFixtureIndex(((ChildFixture)fixture).parent);
+		}
+		return body.getFixtureIndex(fixture);
+	}
+	
+	/**
+	 * Returns the index of the given fixture in its {@link Composite}, or -1 if it's not a
+	 * {@link ChildFixture}.
+	 * @param fixture the fixture
+	 * @return int
+	 * @since 3.2.4
+	 */
+	private static int getChildIndex(BodyFixture fixture) {
+		if (fixture instanceof ChildFixture) {
+			return ((ChildFixture)fixture).index;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the fixture of the given {@link Body} at the given index, or its {@link ChildFixture}
+	 * at the given child index if the child index is not -1.
+	 * @param body the body
+	 * @param index the index of the fixture
+	 * @param childIndex the index of the child or -1
+	 * @return {@link BodyFixture}
+	 * @since 3.2.4
+	 */
+	private static BodyFixture getFixture(Body body, int index, int childIndex) {
+		BodyFixture fixture = body.getFixture(index);
+		if (childIndex >= 0) {
+			return fixture.getChildFixture(childIndex);
+		}
+		return fixture;
 	}
 	
 	/**
@@ -2686,11 +4177,85 @@ public class World implements Shiftable, DataContainer {
 		// dont allow a body that already is assigned to another world
 		if (body.world != null) throw new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldBody"));
 		// add it to the world
+		body.worldIndex = this.bodies.size();
 		this.bodies.add(body);
 		// set the world property on the body
 		body.world = this;
 		// add it to the broadphase
 		this.broadphaseDetector.add(body);
+		// add it as its own island
+		this.islandManager.add(body);
+		// index it by its state
+		this.bodyIndex.add(body);
+		
+		if (this.recorder != null) {
+			this.recorder.bodiesAdded(body.worldIndex, 1);
+		}
+	}
+	
+	/**
+	 * Adds the given {@link Body}s to the {@link World}.
+	 * <p>
+	 * This method is equivalent to calling {@link #addBody(Body)} for each body, but
+	 * is faster when adding many bodies at once (when loading a level for example).
+	 * All the bodies are validated before any are added and the broad-phase is
+	 * updated in a single batch (see {@link BroadphaseDetector#addAll(Collection)}).
+	 * <p>
+	 * If any body is invalid, none of the bodies are added.
+	 * @param bodies the {@link Body}s to add
+	 * @throws NullPointerException if bodies is null or contains a null body
+	 * @throws IllegalArgumentException if any body has already been added to this world, is contained in the collection more than once or if its a member of another world instance
+	 * @since 3.2.4
+	 */
+	public void addBodies(Collection<Body> bodies) {
+		// check for null collection
+		if (bodies == null) throw new NullPointerException(Messages.getString("dynamics.world.addNullBodies"));
+		
+		// validate all the bodies before adding any of them; the world property
+		// is set as each body is validated to detect duplicates
+		List<Body> valid = new ArrayList<Body>(bodies.size());
+		RuntimeException exception = null;
+		for (Body body : bodies) {
+			if (body == null) {
+				exception = new NullPointerException(Messages.getString("dynamics.world.addNullBody"));
+			} else if (body.world == this) {
+				exception = new IllegalArgumentException(Messages.getString("dynamics.world.addExistingBody"));
+			} else if (body.world != null) {
+				exception = new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldBody"));
+			}
+			if (exception != null) break;
+			body.world = this;
+			valid.add(body);
+		}
+		
+		int size = valid.size();
+		if (exception != null) {
+			// undo the validation
+			for (int i = 0; i < size; i++) {
+				valid.get(i).world = null;
+			}
+			throw exception;
+		}
+		
+		// grow the body list once
+		this.bodies.ensureCapacity(this.bodies.size() + size);
+		for (int i = 0; i < size; i++) {
+			Body body = valid.get(i);
+			// add it to the world
+			body.worldIndex = this.bodies.size();
+			this.bodies.add(body);
+			// add it as its own island
+			this.islandManager.add(body);
+			// index it by its state
+			this.bodyIndex.add(body);
+		}
+		
+		// add them to the broadphase
+		this.broadphaseDetector.addAll(valid);
+		
+		if (this.recorder != null && size > 0) {
+			this.recorder.bodiesAdded(this.bodies.size() - size, size);
+		}
 	}
 	
 	/**
@@ -2709,21 +4274,92 @@ public class World implements Shiftable, DataContainer {
 		if (constraint.world == this) throw new IllegalArgumentException(Messages.getString("dynamics.world.addExistingBody"));
 		// dont allow a joint that already is assigned to another world
 		if (constraint.world != null) throw new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldBody"));
-		// add the joint to the joint list
-		this.joints.add(joint);
 		// set that its attached to this world
 		constraint.world = this;
+		// add the joint to the joint list
+		this.link(joint);
+		
+		if (this.recorder != null) {
+			this.recorder.jointsAdded(constraint.worldIndex, 1);
+		}
+	}
+	
+	/**
+	 * Adds the given {@link Joint}s to the {@link World}.
+	 * <p>
+	 * This method is equivalent to calling {@link #addJoint(Joint)} for each joint.
+	 * All the joints are validated before any are added.
+	 * <p>
+	 * If any joint is invalid, none of the joints are added.
+	 * @param joints the {@link Joint}s to add
+	 * @throws NullPointerException if joints is null or contains a null joint
+	 * @throws IllegalArgumentException if any joint has already been added to this world, is contained in the collection more than once or if its a member of another world instance
+	 * @since 3.2.4
+	 */
+	public void addJoints(Collection<Joint> joints) {
+		// check for null collection
+		if (joints == null) throw new NullPointerException(Messages.getString("dynamics.world.addNullJoints"));
+		
+		// validate all the joints before adding any of them; the world property
+		// is set as each joint is validated to detect duplicates
+		List<Joint> valid = new ArrayList<Joint>(joints.size());
+		RuntimeException exception = null;
+		for (Joint joint : joints) {
+			Constraint constraint = joint;
+			if (joint == null) {
+				exception = new NullPointerException(Messages.getString("dynamics.world.addNullJoint"));
+			} else if (constraint.world == this) {
+				exception = new IllegalArgumentException(Messages.getString("dynamics.world.addExistingJoint"));
+			} else if (constraint.world != null) {
+				exception = new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldJoint"));
+			}
+			if (exception != null) break;
+			constraint.world = this;
+			valid.add(joint);
+		}
+		
+		int size = valid.size();
+		if (exception != null) {
+			// undo the validation
+			for (int i = 0; i < size; i++) {
+				Constraint constraint = valid.get(i);
+				constraint.world = null;
+			}
+			throw exception;
+		}
+		
+		// grow the joint list once
+		this.joints.ensureCapacity(this.joints.size() + size);
+		for (int i = 0; i < size; i++) {
+			this.link(valid.get(i));
+		}
+		
+		if (this.recorder != null && size > 0) {
+			this.recorder.jointsAdded(this.joints.size() - size, size);
+		}
+	}
+	
+	/**
+	 * Adds the given {@link Joint} to the joint list and its joint edges
+	 * to the joined bodies.
+	 * @param joint the {@link Joint}
+	 * @since 3.2.4
+	 */
+	private void link(Joint joint) {
+		Constraint constraint = joint;
+		// add the joint to the joint list
+		constraint.worldIndex = this.joints.size();
+		this.joints.add(joint);
 		// get the associated bodies
 		Body body1 = joint.getBody1();
 		Body body2 = joint.getBody2();
 		// create a joint edge from the first body to the second
 		JointEdge jointEdge1 = new JointEdge(body2, joint);
-		// add the edge to the body
-		body1.joints.add(jointEdge1);
 		// create a joint edge from the second body to the first
 		JointEdge jointEdge2 = new JointEdge(body1, joint);
-		// add the edge to the body
-		body2.joints.add(jointEdge2);
+		// add the edges to the bodies
+		InteractionEdge.link(body1.joints, jointEdge1, body2.joints, jointEdge2);
+		constraint.edge = jointEdge1;
 	}
 	
 	/**
@@ -2733,7 +4369,7 @@ public class World implements Shiftable, DataContainer {
 	 * @since 3.1.1
 	 */
 	public boolean containsBody(Body body) {
-		return this.bodies.contains(body);
+		return body != null && body.world == this;
 	}
 	
 	/**
@@ -2743,7 +4379,9 @@ public class World implements Shiftable, DataContainer {
 	 * @since 3.1.1
 	 */
 	public boolean containsJoint(Joint joint) {
-		return this.joints.contains(joint);
+		if (joint == null) return false;
+		Constraint constraint = joint;
+		return constraint.world == this;
 	}
 	
 	/**
@@ -2799,6 +4437,10 @@ public class World implements Shiftable, DataContainer {
 	 * <p>
 	 * This method does not trigger {@link ContactListener#end(ContactPoint)} events
 	 * for the contacts that are being removed.
+	 * <p>
+	 * The last body of this world is moved into the place of the removed body, so the
+	 * order of the remaining bodies is not maintained.  The same applies to the joints
+	 * that are implicitly destroyed.
 	 * @param body the {@link Body} to remove
 	 * @param notify true if implicit destruction should be notified
 	 * @return boolean true if the body was removed
@@ -2809,120 +4451,277 @@ public class World implements Shiftable, DataContainer {
 		if (notify) {
 			listeners = this.getListeners(DestructionListener.class);
 		}
-		// check for null body
-		if (body == null) return false;
-		// remove the body from the list
-		boolean removed = this.bodies.remove(body);
+		// check for null body or a body of another world
+		if (body == null || body.world != this) return false;
 		
-		// only remove joints and contacts if the body was removed
-		if (removed) {
-			// set the world property to null
-			body.world = null;
-			
-			// remove the body from the broadphase
-			this.broadphaseDetector.remove(body);
-			
-			// wake up any bodies connected to this body by a joint
-			// and destroy the joints and remove the edges
-			Iterator<JointEdge> aIterator = body.joints.iterator();
-			while (aIterator.hasNext()) {
-				// get the joint edge
-				JointEdge jointEdge = aIterator.next();
-				// remove the joint edge from the given body
-				aIterator.remove();
-				// get the joint
-				Joint joint = jointEdge.interaction;
-				// set the world property to null
-				Constraint constraint = joint;
-				constraint.world = null;
-				// get the other body
-				Body other = jointEdge.other;
-				// wake up the other body
-				other.setAsleep(false);
-				// remove the joint edge from the other body
-				Iterator<JointEdge> bIterator = other.joints.iterator();
-				while (bIterator.hasNext()) {
-					// get the joint edge
-					JointEdge otherJointEdge = bIterator.next();
-					// get the joint
-					Joint otherJoint = otherJointEdge.interaction;
-					// are the joints the same object reference
-					if (otherJoint == joint) {
-						// remove the joint edge
-						bIterator.remove();
-						// we can break from the loop since there should
-						// not be more than one joint edge per joint per body
-						break;
-					}
-				}
-				// notify of the destroyed joint
-				if (notify) {
-					for (DestructionListener dl : listeners) {
-						dl.destroyed(joint);
-					}
-				}
-				// remove the joint from the world
-				this.joints.remove(joint);
+		if (this.recorder != null) {
+			this.recorder.bodyRemoved(body);
+		}
+		
+		// the destroyed joints and contacts
+		List<Joint> joints = null;
+		List<ContactConstraint> contactConstraints = null;
+		if (notify) {
+			joints = new ArrayList<Joint>(body.joints.size());
+			contactConstraints = new ArrayList<ContactConstraint>(body.contacts.size());
+		}
+		
+		// remove the body, its joints and its contacts
+		this.detach(body, joints, contactConstraints);
+		
+		// remove the body from the broadphase
+		this.broadphaseDetector.remove(body);
+		
+		// split the island the body was on
+		this.islandManager.remove(body);
+		
+		// notify of the destroyed joints and contacts
+		if (notify) {
+			this.notifyDestroyed(listeners, joints, contactConstraints);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Removes the given {@link Body}s from this {@link World}.
+	 * <p>
+	 * Use the {@link #removeBodies(Collection, boolean)} method to enable implicit
+	 * destruction notification.
+	 * @param bodies the {@link Body}s to remove
+	 * @return boolean true if any body was removed
+	 * @since 3.2.4
+	 */
+	public boolean removeBodies(Collection<Body> bodies) {
+		return this.removeBodies(bodies, false);
+	}
+	
+	/**
+	 * Removes the given {@link Body}s from this {@link World}.
+	 * <p>
+	 * This method is equivalent to calling {@link #removeBody(Body, boolean)} for each
+	 * body, but the broad-phase and the islands are updated once for all the bodies.  When
+	 * many of the bodies of the world are removed, the broad-phase is rebuilt from the
+	 * remaining bodies instead.
+	 * <p>
+	 * When a body is removed, joints and contacts may be implicitly destroyed.
+	 * Pass true to the notify parameter to be notified of the destruction of these objects
+	 * via the {@link DestructionListener}s.  The listeners are notified after all the
+	 * bodies have been removed.
+	 * <p>
+	 * Null bodies and bodies that are not members of this world are ignored.
+	 * <p>
+	 * This method does not trigger {@link ContactListener#end(ContactPoint)} events
+	 * for the contacts that are being removed.
+	 * @param bodies the {@link Body}s to remove
+	 * @param notify true if implicit destruction should be notified
+	 * @return boolean true if any body was removed
+	 * @since 3.2.4
+	 */
+	public boolean removeBodies(Collection<Body> bodies, boolean notify) {
+		List<DestructionListener> listeners = null;
+		if (notify) {
+			listeners = this.getListeners(DestructionListener.class);
+		}
+		// check for null collection
+		if (bodies == null) return false;
+		
+		if (this.recorder != null) {
+			this.recorder.bodiesRemoved(bodies);
+		}
+		
+		// the destroyed joints and contacts
+		List<Joint> joints = null;
+		List<ContactConstraint> contactConstraints = null;
+		if (notify) {
+			joints = new ArrayList<Joint>();
+			contactConstraints = new ArrayList<ContactConstraint>();
+		}
+		
+		// remove the bodies, their joints and their contacts
+		List<Body> removed = new ArrayList<Body>(bodies.size());
+		for (Body body : bodies) {
+			// skip null bodies, bodies of other worlds and duplicates
+			if (body == null || body.world != this) continue;
+			this.detach(body, joints, contactConstraints);
+			removed.add(body);
+		}
+		
+		int rSize = removed.size();
+		if (rSize == 0) return false;
+		
+		// update the broadphase
+		int bSize = this.bodies.size();
+		if (rSize > bSize) {
+			// its less work to rebuild it from the remaining bodies
+			this.broadphaseDetector.clear();
+			for (int i = 0; i < bSize; i++) {
+				this.broadphaseDetector.add(this.bodies.get(i));
 			}
-			
-			// remove any contacts this body had with any other body
-			Iterator<ContactEdge> acIterator = body.contacts.iterator();
-			while (acIterator.hasNext()) {
-				// get the contact edge
-				ContactEdge contactEdge = acIterator.next();
-				// remove the contact edge from the given body
-				acIterator.remove();
-				// get the contact constraint
-				ContactConstraint contactConstraint = contactEdge.interaction;
-				// get the other body
-				Body other = contactEdge.other;
-				// wake up the other body
-				other.setAsleep(false);
-				// remove the contact edge connected from the other body
-				// to this body
-				Iterator<ContactEdge> iterator = other.contacts.iterator();
-				while (iterator.hasNext()) {
-					ContactEdge otherContactEdge = iterator.next();
-					// get the contact constraint
-					ContactConstraint otherContactConstraint = otherContactEdge.interaction;
-					// check if the contact constraint is the same reference
-					if (otherContactConstraint == contactConstraint) {
-						// remove the contact edge
-						iterator.remove();
-						// break from the loop since there should only be
-						// one contact edge per body pair
-						break;
-					}
-				}
-				// remove the contact constraint from the contact manager
-				this.contactManager.end(contactConstraint);
-				// loop over the contact points
-				List<Contact> contacts = contactConstraint.getContacts();
-				int size = contacts.size();
-				for (int j = 0; j < size; j++) {
-					// get the contact
-					Contact contact = contacts.get(j);
-					// create a contact point for notification
-					ContactPoint contactPoint = new ContactPoint(
-							new ContactPointId(contactConstraint.getId(), contact.getId()),
-							contactConstraint.getBody1(), 
-							contactConstraint.getFixture1(), 
-							contactConstraint.getBody2(), 
-							contactConstraint.getFixture2(),
-							contact.getPoint(), 
-							contactConstraint.getNormal(), 
-							contact.getDepth());
-					// call the destruction listeners
-					if (notify) {
-						for (DestructionListener dl : listeners) {
-							dl.destroyed(contactPoint);
-						}
-					}
-				}
+		} else {
+			for (int i = 0; i < rSize; i++) {
+				this.broadphaseDetector.remove(removed.get(i));
+			}
+		}
+		
+		// split the islands the bodies were on (once per island)
+		for (int i = 0; i < rSize; i++) {
+			this.islandManager.invalidate(removed.get(i));
+		}
+		this.islandManager.split();
+		
+		// notify of the destroyed joints and contacts
+		if (notify) {
+			this.notifyDestroyed(listeners, joints, contactConstraints);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Removes the given {@link Body} from the body list, its joints from the joint list
+	 * and its joint and contact edges from the other bodies.
+	 * <p>
+	 * The bodies connected to the given body are woken up and its contacts are ended 
+	 * in the contact manager.  The body is not removed from the broad-phase or its island.
+	 * @param body the {@link Body}; must be a member of this world
+	 * @param joints the list to add the destroyed joints to; can be null
+	 * @param contactConstraints the list to add the destroyed contact constraints to; can be null
+	 * @since 3.2.4
+	 */
+	private void detach(Body body, List<Joint> joints, List<ContactConstraint> contactConstraints) {
+		// remove the body from the list by moving the last body into its place
+		int last = this.bodies.size() - 1;
+		Body moved = this.bodies.remove(last);
+		if (moved != body) {
+			this.bodies.set(body.worldIndex, moved);
+			moved.worldIndex = body.worldIndex;
+		}
+		// remove the body from the index
+		this.bodyIndex.remove(body);
+		// set the world property to null
+		body.world = null;
+		
+		// wake up any bodies connected to this body by a joint
+		// and destroy the joints and remove the edges
+		int jSize = body.joints.size();
+		for (int i = 0; i < jSize; i++) {
+			// get the joint edge
+			JointEdge jointEdge = body.joints.get(i);
+			// get the joint
+			Joint joint = jointEdge.interaction;
+			// remove the joint from the world
+			this.detach(joint);
+			// get the other body
+			Body other = jointEdge.other;
+			// wake up the other body
+			other.setAsleep(false);
+			// remove the joint edge from the other body
+			InteractionEdge.unlink(other.joints, jointEdge.reciprocal);
+			// save the joint for notification
+			if (joints != null) {
+				joints.add(joint);
 			}
 		}
+		body.joints.clear();
 		
-		return removed;
+		// remove any contacts this body had with any other body
+		int cSize = body.contacts.size();
+		for (int i = 0; i < cSize; i++) {
+			// get the contact edge
+			ContactEdge contactEdge = body.contacts.get(i);
+			// get the contact constraint
+			ContactConstraint contactConstraint = contactEdge.interaction;
+			// get the other body
+			Body other = contactEdge.other;
+			// wake up the other body
+			other.setAsleep(false);
+			// remove the contact edge connected from the other body
+			// to this body
+			InteractionEdge.unlink(other.contacts, contactEdge.reciprocal);
+			// remove the contact constraint from the contact manager
+			this.contactManager.end(contactConstraint);
+			// save the contact constraint for notification
+			if (contactConstraints != null) {
+				contactConstraints.add(contactConstraint);
+			}
+		}
+		body.contacts.clear();
+	}
+	
+	/**
+	 * Removes the given {@link Joint} from the joint list by moving the last 
+	 * joint into its place.
+	 * <p>
+	 * The joint edges are not removed.
+	 * @param joint the {@link Joint}; must be a member of this world
+	 * @since 3.2.4
+	 */
+	private void detach(Joint joint) {
+		Constraint constraint = joint;
+		int last = this.joints.size() - 1;
+		Joint moved = this.joints.remove(last);
+		if (moved != joint) {
+			Constraint movedConstraint = moved;
+			this.joints.set(constraint.worldIndex, moved);
+			movedConstraint.worldIndex = constraint.worldIndex;
+		}
+		// set the world property to null
+		constraint.world = null;
+		constraint.edge = null;
+	}
+	
+	/**
+	 * Notifies the given {@link DestructionListener}s of the given destroyed
+	 * joints and contacts.
+	 * @param listeners the listeners to notify
+	 * @param joints the destroyed joints
+	 * @param contactConstraints the destroyed contact constraints
+	 * @since 3.2.4
+	 */
+	private void notifyDestroyed(List<DestructionListener> listeners, List<Joint> joints, List<ContactConstraint> contactConstraints) {
+		int jSize = joints.size();
+		for (int i = 0; i < jSize; i++) {
+			Joint joint = joints.get(i);
+			for (DestructionListener dl : listeners) {
+				dl.destroyed(joint);
+			}
+		}
+		int cSize = contactConstraints.size();
+		for (int i = 0; i < cSize; i++) {
+			this.notifyDestroyed(listeners, contactConstraints.get(i));
+		}
+	}
+	
+	/**
+	 * Notifies the given {@link DestructionListener}s of the destruction of 
+	 * the contacts of the given {@link ContactConstraint}.
+	 * @param listeners the listeners to notify
+	 * @param contactConstraint the destroyed contact constraint
+	 * @since 3.2.4
+	 */
+	private void notifyDestroyed(List<DestructionListener> listeners, ContactConstraint contactConstraint) {
+		// loop over the contact points
+		List<Contact> contacts = contactConstraint.getContacts();
+		int size = contacts.size();
+		for (int j = 0; j < size; j++) {
+			// get the contact
+			Contact contact = contacts.get(j);
+			// create a contact point for notification
+			ContactPoint contactPoint = new ContactPoint(
+					new ContactPointId(contactConstraint.getId(), contact.getId()),
+					contactConstraint.getBody1(), 
+					contactConstraint.getFixture1(), 
+					contactConstraint.getBody2(), 
+					contactConstraint.getFixture2(),
+					contact.getPoint(), 
+					contactConstraint.getNormal(), 
+					contact.getDepth());
+			// call the destruction listeners
+			for (DestructionListener dl : listeners) {
+				dl.destroyed(contactPoint);
+			}
+		}
 	}
 
 	/**
@@ -2942,58 +4741,43 @@ public class World implements Shiftable, DataContainer {
 	 * Removes the given {@link Joint} from this {@link World}.
 	 * <p>
 	 * No other objects are implicitly destroyed with joints are removed.
+	 * <p>
+	 * The last joint of this world is moved into the place of the removed joint, so the
+	 * order of the remaining joints is not maintained.
 	 * @param joint the {@link Joint} to remove
 	 * @return boolean true if the {@link Joint} was removed
 	 */
 	public boolean removeJoint(Joint joint) {
 		// check for null joint
 		if (joint == null) return false;
-		// remove the joint from the joint list
-		boolean removed = this.joints.remove(joint);
+		// make sure the joint is a member of this world
+		Constraint constraint = joint;
+		if (constraint.world != this) return false;
 		
-		// see if the given joint was removed
-		if (removed) {
-			// set the world property to null
-			Constraint constraint = joint;
-			constraint.world = null;
-			
-			// get the involved bodies
-			Body body1 = joint.getBody1();
-			Body body2 = joint.getBody2();
-			
-			// remove the joint edges from body1
-			Iterator<JointEdge> iterator = body1.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.interaction == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
-			// remove the joint edges from body2
-			iterator = body2.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.interaction == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
-			
-			// finally wake both bodies
-			body1.setAsleep(false);
-			body2.setAsleep(false);
+		if (this.recorder != null) {
+			this.recorder.jointRemoved(joint);
 		}
 		
-		return removed;
+		// get the involved bodies
+		Body body1 = joint.getBody1();
+		Body body2 = joint.getBody2();
+		
+		// remove the joint edges from the bodies
+		JointEdge jointEdge = constraint.edge;
+		InteractionEdge.unlink(body1.joints, jointEdge);
+		InteractionEdge.unlink(body2.joints, jointEdge.reciprocal);
+		
+		// remove the joint from the joint list
+		this.detach(joint);
+		
+		// finally wake both bodies
+		body1.setAsleep(false);
+		body2.setAsleep(false);
+		
+		// the bodies may no longer be on the same island
+		this.islandManager.invalidate(body1);
+		
+		return true;
 	}
 	
 	/**
@@ -3017,6 +4801,9 @@ public class World implements Shiftable, DataContainer {
 		if (notify) {
 			listeners = this.getListeners(DestructionListener.class);
 		}
+		if (this.recorder != null) {
+			this.recorder.allBodiesRemoved();
+		}
 		// loop over the bodies and clear the
 		// joints and contacts
 		int bsize = this.bodies.size();
@@ -3028,50 +4815,15 @@ public class World implements Shiftable, DataContainer {
 			// do we need to notify?
 			if (notify) {
 				// notify of all the destroyed contacts
-				Iterator<ContactEdge> aIterator = body.contacts.iterator();
-				while (aIterator.hasNext()) {
+				int csize = body.contacts.size();
+				for (int j = 0; j < csize; j++) {
 					// get the contact edge
-					ContactEdge contactEdge = aIterator.next();
-					// get the other body involved
-					Body other = contactEdge.other;
-					// get the contact constraint
-					ContactConstraint contactConstraint = contactEdge.interaction;
-					// find the other contact edge
-					Iterator<ContactEdge> bIterator = other.contacts.iterator();
-					while (bIterator.hasNext()) {
-						// get the contact edge
-						ContactEdge otherContactEdge = bIterator.next();
-						// get the contact constraint on the edge
-						ContactConstraint otherContactConstraint = otherContactEdge.interaction;
-						// are the constraints the same object reference
-						if (otherContactConstraint == contactConstraint) {
-							// if so then remove it
-							bIterator.remove();
-							// there should only be one contact edge
-							// for each body-body pair
-							break;
-						}
-					}
+					ContactEdge contactEdge = body.contacts.get(j);
+					// remove the other contact edge so that the 
+					// contact is only notified once
+					InteractionEdge.unlink(contactEdge.other.contacts, contactEdge.reciprocal);
 					// notify of all the contacts on the contact constraint
-					List<Contact> contacts = contactConstraint.getContacts();
-					int csize = contacts.size();
-					for (int j = 0; j < csize; j++) {
-						Contact contact = contacts.get(j);
-						// create a contact point for notification
-						ContactPoint contactPoint = new ContactPoint(
-								new ContactPointId(contactConstraint.getId(), contact.getId()),
-								contactConstraint.getBody1(), 
-								contactConstraint.getFixture1(), 
-								contactConstraint.getBody2(), 
-								contactConstraint.getFixture2(),
-								contact.getPoint(), 
-								contactConstraint.getNormal(), 
-								contact.getDepth());
-						// call the destruction listeners
-						for (DestructionListener dl : listeners) {
-							dl.destroyed(contactPoint);
-						}
-					}
+					this.notifyDestroyed(listeners, contactEdge.interaction);
 				}
 				
 				// notify of the destroyed body
@@ -3108,6 +4860,10 @@ public class World implements Shiftable, DataContainer {
 		this.bodies.clear();
 		// clear the contact manager of cached contacts
 		this.contactManager.clear();
+		// clear the persistent islands
+		this.islandManager.clear();
+		// clear the body index
+		this.bodyIndex.clear();
 	}
 	
 	/**
@@ -3153,6 +4909,9 @@ public class World implements Shiftable, DataContainer {
 		if (notify) {
 			listeners = this.getListeners(DestructionListener.class);
 		}
+		if (this.recorder != null) {
+			this.recorder.allJointsRemoved();
+		}
 		// get the number of joints
 		int jSize = this.joints.size();
 		// remove all the joints
@@ -3167,37 +4926,19 @@ public class World implements Shiftable, DataContainer {
 			Body body1 = joint.getBody1();
 			Body body2 = joint.getBody2();
 			
-			// remove the joint edges from body1
-			Iterator<JointEdge> iterator = body1.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.interaction == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
-			// remove the joint edges from body2
-			iterator = body2.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.interaction == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
+			// remove the joint edges from the bodies
+			JointEdge jointEdge = constraint.edge;
+			InteractionEdge.unlink(body1.joints, jointEdge);
+			InteractionEdge.unlink(body2.joints, jointEdge.reciprocal);
+			constraint.edge = null;
 			
 			// finally wake both bodies
 			body1.setAsleep(false);
 			body2.setAsleep(false);
 			
+			// the bodies may no longer be on the same island
+			this.islandManager.invalidate(body1);
+			
 			// notify of the destruction if required
 			if (notify) {
 				for (DestructionListener dl : listeners) {
@@ -3510,6 +5251,12 @@ public class World implements Shiftable, DataContainer {
 	 */
 	public void setBroadphaseDetector(BroadphaseDetector<Body, BodyFixture> broadphaseDetector) {
 		if (broadphaseDetector == null) throw new NullPointerException(Messages.getString("dynamics.world.nullBroadphaseDetector"));
+		List<StepPhaseListener> phaseListeners = this.getListeners(StepPhaseListener.class);
+		int plSize = phaseListeners.size();
+		for (int i = 0; i < plSize; i++) {
+			StepPhaseListener pl = phaseListeners.get(i);
+			pl.broadphaseRebuildBegin(this);
+		}
 		// set the new broadphase
 		this.broadphaseDetector = broadphaseDetector;
 		// re-add all bodies to the broadphase
@@ -3517,6 +5264,10 @@ public class World implements Shiftable, DataContainer {
 		for (int i = 0; i < size; i++) {
 			this.broadphaseDetector.add(this.bodies.get(i));
 		}
+		for (int i = 0; i < plSize; i++) {
+			StepPhaseListener pl = phaseListeners.get(i);
+			pl.broadphaseRebuildEnd(this, size);
+		}
 	}
 	
 	/**
@@ -3554,12 +5305,28 @@ public class World implements Shiftable, DataContainer {
 	
 	/**
 	 * Sets the narrow-phase collision detection algorithm.
+	 * <p>
+	 * If the algorithm is a {@link CachingNarrowphaseDetector}, a {@link NarrowphaseCache} is
+	 * retained for each pair reported by the broad-phase and supplied to it each time step.
 	 * @param narrowphaseDetector the narrow-phase collision detection algorithm
 	 * @throws NullPointerException if narrowphaseDetector is null
 	 */
 	public void setNarrowphaseDetector(NarrowphaseDetector narrowphaseDetector) {
 		if (narrowphaseDetector == null) throw new NullPointerException(Messages.getString("dynamics.world.nullNarrowphaseDetector"));
 		this.narrowphaseDetector = narrowphaseDetector;
+		// the retained information is specific to the algorithm
+		this.clearPairCaches();
+	}
+	
+	/**
+	 * Discards the information retained for all the pairs of {@link BodyFixture}s.
+	 * <p>
+	 * The {@link PairCache}s are no longer considered current by the next detection, 
+	 * so they are replaced and removed as the pairs are tested.
+	 * @since 3.2.4
+	 */
+	private void clearPairCaches() {
+		this.detection += 2;
 	}
 	
 	/**
@@ -3572,12 +5339,17 @@ public class World implements Shiftable, DataContainer {
 	
 	/**
 	 * Sets the manifold solver.
+	 * <p>
+	 * If the algorithm is a {@link CachingManifoldSolver}, a {@link ManifoldCache} is
+	 * retained for each pair in collision and supplied to it each time step.
 	 * @param manifoldSolver the manifold solver
 	 * @throws NullPointerException if manifoldSolver is null
 	 */
 	public void setManifoldSolver(ManifoldSolver manifoldSolver) {
 		if (manifoldSolver == null) throw new NullPointerException(Messages.getString("dynamics.world.nullManifoldSolver"));
 		this.manifoldSolver = manifoldSolver;
+		// the retained information is specific to the algorithm
+		this.clearPairCaches();
 	}
 	
 	/**
@@ -3627,6 +5399,28 @@ public class World implements Shiftable, DataContainer {
 	public RaycastDetector getRaycastDetector() {
 		return this.raycastDetector;
 	}
+	
+	/**
+	 * Sets the distance detector used to find speculative contacts.
+	 * @param distanceDetector the distance detector
+	 * @throws NullPointerException if distanceDetector is null
+	 * @see ContinuousDetectionMode#SPECULATIVE
+	 * @since 3.2.4
+	 */
+	public void setDistanceDetector(DistanceDetector distanceDetector) {
+		if (distanceDetector == null) throw new NullPointerException(Messages.getString("dynamics.world.nullDistanceDetector"));
+		this.distanceDetector = distanceDetector;
+	}
+	
+	/**
+	 * Returns the distance detector used to find speculative contacts.
+	 * @return {@link DistanceDetector} the distance detector
+	 * @see ContinuousDetectionMode#SPECULATIVE
+	 * @since 3.2.4
+	 */
+	public DistanceDetector getDistanceDetector() {
+		return this.distanceDetector;
+	}
 
 	/**
 	 * Returns the {@link CoefficientMixer}.
@@ -3820,6 +5614,37 @@ public class World implements Shiftable, DataContainer {
 		return this.step;
 	}
 	
+	/**
+	 * Returns the statistics collected for the last step.
+	 * <p>
+	 * Statistics are only collected when {@link Settings#isStepStatisticsEnabled()} is true.
+	 * The returned object is reset and reused for each step.  Use the 
+	 * {@link StepStatistics#StepStatistics(StepStatistics)} constructor to retain
+	 * a copy.
+	 * <p>
+	 * The statistics for the current step are complete when the
+	 * {@link StepListener#end(Step, World)} method is called.
+	 * @return {@link StepStatistics}
+	 * @since 3.2.4
+	 * @see Settings#setStepStatisticsEnabled(boolean)
+	 */
+	public StepStatistics getStepStatistics() {
+		return this.statistics;
+	}
+	
+	/**
+	 * Returns the statistics accumulated over all steps performed while
+	 * {@link Settings#isStepStatisticsEnabled()} was true.
+	 * <p>
+	 * Use the {@link StepHistogram#reset()} method to begin a new measurement period.
+	 * @return {@link StepHistogram}
+	 * @since 3.2.4
+	 * @see Settings#setStepStatisticsEnabled(boolean)
+	 */
+	public StepHistogram getStepHistogram() {
+		return this.histogram;
+	}
+	
 	/**
 	 * Returns true if this world doesn't contain any
 	 * bodies or joints.
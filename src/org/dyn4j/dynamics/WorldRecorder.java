@@ -0,0 +1,686 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Records the external inputs to a {@link World} and the result of each time step 
+ * to an append-only binary log.
+ * <p>
+ * Recording is opt-in: a {@link World} is only recorded while a recorder is attached 
+ * to it.  A recorder is attached when created and detached when closed.  When no 
+ * recorder is attached the cost is a null check per input.
+ * <p>
+ * The log starts with a snapshot of the world (see {@link World#snapshot(ByteBuffer)})
+ * along with its {@link Settings} and gravity.  After that the following are recorded,
+ * in the order they happen:
+ * <ul>
+ * <li>The {@link Body}s and {@link Joint}s that are added and removed</li>
+ * <li>The forces, torques and impulses applied to bodies via the {@link Body}'s apply methods</li>
+ * <li>The velocities set via the {@link Body}'s set velocity methods</li>
+ * <li>Changes to the {@link World}'s {@link Settings} and gravity (these are compared at the beginning of each step)</li>
+ * <li>Each time step's elapsed time and a hash of the resulting state (see {@link #getStateHash(World)})</li>
+ * <li>A new snapshot when the world is restored from one</li>
+ * </ul>
+ * Use the {@link WorldReplayer} to replay a log and find the first time step where the 
+ * replay diverges from the recording, or to compare two logs.
+ * <p>
+ * Other changes to the world are not recorded: transforms, mass, joint properties,
+ * sleep and active state set directly, velocities modified in place, etc.  A replay of
+ * a world that was changed in these ways diverges at the first step after the change,
+ * which is reported by the state hashes.  Inputs made while the islands are being 
+ * solved (from a {@link StepPhaseListener} for example) are not recorded either.
+ * <p>
+ * Inputs made from listeners during a time step are recorded with the phase of the step 
+ * they were made in (before or after the solve) and are replayed in the same phase.
+ * <p>
+ * The log is written through a {@link DataOutputStream} as the inputs happen, so the given
+ * stream should be buffered.  If writing fails, recording stops and the exception is 
+ * thrown by the {@link #close()} method.
+ * <p>
+ * This class is not thread safe.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class WorldRecorder {
+	/** The first four bytes of a log */
+	static final int MAGIC = 0x44344A52;
+	
+	/** The log format version */
+	static final int VERSION = 1;
+	
+	// events
+	
+	/** A snapshot of the world followed by its settings and gravity */
+	static final int SNAPSHOT = 1;
+	
+	/** Changed settings */
+	static final int SETTINGS = 2;
+	
+	/** Changed gravity */
+	static final int GRAVITY = 3;
+	
+	/** The beginning of a time step */
+	static final int STEP = 4;
+	
+	/** The end of the solve of a time step */
+	static final int POST_SOLVE = 5;
+	
+	/** The end of a time step and its state hash */
+	static final int STEP_END = 6;
+	
+	/** Bodies added */
+	static final int ADD_BODIES = 7;
+	
+	/** A body removed */
+	static final int REMOVE_BODY = 8;
+	
+	/** Bodies removed */
+	static final int REMOVE_BODIES = 9;
+	
+	/** All bodies and joints removed */
+	static final int REMOVE_ALL = 10;
+	
+	/** Joints added */
+	static final int ADD_JOINTS = 11;
+	
+	/** A joint removed */
+	static final int REMOVE_JOINT = 12;
+	
+	/** All joints removed */
+	static final int REMOVE_ALL_JOINTS = 13;
+	
+	/** {@link Body#applyForce(Vector2)} or {@link Body#applyForce(Force)} */
+	static final int FORCE = 14;
+	
+	/** {@link Body#applyForce(Vector2, Vector2)} */
+	static final int FORCE_AT_POINT = 15;
+	
+	/** {@link Body#applyTorque(double)} or {@link Body#applyTorque(Torque)} */
+	static final int TORQUE = 16;
+	
+	/** {@link Body#applyImpulse(Vector2)} */
+	static final int IMPULSE = 17;
+	
+	/** {@link Body#applyImpulse(Vector2, Vector2)} */
+	static final int IMPULSE_AT_POINT = 18;
+	
+	/** {@link Body#applyImpulse(double)} */
+	static final int ANGULAR_IMPULSE = 19;
+	
+	/** {@link Body#setLinearVelocity(double, double)} */
+	static final int LINEAR_VELOCITY = 20;
+	
+	/** {@link Body#setAngularVelocity(double)} */
+	static final int ANGULAR_VELOCITY = 21;
+	
+	/** The FNV-1a 64 bit offset basis */
+	private static final long HASH_OFFSET = 0xcbf29ce484222325L;
+	
+	/** The FNV-1a 64 bit prime */
+	private static final long HASH_PRIME = 0x100000001b3L;
+	
+	/** The recorded world */
+	private final World world;
+	
+	/** The log */
+	private final DataOutputStream output;
+	
+	/** The last recorded settings */
+	private final double[] settings;
+	
+	/** The current settings */
+	private final double[] values;
+	
+	/** The last recorded gravity */
+	private final Vector2 gravity;
+	
+	/** Temporary storage for the transform values */
+	private final double[] transform;
+	
+	/** True if inputs should not be recorded */
+	boolean suspended;
+	
+	/** The number of recorded time steps */
+	private int steps;
+	
+	/** The exception that stopped the recording; null if none */
+	private IOException exception;
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * Writes the header and the initial state of the given world to the given stream
+	 * and starts recording.
+	 * <p>
+	 * This constructor should not be called during a time step.
+	 * @param world the world to record
+	 * @param output the stream to write the log to
+	 * @throws NullPointerException if world or output is null
+	 * @throws IllegalArgumentException if world is already being recorded or it can't be snapshot (see {@link World#snapshot(ByteBuffer)})
+	 * @throws IOException if the header or initial state could not be written
+	 */
+	public WorldRecorder(World world, OutputStream output) throws IOException {
+		if (world == null) throw new NullPointerException(Messages.getString("dynamics.worldRecorder.nullWorld"));
+		if (output == null) throw new NullPointerException(Messages.getString("dynamics.worldRecorder.nullOutput"));
+		if (world.recorder != null) throw new IllegalArgumentException(Messages.getString("dynamics.worldRecorder.alreadyRecording"));
+		
+		this.world = world;
+		this.output = new DataOutputStream(output);
+		this.settings = new double[Settings.VALUE_COUNT];
+		this.values = new double[Settings.VALUE_COUNT];
+		this.gravity = new Vector2();
+		this.transform = new double[6];
+		this.suspended = false;
+		this.steps = 0;
+		
+		this.output.writeInt(MAGIC);
+		this.output.writeByte(VERSION);
+		this.writeSnapshot();
+		
+		world.recorder = this;
+	}
+	
+	/**
+	 * Returns a hash of the state of the given {@link World}.
+	 * <p>
+	 * The hash includes the transform, velocity, angular velocity, sleep and active state 
+	 * of every {@link Body} in the world, in order.  Two worlds that simulate the same 
+	 * bodies deterministically have the same hash after every time step.
+	 * @param world the world
+	 * @return long
+	 */
+	public static long getStateHash(World world) {
+		return WorldRecorder.getStateHash(world, new double[6]);
+	}
+	
+	/**
+	 * Returns a hash of the state of the given {@link World}.
+	 * @param world the world
+	 * @param transform temporary storage for the transform values; length of at least 6
+	 * @return long
+	 * @see #getStateHash(World)
+	 */
+	static long getStateHash(World world, double[] transform) {
+		List<Body> bodies = world.getBodies();
+		int size = bodies.size();
+		long hash = hash(HASH_OFFSET, size);
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			body.getTransform().getValues(transform);
+			for (int j = 0; j < 6; j++) {
+				hash = hash(hash, Double.doubleToLongBits(transform[j]));
+			}
+			hash = hash(hash, Double.doubleToLongBits(body.velocity.x));
+			hash = hash(hash, Double.doubleToLongBits(body.velocity.y));
+			hash = hash(hash, Double.doubleToLongBits(body.angularVelocity));
+			hash = hash(hash, (body.isAsleep() ? 1 : 0) | (body.isActive() ? 2 : 0));
+		}
+		return hash;
+	}
+	
+	/**
+	 * Adds the given value to the given hash.
+	 * @param hash the hash
+	 * @param value the value
+	 * @return long
+	 */
+	private static final long hash(long hash, long value) {
+		// FNV-1a over the whole value followed by a shift to mix the high bits down
+		hash = (hash ^ value) * HASH_PRIME;
+		return hash ^ (hash >>> 32);
+	}
+	
+	/**
+	 * Writes the given value as a variable length integer.
+	 * @param output the stream
+	 * @param value the value; must be positive
+	 * @throws IOException if the value could not be written
+	 */
+	static final void writeVarInt(DataOutputStream output, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+	
+	/**
+	 * Writes a snapshot of the world along with its settings and gravity.
+	 * @throws IOException if the snapshot could not be written
+	 */
+	private void writeSnapshot() throws IOException {
+		World world = this.world;
+		ByteBuffer buffer = ByteBuffer.allocate(world.getSnapshotSize());
+		world.snapshot(buffer);
+		
+		this.output.writeByte(SNAPSHOT);
+		this.output.writeInt(buffer.position());
+		this.output.write(buffer.array(), 0, buffer.position());
+		
+		world.getSettings().getValues(this.settings);
+		for (int i = 0; i < Settings.VALUE_COUNT; i++) {
+			this.output.writeDouble(this.settings[i]);
+		}
+		
+		Vector2 gravity = world.getGravity();
+		this.gravity.set(gravity);
+		this.output.writeDouble(gravity.x);
+		this.output.writeDouble(gravity.y);
+	}
+	
+	/**
+	 * Stops recording when writing fails.
+	 * @param exception the exception
+	 */
+	private void fail(IOException exception) {
+		this.exception = exception;
+		if (this.world.recorder == this) {
+			this.world.recorder = null;
+		}
+	}
+	
+	/**
+	 * Writes the given event for the given body.
+	 * @param event the event
+	 * @param body the body
+	 * @throws IOException if the event could not be written
+	 */
+	private void write(int event, Body body) throws IOException {
+		this.output.writeByte(event);
+		writeVarInt(this.output, body.worldIndex);
+	}
+	
+	// world
+	
+	/**
+	 * Called at the beginning of a time step before the listeners are notified.
+	 * @param step the step
+	 */
+	void begin(Step step) {
+		try {
+			DataOutputStream output = this.output;
+			// the settings and gravity are mutable so they are compared rather
+			// than recorded when set
+			this.world.getSettings().getValues(this.values);
+			if (!Arrays.equals(this.settings, this.values)) {
+				System.arraycopy(this.values, 0, this.settings, 0, Settings.VALUE_COUNT);
+				output.writeByte(SETTINGS);
+				for (int i = 0; i < Settings.VALUE_COUNT; i++) {
+					output.writeDouble(this.settings[i]);
+				}
+			}
+			Vector2 gravity = this.world.getGravity();
+			if (!this.gravity.equals(gravity)) {
+				this.gravity.set(gravity);
+				output.writeByte(GRAVITY);
+				output.writeDouble(gravity.x);
+				output.writeDouble(gravity.y);
+			}
+			output.writeByte(STEP);
+			output.writeDouble(step.dt);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called after the islands have been solved before the listeners are notified.
+	 */
+	void postSolve() {
+		try {
+			this.output.writeByte(POST_SOLVE);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called at the end of a time step before the listeners are notified.
+	 */
+	void end() {
+		try {
+			this.output.writeByte(STEP_END);
+			this.output.writeLong(WorldRecorder.getStateHash(this.world, this.transform));
+			this.steps++;
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called after the world was restored from a snapshot.
+	 */
+	void restored() {
+		try {
+			this.writeSnapshot();
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called after bodies were added to the world.
+	 * @param index the index of the first body
+	 * @param count the number of bodies
+	 */
+	void bodiesAdded(int index, int count) {
+		this.added(ADD_BODIES, index, count);
+	}
+	
+	/**
+	 * Called after joints were added to the world.
+	 * @param index the index of the first joint
+	 * @param count the number of joints
+	 */
+	void jointsAdded(int index, int count) {
+		this.added(ADD_JOINTS, index, count);
+	}
+	
+	/**
+	 * Writes an add event.
+	 * @param event the event
+	 * @param index the index of the first object
+	 * @param count the number of objects
+	 */
+	private void added(int event, int index, int count) {
+		try {
+			this.output.writeByte(event);
+			writeVarInt(this.output, index);
+			writeVarInt(this.output, count);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called before the given body is removed from the world.
+	 * @param body the body
+	 */
+	void bodyRemoved(Body body) {
+		try {
+			this.write(REMOVE_BODY, body);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called before the given bodies are removed from the world.
+	 * @param bodies the bodies; may contain null bodies and bodies of other worlds
+	 */
+	void bodiesRemoved(Collection<Body> bodies) {
+		try {
+			// only the members are written; duplicates are written 
+			// since they are ignored the same way when replayed
+			int count = 0;
+			for (Body body : bodies) {
+				if (body != null && body.world == this.world) count++;
+			}
+			this.output.writeByte(REMOVE_BODIES);
+			writeVarInt(this.output, count);
+			for (Body body : bodies) {
+				if (body != null && body.world == this.world) {
+					writeVarInt(this.output, body.worldIndex);
+				}
+			}
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called before the given joint is removed from the world.
+	 * @param joint the joint
+	 */
+	void jointRemoved(Joint joint) {
+		try {
+			Constraint constraint = joint;
+			this.output.writeByte(REMOVE_JOINT);
+			writeVarInt(this.output, constraint.worldIndex);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called before all the bodies (and joints) are removed from the world.
+	 */
+	void allBodiesRemoved() {
+		try {
+			this.output.writeByte(REMOVE_ALL);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called before all the joints are removed from the world.
+	 */
+	void allJointsRemoved() {
+		try {
+			this.output.writeByte(REMOVE_ALL_JOINTS);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	// body
+	
+	/**
+	 * Called when a force is applied to the given body.
+	 * @param body the body
+	 * @param force the force
+	 */
+	void applyForce(Body body, Vector2 force) {
+		if (this.suspended) return;
+		try {
+			this.write(FORCE, body);
+			this.output.writeDouble(force.x);
+			this.output.writeDouble(force.y);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called when a force is applied to the given body at the given point.
+	 * @param body the body
+	 * @param force the force
+	 * @param point the point
+	 */
+	void applyForce(Body body, Vector2 force, Vector2 point) {
+		if (this.suspended) return;
+		try {
+			this.write(FORCE_AT_POINT, body);
+			this.output.writeDouble(force.x);
+			this.output.writeDouble(force.y);
+			this.output.writeDouble(point.x);
+			this.output.writeDouble(point.y);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called when a torque is applied to the given body.
+	 * @param body the body
+	 * @param torque the torque
+	 */
+	void applyTorque(Body body, double torque) {
+		this.write(TORQUE, body, torque);
+	}
+	
+	/**
+	 * Called when an impulse is applied to the given body.
+	 * @param body the body
+	 * @param impulse the impulse
+	 */
+	void applyImpulse(Body body, Vector2 impulse) {
+		this.write(IMPULSE, body, impulse.x, impulse.y);
+	}
+	
+	/**
+	 * Called when an impulse is applied to the given body at the given point.
+	 * @param body the body
+	 * @param impulse the impulse
+	 * @param point the point
+	 */
+	void applyImpulse(Body body, Vector2 impulse, Vector2 point) {
+		if (this.suspended) return;
+		try {
+			this.write(IMPULSE_AT_POINT, body);
+			this.output.writeDouble(impulse.x);
+			this.output.writeDouble(impulse.y);
+			this.output.writeDouble(point.x);
+			this.output.writeDouble(point.y);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Called when an angular impulse is applied to the given body.
+	 * @param body the body
+	 * @param impulse the impulse
+	 */
+	void applyImpulse(Body body, double impulse) {
+		this.write(ANGULAR_IMPULSE, body, impulse);
+	}
+	
+	/**
+	 * Called when the linear velocity of the given body is set.
+	 * @param body the body
+	 * @param x the velocity along the x-axis
+	 * @param y the velocity along the y-axis
+	 */
+	void setLinearVelocity(Body body, double x, double y) {
+		this.write(LINEAR_VELOCITY, body, x, y);
+	}
+	
+	/**
+	 * Called when the angular velocity of the given body is set.
+	 * @param body the body
+	 * @param angularVelocity the angular velocity
+	 */
+	void setAngularVelocity(Body body, double angularVelocity) {
+		this.write(ANGULAR_VELOCITY, body, angularVelocity);
+	}
+	
+	/**
+	 * Writes the given body event with one value.
+	 * @param event the event
+	 * @param body the body
+	 * @param value the value
+	 */
+	private void write(int event, Body body, double value) {
+		if (this.suspended) return;
+		try {
+			this.write(event, body);
+			this.output.writeDouble(value);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Writes the given body event with two values.
+	 * @param event the event
+	 * @param body the body
+	 * @param x the first value
+	 * @param y the second value
+	 */
+	private void write(int event, Body body, double x, double y) {
+		if (this.suspended) return;
+		try {
+			this.write(event, body);
+			this.output.writeDouble(x);
+			this.output.writeDouble(y);
+		} catch (IOException e) {
+			this.fail(e);
+		}
+	}
+	
+	/**
+	 * Flushes the log.
+	 * @throws IOException if the log could not be flushed or if recording stopped because writing failed
+	 */
+	public void flush() throws IOException {
+		if (this.exception != null) throw this.exception;
+		this.output.flush();
+	}
+	
+	/**
+	 * Stops recording and closes the log.
+	 * <p>
+	 * This method should not be called during a time step.
+	 * @throws IOException if the log could not be closed or if recording stopped because writing failed
+	 */
+	public void close() throws IOException {
+		if (this.world.recorder == this) {
+			this.world.recorder = null;
+		}
+		this.output.close();
+		if (this.exception != null) throw this.exception;
+	}
+	
+	/**
+	 * Returns true if the world is being recorded.
+	 * <p>
+	 * Returns false after the recorder has been closed or if writing failed.
+	 * @return boolean
+	 */
+	public boolean isRecording() {
+		return this.world.recorder == this;
+	}
+	
+	/**
+	 * Returns the recorded world.
+	 * @return {@link World}
+	 */
+	public World getWorld() {
+		return this.world;
+	}
+	
+	/**
+	 * Returns the number of time steps recorded.
+	 * @return int
+	 */
+	public int getStepCount() {
+		return this.steps;
+	}
+}
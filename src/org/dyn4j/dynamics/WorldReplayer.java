@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Replays a log recorded by a {@link WorldRecorder}.
+ * <p>
+ * The {@link #replay(World, ReplayListener)} method restores the given {@link World} to 
+ * the recorded initial state, applies the recorded inputs and steps the world the same way
+ * the recorded world was stepped.  After each time step the state hash of the world is 
+ * compared to the recorded hash and the replay stops at the first time step where they 
+ * differ.  The world must contain the same bodies and joints, in the same order, and 
+ * use the same algorithms as the recorded world did when the recording started.
+ * <p>
+ * The {@link #compare(InputStream, InputStream)} method compares the state hashes of
+ * two logs, from two peers that should have simulated the same thing for example, without
+ * replaying them.
+ * <p>
+ * A replayer reads from its stream as it replays, so it can only be used once.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see WorldRecorder
+ */
+public class WorldReplayer {
+	/** The log */
+	private final DataInputStream input;
+	
+	/** Temporary storage for the settings */
+	private final double[] values;
+	
+	/** Temporary storage for the transform values */
+	private final double[] transform;
+	
+	/** The listener that replays the inputs made during a time step */
+	private final StepListener stepListener;
+	
+	/** The world being replayed */
+	private World world;
+	
+	/** The listener for the structural changes */
+	private ReplayListener listener;
+	
+	/** The number of time steps replayed */
+	private int steps;
+	
+	/** The recorded state hash of the current time step */
+	private long hash;
+	
+	/** True if the recorded state hash of the current time step has been read */
+	private boolean ended;
+	
+	/** True if the state of the current time step differs from the recording */
+	private boolean diverged;
+	
+	/** The exception thrown while replaying a time step */
+	private IOException exception;
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * Reads the header of the log.
+	 * @param input the stream to read the log from
+	 * @throws NullPointerException if input is null
+	 * @throws IOException if the header could not be read or the stream isn't a log written by a {@link WorldRecorder}
+	 */
+	public WorldReplayer(InputStream input) throws IOException {
+		if (input == null) throw new NullPointerException(Messages.getString("dynamics.worldReplayer.nullInput"));
+		this.input = new DataInputStream(input);
+		this.values = new double[Settings.VALUE_COUNT];
+		this.transform = new double[6];
+		this.stepListener = new StepAdapter() {
+			@Override
+			public void begin(Step step, World world) {
+				WorldReplayer.this.replay(WorldRecorder.POST_SOLVE);
+			}
+			@Override
+			public void postSolve(Step step, World world) {
+				WorldReplayer.this.replay(WorldRecorder.STEP_END);
+			}
+			@Override
+			public void end(Step step, World world) {
+				WorldReplayer.this.end(world);
+			}
+		};
+		
+		if (this.input.readInt() != WorldRecorder.MAGIC || this.input.readUnsignedByte() != WorldRecorder.VERSION) {
+			throw new IOException(Messages.getString("dynamics.worldReplayer.invalidLog"));
+		}
+	}
+	
+	/**
+	 * Compares the state hashes of the given logs.
+	 * <p>
+	 * Returns the index of the first time step where the state hashes differ or where 
+	 * one log ends before the other.  Returns -1 if both logs have the same state 
+	 * hashes for the same number of time steps.
+	 * @param log1 the first log
+	 * @param log2 the second log
+	 * @return int
+	 * @throws NullPointerException if either log is null
+	 * @throws IOException if either log could not be read or isn't a log written by a {@link WorldRecorder}
+	 */
+	public static int compare(InputStream log1, InputStream log2) throws IOException {
+		WorldReplayer replayer1 = new WorldReplayer(log1);
+		WorldReplayer replayer2 = new WorldReplayer(log2);
+		int step = 0;
+		while (true) {
+			boolean ended1 = replayer1.skip();
+			boolean ended2 = replayer2.skip();
+			if (!ended1 && !ended2) return -1;
+			if (ended1 != ended2 || replayer1.hash != replayer2.hash) return step;
+			step++;
+		}
+	}
+	
+	/**
+	 * Replays the log on the given {@link World}.
+	 * <p>
+	 * Returns the index of the first time step where the state of the world differs from the
+	 * recording or -1 if the whole log was replayed without differences.  The replay stops
+	 * after the first time step that differs.
+	 * <p>
+	 * The log must start with the state of the world, which is restored first, so the 
+	 * world must contain the same bodies and joints as the recorded world when the recording
+	 * started (see {@link World#restore(ByteBuffer)}).
+	 * @param world the world to replay the log on
+	 * @param listener the listener for the bodies and joints added during the recording; can be null if none were added
+	 * @return int
+	 * @throws NullPointerException if world is null
+	 * @throws IllegalArgumentException if the world doesn't match the recorded world
+	 * @throws IllegalStateException if the listener doesn't add the recorded bodies or joints
+	 * @throws IOException if the log could not be read or is corrupt
+	 */
+	public int replay(World world, ReplayListener listener) throws IOException {
+		if (world == null) throw new NullPointerException(Messages.getString("dynamics.worldReplayer.nullWorld"));
+		
+		// the log must start with the initial state
+		if (this.input.read() != WorldRecorder.SNAPSHOT) {
+			throw new IOException(Messages.getString("dynamics.worldReplayer.invalidLog"));
+		}
+		
+		this.world = world;
+		this.listener = listener;
+		this.readSnapshot();
+		
+		world.addListener(this.stepListener);
+		try {
+			while (this.next(WorldRecorder.STEP) == WorldRecorder.STEP) {
+				double dt = this.input.readDouble();
+				this.ended = false;
+				this.diverged = false;
+				
+				// the inputs made during the step are replayed by the step listener
+				world.step(1, dt);
+				if (this.exception != null) throw this.exception;
+				
+				// the log ended during the step
+				if (!this.ended) break;
+				
+				this.steps++;
+				if (this.diverged) {
+					return this.steps - 1;
+				}
+			}
+		} finally {
+			world.removeListener(this.stepListener);
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Replays the inputs made during a time step up to the given event.
+	 * @param until the event that ends the phase of the time step
+	 */
+	private void replay(int until) {
+		// ignore when the log has already failed or ended
+		if (this.exception != null) return;
+		try {
+			if (this.next(until) == until && until == WorldRecorder.STEP_END) {
+				this.hash = this.input.readLong();
+				this.ended = true;
+			}
+		} catch (IOException e) {
+			this.exception = e;
+		}
+	}
+	
+	/**
+	 * Compares the state of the given world to the recorded state at the end of a time step.
+	 * @param world the world
+	 */
+	private void end(World world) {
+		if (this.ended) {
+			this.diverged = this.hash != WorldRecorder.getStateHash(world, this.transform);
+		}
+	}
+	
+	/**
+	 * Reads and applies the events until the given event is read.
+	 * @param until the event to stop at
+	 * @return int the given event or -1 if the log ended
+	 * @throws IOException if the log could not be read or is corrupt
+	 */
+	private int next(int until) throws IOException {
+		DataInputStream input = this.input;
+		World world = this.world;
+		while (true) {
+			int event = input.read();
+			if (event < 0 || event == until) return event;
+			
+			switch (event) {
+				case WorldRecorder.SNAPSHOT:
+					this.readSnapshot();
+					break;
+				case WorldRecorder.SETTINGS:
+					this.readSettings();
+					break;
+				case WorldRecorder.GRAVITY:
+					world.setGravity(new Vector2(input.readDouble(), input.readDouble()));
+					break;
+				case WorldRecorder.ADD_BODIES: {
+					int index = readVarInt(input);
+					int count = readVarInt(input);
+					if (this.listener != null) {
+						this.listener.bodiesAdded(world, index, count);
+					}
+					if (world.getBodyCount() != index + count) {
+						throw new IllegalStateException(Messages.getString("dynamics.worldReplayer.bodyCountMismatch"));
+					}
+					break;
+				}
+				case WorldRecorder.REMOVE_BODY:
+					world.removeBody(readVarInt(input));
+					break;
+				case WorldRecorder.REMOVE_BODIES: {
+					int count = readVarInt(input);
+					List<Body> bodies = new ArrayList<Body>(count);
+					for (int i = 0; i < count; i++) {
+						bodies.add(world.getBody(readVarInt(input)));
+					}
+					world.removeBodies(bodies);
+					break;
+				}
+				case WorldRecorder.REMOVE_ALL:
+					world.removeAllBodiesAndJoints();
+					break;
+				case WorldRecorder.ADD_JOINTS: {
+					int index = readVarInt(input);
+					int count = readVarInt(input);
+					if (this.listener != null) {
+						this.listener.jointsAdded(world, index, count);
+					}
+					if (world.getJointCount() != index + count) {
+						throw new IllegalStateException(Messages.getString("dynamics.worldReplayer.jointCountMismatch"));
+					}
+					break;
+				}
+				case WorldRecorder.REMOVE_JOINT:
+					world.removeJoint(readVarInt(input));
+					break;
+				case WorldRecorder.REMOVE_ALL_JOINTS:
+					world.removeAllJoints();
+					break;
+				case WorldRecorder.FORCE:
+					world.getBody(readVarInt(input)).applyForce(new Vector2(input.readDouble(), input.readDouble()));
+					break;
+				case WorldRecorder.FORCE_AT_POINT:
+					world.getBody(readVarInt(input)).applyForce(
+							new Vector2(input.readDouble(), input.readDouble()),
+							new Vector2(input.readDouble(), input.readDouble()));
+					break;
+				case WorldRecorder.TORQUE:
+					world.getBody(readVarInt(input)).applyTorque(input.readDouble());
+					break;
+				case WorldRecorder.IMPULSE:
+					world.getBody(readVarInt(input)).applyImpulse(new Vector2(input.readDouble(), input.readDouble()));
+					break;
+				case WorldRecorder.IMPULSE_AT_POINT:
+					world.getBody(readVarInt(input)).applyImpulse(
+							new Vector2(input.readDouble(), input.readDouble()),
+							new Vector2(input.readDouble(), input.readDouble()));
+					break;
+				case WorldRecorder.ANGULAR_IMPULSE:
+					world.getBody(readVarInt(input)).applyImpulse(input.readDouble());
+					break;
+				case WorldRecorder.LINEAR_VELOCITY: {
+					Body body = world.getBody(readVarInt(input));
+					body.setLinearVelocity(input.readDouble(), input.readDouble());
+					break;
+				}
+				case WorldRecorder.ANGULAR_VELOCITY:
+					world.getBody(readVarInt(input)).setAngularVelocity(input.readDouble());
+					break;
+				default:
+					throw new IOException(Messages.getString("dynamics.worldReplayer.invalidLog"));
+			}
+		}
+	}
+	
+	/**
+	 * Reads a snapshot and restores the world from it along with its settings and gravity.
+	 * @throws IOException if the snapshot could not be read
+	 */
+	private void readSnapshot() throws IOException {
+		byte[] snapshot = new byte[this.input.readInt()];
+		this.input.readFully(snapshot);
+		this.world.restore(ByteBuffer.wrap(snapshot));
+		this.readSettings();
+		this.world.setGravity(new Vector2(this.input.readDouble(), this.input.readDouble()));
+	}
+	
+	/**
+	 * Reads the settings and sets them on the world's settings.
+	 * @throws IOException if the settings could not be read
+	 */
+	private void readSettings() throws IOException {
+		for (int i = 0; i < Settings.VALUE_COUNT; i++) {
+			this.values[i] = this.input.readDouble();
+		}
+		this.world.getSettings().setValues(this.values);
+	}
+	
+	/**
+	 * Skips the events up to and including the next time step's state hash.
+	 * @return boolean false if the log ended
+	 * @throws IOException if the log could not be read or is corrupt
+	 */
+	private boolean skip() throws IOException {
+		DataInputStream input = this.input;
+		while (true) {
+			int event = input.read();
+			switch (event) {
+				case -1:
+					return false;
+				case WorldRecorder.STEP_END:
+					this.hash = input.readLong();
+					return true;
+				case WorldRecorder.SNAPSHOT:
+					this.skip(input.readInt() + (Settings.VALUE_COUNT + 2) * 8);
+					break;
+				case WorldRecorder.SETTINGS:
+					this.skip(Settings.VALUE_COUNT * 8);
+					break;
+				case WorldRecorder.GRAVITY:
+					this.skip(16);
+					break;
+				case WorldRecorder.STEP:
+					this.skip(8);
+					break;
+				case WorldRecorder.POST_SOLVE:
+				case WorldRecorder.REMOVE_ALL:
+				case WorldRecorder.REMOVE_ALL_JOINTS:
+					break;
+				case WorldRecorder.ADD_BODIES:
+				case WorldRecorder.ADD_JOINTS:
+					readVarInt(input);
+					readVarInt(input);
+					break;
+				case WorldRecorder.REMOVE_BODY:
+				case WorldRecorder.REMOVE_JOINT:
+					readVarInt(input);
+					break;
+				case WorldRecorder.REMOVE_BODIES: {
+					int count = readVarInt(input);
+					for (int i = 0; i < count; i++) {
+						readVarInt(input);
+					}
+					break;
+				}
+				case WorldRecorder.TORQUE:
+				case WorldRecorder.ANGULAR_IMPULSE:
+				case WorldRecorder.ANGULAR_VELOCITY:
+					readVarInt(input);
+					this.skip(8);
+					break;
+				case WorldRecorder.FORCE:
+				case WorldRecorder.IMPULSE:
+				case WorldRecorder.LINEAR_VELOCITY:
+					readVarInt(input);
+					this.skip(16);
+					break;
+				case WorldRecorder.FORCE_AT_POINT:
+				case WorldRecorder.IMPULSE_AT_POINT:
+					readVarInt(input);
+					this.skip(32);
+					break;
+				default:
+					throw new IOException(Messages.getString("dynamics.worldReplayer.invalidLog"));
+			}
+		}
+	}
+	
+	/**
+	 * Skips the given number of bytes.
+	 * @param n the number of bytes
+	 * @throws IOException if the bytes could not be skipped
+	 */
+	private void skip(int n) throws IOException {
+		while (n > 0) {
+			int skipped = this.input.skipBytes(n);
+			if (skipped <= 0) {
+				// skipBytes doesn't distinguish the end of the stream
+				this.input.readByte();
+				skipped = 1;
+			}
+			n -= skipped;
+		}
+	}
+	
+	/**
+	 * Reads a variable length integer written by {@link WorldRecorder#writeVarInt(java.io.DataOutputStream, int)}.
+	 * @param input the stream
+	 * @return int
+	 * @throws IOException if the value could not be read
+	 */
+	private static final int readVarInt(DataInputStream input) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			if (shift > 28) throw new IOException(Messages.getString("dynamics.worldReplayer.invalidLog"));
+			b = input.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+	
+	/**
+	 * Returns the number of time steps replayed.
+	 * <p>
+	 * This includes the time step that differed, if any.
+	 * @return int
+	 */
+	public int getStepCount() {
+		return this.steps;
+	}
+}
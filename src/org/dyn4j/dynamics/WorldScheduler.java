@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.resources.Messages;
+
+/**
+ * Updates many independent {@link World}s concurrently on a shared thread pool.
+ * <p>
+ * Each call to {@link #update(double)} gives the elapsed time to every world and 
+ * submits each world that isn't already running to the executor.  Each world performs 
+ * fixed time steps using the {@link World#update(double, double, int)} method, 
+ * accumulating any remaining time for the next update.  The {@link #update(double)}
+ * method returns immediately; use {@link #awaitIdle()} or {@link #updateAndWait(double)}
+ * to wait for the worlds to finish.
+ * <p>
+ * A world is only ever updated by one thread at a time and a {@link World} itself is
+ * not multi-threaded, so the listeners of a world are notified one at a time, in the
+ * same order as when the world is updated directly.  Worlds should not share bodies, 
+ * joints, listeners or other mutable state.
+ * <p>
+ * When a world cannot keep up, backpressure is applied rather than queuing more work:
+ * <ul>
+ * <li>A world that is still running when the scheduler is updated is skipped and the
+ * elapsed time is given to it the next time it runs (see {@link ScheduledWorld#getSkippedUpdateCount()}).</li>
+ * <li>A world performs at most {@link ScheduledWorld#getMaximumSteps()} steps per run
+ * and any accumulated time over its maximum backlog is dropped (see {@link ScheduledWorld#getDroppedTime()}).</li>
+ * </ul>
+ * The executor can be any {@link Executor}, for example a fixed thread pool or, on Java 21 or
+ * higher, a virtual thread per task executor.  The {@link #WorldScheduler(int)} constructor 
+ * creates a fixed pool of daemon threads that is shut down by the {@link #shutdown()} method.
+ * <p>
+ * The methods of this class can be called from any thread.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see ScheduledWorld
+ */
+public class WorldScheduler {
+	/** The default maximum number of steps a world performs per run */
+	public static final int DEFAULT_MAXIMUM_STEPS = 4;
+	
+	/** The executor */
+	private final Executor executor;
+	
+	/** The executor created by this scheduler; null if the executor was given */
+	private final ExecutorService ownedExecutor;
+	
+	/** The scheduled worlds */
+	private final List<ScheduledWorld> worlds;
+	
+	/** The unmodifiable view of the scheduled worlds */
+	private final List<ScheduledWorld> worldsUnmodifiable;
+	
+	/** The lock for the running count */
+	private final Object lock;
+	
+	/** The number of worlds running or waiting to run; guarded by lock */
+	private int runningCount;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Creates a fixed pool with one thread per available processor.
+	 */
+	public WorldScheduler() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a new scheduler with a fixed pool of the given number of daemon threads.
+	 * <p>
+	 * Call {@link #shutdown()} to stop the threads.
+	 * @param threadCount the number of threads
+	 * @throws IllegalArgumentException if threadCount is less than one
+	 */
+	public WorldScheduler(int threadCount) {
+		if (threadCount < 1) throw new IllegalArgumentException(Messages.getString("dynamics.worldScheduler.invalidThreadCount"));
+		this.ownedExecutor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+			/** The number of threads created */
+			private int count = 0;
+			
+			@Override
+			public synchronized Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "dyn4j-world-scheduler-" + (++this.count));
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.executor = this.ownedExecutor;
+		this.worlds = new CopyOnWriteArrayList<ScheduledWorld>();
+		this.worldsUnmodifiable = Collections.unmodifiableList(this.worlds);
+		this.lock = new Object();
+		this.runningCount = 0;
+	}
+	
+	/**
+	 * Creates a new scheduler that runs the worlds on the given executor.
+	 * <p>
+	 * The executor is not shut down by this scheduler.
+	 * @param executor the executor
+	 * @throws NullPointerException if executor is null
+	 */
+	public WorldScheduler(Executor executor) {
+		if (executor == null) throw new NullPointerException(Messages.getString("dynamics.worldScheduler.nullExecutor"));
+		this.ownedExecutor = null;
+		this.executor = executor;
+		this.worlds = new CopyOnWriteArrayList<ScheduledWorld>();
+		this.worldsUnmodifiable = Collections.unmodifiableList(this.worlds);
+		this.lock = new Object();
+		this.runningCount = 0;
+	}
+	
+	/**
+	 * Adds the given world to this scheduler.
+	 * <p>
+	 * The world's step frequency is used to advance the simulation and it performs 
+	 * at most {@link #DEFAULT_MAXIMUM_STEPS} steps per run.
+	 * @param world the world
+	 * @return {@link ScheduledWorld}
+	 * @throws NullPointerException if world is null
+	 * @throws IllegalArgumentException if world has already been added to this scheduler
+	 */
+	public ScheduledWorld add(World world) {
+		return this.add(world, -1.0, WorldScheduler.DEFAULT_MAXIMUM_STEPS);
+	}
+	
+	/**
+	 * Adds the given world to this scheduler.
+	 * <p>
+	 * The world must not be updated, or added to another scheduler, while it's 
+	 * a member of this scheduler.
+	 * @param world the world
+	 * @param stepElapsedTime the time, in seconds, that the simulation should be advanced for each step; if less than or equal to zero {@link Settings#getStepFrequency()} will be used
+	 * @param maximumSteps the maximum number of steps per run
+	 * @return {@link ScheduledWorld}
+	 * @throws NullPointerException if world is null
+	 * @throws IllegalArgumentException if world has already been added to this scheduler or maximumSteps is less than one
+	 * @see World#update(double, double, int)
+	 */
+	public ScheduledWorld add(World world, double stepElapsedTime, int maximumSteps) {
+		if (world == null) throw new NullPointerException(Messages.getString("dynamics.nullWorld"));
+		if (maximumSteps < 1) throw new IllegalArgumentException(Messages.getString("dynamics.worldScheduler.invalidMaximumSteps"));
+		synchronized (this.worlds) {
+			if (this.getScheduledWorld(world) != null) throw new IllegalArgumentException(Messages.getString("dynamics.worldScheduler.addExistingWorld"));
+			ScheduledWorld scheduledWorld = new ScheduledWorld(this, world, stepElapsedTime, maximumSteps);
+			this.worlds.add(scheduledWorld);
+			return scheduledWorld;
+		}
+	}
+	
+	/**
+	 * Removes the given world from this scheduler.
+	 * <p>
+	 * If the world is running, the run is allowed to finish but the world is not run again.
+	 * @param scheduledWorld the world
+	 * @return boolean true if the world was removed
+	 */
+	public boolean remove(ScheduledWorld scheduledWorld) {
+		if (scheduledWorld == null) return false;
+		synchronized (this.worlds) {
+			boolean removed = this.worlds.remove(scheduledWorld);
+			if (removed) {
+				scheduledWorld.scheduled = false;
+			}
+			return removed;
+		}
+	}
+	
+	/**
+	 * Removes all the worlds from this scheduler.
+	 * @see #remove(ScheduledWorld)
+	 */
+	public void removeAll() {
+		synchronized (this.worlds) {
+			for (ScheduledWorld scheduledWorld : this.worlds) {
+				scheduledWorld.scheduled = false;
+			}
+			this.worlds.clear();
+		}
+	}
+	
+	/**
+	 * Returns the {@link ScheduledWorld} for the given world or null if the world 
+	 * is not a member of this scheduler.
+	 * @param world the world
+	 * @return {@link ScheduledWorld}
+	 */
+	public ScheduledWorld getScheduledWorld(World world) {
+		for (ScheduledWorld scheduledWorld : this.worlds) {
+			if (scheduledWorld.world == world) {
+				return scheduledWorld;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns an unmodifiable list of the worlds in this scheduler.
+	 * @return List&lt;{@link ScheduledWorld}&gt;
+	 */
+	public List<ScheduledWorld> getScheduledWorlds() {
+		return this.worldsUnmodifiable;
+	}
+	
+	/**
+	 * Returns the number of worlds in this scheduler.
+	 * @return int
+	 */
+	public int getWorldCount() {
+		return this.worlds.size();
+	}
+	
+	/**
+	 * Gives the elapsed time to all the worlds and submits the worlds that aren't 
+	 * already running to the executor.
+	 * <p>
+	 * This method returns without waiting for the worlds to run.  Worlds that are
+	 * still running from a previous update, and worlds whose last run threw an 
+	 * exception, are not submitted.
+	 * @param elapsedTime the elapsed time in seconds
+	 * @return int the number of worlds submitted
+	 * @throws IllegalArgumentException if elapsedTime is less than zero
+	 * @throws RejectedExecutionException if the executor rejects a world
+	 */
+	public int update(double elapsedTime) {
+		if (elapsedTime < 0.0) throw new IllegalArgumentException(Messages.getString("dynamics.worldScheduler.invalidElapsedTime"));
+		int submitted = 0;
+		for (ScheduledWorld scheduledWorld : this.worlds) {
+			// skip worlds removed during the iteration
+			if (!scheduledWorld.scheduled) continue;
+			// failed worlds are not run again until the exception is cleared
+			if (scheduledWorld.getException() != null) continue;
+			// only one thread updates a world at a time
+			if (!scheduledWorld.running.compareAndSet(false, true)) {
+				scheduledWorld.accumulate(elapsedTime, true);
+				continue;
+			}
+			scheduledWorld.accumulate(elapsedTime, false);
+			synchronized (this.lock) {
+				this.runningCount++;
+			}
+			try {
+				this.executor.execute(scheduledWorld.task);
+			} catch (RejectedExecutionException e) {
+				scheduledWorld.running.set(false);
+				this.finished();
+				throw e;
+			}
+			submitted++;
+		}
+		return submitted;
+	}
+	
+	/**
+	 * Updates the worlds and waits for them to finish.
+	 * @param elapsedTime the elapsed time in seconds
+	 * @return int the number of worlds submitted
+	 * @throws IllegalArgumentException if elapsedTime is less than zero
+	 * @throws RejectedExecutionException if the executor rejects a world
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 * @see #update(double)
+	 * @see #awaitIdle()
+	 */
+	public int updateAndWait(double elapsedTime) throws InterruptedException {
+		int submitted = this.update(elapsedTime);
+		this.awaitIdle();
+		return submitted;
+	}
+	
+	/**
+	 * Waits until no world is running.
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public void awaitIdle() throws InterruptedException {
+		synchronized (this.lock) {
+			while (this.runningCount > 0) {
+				this.lock.wait();
+			}
+		}
+	}
+	
+	/**
+	 * Waits until no world is running or the given time has elapsed.
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout
+	 * @return boolean true if no world is running
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+		long end = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (this.lock) {
+			while (this.runningCount > 0) {
+				long remaining = end - System.nanoTime();
+				if (remaining <= 0) return false;
+				TimeUnit.NANOSECONDS.timedWait(this.lock, remaining);
+			}
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the number of worlds running or waiting to run.
+	 * @return int
+	 */
+	public int getRunningCount() {
+		synchronized (this.lock) {
+			return this.runningCount;
+		}
+	}
+	
+	/**
+	 * Shuts down the executor if it was created by this scheduler.
+	 * <p>
+	 * Worlds that are running are allowed to finish.  This scheduler cannot be
+	 * updated after it's shut down if it created the executor.
+	 */
+	public void shutdown() {
+		if (this.ownedExecutor != null) {
+			this.ownedExecutor.shutdown();
+		}
+	}
+	
+	/**
+	 * Called when a world finishes running.
+	 */
+	void finished() {
+		synchronized (this.lock) {
+			this.runningCount--;
+			if (this.runningCount == 0) {
+				this.lock.notifyAll();
+			}
+		}
+	}
+}
@@ -31,18 +31,18 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Represents a contact point between two {@link Body} objects.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public final class Contact {
 	/** The manifold point id for warm starting */
-	final ManifoldPointId id;
+	ManifoldPointId id;
 	
 	/** The contact point in world space */
 	final Vector2 p;
 	
 	/** The contact penetration depth */
-	final double depth;
+	double depth;
 	
 	/** The contact point in {@link Body}1 space */
 	final Vector2 p1;
@@ -74,6 +74,9 @@ public final class Contact {
 	/** The velocity bias */
 	double vb;
 	
+	/** The relative normal velocity before solving; used for the restitution of speculative contacts */
+	double vn;
+	
 	/**
 	 * Full constructor.
 	 * @param id the manifold point id used for warm starting
@@ -90,6 +93,31 @@ public final class Contact {
 		this.p2 = p2;
 	}
 	
+	/**
+	 * Copy constructor.
+	 * <p>
+	 * The points are copied since they are shifted or restored in place; the solver's 
+	 * vectors are only ever replaced so they are shared.
+	 * @param contact the contact to copy
+	 * @since 3.2.4
+	 */
+	Contact(Contact contact) {
+		this.id = contact.id;
+		this.p = contact.p.copy();
+		this.depth = contact.depth;
+		this.p1 = contact.p1.copy();
+		this.p2 = contact.p2.copy();
+		this.r1 = contact.r1;
+		this.r2 = contact.r2;
+		this.jn = contact.jn;
+		this.jt = contact.jt;
+		this.jp = contact.jp;
+		this.massN = contact.massN;
+		this.massT = contact.massT;
+		this.vb = contact.vb;
+		this.vn = contact.vn;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -24,22 +24,26 @@
  */
 package org.dyn4j.dynamics.contact;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.BodyFixture;
 import org.dyn4j.dynamics.Constraint;
 import org.dyn4j.geometry.Matrix22;
 import org.dyn4j.geometry.Shiftable;
 import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
 
 /**
  * Represents a {@link Contact} constraint for each {@link Body} pair.  
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class ContactConstraint extends Constraint implements Shiftable {
@@ -129,6 +133,194 @@ public class ContactConstraint extends Constraint implements Shiftable {
 		this.tangentSpeed = 0;
 	}
 	
+	/**
+	 * Creates a contact constraint from the state written by {@link #snapshot(ByteBuffer)}.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @param buffer the buffer to read the state from
+	 * @since 3.2.4
+	 */
+	public ContactConstraint(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, ByteBuffer buffer) {
+		super(body1, body2);
+		this.fixture1 = fixture1;
+		this.fixture2 = fixture2;
+		this.id = new ContactConstraintId(body1, fixture1, body2, fixture2);
+		this.normal = new Vector2();
+		this.tangent = new Vector2();
+		this.contacts = new ArrayList<Contact>(2);
+		this.restore(buffer);
+	}
+	
+	/**
+	 * Creates a copy of the given contact constraint between the given {@link Body}s and {@link BodyFixture}s.
+	 * <p>
+	 * This constructor is used by {@link org.dyn4j.dynamics.World#copy()} where the given bodies and
+	 * fixtures are copies of the given contact constraint's bodies and fixtures.  The contacts, 
+	 * including their accumulated impulses, are copied so that the copy can be warm started.
+	 * @param contactConstraint the contact constraint to copy
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @since 3.2.4
+	 */
+	public ContactConstraint(ContactConstraint contactConstraint, Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+		super(body1, body2);
+		this.fixture1 = fixture1;
+		this.fixture2 = fixture2;
+		// the copied bodies and fixtures have the same ids
+		this.id = contactConstraint.id;
+		int size = contactConstraint.contacts.size();
+		this.contacts = new ArrayList<Contact>(size);
+		for (int i = 0; i < size; i++) {
+			this.contacts.add(new Contact(contactConstraint.contacts.get(i)));
+		}
+		this.normal = contactConstraint.normal.copy();
+		this.tangent = contactConstraint.tangent.copy();
+		this.friction = contactConstraint.friction;
+		this.restitution = contactConstraint.restitution;
+		this.sensor = contactConstraint.sensor;
+		this.tangentSpeed = contactConstraint.tangentSpeed;
+		// the matrices are replaced every time step rather than modified
+		this.K = contactConstraint.K;
+		this.invK = contactConstraint.invK;
+	}
+	
+	/**
+	 * Returns the number of bytes written by {@link #snapshot(ByteBuffer)}.
+	 * @return int
+	 * @since 3.2.4
+	 */
+	public int getSnapshotSize() {
+		return 5 * 8 + 1 + 4 + this.contacts.size() * (14 + 10 * 8);
+	}
+	
+	/**
+	 * Writes the state of this contact constraint, including the accumulated impulses
+	 * of its contacts, to the given buffer.
+	 * <p>
+	 * The bodies and fixtures are not written.
+	 * @param buffer the buffer
+	 * @throws IllegalArgumentException if a contact's id is not {@link ManifoldPointId#DISTANCE} or an {@link IndexedManifoldPointId}
+	 * @see #ContactConstraint(Body, BodyFixture, Body, BodyFixture, ByteBuffer)
+	 * @since 3.2.4
+	 */
+	public void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.normal.x);
+		buffer.putDouble(this.normal.y);
+		buffer.putDouble(this.friction);
+		buffer.putDouble(this.restitution);
+		buffer.putDouble(this.tangentSpeed);
+		buffer.put(this.sensor ? (byte)1 : (byte)0);
+		int size = this.contacts.size();
+		buffer.putInt(size);
+		for (int i = 0; i < size; i++) {
+			Contact contact = this.contacts.get(i);
+			if (contact.id instanceof IndexedManifoldPointId) {
+				IndexedManifoldPointId id = (IndexedManifoldPointId)contact.id;
+				buffer.put((byte)1);
+				buffer.putInt(id.getReferenceEdge());
+				buffer.putInt(id.getIncidentEdge());
+				buffer.putInt(id.getIncidentVertex());
+				buffer.put(id.isFlipped() ? (byte)1 : (byte)0);
+			} else if (contact.id == ManifoldPointId.DISTANCE) {
+				buffer.put((byte)0);
+				buffer.putInt(0);
+				buffer.putInt(0);
+				buffer.putInt(0);
+				buffer.put((byte)0);
+			} else {
+				throw new IllegalArgumentException(Messages.getString("dynamics.contact.snapshotUnsupportedId"));
+			}
+			buffer.putDouble(contact.p.x);
+			buffer.putDouble(contact.p.y);
+			buffer.putDouble(contact.depth);
+			buffer.putDouble(contact.p1.x);
+			buffer.putDouble(contact.p1.y);
+			buffer.putDouble(contact.p2.x);
+			buffer.putDouble(contact.p2.y);
+			buffer.putDouble(contact.jn);
+			buffer.putDouble(contact.jt);
+			buffer.putDouble(contact.jp);
+		}
+	}
+	
+	/**
+	 * Replaces the state of this contact constraint with the state written by {@link #snapshot(ByteBuffer)}.
+	 * <p>
+	 * The snapshot must have been taken from a contact constraint between the same {@link Body}s
+	 * and {@link BodyFixture}s.  The existing {@link Contact}s are reused and the points and the
+	 * penetration normal are replaced in place.
+	 * @param buffer the buffer to read the state from
+	 * @since 3.2.4
+	 */
+	public void restore(ByteBuffer buffer) {
+		this.normal.set(buffer.getDouble(), buffer.getDouble());
+		this.normal.cross(1.0, this.tangent);
+		this.friction = buffer.getDouble();
+		this.restitution = buffer.getDouble();
+		this.tangentSpeed = buffer.getDouble();
+		this.sensor = buffer.get() != 0;
+		int size = buffer.getInt();
+		List<Contact> contacts = this.contacts;
+		// remove the contacts that aren't in the snapshot
+		for (int i = contacts.size() - 1; i >= size; i--) {
+			contacts.remove(i);
+		}
+		for (int i = 0; i < size; i++) {
+			boolean indexed = buffer.get() != 0;
+			int referenceEdge = buffer.getInt();
+			int incidentEdge = buffer.getInt();
+			int incidentVertex = buffer.getInt();
+			boolean flipped = buffer.get() != 0;
+			Contact contact = null;
+			if (i < contacts.size()) {
+				contact = contacts.get(i);
+			} else {
+				contact = new Contact(ManifoldPointId.DISTANCE, new Vector2(), 0.0, new Vector2(), new Vector2());
+				contacts.add(contact);
+			}
+			// keep the id if it's the same
+			ManifoldPointId id = ManifoldPointId.DISTANCE;
+			if (indexed) {
+				id = contact.id;
+				if (!(id instanceof IndexedManifoldPointId) || 
+					!ContactConstraint.equals((IndexedManifoldPointId)id, referenceEdge, incidentEdge, incidentVertex, flipped)) {
+					id = new IndexedManifoldPointId(referenceEdge, incidentEdge, incidentVertex, flipped);
+				}
+			}
+			contact.id = id;
+			contact.p.set(buffer.getDouble(), buffer.getDouble());
+			contact.depth = buffer.getDouble();
+			contact.p1.set(buffer.getDouble(), buffer.getDouble());
+			contact.p2.set(buffer.getDouble(), buffer.getDouble());
+			contact.jn = buffer.getDouble();
+			contact.jt = buffer.getDouble();
+			contact.jp = buffer.getDouble();
+		}
+		// the solver's values are computed again before they are used
+		this.K = null;
+		this.invK = null;
+	}
+	
+	/**
+	 * Returns true if the given id has the given features.
+	 * @param id the id
+	 * @param referenceEdge the reference edge index
+	 * @param incidentEdge the incident edge index
+	 * @param incidentVertex the incident vertex index
+	 * @param flipped the flipped flag
+	 * @return boolean
+	 */
+	private static boolean equals(IndexedManifoldPointId id, int referenceEdge, int incidentEdge, int incidentVertex, boolean flipped) {
+		return id.getReferenceEdge() == referenceEdge &&
+			   id.getIncidentEdge() == incidentEdge &&
+			   id.getIncidentVertex() == incidentVertex &&
+			   id.isFlipped() == flipped;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -296,6 +488,24 @@ public class ContactConstraint extends Constraint implements Shiftable {
 		this.sensor = flag;
 	}
 	
+	/**
+	 * Returns true if either {@link Body} of this contact constraint is asleep and
+	 * the other is asleep or static.
+	 * <p>
+	 * Contact constraints between sleeping and static bodies are not detected again each
+	 * time step; instead they are retained, as is, until one of the bodies wakes up.
+	 * @return boolean
+	 * @since 3.2.4
+	 */
+	public boolean isAsleep() {
+		Body body1 = this.getBody1();
+		Body body2 = this.getBody2();
+		if (!body1.isActive() || !body2.isActive()) return false;
+		if (body1.isAsleep()) return body2.isAsleep() || body2.isStatic();
+		if (body2.isAsleep()) return body1.isStatic();
+		return false;
+	}
+	
 	/**
 	 * Returns the surface speed of the contact manifold.
 	 * <p>
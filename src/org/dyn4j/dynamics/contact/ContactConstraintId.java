@@ -35,7 +35,7 @@ import org.dyn4j.geometry.Shape;
  * Represents and id for a contact constraint between two {@link Convex}
  * {@link Shape}s on two {@link Body}s.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public final class ContactConstraintId {
@@ -51,6 +51,9 @@ public final class ContactConstraintId {
 	/** The second {@link Body}'s {@link Convex} {@link Shape} id */
 	private final UUID fixture2Id;
 	
+	/** The pre-computed hashcode */
+	private final int hashCode;
+	
 	/**
 	 * Full constructor.
 	 * @param body1 the first {@link Body}
@@ -63,6 +66,8 @@ public final class ContactConstraintId {
 		this.body2Id = body2.getId();
 		this.fixture1Id = fixture1.getId();
 		this.fixture2Id = fixture2.getId();
+		// pre compute the hash
+		this.hashCode = this.computeHashCode();
 	}
 	
 	/* (non-Javadoc)
@@ -90,6 +95,15 @@ public final class ContactConstraintId {
 	 */
 	@Override
 	public int hashCode() {
+		return this.hashCode;
+	}
+	
+	/**
+	 * Computes the hashcode from the body and fixture ids.
+	 * @return int
+	 * @since 3.2.4
+	 */
+	private int computeHashCode() {
 		int hash = 1;
 		hash = hash * 31 + body1Id.hashCode() + body2Id.hashCode();
 		hash = hash * 31 + fixture1Id.hashCode() + fixture2Id.hashCode();
@@ -25,6 +25,7 @@
 package org.dyn4j.dynamics.contact;
 
 import java.util.List;
+import java.util.Map;
 
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Settings;
@@ -34,7 +35,7 @@ import org.dyn4j.geometry.Shiftable;
  * Maintains {@link ContactConstraint}s between {@link Body}s and notifies {@link ContactListener}s
  * of various events related to the life-cycle of a contact.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.2.0
  */
 public interface ContactManager extends Shiftable {
@@ -61,6 +62,9 @@ public interface ContactManager extends Shiftable {
 	 * If any {@link ContactListener} method returns false, the contact will not continue to the
 	 * next stage.  In the event that all the contacts of a {@link ContactConstraint} do not
 	 * continue to the next stage, the {@link ContactConstraint} itself will not continue.
+	 * <p>
+	 * {@link ContactConstraint}s between sleeping bodies are not queued again (see
+	 * {@link ContactConstraint#isAsleep()}) and should be retained without notification.
 	 * @param listeners the {@link ContactListener} to notify
 	 * @param settings the world {@link Settings}
 	 * @see ContactListener
@@ -101,4 +105,17 @@ public interface ContactManager extends Shiftable {
 	 * Clears the contact manager.
 	 */
 	public void clear();
+	
+	/**
+	 * Returns a new {@link ContactManager} of the same type as this {@link ContactManager} containing
+	 * the copies of this manager's {@link ContactConstraint}s.
+	 * <p>
+	 * This method is used by {@link org.dyn4j.dynamics.World#copy()}.  The given map contains a copy of
+	 * each {@link ContactConstraint} in the world.  The copies are added without notification; 
+	 * {@link ContactConstraint}s without a copy are not added.
+	 * @param copies the map from each {@link ContactConstraint} to its copy
+	 * @return {@link ContactManager}
+	 * @since 3.2.4
+	 */
+	public ContactManager copy(Map<ContactConstraint, ContactConstraint> copies);
 }
@@ -26,6 +26,7 @@ package org.dyn4j.dynamics.contact;
 
 import java.util.List;
 
+import org.dyn4j.Copyable;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Settings;
@@ -39,16 +40,33 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Represents an impulse based rigid {@link Body} physics collision resolver.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.2.0
  */
-public class SequentialImpulses implements ContactConstraintSolver {
+public class SequentialImpulses implements SpeculativeContactConstraintSolver, Copyable<SequentialImpulses> {
+	/**
+	 * Returns a new {@link SequentialImpulses}.
+	 * @since 3.2.4
+	 */
+	public SequentialImpulses copy() {
+		return new SequentialImpulses();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.contact.ContactConstraintSolver#initialize(java.util.List, org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
 	public void initialize(List<ContactConstraint> contactConstraints, Step step, Settings settings) {
 		// get the restitution velocity from the settings object
 		double restitutionVelocity = settings.getRestitutionVelocity();
+		// the inverse of the step used for speculative contacts
+		double invdt = step.getInverseDeltaTime();
+		
+		// the world centers of mass and the contact point velocities; created
+		// once per call rather than for every contact
+		Vector2 c1 = new Vector2();
+		Vector2 c2 = new Vector2();
+		Vector2 lv1 = new Vector2();
+		Vector2 lv2 = new Vector2();
 		
 		// loop through the contact constraints
 		int size = contactConstraints.size();
@@ -71,8 +89,8 @@ public class SequentialImpulses implements ContactConstraintSolver {
 			double invI2 = m2.getInverseInertia();
 			
 			// get the transformed centers of mass
-			Vector2 c1 = t1.getTransformed(m1.getCenter());
-			Vector2 c2 = t2.getTransformed(m2.getCenter());
+			t1.getTransformed(m1.getCenter(), c1);
+			t2.getTransformed(m2.getCenter(), c2);
 			
 			// get the contacts
 			List<Contact> contacts = contactConstraint.contacts;
@@ -109,12 +127,24 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				contact.vb = 0.0;
 				
 				// find the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
+				r1.cross(b1.getAngularVelocity(), lv1).add(b1.getLinearVelocity());
+				r2.cross(b2.getAngularVelocity(), lv2).add(b2.getLinearVelocity());
 				Vector2 rv = lv1.subtract(lv2);
 				
 				// project the relative velocity onto the penetration normal
 				double rvn = N.dot(rv);
+				// save it for the restitution of speculative contacts
+				contact.vn = rvn;
+				
+				// speculative contacts have a negative depth (the separation)
+				if (contact.depth < 0.0) {
+					// allow the bodies to approach one another by the separation
+					// in this step but no further; restitution is applied
+					// by the solveRestitution method if they touch
+					contact.vb = contact.depth * invdt;
+					continue;
+				}
+				
 				// if its negative then the bodies are moving away from one another
 				if (rvn < -restitutionVelocity) {
 					// use the coefficient of elasticity
@@ -220,13 +250,14 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				// apply accumulated impulses to warm start the solver
 
 //				Vector2 J = N.product(contact.jn).add(T.product(contact.jt));
-				Vector2 J = new Vector2(N.x * contact.jn + T.x * contact.jt, N.y * contact.jn + T.y * contact.jt);
+				double Jx = N.x * contact.jn + T.x * contact.jt;
+				double Jy = N.y * contact.jn + T.y * contact.jt;
 //				b1.getVelocity().add(J.product(invM1));
-				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
-				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * contact.r1.cross(J));
+				b1.getLinearVelocity().add(Jx * invM1, Jy * invM1);
+				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * contact.r1.cross(Jx, Jy));
 //				b2.getVelocity().subtract(J.product(invM2));
-				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
-				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * contact.r2.cross(J));
+				b2.getLinearVelocity().subtract(Jx * invM2, Jy * invM2);
+				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * contact.r2.cross(Jx, Jy));
 			}
 		}
 	}
@@ -235,6 +266,17 @@ public class SequentialImpulses implements ContactConstraintSolver {
 	 * @see org.dyn4j.dynamics.contact.ContactConstraintSolver#solveVelocityContraints(java.util.List, org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
 	public void solveVelocityContraints(List<ContactConstraint> contactConstraints, Step step, Settings settings) {
+		// the contact point velocities and the vectors of the two point block 
+		// solver; created once per call rather than for every contact
+		Vector2 lv1 = new Vector2();
+		Vector2 lv2 = new Vector2();
+		Vector2 a = new Vector2();
+		Vector2 b = new Vector2();
+		Vector2 x = new Vector2();
+		Vector2 d = new Vector2();
+		Vector2 J1 = new Vector2();
+		Vector2 J2 = new Vector2();
+		
 		// loop through the contact constraints
 		int size = contactConstraints.size();
 		for (int i = 0; i < size; i++) {
@@ -271,8 +313,8 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				Vector2 r2 = contact.r2;
 				
 				// get the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
+				r1.cross(b1.getAngularVelocity(), lv1).add(b1.getLinearVelocity());
+				r2.cross(b2.getAngularVelocity(), lv2).add(b2.getLinearVelocity());
 				Vector2 rv = lv1.subtract(lv2);
 				
 				// project the relative velocity onto the tangent normal
@@ -290,13 +332,14 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				// apply to the bodies immediately
 
 //				Vector2 J = T.product(jt);
-				Vector2 J = new Vector2(T.x * jt, T.y * jt);
+				double Jx = T.x * jt;
+				double Jy = T.y * jt;
 //				b1.getVelocity().add(J.product(invM1));
-				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
-				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(J));
+				b1.getLinearVelocity().add(Jx * invM1, Jy * invM1);
+				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(Jx, Jy));
 //				b2.getVelocity().subtract(J.product(invM2));
-				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
-				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(J));
+				b2.getLinearVelocity().subtract(Jx * invM2, Jy * invM2);
+				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(Jx, Jy));
 			}
 			
 			// evalutate the normal impulse
@@ -311,8 +354,8 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				Vector2 r2 = contact.r2;
 				
 				// get the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
+				r1.cross(b1.getAngularVelocity(), lv1).add(b1.getLinearVelocity());
+				r2.cross(b2.getAngularVelocity(), lv2).add(b2.getLinearVelocity());
 				Vector2 rv = lv1.subtract(lv2);
 				
 				// project the relative velocity onto the penetration normal
@@ -329,13 +372,14 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				// only update the bodies after processing all the contacts
 				
 //				Vector2 J = N.product(j);
-				Vector2 J = new Vector2(N.x * j, N.y * j);
+				double Jx = N.x * j;
+				double Jy = N.y * j;
 //				b1.getVelocity().add(J.product(invM1));
-				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
-				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(J));
+				b1.getLinearVelocity().add(Jx * invM1, Jy * invM1);
+				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(Jx, Jy));
 //				b2.getVelocity().subtract(J.product(invM2));
-				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
-				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(J));
+				b2.getLinearVelocity().subtract(Jx * invM2, Jy * invM2);
+				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(Jx, Jy));
 			} else {
 				// if its 2 then solve the contacts simultaneously using a mini-LCP
 				
@@ -386,14 +430,14 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				double av2 = b2.getAngularVelocity();
 				
 				// create a vector containing the current accumulated impulses
-				Vector2 a = new Vector2(contact1.jn, contact2.jn);
+				a.set(contact1.jn, contact2.jn);
 				
 				// get the relative velocity at both contacts
 //				Vector2 lv11 = contact1.r1.cross(b1.getAngularVelocity()).add(b1.getVelocity());
 //				Vector2 lv21 = contact1.r2.cross(b2.getAngularVelocity()).add(b2.getVelocity());
 //				Vector2 rv1 = lv11.subtract(lv21);
 				// inline the computation
-				Vector2 rv1 = new Vector2();
+				Vector2 rv1 = lv1;
 				rv1.x = -r11.y * av1 + v1.x + r21.y * av2 - v2.x;
 				rv1.y =  r11.x * av1 + v1.y - r21.x * av2 - v2.y;
 				
@@ -401,7 +445,7 @@ public class SequentialImpulses implements ContactConstraintSolver {
 //				Vector2 lv22 = contact2.r2.cross(b2.getAngularVelocity()).add(b2.getVelocity());
 //				Vector2 rv2 = lv12.subtract(lv22);
 				// inline the computation
-				Vector2 rv2 = new Vector2();
+				Vector2 rv2 = lv2;
 				rv2.x = -r12.y * av1 + v1.x + r22.y * av2 - v2.x;
 				rv2.y =  r12.x * av1 + v1.y - r22.x * av2 - v2.y; 
 				
@@ -410,10 +454,9 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				double rvn2 = N.dot(rv2);
 				
 				// create the b vector
-				Vector2 b = new Vector2();
 				b.x = rvn1 - contact1.vb;
 				b.y = rvn2 - contact2.vb;
-				b.subtract(contactConstraint.K.product(a));
+				b.subtract(contactConstraint.K.product(a, x));
 				
 				for (;;) {
 					//
@@ -425,16 +468,16 @@ public class SequentialImpulses implements ContactConstraintSolver {
 					//
 					// x = - inv(A) * b'
 					//
-					Vector2 x = contactConstraint.invK.product(b).negate();
+					contactConstraint.invK.product(b, x).negate();
 
 					if (x.x >= 0.0f && x.y >= 0.0f)
 					{
 						// find the incremental impulse
-						Vector2 d = x.difference(a);
+						x.difference(a, d);
 
 						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
+						N.product(d.x, J1);
+						N.product(d.y, J2);
 						
 						//v1.add(J1.sum(J2).multiply(invM1));
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
@@ -464,11 +507,11 @@ public class SequentialImpulses implements ContactConstraintSolver {
 					if (x.x >= 0.0f && rvn2 >= 0.0f)
 					{
 						// find the incremental impulse
-						Vector2 d = x.difference(a);
+						x.difference(a, d);
 
 						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
+						N.product(d.x, J1);
+						N.product(d.y, J2);
 						
 						//v1.add(J1.sum(J2).multiply(invM1));
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
@@ -500,11 +543,11 @@ public class SequentialImpulses implements ContactConstraintSolver {
 					if (x.y >= 0.0f && rvn1 >= 0.0f)
 					{
 						// find the incremental impulse
-						Vector2 d = x.difference(a);
+						x.difference(a, d);
 
 						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
+						N.product(d.x, J1);
+						N.product(d.y, J2);
 						
 						//v1.add(J1.sum(J2).multiply(invM1));
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
@@ -533,11 +576,11 @@ public class SequentialImpulses implements ContactConstraintSolver {
 					if (rvn1 >= 0.0f && rvn2 >= 0.0f )
 					{
 						// find the incremental impulse
-						Vector2 d = x.difference(a);
+						x.difference(a, d);
 
 						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
+						N.product(d.x, J1);
+						N.product(d.y, J2);
 						
 						//v1.add(J1.sum(J2).multiply(invM1));
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
@@ -560,6 +603,83 @@ public class SequentialImpulses implements ContactConstraintSolver {
 		}
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.SpeculativeContactConstraintSolver#solveRestitution(java.util.List, org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
+	 */
+	public void solveRestitution(List<ContactConstraint> contactConstraints, Step step, Settings settings) {
+		// get the restitution velocity from the settings object
+		double restitutionVelocity = settings.getRestitutionVelocity();
+		
+		// the contact point velocities; created once per call rather than for every contact
+		Vector2 lv1 = new Vector2();
+		Vector2 lv2 = new Vector2();
+		
+		// loop through the contact constraints
+		int size = contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = contactConstraints.get(i);
+			double e = contactConstraint.restitution;
+			if (e == 0.0) continue;
+			
+			// get the bodies
+			Body b1 = contactConstraint.getBody1();
+			Body b2 = contactConstraint.getBody2();
+			// get the masses
+			Mass m1 = b1.getMass();
+			Mass m2 = b2.getMass();
+			
+			double invM1 = m1.getInverseMass();
+			double invM2 = m2.getInverseMass();
+			double invI1 = m1.getInverseInertia();
+			double invI2 = m2.getInverseInertia();
+			
+			// get the penetration axis
+			Vector2 N = contactConstraint.normal;
+			
+			List<Contact> contacts = contactConstraint.contacts;
+			int cSize = contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				Contact contact = contacts.get(j);
+				
+				// only speculative contacts that were approaching and 
+				// ended up touching (have a normal impulse)
+				if (contact.depth >= 0.0 || contact.jn <= 0.0 || contact.vn >= -restitutionVelocity) {
+					continue;
+				}
+				
+				// get ra and rb
+				Vector2 r1 = contact.r1;
+				Vector2 r2 = contact.r2;
+				
+				// get the relative velocity
+				r1.cross(b1.getAngularVelocity(), lv1).add(b1.getLinearVelocity());
+				r2.cross(b2.getAngularVelocity(), lv2).add(b2.getLinearVelocity());
+				Vector2 rv = lv1.subtract(lv2);
+				
+				// project the relative velocity onto the penetration normal
+				double rvn = N.dot(rv);
+				
+				// calculate the impulse to reach the restitution velocity
+				double jn = -contact.massN * (rvn + e * contact.vn);
+				
+				// clamp the accumulated impulse
+				double j0 = contact.jn;
+				contact.jn = Math.max(j0 + jn, 0.0);
+				jn = contact.jn - j0;
+				
+//				Vector2 J = N.product(jn);
+				double Jx = N.x * jn;
+				double Jy = N.y * jn;
+//				b1.getVelocity().add(J.product(invM1));
+				b1.getLinearVelocity().add(Jx * invM1, Jy * invM1);
+				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(Jx, Jy));
+//				b2.getVelocity().subtract(J.product(invM2));
+				b2.getLinearVelocity().subtract(Jx * invM2, Jy * invM2);
+				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(Jx, Jy));
+			}
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.contact.ContactConstraintSolver#solvePositionContraints(java.util.List, org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -576,6 +696,16 @@ public class SequentialImpulses implements ContactConstraintSolver {
 		double allowedPenetration = settings.getLinearTolerance();
 		double baumgarte = settings.getBaumgarte();
 		
+		// the world centers of mass, contact points and the impulse; created
+		// once per call rather than for every contact
+		Vector2 c1 = new Vector2();
+		Vector2 c2 = new Vector2();
+		Vector2 r1 = new Vector2();
+		Vector2 r2 = new Vector2();
+		Vector2 p1 = new Vector2();
+		Vector2 p2 = new Vector2();
+		Vector2 J = new Vector2();
+		
 		// loop through the contact constraints
 		int size = contactConstraints.size();
 		for (int i = 0; i < size; i++) {
@@ -614,18 +744,18 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				Contact contact = contacts.get(k);
 				
 				// get the world centers of mass
-				Vector2 c1 = t1.getTransformed(m1.getCenter());
-				Vector2 c2 = t2.getTransformed(m2.getCenter());
+				t1.getTransformed(m1.getCenter(), c1);
+				t2.getTransformed(m2.getCenter(), c2);
 
 				// get r1 and r2
-				Vector2 r1 = contact.p1.difference(m1.getCenter());
+				contact.p1.difference(m1.getCenter(), r1);
 				t1.transformR(r1);
-				Vector2 r2 = contact.p2.difference(m2.getCenter());
+				contact.p2.difference(m2.getCenter(), r2);
 				t2.transformR(r2);
 				
 				// get the world contact points
-				Vector2 p1 = c1.sum(r1);
-				Vector2 p2 = c2.sum(r2);
+				c1.sum(r1, p1);
+				c2.sum(r2, p2);
 				Vector2 dp = p1.subtract(p2);
 
 				// estimate the current penetration
@@ -652,13 +782,13 @@ public class SequentialImpulses implements ContactConstraintSolver {
 				contact.jp = Math.max(jp0 + jp, 0.0);
 				jp = contact.jp - jp0;
 
-				Vector2 J = N.product(jp);
+				N.product(jp, J);
 
 				// translate and rotate the objects
-				b1.translate(J.product(invMass1));
+				b1.translate(J.x * invMass1, J.y * invMass1);
 				b1.rotate(invI1 * r1.cross(J), c1.x, c1.y);
 				
-				b2.translate(J.product(-invMass2));
+				b2.translate(J.x * -invMass2, J.y * -invMass2);
 				b2.rotate(-invI2 * r2.cross(J), c2.x, c2.y);
 			}
 		}
@@ -41,7 +41,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Represents a basic {@link ContactManager} that reports new and old contacts.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.2.0
  */
 public class SimpleContactManager implements ContactManager, Shiftable {
@@ -100,6 +100,34 @@ public class SimpleContactManager implements ContactManager, Shiftable {
 		this.constraints.clear();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactManager#copy(java.util.Map)
+	 */
+	@Override
+	public SimpleContactManager copy(Map<ContactConstraint, ContactConstraint> copies) {
+		SimpleContactManager manager = new SimpleContactManager();
+		this.copy(manager, copies);
+		return manager;
+	}
+	
+	/**
+	 * Adds the copies of this manager's {@link ContactConstraint}s to the given manager.
+	 * @param manager the manager to add the copies to
+	 * @param copies the map from each {@link ContactConstraint} to its copy
+	 * @since 3.2.4
+	 */
+	protected void copy(SimpleContactManager manager, Map<ContactConstraint, ContactConstraint> copies) {
+		// size the map up front so that it does not need to be rehashed
+		manager.constraints = new HashMap<ContactConstraintId, ContactConstraint>(this.constraints.size() * 4 / 3 + 1, 0.75f);
+		Iterator<ContactConstraint> it = this.constraints.values().iterator();
+		while (it.hasNext()) {
+			ContactConstraint copy = copies.get(it.next());
+			if (copy != null) {
+				manager.constraints.put(copy.id, copy);
+			}
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.contact.ContactManager#end(org.dyn4j.dynamics.contact.ContactConstraint)
 	 */
@@ -132,6 +160,11 @@ public class SimpleContactManager implements ContactManager, Shiftable {
 		Iterator<ContactConstraint> icc = this.constraints.values().iterator();
 		while (icc.hasNext()) {
 			ContactConstraint contactConstraint = icc.next();
+			// contact constraints between sleeping bodies are not detected
+			// so retain them until one of the bodies wakes up
+			if (contactConstraint.isAsleep()) continue;
+			// remove the contact constraint
+			icc.remove();
 			// loop over the contact points
 			int rsize = contactConstraint.contacts.size();
 			for (int i = 0; i < rsize; i++) {
@@ -155,8 +188,6 @@ public class SimpleContactManager implements ContactManager, Shiftable {
 			}
 		}
 		
-		this.constraints.clear();
-		
 		// loop over the new contact constraints
 		// and attempt to persist contacts
 		for (int i = 0; i < size; i++) {
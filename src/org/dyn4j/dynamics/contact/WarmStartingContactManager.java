@@ -40,7 +40,7 @@ import org.dyn4j.geometry.Shiftable;
  * Represents a {@link ContactManager} that performs warm starting of contacts
  * based on the previous iteration.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.2.0
  */
 public class WarmStartingContactManager extends SimpleContactManager implements ContactManager, Shiftable {
@@ -73,6 +73,16 @@ public class WarmStartingContactManager extends SimpleContactManager implements
 		this.constraints1 = new HashMap<ContactConstraintId, ContactConstraint>(eSize * 4 / 3 + 1, 0.75f);
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.SimpleContactManager#copy(java.util.Map)
+	 */
+	@Override
+	public WarmStartingContactManager copy(Map<ContactConstraint, ContactConstraint> copies) {
+		WarmStartingContactManager manager = new WarmStartingContactManager();
+		this.copy(manager, copies);
+		return manager;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.contact.SimpleContactManager#updateAndNotify(java.util.List, org.dyn4j.dynamics.Settings)
 	 */
@@ -283,6 +293,12 @@ public class WarmStartingContactManager extends SimpleContactManager implements
 			Iterator<ContactConstraint> icc = this.constraints.values().iterator();
 			while (icc.hasNext()) {
 				ContactConstraint contactConstraint = icc.next();
+				// contact constraints between sleeping bodies are not detected
+				// so retain them until one of the bodies wakes up
+				if (contactConstraint.isAsleep()) {
+					newMap.put(contactConstraint.id, contactConstraint);
+					continue;
+				}
 				// loop over the contact points
 				int rsize = contactConstraint.contacts.size();
 				for (int i = 0; i < rsize; i++) {
@@ -308,15 +324,11 @@ public class WarmStartingContactManager extends SimpleContactManager implements
 		}
 		
 		// finally overwrite the contact constraint map with the new map
-		if (size > 0) {
-			// swap the maps so we can reuse
-			this.constraints.clear();
-			this.constraints1 = this.constraints;
-			this.constraints = newMap;
-		} else {
-			// if no contact constraints exist, just clear the old map
-			this.constraints.clear();
-		}
+		// (which may contain retained contact constraints even if none were queued)
+		// swap the maps so we can reuse
+		this.constraints.clear();
+		this.constraints1 = this.constraints;
+		this.constraints = newMap;
 		
 		this.constraintQueue.clear();
 	}
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -78,7 +80,7 @@ import org.dyn4j.resources.Messages;
  * the world space center points for the joined bodies.  This constraint 
  * doesn't need anchor points.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 2.2.2
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Angle_Joint" target="_blank">Documentation</a>
  * @see <a href="http://www.dyn4j.org/2010/12/angle-constraint/" target="_blank">Angle Constraint</a>
@@ -139,6 +141,33 @@ public class AngleJoint extends Joint implements Shiftable, DataContainer {
 		
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private AngleJoint(AngleJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.ratio = joint.ratio;
+		this.lowerLimit = joint.lowerLimit;
+		this.upperLimit = joint.upperLimit;
+		this.limitEnabled = joint.limitEnabled;
+		this.referenceAngle = joint.referenceAngle;
+		this.limitState = joint.limitState;
+		this.invK = joint.invK;
+		this.impulse = joint.impulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public AngleJoint copy(Body body1, Body body2) {
+		return new AngleJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -155,6 +184,32 @@ public class AngleJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 9;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		Joint.put(buffer, this.limitState);
+		buffer.putDouble(this.impulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.limitState = Joint.getLimitState(buffer);
+		this.impulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
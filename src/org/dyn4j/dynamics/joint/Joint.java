@@ -24,6 +24,7 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import org.dyn4j.DataContainer;
@@ -33,16 +34,17 @@ import org.dyn4j.dynamics.Settings;
 import org.dyn4j.dynamics.Step;
 import org.dyn4j.geometry.Shiftable;
 import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
 
 /**
  * Represents constrained motion between two {@link Body}s.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public abstract class Joint extends Constraint implements Shiftable, DataContainer {
 	/** The joint's unique identifier */
-	protected final UUID id = UUID.randomUUID();
+	protected final UUID id;
 	
 	/** Whether the pair of bodies joined together can collide with each other */
 	protected boolean collisionAllowed;
@@ -72,9 +74,26 @@ public abstract class Joint extends Constraint implements Shiftable, DataContain
 	 */
 	public Joint(Body body1, Body body2, boolean collisionAllowed) {
 		super(body1, body2);
+		this.id = UUID.randomUUID();
 		this.collisionAllowed = collisionAllowed;
 	}
 	
+	/**
+	 * Copy constructor for use by the {@link #copy(Body, Body)} implementations.
+	 * <p>
+	 * The new joint has the same id, collision allowed flag and user data as the given joint.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	protected Joint(Joint joint, Body body1, Body body2) {
+		super(body1, body2);
+		this.id = joint.id;
+		this.collisionAllowed = joint.collisionAllowed;
+		this.userData = joint.userData;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -139,6 +158,86 @@ public abstract class Joint extends Constraint implements Shiftable, DataContain
 	 */
 	public abstract double getReactionTorque(double invdt);
 	
+	/**
+	 * Returns the number of bytes written by {@link #snapshot(ByteBuffer)}.
+	 * @return int
+	 * @since 3.2.4
+	 */
+	public int getSnapshotSize() {
+		return 0;
+	}
+	
+	/**
+	 * Writes the state of this joint that is carried from one time step to 
+	 * the next (the accumulated impulses for example) to the given buffer.
+	 * <p>
+	 * This method is used by {@link org.dyn4j.dynamics.World#snapshot(ByteBuffer)} and 
+	 * should write exactly {@link #getSnapshotSize()} bytes.  The joint's properties
+	 * (anchors, limits, etc.) are not written.
+	 * <p>
+	 * Joints that carry state between time steps should override this method
+	 * along with the {@link #restore(ByteBuffer)} and {@link #getSnapshotSize()} methods.
+	 * @param buffer the buffer
+	 * @since 3.2.4
+	 */
+	public void snapshot(ByteBuffer buffer) {}
+	
+	/**
+	 * Reads the state written by {@link #snapshot(ByteBuffer)} from the given buffer.
+	 * @param buffer the buffer
+	 * @since 3.2.4
+	 */
+	public void restore(ByteBuffer buffer) {}
+	
+	/**
+	 * Returns a copy of this joint between the given {@link Body}s.
+	 * <p>
+	 * This method is used by {@link org.dyn4j.dynamics.World#copy()} where the given
+	 * bodies are the copies of this joint's bodies.  The copy has the same id, properties 
+	 * and accumulated impulses as this joint, but is not added to a world.
+	 * <p>
+	 * Joints that can be copied should override this method.
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @return {@link Joint}
+	 * @throws UnsupportedOperationException if this joint doesn't support copying
+	 * @since 3.2.4
+	 */
+	public Joint copy(Body body1, Body body2) {
+		throw new UnsupportedOperationException(Messages.getString("dynamics.joint.copyNotSupported"));
+	}
+	
+	/**
+	 * Returns a copy of the given vector or null if the vector is null.
+	 * @param vector the vector; can be null
+	 * @return {@link Vector2}
+	 * @since 3.2.4
+	 */
+	static Vector2 copy(Vector2 vector) {
+		return vector != null ? vector.copy() : null;
+	}
+	
+	/**
+	 * Writes the given {@link LimitState} to the given buffer.
+	 * @param buffer the buffer
+	 * @param limitState the limit state; can be null
+	 * @since 3.2.4
+	 */
+	static void put(ByteBuffer buffer, LimitState limitState) {
+		buffer.put(limitState != null ? (byte)limitState.ordinal() : (byte)-1);
+	}
+	
+	/**
+	 * Reads a {@link LimitState} written by {@link #put(ByteBuffer, LimitState)} from the given buffer.
+	 * @param buffer the buffer
+	 * @return {@link LimitState}
+	 * @since 3.2.4
+	 */
+	static LimitState getLimitState(ByteBuffer buffer) {
+		byte ordinal = buffer.get();
+		return ordinal >= 0 ? LimitState.values()[ordinal] : null;
+	}
+	
 	/**
 	 * Returns the unique identifier for this joint instance.
 	 * @return String
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -69,7 +71,7 @@ import org.dyn4j.resources.Messages;
  * character body will move and rotate smoothly, participating in any collision
  * or with other joints to match the infinite mass body.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 3.1.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Motor_Joint" target="_blank">Documentation</a>
  */
@@ -111,6 +113,14 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 	/** The impulse applied to reduce angular motion */
 	private double angularImpulse;
 	
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to its origin */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to its origin */
+	private final Vector2 r2 = new Vector2();
+	
 	/**
 	 * Minimal constructor.
 	 * @param body1 the first {@link Body}
@@ -134,6 +144,36 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 		this.angularImpulse = 0.0;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private MotorJoint(MotorJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.linearTarget = Joint.copy(joint.linearTarget);
+		this.angularTarget = joint.angularTarget;
+		this.correctionFactor = joint.correctionFactor;
+		this.maximumForce = joint.maximumForce;
+		this.maximumTorque = joint.maximumTorque;
+		this.K = new Matrix22(joint.K);
+		this.angularMass = joint.angularMass;
+		this.linearError = Joint.copy(joint.linearError);
+		this.angularError = joint.angularError;
+		this.linearImpulse = Joint.copy(joint.linearImpulse);
+		this.angularImpulse = joint.angularImpulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public MotorJoint copy(Body body1, Body body2) {
+		return new MotorJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -150,6 +190,34 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 24;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.linearImpulse.x);
+		buffer.putDouble(this.linearImpulse.y);
+		buffer.putDouble(this.angularImpulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.linearImpulse.x = buffer.getDouble();
+		this.linearImpulse.y = buffer.getDouble();
+		this.angularImpulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -166,8 +234,10 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 		double invI1 = m1.getInverseInertia();
 		double invI2 = m2.getInverseInertia();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().getNegative());
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().getNegative());
+		Vector2 r1 = this.r1.set(this.body1.getLocalCenter()).negate();
+		t1.transformR(r1);
+		Vector2 r2 = this.r2.set(this.body2.getLocalCenter()).negate();
+		t2.transformR(r2);
 		
 		// compute the K inverse matrix
 		this.K.m00 = invM1 + invM2 + r1.y * r1.y * invI1 + r2.y * r2.y * invI2;
@@ -195,9 +265,9 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 		this.angularImpulse *= step.getDeltaTimeRatio();
 		
 		// warm start
-		this.body1.getLinearVelocity().subtract(this.linearImpulse.product(invM1));
+		this.body1.getLinearVelocity().subtract(this.linearImpulse.x * invM1, this.linearImpulse.y * invM1);
 		this.body1.setAngularVelocity(this.body1.getAngularVelocity() - invI1 * (r1.cross(this.linearImpulse) + this.angularImpulse));
-		this.body2.getLinearVelocity().add(this.linearImpulse.product(invM2));
+		this.body2.getLinearVelocity().add(this.linearImpulse.x * invM2, this.linearImpulse.y * invM2);
 		this.body2.setAngularVelocity(this.body2.getAngularVelocity() + invI2 * (r2.cross(this.linearImpulse) + this.angularImpulse));
 	}
 	
@@ -239,8 +309,10 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 		}
 		
 		// solve the point-to-point constraint
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().getNegative());
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().getNegative());
+		Vector2 r1 = this.r1.set(this.body1.getLocalCenter()).negate();
+		t1.transformR(r1);
+		Vector2 r2 = this.r2.set(this.body2.getLocalCenter()).negate();
+		t2.transformR(r2);
 		
 		Vector2 v1 = this.body1.getLinearVelocity().sum(r1.cross(this.body1.getAngularVelocity()));
 		Vector2 v2 = this.body2.getLinearVelocity().sum(r2.cross(this.body2.getAngularVelocity()));
@@ -261,9 +333,9 @@ public class MotorJoint extends Joint implements Shiftable, DataContainer {
 		}
 		impulse = this.linearImpulse.difference(oldImpulse);
 		
-		this.body1.getLinearVelocity().subtract(impulse.product(invM1));
+		this.body1.getLinearVelocity().subtract(impulse.x * invM1, impulse.y * invM1);
 		this.body1.setAngularVelocity(this.body1.getAngularVelocity() - invI1 * r1.cross(impulse));
-		this.body2.getLinearVelocity().add(impulse.product(invM2));
+		this.body2.getLinearVelocity().add(impulse.x * invM2, impulse.y * invM2);
 		this.body2.setAngularVelocity(this.body2.getAngularVelocity() + invI2 * r2.cross(impulse));
 	}
 	
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -63,7 +65,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * Renamed from MouseJoint in 3.2.0.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 1.0.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Pin_Joint" target="_blank">Documentation</a>
  */
@@ -99,6 +101,11 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 	/** The impulse applied to the body to satisfy the constraint */
 	private Vector2 impulse;
 	
+	// working storage
+	
+	/** The vector from the center of the {@link Body} to the anchor point */
+	private final Vector2 r = new Vector2();
+	
 	/**
 	 * Full constructor.
 	 * @param body the body to attach the joint to
@@ -131,6 +138,36 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 		this.impulse = new Vector2();
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body the {@link Body}
+	 * @since 3.2.4
+	 */
+	private PinJoint(PinJoint joint, Body body) {
+		super(joint, body, body);
+		this.target = Joint.copy(joint.target);
+		this.anchor = Joint.copy(joint.anchor);
+		this.frequency = joint.frequency;
+		this.dampingRatio = joint.dampingRatio;
+		this.maximumForce = joint.maximumForce;
+		this.K = new Matrix22(joint.K);
+		this.bias = Joint.copy(joint.bias);
+		this.gamma = joint.gamma;
+		this.impulse = Joint.copy(joint.impulse);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The second body is ignored since a {@link PinJoint} only constrains one body.
+	 * @since 3.2.4
+	 */
+	@Override
+	public PinJoint copy(Body body1, Body body2) {
+		return new PinJoint(this, body1);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -147,6 +184,32 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 16;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.impulse.x);
+		buffer.putDouble(this.impulse.y);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.impulse.x = buffer.getDouble();
+		this.impulse.y = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -186,7 +249,8 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 		}
 		
 		// compute the r vector
-		Vector2 r = transform.getTransformedR(body.getLocalCenter().to(this.anchor));
+		Vector2 r = body.getLocalCenter().to(this.anchor, this.r);
+		transform.transformR(r);
 		
 		// compute the bias = ERP where ERP = hk / (hk + d)
 		this.bias = body.getWorldCenter().add(r).difference(this.target);
@@ -204,7 +268,7 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 		
 		// warm start
 		this.impulse.multiply(step.getDeltaTimeRatio());
-		body.getLinearVelocity().add(this.impulse.product(invM));
+		body.getLinearVelocity().add(this.impulse.x * invM, this.impulse.y * invM);
 		body.setAngularVelocity(body.getAngularVelocity() + invI * r.cross(this.impulse));
 	}
 	
@@ -222,7 +286,8 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 		double invI = mass.getInverseInertia();
 		
 		// compute r
-		Vector2 r = transform.getTransformedR(body.getLocalCenter().to(this.anchor));
+		Vector2 r = body.getLocalCenter().to(this.anchor, this.r);
+		transform.transformR(r);
 
 		// Cdot = v + cross(w, r)
 		Vector2 C = r.cross(body.getAngularVelocity()).add(body.getLinearVelocity());
@@ -243,7 +308,7 @@ public class PinJoint extends Joint implements Shiftable, DataContainer {
 		}
 		J = this.impulse.difference(oldImpulse);
 		
-		body.getLinearVelocity().add(J.product(invM));
+		body.getLinearVelocity().add(J.x * invM, J.y * invM);
 		body.setAngularVelocity(body.getAngularVelocity() + invI * r.cross(J));
 	}
 	
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -67,7 +69,7 @@ import org.dyn4j.resources.Messages;
  * or opposite the axis direction.  The maximum motor force must be greater 
  * than zero for the motor to apply any motion.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 1.0.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Prismatic_Joint" target="_blank">Documentation</a>
  * @see <a href="http://www.dyn4j.org/2011/03/prismatic-constraint/" target="_blank">Prismatic Constraint</a>
@@ -147,6 +149,14 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 	/** The impulse applied by the motor */
 	private double motorImpulse;
 	
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to the anchor point */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to the anchor point */
+	private final Vector2 r2 = new Vector2();
+	
 	/**
 	 * Minimal constructor.
 	 * @param body1 the first {@link Body}
@@ -183,6 +193,47 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 		this.limitState = LimitState.INACTIVE;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private PrismaticJoint(PrismaticJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.localAnchor1 = Joint.copy(joint.localAnchor1);
+		this.localAnchor2 = Joint.copy(joint.localAnchor2);
+		this.motorEnabled = joint.motorEnabled;
+		this.motorSpeed = joint.motorSpeed;
+		this.maximumMotorForce = joint.maximumMotorForce;
+		this.limitEnabled = joint.limitEnabled;
+		this.upperLimit = joint.upperLimit;
+		this.lowerLimit = joint.lowerLimit;
+		this.referenceAngle = joint.referenceAngle;
+		this.xAxis = Joint.copy(joint.xAxis);
+		this.yAxis = Joint.copy(joint.yAxis);
+		this.limitState = joint.limitState;
+		this.K = new Matrix33(joint.K);
+		this.motorMass = joint.motorMass;
+		this.perp = Joint.copy(joint.perp);
+		this.axis = Joint.copy(joint.axis);
+		this.s1 = joint.s1;
+		this.s2 = joint.s2;
+		this.a1 = joint.a1;
+		this.a2 = joint.a2;
+		this.impulse = new Vector3(joint.impulse);
+		this.motorImpulse = joint.motorImpulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public PrismaticJoint copy(Body body1, Body body2) {
+		return new PrismaticJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -203,6 +254,38 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 33;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		Joint.put(buffer, this.limitState);
+		buffer.putDouble(this.impulse.x);
+		buffer.putDouble(this.impulse.y);
+		buffer.putDouble(this.impulse.z);
+		buffer.putDouble(this.motorImpulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.limitState = Joint.getLimitState(buffer);
+		this.impulse.x = buffer.getDouble();
+		this.impulse.y = buffer.getDouble();
+		this.impulse.z = buffer.getDouble();
+		this.motorImpulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -221,8 +304,10 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 		double invI1 = m1.getInverseInertia();
 		double invI2 = m2.getInverseInertia();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		Vector2 d = this.body1.getWorldCenter().sum(r1).subtract(this.body2.getWorldCenter().sum(r2));
 		this.axis = this.body2.getWorldVector(this.xAxis);
@@ -328,9 +413,9 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 		double l2 = this.impulse.x * this.s2 + this.impulse.y + (this.motorImpulse + this.impulse.z) * this.a2;
 		
 		// apply the impulses
-		this.body1.getLinearVelocity().add(P.product(invM1));
+		this.body1.getLinearVelocity().add(P.x * invM1, P.y * invM1);
 		this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * l1);
-		this.body2.getLinearVelocity().subtract(P.product(invM2));
+		this.body2.getLinearVelocity().subtract(P.x * invM2, P.y * invM2);
 		this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * l2);
 	}
 	
@@ -482,8 +567,10 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 		Vector2 c1 = this.body1.getWorldCenter();
 		Vector2 c2 = this.body2.getWorldCenter();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		Vector2 d = c1.sum(r1).subtract(c2.sum(r2));
 		this.axis = this.body2.getWorldVector(this.xAxis);
@@ -591,10 +678,10 @@ public class PrismaticJoint extends Joint implements Shiftable, DataContainer {
 		double l2 = impulse.x * this.s2 + impulse.y + impulse.z * this.a2;
 		
 		// apply the impulse
-		this.body1.translate(P.product(invM1));
+		this.body1.translate(P.x * invM1, P.y * invM1);
 		this.body1.rotateAboutCenter(l1 * invI1);
 		
-		this.body2.translate(P.product(-invM2));
+		this.body2.translate(P.x * -invM2, P.y * -invM2);
 		this.body2.rotateAboutCenter(-l2 * invI2);
 		
 		// return if we corrected the error enough
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -63,7 +65,7 @@ import org.dyn4j.resources.Messages;
  * behave as if connected by flexible rope pass in <code>true</code> to the 
  * {@link #setSlackEnabled(boolean)} method.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 2.1.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Pulley_Joint" target="_blank">Documentation</a>
  * @see <a href="http://www.dyn4j.org/2010/12/pulley-constraint/" target="_blank">Pulley Constraint</a>
@@ -115,6 +117,14 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 	/** The accumulated impulse from the previous time step */
 	private double impulse;
 	
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to the anchor point */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to the anchor point */
+	private final Vector2 r2 = new Vector2();
+	
 	/**
 	 * Minimal constructor.
 	 * <p>
@@ -159,6 +169,39 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 		this.limitState = LimitState.AT_UPPER;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private PulleyJoint(PulleyJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.pulleyAnchor1 = Joint.copy(joint.pulleyAnchor1);
+		this.pulleyAnchor2 = Joint.copy(joint.pulleyAnchor2);
+		this.localAnchor1 = Joint.copy(joint.localAnchor1);
+		this.localAnchor2 = Joint.copy(joint.localAnchor2);
+		this.ratio = joint.ratio;
+		this.slackEnabled = joint.slackEnabled;
+		this.limitState = joint.limitState;
+		this.length1 = joint.length1;
+		this.length2 = joint.length2;
+		this.length = joint.length;
+		this.n1 = Joint.copy(joint.n1);
+		this.n2 = Joint.copy(joint.n2);
+		this.invK = joint.invK;
+		this.impulse = joint.impulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public PulleyJoint copy(Body body1, Body body2) {
+		return new PulleyJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -176,6 +219,32 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 9;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		Joint.put(buffer, this.limitState);
+		buffer.putDouble(this.impulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.limitState = Joint.getLimitState(buffer);
+		this.impulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -194,8 +263,10 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 		double invI2 = m2.getInverseInertia();
 		
 		// put the body anchors in world space
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		Vector2 p1 = r1.sum(this.body1.getWorldCenter());
 		Vector2 p2 = r2.sum(this.body2.getWorldCenter());
 		
@@ -252,9 +323,9 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 			Vector2 J2 = this.n2.product(-this.ratio * this.impulse);
 			
 			// apply the impulse
-			this.body1.getLinearVelocity().add(J1.product(invM1));
+			this.body1.getLinearVelocity().add(J1.x * invM1, J1.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * r1.cross(J1));
-			this.body2.getLinearVelocity().add(J2.product(invM2));
+			this.body2.getLinearVelocity().add(J2.x * invM2, J2.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() + invI2 * r2.cross(J2));
 		} else {
 			// clear the impulse and don't solve anything
@@ -280,8 +351,10 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 			double invI2 = m2.getInverseInertia();
 			
 			// compute r1 and r2
-			Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-			Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+			Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+			t1.transformR(r1);
+			Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+			t2.transformR(r2);
 			
 			// compute the relative velocity
 			Vector2 v1 = this.body1.getLinearVelocity().sum(r1.cross(this.body1.getAngularVelocity()));
@@ -298,9 +371,9 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 			Vector2 J2 = this.n2.product(-impulse * this.ratio);
 			
 			// apply the impulse
-			this.body1.getLinearVelocity().add(J1.product(invM1));
+			this.body1.getLinearVelocity().add(J1.x * invM1, J1.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * r1.cross(J1));
-			this.body2.getLinearVelocity().add(J2.product(invM2));
+			this.body2.getLinearVelocity().add(J2.x * invM2, J2.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() + invI2 * r2.cross(J2));
 		}
 	}
@@ -324,8 +397,10 @@ public class PulleyJoint extends Joint implements Shiftable, DataContainer {
 			double invI2 = m2.getInverseInertia();
 			
 			// put the body anchors in world space
-			Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-			Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+			Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+			t1.transformR(r1);
+			Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+			t2.transformR(r2);
 			Vector2 p1 = r1.sum(this.body1.getWorldCenter());
 			Vector2 p2 = r2.sum(this.body2.getWorldCenter());
 			
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -74,7 +76,7 @@ import org.dyn4j.resources.Messages;
  * clockwise or counter-clockwise rotation.  The maximum motor torque must be 
  * greater than zero for the motor to apply any motion.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 1.0.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Revolute_Joint" target="_blank">Documentation</a>
  * @see <a href="http://www.dyn4j.org/2010/07/point-to-point-constraint/" target="_blank">Point-to-Point Constraint</a>
@@ -126,6 +128,32 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 	/** The impulse applied by the motor */
 	private double motorImpulse;
 	
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to the anchor point */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to the anchor point */
+	private final Vector2 r2 = new Vector2();
+	
+	/** The velocity of the anchor point on the first {@link Body} */
+	private final Vector2 v1 = new Vector2();
+	
+	/** The velocity of the anchor point on the second {@link Body} */
+	private final Vector2 v2 = new Vector2();
+	
+	/** The linear impulse to apply */
+	private final Vector2 linearImpulse = new Vector2();
+	
+	/** The 3x3 version of Jv + b */
+	private final Vector3 Jvb3 = new Vector3();
+	
+	/** The impulse of the 3x3 solve */
+	private final Vector3 impulse3 = new Vector3();
+	
+	/** The position solve K matrix */
+	private final Matrix22 K2 = new Matrix22();
+	
 	/**
 	 * Minimal constructor.
 	 * @param body1 the first {@link Body}
@@ -159,6 +187,39 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 		this.motorEnabled = false;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private RevoluteJoint(RevoluteJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.localAnchor1 = Joint.copy(joint.localAnchor1);
+		this.localAnchor2 = Joint.copy(joint.localAnchor2);
+		this.motorEnabled = joint.motorEnabled;
+		this.motorSpeed = joint.motorSpeed;
+		this.maximumMotorTorque = joint.maximumMotorTorque;
+		this.limitEnabled = joint.limitEnabled;
+		this.upperLimit = joint.upperLimit;
+		this.lowerLimit = joint.lowerLimit;
+		this.referenceAngle = joint.referenceAngle;
+		this.limitState = joint.limitState;
+		this.K = new Matrix33(joint.K);
+		this.motorMass = joint.motorMass;
+		this.impulse = new Vector3(joint.impulse);
+		this.motorImpulse = joint.motorImpulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public RevoluteJoint copy(Body body1, Body body2) {
+		return new RevoluteJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -178,6 +239,38 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 33;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		Joint.put(buffer, this.limitState);
+		buffer.putDouble(this.impulse.x);
+		buffer.putDouble(this.impulse.y);
+		buffer.putDouble(this.impulse.z);
+		buffer.putDouble(this.motorImpulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.limitState = Joint.getLimitState(buffer);
+		this.impulse.x = buffer.getDouble();
+		this.impulse.y = buffer.getDouble();
+		this.impulse.z = buffer.getDouble();
+		this.motorImpulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -206,8 +299,10 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 			}
 		}
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t1.transformR(r1);
+		t2.transformR(r2);
 		
 		// compute the K matrix
 		this.K.m00 = invM1 + invM2 + r1.y * r1.y * invI1 + r2.y * r2.y * invI2;
@@ -269,10 +364,10 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 		this.motorImpulse *= step.getDeltaTimeRatio();
 		
 		// warm start
-		Vector2 impulse = new Vector2(this.impulse.x, this.impulse.y);
-		this.body1.getLinearVelocity().add(impulse.product(invM1));
+		Vector2 impulse = this.linearImpulse.set(this.impulse.x, this.impulse.y);
+		this.body1.getLinearVelocity().add(impulse.x * invM1, impulse.y * invM1);
 		this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * (r1.cross(impulse) + this.motorImpulse + this.impulse.z));
-		this.body2.getLinearVelocity().subtract(impulse.product(invM2));
+		this.body2.getLinearVelocity().subtract(impulse.x * invM2, impulse.y * invM2);
 		this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * (r2.cross(impulse) + this.motorImpulse + this.impulse.z));
 	}
 	
@@ -310,11 +405,13 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * impulse);
         }
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t1.transformR(r1);
+		t2.transformR(r2);
 		
-		Vector2 v1 = this.body1.getLinearVelocity().sum(r1.cross(this.body1.getAngularVelocity()));
-		Vector2 v2 = this.body2.getLinearVelocity().sum(r2.cross(this.body2.getAngularVelocity()));
+		Vector2 v1 = this.body1.getLinearVelocity().sum(r1.cross(this.body1.getAngularVelocity(), this.v1), this.v1);
+		Vector2 v2 = this.body2.getLinearVelocity().sum(r2.cross(this.body2.getAngularVelocity(), this.v2), this.v2);
 		// the 2x2 version of Jv + b
 		Vector2 Jvb2 = v1.subtract(v2);
 		
@@ -323,9 +420,9 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 			// solve the point to point constraint including the limit constraint
 			double pivotW = this.body1.getAngularVelocity() - this.body2.getAngularVelocity();
 			// the 3x3 version of Jv + b
-			Vector3 Jvb3 = new Vector3(Jvb2.x, Jvb2.y, pivotW);
+			Vector3 Jvb3 = this.Jvb3.set(Jvb2.x, Jvb2.y, pivotW);
 			
-			Vector3 impulse3 = this.K.solve33(Jvb3.negate());
+			Vector3 impulse3 = this.K.solve33(Jvb3.negate(), this.impulse3);
 			// check the state to determine how to apply the impulse
 			if (this.limitState == LimitState.EQUAL) {
 				// if its equal limits then this is basically a weld joint
@@ -337,7 +434,7 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 				// and solve the point-to-point constraint alone
 				double newImpulse = this.impulse.z + impulse3.z;
 				if (newImpulse < 0.0) {
-					Vector2 reduced = this.K.solve22(Jvb2.negate());
+					Vector2 reduced = this.K.solve22(Jvb2.negate(), this.linearImpulse);
 					impulse3.x = reduced.x;
 					impulse3.y = reduced.y;
 					impulse3.z = -this.impulse.z;
@@ -350,7 +447,7 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 				// and solve the point-to-point constraint alone
 				double newImpulse = this.impulse.z + impulse3.z;
 				if (newImpulse > 0.0) {
-					Vector2 reduced = this.K.solve22(Jvb2.negate());
+					Vector2 reduced = this.K.solve22(Jvb2.negate(), this.linearImpulse);
 					impulse3.x = reduced.x;
 					impulse3.y = reduced.y;
 					impulse3.z = -this.impulse.z;
@@ -361,20 +458,20 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 			}
 			
 			// apply the impulses
-			Vector2 impulse = new Vector2(impulse3.x, impulse3.y);
-			this.body1.getLinearVelocity().add(impulse.product(invM1));
+			Vector2 impulse = this.linearImpulse.set(impulse3.x, impulse3.y);
+			this.body1.getLinearVelocity().add(impulse.x * invM1, impulse.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * (r1.cross(impulse) + impulse3.z));
-			this.body2.getLinearVelocity().subtract(impulse.product(invM2));
+			this.body2.getLinearVelocity().subtract(impulse.x * invM2, impulse.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * (r2.cross(impulse) + impulse3.z));
 		} else {
 			// solve the point-to-point constraint
-			Vector2 impulse = this.K.solve22(Jvb2.negate());
+			Vector2 impulse = this.K.solve22(Jvb2.negate(), this.linearImpulse);
 			this.impulse.x += impulse.x;
 			this.impulse.y += impulse.y;
 			
-			this.body1.getLinearVelocity().add(impulse.product(invM1));
+			this.body1.getLinearVelocity().add(impulse.x * invM1, impulse.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * r1.cross(impulse));
-			this.body2.getLinearVelocity().subtract(impulse.product(invM2));
+			this.body2.getLinearVelocity().subtract(impulse.x * invM2, impulse.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * r2.cross(impulse));
 		}
 	}
@@ -434,12 +531,18 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
 		}
 		
 		// always solve the point-to-point constraint
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t1.transformR(r1);
+		t2.transformR(r2);
 		
-		Vector2 p1 = this.body1.getWorldCenter().add(r1);
-		Vector2 p2 = this.body2.getWorldCenter().add(r2);
-		Vector2 p = p1.difference(p2);
+		Vector2 p1 = this.v1;
+		Vector2 p2 = this.v2;
+		t1.getTransformed(this.body1.getLocalCenter(), p1);
+		t2.getTransformed(this.body2.getLocalCenter(), p2);
+		p1.add(r1);
+		p2.add(r2);
+		Vector2 p = p1.subtract(p2);
 		linearError = p.getMagnitude();
 
 		// handle large separation
@@ -458,30 +561,32 @@ public class RevoluteJoint extends Joint implements Shiftable, DataContainer {
         	// scale by a half (don't bring them all the way together)
         	final double scale = 0.5;
         	// apply the impulse
-        	this.body1.translate(impulse.product(invM1 * scale));
-        	this.body2.translate(impulse.product(-invM2 * scale));
+        	this.body1.translate(impulse.x * (invM1 * scale), impulse.y * (invM1 * scale));
+        	this.body2.translate(impulse.x * (-invM2 * scale), impulse.y * (-invM2 * scale));
         	
         	// recompute the separation vector
-        	p1 = this.body1.getWorldCenter().add(r1);
-        	p2 = this.body2.getWorldCenter().add(r2);
-        	p = p1.difference(p2);
+        	t1.getTransformed(this.body1.getLocalCenter(), p1);
+        	t2.getTransformed(this.body2.getLocalCenter(), p2);
+        	p1.add(r1);
+        	p2.add(r2);
+        	p = p1.subtract(p2);
         }
 		
 		// compute the K matrix
-		Matrix22 K = new Matrix22();
+		Matrix22 K = this.K2;
 		K.m00 = invM1 + invM2 + r1.y * r1.y * invI1 + r2.y * r2.y * invI2;
 		K.m01 = -invI1 * r1.x * r1.y - invI2 * r2.x * r2.y; 
 		K.m10 = this.K.m01;
 		K.m11 = invM1 + invM2 + r1.x * r1.x * invI1 + r2.x * r2.x * invI2;
 		
 		// solve for the impulse
-		Vector2 J = K.solve(p.negate());
+		Vector2 J = K.solve(p.negate(), this.linearImpulse);
 
 		// translate and rotate the objects
-		this.body1.translate(J.product(invM1));
+		this.body1.translate(J.x * invM1, J.y * invM1);
 		this.body1.rotateAboutCenter(invI1 * r1.cross(J));
 		
-		this.body2.translate(J.product(-invM2));
+		this.body2.translate(J.x * -invM2, J.y * -invM2);
 		this.body2.rotateAboutCenter(-invI2 * r2.cross(J));
 		
 		return linearError <= linearTolerance && angularError <= angularTolerance;
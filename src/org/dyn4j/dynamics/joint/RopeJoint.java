@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -51,7 +53,7 @@ import org.dyn4j.resources.Messages;
  * {@link DistanceJoint}.  The upper and lower limits can be enabled
  * separately.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 2.2.1
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Rope_Joint" target="_blank">Documentation</a>
  * @see <a href="http://www.dyn4j.org/2010/09/distance-constraint/" target="_blank">Distance Constraint</a>
@@ -92,6 +94,14 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 	/** The accumulated impulse from the previous time step */
 	private double impulse;
 	
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to the anchor point */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to the anchor point */
+	private final Vector2 r2 = new Vector2();
+	
 	/**
 	 * Minimal constructor.
 	 * <p>
@@ -122,6 +132,35 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 		this.lowerLimit = distance;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private RopeJoint(RopeJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.localAnchor1 = Joint.copy(joint.localAnchor1);
+		this.localAnchor2 = Joint.copy(joint.localAnchor2);
+		this.upperLimit = joint.upperLimit;
+		this.lowerLimit = joint.lowerLimit;
+		this.upperLimitEnabled = joint.upperLimitEnabled;
+		this.lowerLimitEnabled = joint.lowerLimitEnabled;
+		this.invK = joint.invK;
+		this.n = Joint.copy(joint.n);
+		this.limitState = joint.limitState;
+		this.impulse = joint.impulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public RopeJoint copy(Body body1, Body body2) {
+		return new RopeJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -138,6 +177,32 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 9;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		Joint.put(buffer, this.limitState);
+		buffer.putDouble(this.impulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.limitState = Joint.getLimitState(buffer);
+		this.impulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -156,8 +221,10 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 		double invI2 = m2.getInverseInertia();
 		
 		// compute the normal
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		this.n = r1.sum(this.body1.getWorldCenter()).subtract(r2.sum(this.body2.getWorldCenter()));
 		
 		// get the current length
@@ -231,9 +298,9 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 			this.impulse *= step.getDeltaTimeRatio();
 			
 			Vector2 J = this.n.product(this.impulse);
-			this.body1.getLinearVelocity().add(J.product(invM1));
+			this.body1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * r1.cross(J));
-			this.body2.getLinearVelocity().subtract(J.product(invM2));
+			this.body2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * r2.cross(J));
 		} else {
 			// clear the impulse
@@ -259,8 +326,10 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 			double invI2 = m2.getInverseInertia();
 			
 			// compute r1 and r2
-			Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-			Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+			Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+			t1.transformR(r1);
+			Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+			t2.transformR(r2);
 			
 			// compute the relative velocity
 			Vector2 v1 = this.body1.getLinearVelocity().sum(r1.cross(this.body1.getAngularVelocity()));
@@ -275,9 +344,9 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 			
 			// apply the impulse
 			Vector2 J = this.n.product(j);
-			this.body1.getLinearVelocity().add(J.product(invM1));
+			this.body1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * r1.cross(J));
-			this.body2.getLinearVelocity().subtract(J.product(invM2));
+			this.body2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * r2.cross(J));
 		}
 	}
@@ -315,8 +384,10 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 			Vector2 c2 = this.body2.getWorldCenter();
 			
 			// recompute n since it may have changed after integration
-			Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-			Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+			Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+			t1.transformR(r1);
+			Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+			t2.transformR(r2);
 			this.n = r1.sum(this.body1.getWorldCenter()).subtract(r2.sum(this.body2.getWorldCenter()));
 			
 			// solve the position constraint
@@ -329,10 +400,10 @@ public class RopeJoint extends Joint implements Shiftable, DataContainer {
 			Vector2 J = this.n.product(impulse);
 			
 			// translate and rotate the objects
-			this.body1.translate(J.product(invM1));
+			this.body1.translate(J.x * invM1, J.y * invM1);
 			this.body1.rotate(invI1 * r1.cross(J), c1);
 			
-			this.body2.translate(J.product(-invM2));
+			this.body2.translate(J.x * -invM2, J.y * -invM2);
 			this.body2.rotate(-invI2 * r2.cross(J), c2);
 			
 			return Math.abs(C) < linearTolerance;
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -50,7 +52,7 @@ import org.dyn4j.resources.Messages;
  * torsion spring about the anchor point.  A good starting point is a frequency
  * of 8.0 and damping ratio of 0.3 then adjust as necessary.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 1.0.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Weld_Joint" target="_blank">Documentation</a>
  * @see <a href="http://www.dyn4j.org/2010/12/weld-constraint/" target="_blank">Weld Constraint</a>
@@ -87,6 +89,14 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 	/** The accumulated impulse for warm starting */
 	private Vector3 impulse;
 
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to the anchor point */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to the anchor point */
+	private final Vector2 r2 = new Vector2();
+	
 	/**
 	 * Minimal constructor.
 	 * @param body1 the first {@link Body}
@@ -115,6 +125,34 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 		this.bias = 0.0;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private WeldJoint(WeldJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.localAnchor1 = Joint.copy(joint.localAnchor1);
+		this.localAnchor2 = Joint.copy(joint.localAnchor2);
+		this.referenceAngle = joint.referenceAngle;
+		this.frequency = joint.frequency;
+		this.dampingRatio = joint.dampingRatio;
+		this.K = new Matrix33(joint.K);
+		this.bias = joint.bias;
+		this.gamma = joint.gamma;
+		this.impulse = new Vector3(joint.impulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public WeldJoint copy(Body body1, Body body2) {
+		return new WeldJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -130,6 +168,34 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 24;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.impulse.x);
+		buffer.putDouble(this.impulse.y);
+		buffer.putDouble(this.impulse.z);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.impulse.x = buffer.getDouble();
+		this.impulse.y = buffer.getDouble();
+		this.impulse.z = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -146,8 +212,10 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 		double invI1 = m1.getInverseInertia();
 		double invI2 = m2.getInverseInertia();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		// compute the K inverse matrix
 		this.K.m00 = invM1 + invM2 + r1.y * r1.y * invI1 + r2.y * r2.y * invI2;
@@ -196,9 +264,9 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 		
 		// warm start
 		Vector2 impulse = new Vector2(this.impulse.x, this.impulse.y);
-		this.body1.getLinearVelocity().add(impulse.product(invM1));
+		this.body1.getLinearVelocity().add(impulse.x * invM1, impulse.y * invM1);
 		this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * (r1.cross(impulse) + this.impulse.z));
-		this.body2.getLinearVelocity().subtract(impulse.product(invM2));
+		this.body2.getLinearVelocity().subtract(impulse.x * invM2, impulse.y * invM2);
 		this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * (r2.cross(impulse) + this.impulse.z));
 	}
 	
@@ -218,8 +286,10 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 		double invI1 = m1.getInverseInertia();
 		double invI2 = m2.getInverseInertia();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		if (this.frequency > 0.0) {
 			// get the relative angular velocity
@@ -240,9 +310,9 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 			this.impulse.x += j1.x;
 			this.impulse.y += j1.y;
 			
-			this.body1.getLinearVelocity().add(j1.product(invM1));
+			this.body1.getLinearVelocity().add(j1.x * invM1, j1.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * r1.cross(j1));
-			this.body2.getLinearVelocity().subtract(j1.product(invM2));
+			this.body2.getLinearVelocity().subtract(j1.x * invM2, j1.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * r2.cross(j1));
 		} else {
 			Vector2 v1 = this.body1.getLinearVelocity().sum(r1.cross(this.body1.getAngularVelocity()));
@@ -261,9 +331,9 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 			
 			// apply the impulse
 			Vector2 imp = new Vector2(impulse.x, impulse.y);
-			this.body1.getLinearVelocity().add(imp.product(invM1));
+			this.body1.getLinearVelocity().add(imp.x * invM1, imp.y * invM1);
 			this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * (r1.cross(imp) + impulse.z));
-			this.body2.getLinearVelocity().subtract(imp.product(invM2));
+			this.body2.getLinearVelocity().subtract(imp.x * invM2, imp.y * invM2);
 			this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * (r2.cross(imp) + impulse.z));
 		}
 	}
@@ -287,8 +357,10 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 		double invI1 = m1.getInverseInertia();
 		double invI2 = m2.getInverseInertia();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		Vector2 p1 = this.body1.getWorldCenter().add(r1);
 		Vector2 p2 = this.body2.getWorldCenter().add(r2);
@@ -315,9 +387,9 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 			angularError = 0.0;
 			Vector2 j = this.K.solve22(C1).negate();
 			
-			this.body1.translate(j.product(invM1));
+			this.body1.translate(j.x * invM1, j.y * invM1);
 			this.body1.rotateAboutCenter(invI1 * r1.cross(j));
-			this.body2.translate(j.product(-invM2));
+			this.body2.translate(j.x * -invM2, j.y * -invM2);
 			this.body2.rotateAboutCenter(-invI2 * r2.cross(j));
 		} else {
 			Vector3 impulse = null;
@@ -331,9 +403,9 @@ public class WeldJoint extends Joint implements Shiftable, DataContainer {
 	
 			// translate and rotate the objects
 			Vector2 imp = new Vector2(impulse.x, impulse.y);
-			this.body1.translate(imp.product(invM1));
+			this.body1.translate(imp.x * invM1, imp.y * invM1);
 			this.body1.rotateAboutCenter(invI1 * (r1.cross(imp) + impulse.z));
-			this.body2.translate(imp.product(-invM2));
+			this.body2.translate(imp.x * -invM2, imp.y * -invM2);
 			this.body2.rotateAboutCenter(-invI2 * (r2.cross(imp) + impulse.z));
 		}
 		
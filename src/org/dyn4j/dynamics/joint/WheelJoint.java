@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.DataContainer;
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
@@ -55,7 +57,7 @@ import org.dyn4j.resources.Messages;
  * clockwise or counter-clockwise rotation.  The maximum motor torque must be 
  * greater than zero for the motor to apply any motion.
  * @author William Bittle
- * @version 3.2.1
+ * @version 3.2.4
  * @since 3.0.0
  * @see <a href="http://www.dyn4j.org/documentation/joints/#Wheel_Joint" target="_blank">Documentation</a>
  */
@@ -135,6 +137,14 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 	/** The impulse applied by the motor */
 	private double motorImpulse;
 	
+	// working storage
+	
+	/** The vector from the center of the first {@link Body} to the anchor point */
+	private final Vector2 r1 = new Vector2();
+	
+	/** The vector from the center of the second {@link Body} to the anchor point */
+	private final Vector2 r2 = new Vector2();
+	
 	/**
 	 * Minimal constructor.
 	 * @param body1 the first {@link Body}
@@ -183,6 +193,48 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 		this.motorSpeed = 0.0;
 	}
 	
+	/**
+	 * Copy constructor used by {@link #copy(Body, Body)}.
+	 * @param joint the joint to copy
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @since 3.2.4
+	 */
+	private WheelJoint(WheelJoint joint, Body body1, Body body2) {
+		super(joint, body1, body2);
+		this.localAnchor1 = Joint.copy(joint.localAnchor1);
+		this.localAnchor2 = Joint.copy(joint.localAnchor2);
+		this.motorEnabled = joint.motorEnabled;
+		this.motorSpeed = joint.motorSpeed;
+		this.maximumMotorTorque = joint.maximumMotorTorque;
+		this.frequency = joint.frequency;
+		this.dampingRatio = joint.dampingRatio;
+		this.xAxis = Joint.copy(joint.xAxis);
+		this.yAxis = Joint.copy(joint.yAxis);
+		this.bias = joint.bias;
+		this.gamma = joint.gamma;
+		this.invK = joint.invK;
+		this.springMass = joint.springMass;
+		this.motorMass = joint.motorMass;
+		this.perp = Joint.copy(joint.perp);
+		this.axis = Joint.copy(joint.axis);
+		this.s1 = joint.s1;
+		this.s2 = joint.s2;
+		this.a1 = joint.a1;
+		this.a2 = joint.a2;
+		this.impulse = joint.impulse;
+		this.springImpulse = joint.springImpulse;
+		this.motorImpulse = joint.motorImpulse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#copy(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public WheelJoint copy(Body body1, Body body2) {
+		return new WheelJoint(this, body1, body2);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#toString()
 	 */
@@ -201,6 +253,34 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 		return sb.toString();
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#getSnapshotSize()
+	 */
+	@Override
+	public int getSnapshotSize() {
+		return 24;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.impulse);
+		buffer.putDouble(this.springImpulse);
+		buffer.putDouble(this.motorImpulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.joint.Joint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void restore(ByteBuffer buffer) {
+		this.impulse = buffer.getDouble();
+		this.springImpulse = buffer.getDouble();
+		this.motorImpulse = buffer.getDouble();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.dynamics.joint.Joint#initializeConstraints(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.Settings)
 	 */
@@ -217,8 +297,10 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 		double invI1 = m1.getInverseInertia();
 		double invI2 = m2.getInverseInertia();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		// compute the vector between the two world space anchor points
 		Vector2 d = this.body1.getWorldCenter().sum(r1).subtract(this.body2.getWorldCenter().sum(r2));
@@ -311,9 +393,9 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 		double l2 = this.impulse * this.s2 + this.springImpulse * this.a2 + this.motorImpulse;
 		
 		// apply the impulses
-		this.body1.getLinearVelocity().add(P.product(invM1));
+		this.body1.getLinearVelocity().add(P.x * invM1, P.y * invM1);
 		this.body1.setAngularVelocity(this.body1.getAngularVelocity() + invI1 * l1);
-		this.body2.getLinearVelocity().subtract(P.product(invM2));
+		this.body2.getLinearVelocity().subtract(P.x * invM2, P.y * invM2);
 		this.body2.setAngularVelocity(this.body2.getAngularVelocity() - invI2 * l2);
 	}
 	
@@ -418,8 +500,10 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 		Vector2 c1 = this.body1.getWorldCenter();
 		Vector2 c2 = this.body2.getWorldCenter();
 		
-		Vector2 r1 = t1.getTransformedR(this.body1.getLocalCenter().to(this.localAnchor1));
-		Vector2 r2 = t2.getTransformedR(this.body2.getLocalCenter().to(this.localAnchor2));
+		Vector2 r1 = this.body1.getLocalCenter().to(this.localAnchor1, this.r1);
+		t1.transformR(r1);
+		Vector2 r2 = this.body2.getLocalCenter().to(this.localAnchor2, this.r2);
+		t2.transformR(r2);
 		
 		Vector2 d = c1.sum(r1).subtract(c2.sum(r2));
 		this.axis = this.body2.getWorldVector(this.xAxis);
@@ -444,10 +528,10 @@ public class WheelJoint extends Joint implements Shiftable, DataContainer {
 		double l1 = this.s1 * impulse;
 		double l2 = this.s2 * impulse;
 		
-		this.body1.translate(P.product(invM1));
+		this.body1.translate(P.x * invM1, P.y * invM1);
 		this.body1.rotateAboutCenter(l1 * invI1);
 		
-		this.body2.translate(P.product(-invM2));
+		this.body2.translate(P.x * -invM2, P.y * -invM2);
 		this.body2.rotateAboutCenter(-l2 * invI2);
 		
 		// return if we corrected the error enough
@@ -58,6 +58,7 @@
  * <li>{@link org.dyn4j.dynamics.contact.ContactListener} for responding to contact events</li>
  * <li>{@link org.dyn4j.dynamics.RaycastListener} for responding to raycast events</li>
  * <li>{@link org.dyn4j.dynamics.TimeOfImpactListener} for responding to time of impact events</li>
+ * <li>{@link org.dyn4j.dynamics.StepPhaseListener} for tracing the phases of a time step</li>
  * </ul>
  * Please read the respective documentation on each listener.  Certain operations on the 
  * {@link org.dyn4j.dynamics.World} object may not be allowed inside the listener methods.
@@ -71,7 +72,7 @@
  * modification is needed.  Refer to the source of {@link org.dyn4j.dynamics.Settings} and the 
  * Sandbox for details on what each individual setting controls.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 package org.dyn4j.dynamics;
\ No newline at end of file
@@ -41,7 +41,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * The {@link #expand(double)} method can be used to expand the bounds of the {@link AABB} by some amount.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 3.0.0
  */
 public class AABB implements Translatable {
@@ -126,6 +126,40 @@ public class AABB implements Translatable {
 		return sb.toString();
 	}
 	
+	/**
+	 * Sets this {@link AABB} to the given extents.
+	 * @param minX the minimum x extent
+	 * @param minY the minimum y extent
+	 * @param maxX the maximum x extent
+	 * @param maxY the maximum y extent
+	 * @return {@link AABB} this aabb
+	 * @throws IllegalArgumentException if either minimum extent is greater than the maximum extent
+	 * @since 3.2.4
+	 */
+	public AABB set(double minX, double minY, double maxX, double maxY) {
+		// check the min and max
+		if (minX > maxX || minY > maxY) throw new IllegalArgumentException(Messages.getString("geometry.aabb.invalidMinMax"));
+		this.min.x = minX;
+		this.min.y = minY;
+		this.max.x = maxX;
+		this.max.y = maxY;
+		return this;
+	}
+	
+	/**
+	 * Sets this {@link AABB} to the extents of the given {@link AABB}.
+	 * @param aabb the {@link AABB} to copy
+	 * @return {@link AABB} this aabb
+	 * @since 3.2.4
+	 */
+	public AABB set(AABB aabb) {
+		this.min.x = aabb.min.x;
+		this.min.y = aabb.min.y;
+		this.max.x = aabb.max.x;
+		this.max.y = aabb.max.y;
+		return this;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Translatable#translate(double, double)
 	 */
@@ -182,6 +216,22 @@ public class AABB implements Translatable {
 		return 2 * (this.max.x - this.min.x + this.max.y - this.min.y);
 	}
 	
+	/**
+	 * Returns the perimeter of the union of this {@link AABB} and the given {@link AABB}.
+	 * <p>
+	 * This is the same as getUnion(aabb).getPerimeter(), but doesn't create a new {@link AABB}.
+	 * @param aabb the {@link AABB} to union
+	 * @return double
+	 * @since 3.2.4
+	 */
+	public double getUnionPerimeter(AABB aabb) {
+		double minX = Math.min(this.min.x, aabb.min.x);
+		double minY = Math.min(this.min.y, aabb.min.y);
+		double maxX = Math.max(this.max.x, aabb.max.x);
+		double maxY = Math.max(this.max.y, aabb.max.y);
+		return 2 * (maxX - minX + maxY - minY);
+	}
+	
 	/**
 	 * Returns the area of this {@link AABB};.
 	 * @return double
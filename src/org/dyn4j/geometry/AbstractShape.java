@@ -31,7 +31,7 @@ import org.dyn4j.DataContainer;
 /**
  * Base implementation of the {@link Shape} interface.
  * @author William Bittle
- * @version 3.2.3
+ * @version 3.2.4
  * @since 1.0.0
  */
 public abstract class AbstractShape implements Shape, Transformable, DataContainer {
@@ -47,6 +47,9 @@ public abstract class AbstractShape implements Shape, Transformable, DataContain
 	/** Custom user data object */
 	protected Object userData;
 	
+	/** The number of times this shape has been rotated or translated */
+	protected int version;
+	
 	/**
 	 * Minimal constructor.
 	 * @param radius the rotation radius; must be greater than zero
@@ -162,6 +165,7 @@ public abstract class AbstractShape implements Shape, Transformable, DataContain
 		if (!this.center.equals(x, y)) {
 			this.center.rotate(theta, x, y);
 		}
+		this.version++;
 	}
 	
 	/* (non-Javadoc)
@@ -170,6 +174,15 @@ public abstract class AbstractShape implements Shape, Transformable, DataContain
 	@Override
 	public void translate(double x, double y) {
 		this.center.add(x, y);
+		this.version++;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#getVersion()
+	 */
+	@Override
+	public int getVersion() {
+		return this.version;
 	}
 	
 	/* (non-Javadoc)
@@ -203,4 +216,16 @@ public abstract class AbstractShape implements Shape, Transformable, DataContain
 	public AABB createAABB() {
 		return this.createAABB(Transform.IDENTITY);
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation copies the result of {@link #createAABB(Transform)}, so 
+	 * shapes should override it when the {@link AABB} can be computed without
+	 * creating objects.
+	 */
+	@Override
+	public void computeAABB(Transform transform, AABB result) {
+		result.set(this.createAABB(transform));
+	}
 }
@@ -40,7 +40,7 @@ import org.dyn4j.resources.Messages;
  * A capsule's width and height must be larger than zero and cannot be equal.  A {@link Circle} should be used
  * instead of an equal width/height capsule for both performance and stability.
  * @author William Bittle
- * @version 3.2.3
+ * @version 3.2.4
  * @since 3.1.5
  */
 public class Capsule extends AbstractShape implements Convex, Shape, Transformable, DataContainer {
@@ -396,4 +396,19 @@ public class Capsule extends AbstractShape implements Convex, Shape, Transformab
 	public double getCapRadius() {
 		return this.capRadius;
 	}
+	
+	/**
+	 * Returns the focal points of the end caps in local coordinates.
+	 * <p>
+	 * A capsule is the segment between these points expanded by the cap radius.
+	 * The returned array and points are copies.
+	 * @return {@link Vector2}[]
+	 * @since 3.2.4
+	 */
+	public Vector2[] getFoci() {
+		return new Vector2[] {
+			this.foci[0].copy(),
+			this.foci[1].copy()
+		};
+	}
 }
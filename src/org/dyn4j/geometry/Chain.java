@@ -0,0 +1,613 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+import org.dyn4j.DataContainer;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Implementation of a chain of line segments {@link Composite} {@link Shape}.
+ * <p>
+ * A chain is the same as a chain of {@link Link}s created by the {@link Geometry#createLinks(Vector2[], boolean)}
+ * method, except that it's a single fixture and a single item in the broad-phase.  The vertices are 
+ * stored in a primitive array and the segments in a bounding volume hierarchy so that the segments 
+ * under the bounds of the other shape are found quickly.
+ * <p>
+ * The segments are exposed as {@link Link}s.  The previous and next vertices of 
+ * each {@link Link} are read from the chain so that the {@link org.dyn4j.collision.narrowphase.LinkPostProcessor}
+ * prevents the internal edge problem without linking the {@link Link}s together; their previous
+ * and next {@link Link}s are always null.
+ * <p>
+ * If the chain is closed, the last segment spans the last and first vertices.
+ * <p>
+ * The {@link Convex} methods, including {@link #getAxes(Vector2[], Transform)}, treat the chain
+ * as the convex hull of its vertices.
+ * <p>
+ * Like the {@link Segment} class, the segments are infinitely thin.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class Chain extends AbstractShape implements Composite, Convex, Shape, Transformable, DataContainer {
+	/** The vertices; x and y for each vertex */
+	final double[] vertices;
+	
+	/** The number of vertices */
+	final int vertexCount;
+	
+	/** The number of segments */
+	final int segmentCount;
+	
+	/** True if the last segment spans the last and first vertices */
+	final boolean closed;
+	
+	/** The segments */
+	final Link[] links;
+	
+	/** The convex hull of the vertices */
+	final Convex hull;
+	
+	/** The bounds of the hierarchy nodes; min x, min y, max x and max y for each node */
+	final double[] bounds;
+	
+	/** 
+	 * The hierarchy nodes in depth first order; the index of the segment for a leaf node or 
+	 * the negative of the index of the second child for other nodes (the first child is next)
+	 */
+	final int[] nodes;
+	
+	/**
+	 * Validated constructor.
+	 * @param valid always true or this constructor would not be called
+	 * @param vertices the vertices
+	 * @param closed true if the chain is closed
+	 */
+	private Chain(boolean valid, Vector2[] vertices, boolean closed) {
+		super(0.0);
+		int size = vertices.length;
+		this.vertices = new double[size * 2];
+		for (int i = 0; i < size; i++) {
+			this.vertices[i * 2] = vertices[i].x;
+			this.vertices[i * 2 + 1] = vertices[i].y;
+		}
+		this.vertexCount = size;
+		this.segmentCount = closed ? size : size - 1;
+		this.closed = closed;
+		
+		// each segment is a leaf
+		int n = this.segmentCount;
+		this.links = new Link[n];
+		for (int i = 0; i < n; i++) {
+			this.links[i] = new ChainLink(this, i);
+		}
+		this.bounds = new double[(2 * n - 1) * 4];
+		this.nodes = new int[2 * n - 1];
+		this.build(0, 0, n);
+		
+		// the center is the centroid of the segments
+		this.center = this.createMass(1.0).getCenter();
+		this.radius = this.getRadius(this.center);
+		
+		Vector2[] points = new Vector2[size];
+		for (int i = 0; i < size; i++) {
+			points[i] = this.getVertex(i);
+		}
+		this.hull = Geometry.createConvexHull(points);
+	}
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * Creates a new chain through the given vertices.  The vertices are copied.
+	 * @param vertices the vertices
+	 * @param closed true if a segment should span the last and first vertices
+	 * @throws NullPointerException if vertices is null or contains null elements
+	 * @throws IllegalArgumentException if vertices contains less than 2 vertices (3 if closed) or if adjacent vertices are coincident
+	 */
+	public Chain(Vector2[] vertices, boolean closed) {
+		this(validate(vertices, closed), vertices, closed);
+	}
+	
+	/**
+	 * Validates the constructor input returning true if valid or throwing an exception if invalid.
+	 * @param vertices the vertices
+	 * @param closed true if the chain is closed
+	 * @return boolean true
+	 * @throws NullPointerException if vertices is null or contains null elements
+	 * @throws IllegalArgumentException if vertices contains less than 2 vertices (3 if closed) or if adjacent vertices are coincident
+	 */
+	private static final boolean validate(Vector2[] vertices, boolean closed) {
+		if (vertices == null) throw new NullPointerException(Messages.getString("geometry.chain.nullVertices"));
+		int size = vertices.length;
+		if (size < 2) throw new IllegalArgumentException(Messages.getString("geometry.chain.lessThan2Vertices"));
+		if (closed && size < 3) throw new IllegalArgumentException(Messages.getString("geometry.chain.lessThan3Vertices"));
+		for (int i = 0; i < size; i++) {
+			if (vertices[i] == null) throw new NullPointerException(Messages.getString("geometry.chain.nullVertex"));
+		}
+		for (int i = closed ? 0 : 1; i < size; i++) {
+			Vector2 p1 = vertices[i == 0 ? size - 1 : i - 1];
+			if (p1.equals(vertices[i])) {
+				throw new IllegalArgumentException(Messages.getString("geometry.chain.coincidentVertices"));
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Builds the hierarchy node at the given index for the given range of segments.
+	 * <p>
+	 * The segments of a chain are ordered along the chain, so each node splits its range 
+	 * in half rather than sorting the segments.  This keeps the segments of each node
+	 * adjacent, and close together, and the leaves in the order of the segments.
+	 * @param node the index of the node
+	 * @param start the index of the first segment
+	 * @param end the index after the last segment
+	 */
+	private void build(int node, int start, int end) {
+		if (end - start == 1) {
+			this.nodes[node] = start;
+			double[] v = this.vertices;
+			int i = start * 2;
+			int j = ((start + 1) % this.vertexCount) * 2;
+			this.setBounds(node, Math.min(v[i], v[j]), Math.min(v[i + 1], v[j + 1]), Math.max(v[i], v[j]), Math.max(v[i + 1], v[j + 1]));
+		} else {
+			int mid = (start + end) >>> 1;
+			// the first child is next and the second follows all the nodes of the first
+			int first = node + 1;
+			int second = node + 2 * (mid - start);
+			this.nodes[node] = -second;
+			this.build(first, start, mid);
+			this.build(second, mid, end);
+			double[] b = this.bounds;
+			int f = first * 4;
+			int s = second * 4;
+			this.setBounds(node, Math.min(b[f], b[s]), Math.min(b[f + 1], b[s + 1]), Math.max(b[f + 2], b[s + 2]), Math.max(b[f + 3], b[s + 3]));
+		}
+	}
+	
+	/**
+	 * Sets the bounds of the given node.
+	 * @param node the index of the node
+	 * @param minX the minimum x
+	 * @param minY the minimum y
+	 * @param maxX the maximum x
+	 * @param maxY the maximum y
+	 */
+	private void setBounds(int node, double minX, double minY, double maxX, double maxY) {
+		int i = node * 4;
+		this.bounds[i] = minX;
+		this.bounds[i + 1] = minY;
+		this.bounds[i + 2] = maxX;
+		this.bounds[i + 3] = maxY;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Chain[").append(super.toString())
+		.append("|Segments=").append(this.segmentCount)
+		.append("|Closed=").append(this.closed)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Composite#getChildCount()
+	 */
+	@Override
+	public int getChildCount() {
+		return this.segmentCount;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The children of a chain are its segments.  The segment at index i spans 
+	 * the vertices i and i + 1.
+	 * @return {@link Link}
+	 */
+	@Override
+	public Link getChild(int index) {
+		return this.links[index];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The bounding volume hierarchy is traversed depth first, so the indices are found
+	 * in logarithmic time.
+	 */
+	@Override
+	public int getChildIndices(AABB aabb, int[] indices) {
+		return this.getChildIndices(0, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY(), indices, 0);
+	}
+	
+	/**
+	 * Places the indices of the segments of the given hierarchy node whose bounds overlap
+	 * the given bounds in the given array after the given number of indices found so far.
+	 * @param node the index of the node
+	 * @param minX the minimum x of the bounds
+	 * @param minY the minimum y of the bounds
+	 * @param maxX the maximum x of the bounds
+	 * @param maxY the maximum y of the bounds
+	 * @param indices the array to place the indices in
+	 * @param count the number of indices found so far
+	 * @return int the number of indices found
+	 */
+	private int getChildIndices(int node, double minX, double minY, double maxX, double maxY, int[] indices, int count) {
+		double[] b = this.bounds;
+		int i = node * 4;
+		if (b[i] > maxX || b[i + 2] < minX || b[i + 1] > maxY || b[i + 3] < minY) {
+			return count;
+		}
+		int value = this.nodes[node];
+		if (value >= 0) {
+			if (count < indices.length) {
+				indices[count] = value;
+			}
+			return count + 1;
+		}
+		// the first child is next
+		count = this.getChildIndices(node + 1, minX, minY, maxX, maxY, indices, count);
+		return this.getChildIndices(-value, minX, minY, maxX, maxY, indices, count);
+	}
+	
+	/**
+	 * Returns the number of vertices.
+	 * @return int
+	 */
+	public int getVertexCount() {
+		return this.vertexCount;
+	}
+	
+	/**
+	 * Returns a new vector containing the local space vertex at the given index.
+	 * @param index the index of the vertex
+	 * @return {@link Vector2}
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getVertexCount()}
+	 */
+	public Vector2 getVertex(int index) {
+		if (index < 0 || index >= this.vertexCount) throw new IndexOutOfBoundsException();
+		return new Vector2(this.vertices[index * 2], this.vertices[index * 2 + 1]);
+	}
+	
+	/**
+	 * Returns true if the last segment spans the last and first vertices.
+	 * @return boolean
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+	
+	/**
+	 * Returns the vertex before the given segment or null if it's the first segment of an open chain.
+	 * @param index the index of the segment
+	 * @return {@link Vector2}
+	 */
+	Vector2 getPoint0(int index) {
+		if (index > 0) return this.getVertex(index - 1);
+		return this.closed ? this.getVertex(this.vertexCount - 1) : null;
+	}
+	
+	/**
+	 * Returns the vertex after the given segment or null if it's the last segment of an open chain.
+	 * @param index the index of the segment
+	 * @return {@link Vector2}
+	 */
+	Vector2 getPoint3(int index) {
+		int i = index + 2;
+		if (i < this.vertexCount) return this.getVertex(i);
+		return this.closed ? this.getVertex(i - this.vertexCount) : null;
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest in the direction of the given local space vector.
+	 * @param x the x component of the direction
+	 * @param y the y component of the direction
+	 * @return int
+	 */
+	private int getFarthestVertexIndex(double x, double y) {
+		double[] v = this.vertices;
+		int size = this.vertexCount;
+		int index = 0;
+		double max = x * v[0] + y * v[1];
+		for (int i = 1; i < size; i++) {
+			double projection = x * v[i * 2] + y * v[i * 2 + 1];
+			if (projection > max) {
+				max = projection;
+				index = i;
+			}
+		}
+		return index;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#getRadius(org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public double getRadius(Vector2 center) {
+		double r2 = 0.0;
+		int size = this.vertexCount;
+		for (int i = 0; i < size; i++) {
+			double d2 = center.distanceSquared(this.vertices[i * 2], this.vertices[i * 2 + 1]);
+			if (d2 > r2) r2 = d2;
+		}
+		return Math.sqrt(r2);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns the axes of the convex hull of the vertices.  The {@link org.dyn4j.dynamics.World}
+	 * tests the children of a chain instead.
+	 */
+	@Override
+	public Vector2[] getAxes(Vector2[] foci, Transform transform) {
+		return this.hull.getAxes(foci, transform);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Not applicable to this shape.  Always returns null.
+	 * @return null
+	 */
+	@Override
+	public Vector2[] getFoci(Transform transform) {
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns true if the given point lies on one of the segments.
+	 */
+	@Override
+	public boolean contains(Vector2 point, Transform transform) {
+		Vector2 p = transform.getInverseTransformed(point);
+		AABB aabb = new AABB(p.x, p.y, p.x, p.y);
+		// a point is rarely on more than two segments
+		int[] indices = new int[2];
+		int size = this.getChildIndices(aabb, indices);
+		if (size > indices.length) {
+			indices = new int[size];
+			this.getChildIndices(aabb, indices);
+		}
+		for (int i = 0; i < size; i++) {
+			if (this.getChild(indices[i]).contains(p, Transform.IDENTITY)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#project(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public Interval project(Vector2 vector, Transform transform) {
+		Vector2 n = transform.getInverseTransformedR(vector);
+		double[] v = this.vertices;
+		int min = this.getFarthestVertexIndex(-n.x, -n.y) * 2;
+		int max = this.getFarthestVertexIndex(n.x, n.y) * 2;
+		// account for the translation of the transform
+		double offset = vector.x * transform.x + vector.y * transform.y;
+		return new Interval(n.x * v[min] + n.y * v[min + 1] + offset, n.x * v[max] + n.y * v[max + 1] + offset);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Convex#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public Vector2 getFarthestPoint(Vector2 vector, Transform transform) {
+		Vector2 n = transform.getInverseTransformedR(vector);
+		Vector2 p = this.getVertex(this.getFarthestVertexIndex(n.x, n.y));
+		transform.transform(p);
+		return p;
+	}
+	
+	/**
+	 * Returns the feature farthest in the direction of n.
+	 * <p>
+	 * For a {@link Chain} it's always the farthest vertex.
+	 * @param vector the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @return {@link PointFeature}
+	 */
+	@Override
+	public PointFeature getFarthestFeature(Vector2 vector, Transform transform) {
+		Vector2 n = transform.getInverseTransformedR(vector);
+		int index = this.getFarthestVertexIndex(n.x, n.y);
+		Vector2 p = this.getVertex(index);
+		transform.transform(p);
+		return new PointFeature(p, index);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#rotate(double, double, double)
+	 */
+	@Override
+	public void rotate(double theta, double x, double y) {
+		super.rotate(theta, x, y);
+		double cos = Math.cos(theta);
+		double sin = Math.sin(theta);
+		double[] v = this.vertices;
+		int size = this.vertexCount;
+		for (int i = 0; i < size; i++) {
+			double vx = v[i * 2] - x;
+			double vy = v[i * 2 + 1] - y;
+			v[i * 2] = x + vx * cos - vy * sin;
+			v[i * 2 + 1] = y + vx * sin + vy * cos;
+		}
+		// the links aren't linked together so they only rotate themselves
+		for (int i = 0; i < this.segmentCount; i++) {
+			this.links[i].rotate(theta, x, y);
+		}
+		this.hull.rotate(theta, x, y);
+		// the order of the segments doesn't change so only the bounds need updating
+		this.build(0, 0, this.segmentCount);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#translate(double, double)
+	 */
+	@Override
+	public void translate(double x, double y) {
+		super.translate(x, y);
+		double[] v = this.vertices;
+		int size = this.vertexCount;
+		for (int i = 0; i < size; i++) {
+			v[i * 2] += x;
+			v[i * 2 + 1] += y;
+		}
+		for (int i = 0; i < this.segmentCount; i++) {
+			this.links[i].translate(x, y);
+		}
+		this.hull.translate(x, y);
+		double[] b = this.bounds;
+		int n = this.nodes.length;
+		for (int i = 0; i < n; i++) {
+			b[i * 4] += x;
+			b[i * 4 + 1] += y;
+			b[i * 4 + 2] += x;
+			b[i * 4 + 3] += y;
+		}
+	}
+	
+	/**
+	 * Creates a {@link Mass} object using the geometric properties of
+	 * this {@link Chain} and the given density.
+	 * <p>
+	 * The mass is the same as the combined mass of the segments, as if each
+	 * segment was a {@link Segment}.
+	 * @param density the density in kg/m<sup>2</sup>
+	 * @return {@link Mass} the {@link Mass} of this {@link Chain}
+	 */
+	@Override
+	public Mass createMass(double density) {
+		double[] v = this.vertices;
+		int n = this.segmentCount;
+		double m = 0.0;
+		double cx = 0.0;
+		double cy = 0.0;
+		// the inertia of each segment about the origin
+		double I = 0.0;
+		for (int s = 0; s < n; s++) {
+			int i = s * 2;
+			int j = ((s + 1) % this.vertexCount) * 2;
+			double dx = v[j] - v[i];
+			double dy = v[j + 1] - v[i + 1];
+			double l2 = dx * dx + dy * dy;
+			double mass = density * Math.sqrt(l2);
+			double mx = (v[i] + v[j]) * 0.5;
+			double my = (v[i + 1] + v[j + 1]) * 0.5;
+			m += mass;
+			cx += mx * mass;
+			cy += my * mass;
+			I += l2 * mass / 12.0 + mass * (mx * mx + my * my);
+		}
+		// move the inertia to the center of mass
+		cx /= m;
+		cy /= m;
+		I -= m * (cx * cx + cy * cy);
+		return new Mass(new Vector2(cx, cy), m, I);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#createAABB(org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public AABB createAABB(Transform transform) {
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.computeAABB(transform, aabb);
+		return aabb;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The {@link AABB} is computed from the bounds of the hierarchy rather than the vertices, 
+	 * so it's exact when the given transform has no rotation and conservative otherwise.
+	 */
+	@Override
+	public void computeAABB(Transform transform, AABB result) {
+		double[] b = this.bounds;
+		// the center and half extents of the local bounds
+		double ex = (b[2] - b[0]) * 0.5;
+		double ey = (b[3] - b[1]) * 0.5;
+		double cx = b[0] + ex;
+		double cy = b[1] + ey;
+		// the center and half extents of the world bounds
+		double wx = transform.m00 * cx + transform.m01 * cy + transform.x;
+		double wy = transform.m10 * cx + transform.m11 * cy + transform.y;
+		double hx = Math.abs(transform.m00) * ex + Math.abs(transform.m01) * ey;
+		double hy = Math.abs(transform.m10) * ex + Math.abs(transform.m11) * ey;
+		result.set(wx - hx, wy - hy, wx + hx, wy + hy);
+	}
+	
+	/**
+	 * A segment of a {@link Chain} whose previous and next vertices are read from the chain.
+	 * @author William Bittle
+	 * @version 3.2.4
+	 * @since 3.2.4
+	 */
+	private static final class ChainLink extends Link {
+		/** The chain */
+		private final Chain chain;
+		
+		/** The index of the segment */
+		private final int index;
+		
+		/**
+		 * Full constructor.
+		 * @param chain the chain
+		 * @param index the index of the segment
+		 */
+		public ChainLink(Chain chain, int index) {
+			super(chain.getVertex(index), chain.getVertex((index + 1) % chain.vertexCount));
+			this.chain = chain;
+			this.index = index;
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Link#getPoint0()
+		 */
+		@Override
+		public Vector2 getPoint0() {
+			return this.chain.getPoint0(this.index);
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Link#getPoint3()
+		 */
+		@Override
+		public Vector2 getPoint3() {
+			return this.chain.getPoint3(this.index);
+		}
+	}
+}
@@ -32,7 +32,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * A {@link Circle}'s radius must be greater than zero.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Circle extends AbstractShape implements Convex, Shape, Transformable, DataContainer {
@@ -194,9 +194,20 @@ public class Circle extends AbstractShape implements Convex, Shape, Transformabl
 	 */
 	@Override
 	public AABB createAABB(Transform transform) {
-		// if the transform is not null then transform the center
-		Vector2 center = transform.getTransformed(this.center);
-		// return a new aabb
-		return new AABB(center, this.radius);
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.computeAABB(transform, aabb);
+		return aabb;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#computeAABB(org.dyn4j.geometry.Transform, org.dyn4j.geometry.AABB)
+	 */
+	@Override
+	public void computeAABB(Transform transform, AABB result) {
+		// transform the center
+		double x = transform.getTransformedX(this.center);
+		double y = transform.getTransformedY(this.center);
+		double r = this.radius;
+		result.set(x - r, y - r, x + r, y + r);
 	}
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+/**
+ * Represents a {@link Convex} {@link Shape} made up of many {@link Convex} child shapes.
+ * <p>
+ * A {@link Composite} is added to a body as one fixture and is a single item in the broad-phase
+ * no matter how many children it has.  This makes it well suited for terrain and other large static
+ * geometry.  Collision detection, raycasting and time of impact detection are performed against the
+ * children whose bounds overlap the other shape using the {@link #getChildIndices(AABB, int[])} method.
+ * <p>
+ * The children are in the same local space as the composite; they use the same {@link Transform}.
+ * <p>
+ * The {@link Convex} methods of a {@link Composite}, including {@link #getAxes(Vector2[], Transform)},
+ * treat it as the convex hull of its children.  They are suitable for the bounds of the composite, 
+ * but not for collision detection; the {@link org.dyn4j.dynamics.World} tests the children instead.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ * @see Heightfield
+ */
+public interface Composite extends Convex {
+	/**
+	 * Returns the number of children.
+	 * @return int
+	 */
+	public abstract int getChildCount();
+	
+	/**
+	 * Returns the child at the given index.
+	 * <p>
+	 * The child is in the local space of this {@link Composite}.
+	 * @param index the index of the child
+	 * @return {@link Convex}
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getChildCount()}
+	 */
+	public abstract Convex getChild(int index);
+	
+	/**
+	 * Places the indices of the children whose bounds overlap the given {@link AABB} in
+	 * the given array and returns the number of children found.
+	 * <p>
+	 * The {@link AABB} must be in the local space of this {@link Composite}.  The indices
+	 * are placed in ascending order starting at index zero of the array.  If the returned 
+	 * number is greater than the length of the array, only the first indices were placed; 
+	 * call this method again with an array that's long enough.
+	 * @param aabb the local space {@link AABB}
+	 * @param indices the array to place the indices in
+	 * @return int the number of children whose bounds overlap the {@link AABB}
+	 */
+	public abstract int getChildIndices(AABB aabb, int[] indices);
+}
@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.dyn4j.Epsilon;
+import org.dyn4j.geometry.hull.MonotoneChain;
 import org.dyn4j.resources.Messages;
 
 /**
@@ -42,7 +43,7 @@ import org.dyn4j.resources.Messages;
  * This class also contains various helper methods for cleaning vector arrays and lists and performing
  * various operations on {@link Shape}s.
  * @author William Bittle
- * @version 3.2.2
+ * @version 3.2.4
  * @since 1.0.0
  */
 public final class Geometry {
@@ -1901,4 +1902,22 @@ public final class Geometry {
 		
 		return links;
 	}
+	
+	/**
+	 * Returns the convex hull of the given points as a {@link Polygon}, or as a {@link Segment}
+	 * if the points are colinear.
+	 * <p>
+	 * The {@link Composite} shapes use the hull of their vertices for the 
+	 * {@link Convex#getAxes(Vector2[], Transform)} method.  The given array is reordered.
+	 * @param points the points; must contain at least two distinct points
+	 * @return {@link Convex}
+	 * @since 3.2.4
+	 */
+	static final Convex createConvexHull(Vector2[] points) {
+		Vector2[] hull = new MonotoneChain().generate(points);
+		if (hull.length == 2) {
+			return new Segment(hull[0], hull[1]);
+		}
+		return new Polygon(hull);
+	}
 }
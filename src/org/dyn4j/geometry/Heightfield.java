@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2010-2016 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+import org.dyn4j.DataContainer;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Implementation of a heightfield {@link Composite} {@link Shape} for terrain.
+ * <p>
+ * A heightfield is a chain of {@link Link}s whose vertices are evenly spaced along the x-axis
+ * with the given heights.  The first vertex is at (0, heights[0]) in local coordinates.
+ * <p>
+ * Unlike a chain of {@link Link}s where each {@link Link} is added as its own fixture, a heightfield
+ * is a single fixture and a single item in the broad-phase.  The cells under the bounds of the 
+ * other shape are found directly from the grid.  Since the children are {@link Link}s, the 
+ * {@link org.dyn4j.collision.narrowphase.LinkPostProcessor} prevents the internal edge problem 
+ * across the cells.
+ * <p>
+ * A heightfield is intended for static terrain and has no mass.  It can be translated and rotated
+ * locally; the cells are laid out along the rotated x-axis.  The {@link Convex} methods, including
+ * {@link #getAxes(Vector2[], Transform)}, treat the heightfield as the convex hull of its vertices.
+ * @author William Bittle
+ * @version 3.2.4
+ * @since 3.2.4
+ */
+public class Heightfield extends AbstractShape implements Composite, Convex, Shape, Transformable, DataContainer {
+	/** The heights */
+	final double[] heights;
+	
+	/** The spacing between the heights along the x-axis */
+	final double spacing;
+	
+	/** The cells */
+	final Link[] links;
+	
+	/** The minimum height */
+	final double minHeight;
+	
+	/** The maximum height */
+	final double maxHeight;
+	
+	/** The local x coordinate of the first vertex */
+	double x;
+	
+	/** The local y coordinate of zero height */
+	double y;
+	
+	/** The x component of the local direction of the x-axis of the heights */
+	double ux;
+	
+	/** The y component of the local direction of the x-axis of the heights */
+	double uy;
+	
+	/** The convex hull of the vertices */
+	final Convex hull;
+	
+	/**
+	 * Validated constructor.
+	 * @param valid always true or this constructor would not be called
+	 * @param heights the heights
+	 * @param spacing the spacing between the heights
+	 */
+	private Heightfield(boolean valid, double[] heights, double spacing) {
+		super(0.0);
+		int size = heights.length;
+		this.heights = heights;
+		this.spacing = spacing;
+		
+		// create the cells and link them together
+		this.links = new Link[size - 1];
+		Vector2[] vertices = new Vector2[size];
+		double min = heights[0];
+		double max = heights[0];
+		for (int i = 0; i < size; i++) {
+			double h = heights[i];
+			vertices[i] = new Vector2(i * spacing, h);
+			if (h < min) min = h;
+			if (h > max) max = h;
+			if (i > 0) {
+				Link link = new Link(vertices[i - 1].copy(), vertices[i].copy());
+				if (i > 1) {
+					link.setPrevious(this.links[i - 2]);
+				}
+				this.links[i - 1] = link;
+			}
+		}
+		this.minHeight = min;
+		this.maxHeight = max;
+		this.ux = 1.0;
+		this.uy = 0.0;
+		
+		this.center = Geometry.getAverageCenter(vertices);
+		this.radius = Geometry.getRotationRadius(this.center, vertices);
+		this.hull = Geometry.createConvexHull(vertices);
+	}
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * Creates a new heightfield with a vertex for each of the given heights, spaced 
+	 * evenly along the x-axis by the given spacing.  There are heights.length - 1 cells.
+	 * <p>
+	 * The heights are copied.
+	 * @param heights the heights
+	 * @param spacing the spacing between the heights along the x-axis
+	 * @throws NullPointerException if heights is null
+	 * @throws IllegalArgumentException if heights contains less than 2 heights or if spacing is less than or equal to zero
+	 */
+	public Heightfield(double[] heights, double spacing) {
+		this(validate(heights, spacing), Heightfield.copy(heights), spacing);
+	}
+	
+	/**
+	 * Validates the constructor input returning true if valid or throwing an exception if invalid.
+	 * @param heights the heights
+	 * @param spacing the spacing between the heights
+	 * @return boolean true
+	 * @throws NullPointerException if heights is null
+	 * @throws IllegalArgumentException if heights contains less than 2 heights or if spacing is less than or equal to zero
+	 */
+	private static final boolean validate(double[] heights, double spacing) {
+		if (heights == null) throw new NullPointerException(Messages.getString("geometry.heightfield.nullHeights"));
+		if (heights.length < 2) throw new IllegalArgumentException(Messages.getString("geometry.heightfield.lessThan2Heights"));
+		if (spacing <= 0.0) throw new IllegalArgumentException(Messages.getString("geometry.heightfield.invalidSpacing"));
+		return true;
+	}
+	
+	/**
+	 * Returns a copy of the given array.
+	 * @param heights the heights
+	 * @return double[]
+	 */
+	private static final double[] copy(double[] heights) {
+		double[] copy = new double[heights.length];
+		System.arraycopy(heights, 0, copy, 0, heights.length);
+		return copy;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Heightfield[").append(super.toString())
+		.append("|Cells=").append(this.links.length)
+		.append("|Spacing=").append(this.spacing)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Composite#getChildCount()
+	 */
+	@Override
+	public int getChildCount() {
+		return this.links.length;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The children of a heightfield are its cells.  The cell at index i spans 
+	 * the vertices i and i + 1.
+	 * @return {@link Link}
+	 */
+	@Override
+	public Link getChild(int index) {
+		return this.links[index];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The range of cells under the given {@link AABB} is found from the spacing, then 
+	 * the cells are tested against the {@link AABB}'s vertical extent.  When the heightfield 
+	 * has been rotated, the extents of the {@link AABB} along the rotated axes are used and
+	 * the bounds of each cell are tested against the {@link AABB}.
+	 */
+	@Override
+	public int getChildIndices(AABB aabb, int[] indices) {
+		int n = this.links.length;
+		double spacing = this.spacing;
+		double ux = this.ux;
+		double uy = this.uy;
+		// the extents of the AABB along the axes of the heights
+		double dx1 = aabb.getMinX() - this.x;
+		double dx2 = aabb.getMaxX() - this.x;
+		double dy1 = aabb.getMinY() - this.y;
+		double dy2 = aabb.getMaxY() - this.y;
+		double minU = Math.min(dx1 * ux, dx2 * ux) + Math.min(dy1 * uy, dy2 * uy);
+		double maxU = Math.max(dx1 * ux, dx2 * ux) + Math.max(dy1 * uy, dy2 * uy);
+		double minV = Math.min(dy1 * ux, dy2 * ux) - Math.max(dx1 * uy, dx2 * uy);
+		double maxV = Math.max(dy1 * ux, dy2 * ux) - Math.min(dx1 * uy, dx2 * uy);
+		// find the range of cells
+		int i1 = (int)Math.floor(minU / spacing);
+		int i2 = (int)Math.floor(maxU / spacing);
+		if (i1 < 0) i1 = 0;
+		if (i2 >= n) i2 = n - 1;
+		// filter them by height
+		int count = 0;
+		int length = indices.length;
+		boolean rotated = uy != 0.0;
+		double[] heights = this.heights;
+		for (int i = i1; i <= i2; i++) {
+			double h1 = heights[i];
+			double h2 = heights[i + 1];
+			if ((h1 < h2 ? h1 : h2) <= maxV && (h1 > h2 ? h1 : h2) >= minV) {
+				if (rotated) {
+					// test the bounds of the cell
+					Vector2 p1 = this.links[i].vertices[0];
+					Vector2 p2 = this.links[i].vertices[1];
+					if ((p1.x < p2.x ? p1.x : p2.x) > aabb.getMaxX() || (p1.x > p2.x ? p1.x : p2.x) < aabb.getMinX() ||
+						(p1.y < p2.y ? p1.y : p2.y) > aabb.getMaxY() || (p1.y > p2.y ? p1.y : p2.y) < aabb.getMinY()) {
+						continue;
+					}
+				}
+				if (count < length) {
+					indices[count] = i;
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the number of heights.
+	 * @return int
+	 */
+	public int getHeightCount() {
+		return this.heights.length;
+	}
+	
+	/**
+	 * Returns the height at the given index.
+	 * @param index the index
+	 * @return double
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getHeightCount()}
+	 */
+	public double getHeight(int index) {
+		return this.heights[index];
+	}
+	
+	/**
+	 * Returns the spacing between the heights along the x-axis.
+	 * @return double
+	 */
+	public double getSpacing() {
+		return this.spacing;
+	}
+	
+	/**
+	 * Returns the local space vertex of the given height.
+	 * @param index the index of the height
+	 * @return {@link Vector2}
+	 */
+	private Vector2 getVertex(int index) {
+		double d = index * this.spacing;
+		double h = this.heights[index];
+		return new Vector2(this.x + d * this.ux - h * this.uy, this.y + d * this.uy + h * this.ux);
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest in the direction of the given local space vector.
+	 * @param x the x component of the direction
+	 * @param y the y component of the direction
+	 * @return int
+	 */
+	private int getFarthestVertexIndex(double x, double y) {
+		// the direction along the axes of the heights
+		double a = x * this.ux + y * this.uy;
+		double b = y * this.ux - x * this.uy;
+		double[] heights = this.heights;
+		int size = heights.length;
+		int index = 0;
+		double max = b * heights[0];
+		for (int i = 1; i < size; i++) {
+			double projection = a * i * this.spacing + b * heights[i];
+			if (projection > max) {
+				max = projection;
+				index = i;
+			}
+		}
+		return index;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#getRadius(org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public double getRadius(Vector2 center) {
+		double r2 = 0.0;
+		int size = this.heights.length;
+		for (int i = 0; i < size; i++) {
+			double d = i * this.spacing;
+			double h = this.heights[i];
+			double d2 = center.distanceSquared(this.x + d * this.ux - h * this.uy, this.y + d * this.uy + h * this.ux);
+			if (d2 > r2) r2 = d2;
+		}
+		return Math.sqrt(r2);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns the axes of the convex hull of the vertices.  The {@link org.dyn4j.dynamics.World}
+	 * tests the children of a heightfield instead.
+	 */
+	@Override
+	public Vector2[] getAxes(Vector2[] foci, Transform transform) {
+		return this.hull.getAxes(foci, transform);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Not applicable to this shape.  Always returns null.
+	 * @return null
+	 */
+	@Override
+	public Vector2[] getFoci(Transform transform) {
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns true if the given point lies on one of the cells.
+	 */
+	@Override
+	public boolean contains(Vector2 point, Transform transform) {
+		Vector2 p = transform.getInverseTransformed(point);
+		// only the cells on either side of the point can contain it
+		int i = (int)Math.floor(((p.x - this.x) * this.ux + (p.y - this.y) * this.uy) / this.spacing);
+		for (int j = i - 1; j <= i; j++) {
+			if (j >= 0 && j < this.links.length && this.links[j].contains(p, Transform.IDENTITY)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#project(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public Interval project(Vector2 vector, Transform transform) {
+		Vector2 n = transform.getInverseTransformedR(vector);
+		double min = n.dot(this.getVertex(this.getFarthestVertexIndex(-n.x, -n.y)));
+		double max = n.dot(this.getVertex(this.getFarthestVertexIndex(n.x, n.y)));
+		// account for the translation of the transform
+		double offset = vector.x * transform.x + vector.y * transform.y;
+		return new Interval(min + offset, max + offset);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Convex#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public Vector2 getFarthestPoint(Vector2 vector, Transform transform) {
+		Vector2 n = transform.getInverseTransformedR(vector);
+		Vector2 p = this.getVertex(this.getFarthestVertexIndex(n.x, n.y));
+		transform.transform(p);
+		return p;
+	}
+	
+	/**
+	 * Returns the feature farthest in the direction of n.
+	 * <p>
+	 * For a {@link Heightfield} it's always the farthest vertex.
+	 * @param vector the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @return {@link PointFeature}
+	 */
+	@Override
+	public PointFeature getFarthestFeature(Vector2 vector, Transform transform) {
+		Vector2 n = transform.getInverseTransformedR(vector);
+		int index = this.getFarthestVertexIndex(n.x, n.y);
+		Vector2 p = this.getVertex(index);
+		transform.transform(p);
+		return new PointFeature(p, index);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The heights are laid out along the rotated x-axis.
+	 */
+	@Override
+	public void rotate(double theta, double x, double y) {
+		super.rotate(theta, x, y);
+		double cos = Math.cos(theta);
+		double sin = Math.sin(theta);
+		// rotate the origin and the axis of the heights
+		double ox = this.x - x;
+		double oy = this.y - y;
+		this.x = x + ox * cos - oy * sin;
+		this.y = y + ox * sin + oy * cos;
+		double ux = this.ux;
+		this.ux = ux * cos - this.uy * sin;
+		this.uy = ux * sin + this.uy * cos;
+		this.hull.rotate(theta, x, y);
+		// the cells are rotated directly since rotating a link
+		// also moves the vertices of its neighbors
+		int n = this.links.length;
+		for (int i = 0; i < n; i++) {
+			Link link = this.links[i];
+			link.center.rotate(theta, x, y);
+			link.vertices[0].rotate(theta, x, y);
+			link.vertices[1].rotate(theta, x, y);
+			link.normals[0].rotate(theta);
+			link.normals[1].rotate(theta);
+			link.version++;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#translate(double, double)
+	 */
+	@Override
+	public void translate(double x, double y) {
+		super.translate(x, y);
+		this.x += x;
+		this.y += y;
+		this.hull.translate(x, y);
+		// the cells are translated directly since translating a link
+		// also moves the vertices of its neighbors
+		int n = this.links.length;
+		for (int i = 0; i < n; i++) {
+			Link link = this.links[i];
+			link.center.add(x, y);
+			link.vertices[0].add(x, y);
+			link.vertices[1].add(x, y);
+			link.version++;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A heightfield is intended for static terrain, so the returned {@link Mass}
+	 * has zero mass and inertia.
+	 */
+	@Override
+	public Mass createMass(double density) {
+		return new Mass(this.center.copy(), 0.0, 0.0);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#createAABB(org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public AABB createAABB(Transform transform) {
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.computeAABB(transform, aabb);
+		return aabb;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The {@link AABB} is computed from the bounds of the heights rather than the vertices, 
+	 * so it's exact when neither the heightfield nor the given transform is rotated and 
+	 * conservative otherwise.
+	 */
+	@Override
+	public void computeAABB(Transform transform, AABB result) {
+		double ux = this.ux;
+		double uy = this.uy;
+		// the center and half extents of the bounds of the heights
+		double ex = (this.links.length * this.spacing) * 0.5;
+		double ey = (this.maxHeight - this.minHeight) * 0.5;
+		double cx = this.x + ex * ux - this.minHeight * uy - ey * uy;
+		double cy = this.y + ex * uy + this.minHeight * ux + ey * ux;
+		// the axes of the bounds in world space
+		double a00 = transform.m00 * ux + transform.m01 * uy;
+		double a01 = transform.m01 * ux - transform.m00 * uy;
+		double a10 = transform.m10 * ux + transform.m11 * uy;
+		double a11 = transform.m11 * ux - transform.m10 * uy;
+		// the center and half extents of the world bounds
+		double wx = transform.m00 * cx + transform.m01 * cy + transform.x;
+		double wy = transform.m10 * cx + transform.m11 * cy + transform.y;
+		double hx = Math.abs(a00) * ex + Math.abs(a01) * ey;
+		double hy = Math.abs(a10) * ex + Math.abs(a11) * ey;
+		result.set(wx - hx, wy - hy, wx + hx, wy + hy);
+	}
+}
@@ -39,7 +39,7 @@ import org.dyn4j.DataContainer;
  * <p>
  * For ease of use, it's recommended to use the Geometry class to create chains of {@link Link}s.
  * @author William Bittle
- * @version 3.2.2
+ * @version 3.2.4
  * @since 3.2.2
  */
 public class Link extends Segment implements Convex, Wound, Shape, Transformable, DataContainer {
@@ -210,5 +210,7 @@ public class Link extends Segment implements Convex, Wound, Shape, Transformable
 		double length = segment.vertices[0].distance(segment.vertices[1]);
 		segment.length = length;
 		segment.radius = length * 0.5;
+		// the connected link has changed too
+		segment.version++;
 	}
 }
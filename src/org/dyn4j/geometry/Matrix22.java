@@ -32,7 +32,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * Used to solve 2x2 systems of equations.
  * @author William Bittle
- * @version 3.1.9
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Matrix22 {
@@ -285,10 +285,27 @@ public class Matrix22 {
 	 * @return {@link Vector2} the vector result
 	 */
 	public Vector2 product(Vector2 vector) {
-		Vector2 r = new Vector2();
-		r.x = this.m00 * vector.x + this.m01 * vector.y;
-		r.y = this.m10 * vector.x + this.m11 * vector.y;
-		return r;
+		return this.product(vector, new Vector2());
+	}
+	
+	/**
+	 * Multiplies this {@link Matrix22} by the given {@link Vector2} placing
+	 * the result in the given destination {@link Vector2}.
+	 * <pre>
+	 * r = this * v
+	 * </pre>
+	 * The destination can be the given {@link Vector2}.
+	 * @param vector the {@link Vector2} to multiply
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 product(Vector2 vector, Vector2 destination) {
+		double x = vector.x;
+		double y = vector.y;
+		destination.x = this.m00 * x + this.m01 * y;
+		destination.y = this.m10 * x + this.m11 * y;
+		return destination;
 	}
 	
 	/**
@@ -448,15 +465,32 @@ public class Matrix22 {
 	 * @return {@link Vector2} the x vector
 	 */
 	public Vector2 solve(Vector2 b) {
+		return this.solve(b, new Vector2());
+	}
+	
+	/**
+	 * Solves the system of linear equations placing the x vector in 
+	 * the given destination {@link Vector2}:
+	 * <p style="white-space: pre;"> Ax = b
+	 * Multiply by A<sup>-1</sup> on both sides
+	 * x = A<sup>-1</sup>b</p>
+	 * The destination can be the b {@link Vector2}.
+	 * @param b the b {@link Vector2}
+	 * @param destination the {@link Vector2} containing the x vector
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 solve(Vector2 b, Vector2 destination) {
 		// get the determinant
 		double det = this.determinant();
 		// check for zero determinant
 		if (Math.abs(det) > Epsilon.E) {
 			det = 1.0 / det;
 		}
-		Vector2 r = new Vector2();
-		r.x = det * (this.m11 * b.x - this.m01 * b.y);
-		r.y = det * (this.m00 * b.y - this.m10 * b.x);
-		return r;
+		double x = b.x;
+		double y = b.y;
+		destination.x = det * (this.m11 * x - this.m01 * y);
+		destination.y = det * (this.m00 * y - this.m10 * x);
+		return destination;
 	}
 }
@@ -32,7 +32,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * Used to solve 3x3 systems of equations.
  * @author William Bittle
- * @version 3.1.9
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Matrix33 {
@@ -566,14 +566,28 @@ public class Matrix33 {
 	 * @return {@link Vector3} the x vector
 	 */
 	public Vector3 solve33(Vector3 b) {
+		return this.solve33(b, new Vector3());
+	}
+	
+	/**
+	 * Solves the system of linear equations placing the x vector in 
+	 * the given destination {@link Vector3}:
+	 * <p style="white-space: pre;"> Ax = b
+	 * Multiply by A<sup>-1</sup> on both sides
+	 * x = A<sup>-1</sup>b</p>
+	 * The destination can be the b {@link Vector3}.
+	 * @param b the b {@link Vector3}
+	 * @param destination the {@link Vector3} containing the x vector
+	 * @return {@link Vector3} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector3 solve33(Vector3 b, Vector3 destination) {
 		// get the determinant
 		double det = this.determinant();
 		// check for zero determinant
 		if (Math.abs(det) > Epsilon.E) {
 			det = 1.0 / det;
 		}
-		Vector3 r = new Vector3();
-		
 		double m00 =  this.m11 * this.m22 - this.m12 * this.m21;
 		double m01 = -this.m01 * this.m22 + this.m21 * this.m02;
 		double m02 =  this.m01 * this.m12 - this.m11 * this.m02;
@@ -586,11 +600,14 @@ public class Matrix33 {
 		double m21 = -this.m00 * this.m21 + this.m20 * this.m01;
 		double m22 =  this.m00 * this.m11 - this.m10 * this.m01;
 		
-		r.x = det * (m00 * b.x + m01 * b.y + m02 * b.z);
-		r.y = det * (m10 * b.x + m11 * b.y + m12 * b.z);
-		r.z = det * (m20 * b.x + m21 * b.y + m22 * b.z);
+		double x = b.x;
+		double y = b.y;
+		double z = b.z;
+		destination.x = det * (m00 * x + m01 * y + m02 * z);
+		destination.y = det * (m10 * x + m11 * y + m12 * z);
+		destination.z = det * (m20 * x + m21 * y + m22 * z);
 		
-		return r;
+		return destination;
 	}
 	
 	/**
@@ -602,15 +619,32 @@ public class Matrix33 {
 	 * @return {@link Vector2} the x vector
 	 */
 	public Vector2 solve22(Vector2 b) {
+		return this.solve22(b, new Vector2());
+	}
+	
+	/**
+	 * Solves the system of linear equations using the upper 2x2 matrix placing 
+	 * the x vector in the given destination {@link Vector2}:
+	 * <p style="white-space: pre;"> Ax = b
+	 * Multiply by A<sup>-1</sup> on both sides
+	 * x = A<sup>-1</sup>b</p>
+	 * The destination can be the b {@link Vector2}.
+	 * @param b the b {@link Vector2}
+	 * @param destination the {@link Vector2} containing the x vector
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 solve22(Vector2 b, Vector2 destination) {
 		// get the 2D determinant
 		double det = this.m00 * this.m11 - this.m01 * this.m10;
 		// check for zero determinant
 		if (Math.abs(det) > Epsilon.E) {
 			det = 1.0 / det;
 		}
-		Vector2 r = new Vector2();
-		r.x = det * (this.m11 * b.x - this.m01 * b.y);
-		r.y = det * (this.m00 * b.y - this.m10 * b.x);
-		return r;
+		double x = b.x;
+		double y = b.y;
+		destination.x = det * (this.m11 * x - this.m01 * y);
+		destination.y = det * (this.m00 * y - this.m10 * x);
+		return destination;
 	}
 }
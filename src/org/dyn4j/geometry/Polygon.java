@@ -37,8 +37,12 @@ import org.dyn4j.resources.Messages;
  * A {@link Polygon} must also be {@link Convex} and have counter-clockwise winding of points.
  * <p>
  * A polygon cannot have coincident vertices.
+ * <p>
+ * Polygons with many vertices, like those produced by a {@link org.dyn4j.geometry.hull.HullGenerator},
+ * can use the {@link #getFarthestVertexIndex(Vector2, Transform, int)} method to find support points
+ * by walking the boundary from the vertex returned by a previous query.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Polygon extends AbstractShape implements Convex, Wound, Shape, Transformable, DataContainer {
@@ -365,27 +369,45 @@ public class Polygon extends AbstractShape implements Convex, Wound, Shape, Tran
 	@Override
 	public EdgeFeature getFarthestFeature(Vector2 vector, Transform transform) {
 		// transform the normal into local space
-		Vector2 localn = transform.getInverseTransformedR(vector);
-		Vector2 maximum = new Vector2();
-		double max = -Double.MAX_VALUE;
-		int index = 0;
+		double x = transform.m00 * vector.x + transform.m10 * vector.y;
+		double y = transform.m01 * vector.x + transform.m11 * vector.y;
 		// find the vertex on the polygon that is further along on the penetration axis
+		int index = this.getFarthestVertexIndex(x, y);
+		return this.getFarthestFeature(index, x, y, transform);
+	}
+	
+	/**
+	 * Returns the farthest feature in the given direction.
+	 * <p>
+	 * This method is the same as {@link #getFarthestFeature(Vector2, Transform)} except
+	 * that the farthest vertex is found by walking the boundary from the given start 
+	 * vertex; see {@link #getFarthestVertexIndex(Vector2, Transform, int)}.  The index 
+	 * of the farthest vertex is the index of the feature's maximum.
+	 * @param vector the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @param start the index of the vertex to start the search from
+	 * @return {@link EdgeFeature}
+	 * @since 3.2.4
+	 */
+	public EdgeFeature getFarthestFeature(Vector2 vector, Transform transform, int start) {
+		// transform the normal into local space
+		double x = transform.m00 * vector.x + transform.m10 * vector.y;
+		double y = transform.m01 * vector.x + transform.m11 * vector.y;
+		int index = this.getFarthestVertexIndex(vector, transform, start);
+		return this.getFarthestFeature(index, x, y, transform);
+	}
+	
+	/**
+	 * Returns the edge adjacent to the given farthest vertex that is most perpendicular
+	 * to the given local space direction.
+	 * @param index the index of the farthest vertex
+	 * @param x the x component of the direction in local space
+	 * @param y the y component of the direction in local space
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @return {@link EdgeFeature}
+	 */
+	private EdgeFeature getFarthestFeature(int index, double x, double y, Transform transform) {
 		int count = this.vertices.length;
-		for (int i = 0; i < count; i++) {
-			// get the current vertex
-			Vector2 v = this.vertices[i];
-			// get the scalar projection of v onto axis
-			double projection = localn.dot(v);
-			// keep the maximum projection point
-			if (projection > max) {
-				// set the max point
-				maximum.set(v);
-				// set the new maximum
-				max = projection;
-				// save the index
-				index = i;
-			}
-		}
 		
 		// once we have the point of maximum
 		// see which edge is most perpendicular
@@ -394,10 +416,10 @@ public class Polygon extends AbstractShape implements Convex, Wound, Shape, Tran
 		Vector2 leftN = this.normals[index == 0 ? count - 1 : index - 1];
 		Vector2 rightN = this.normals[index];
 		// create the maximum point for the feature (transform the maximum into world space)
-		transform.transform(maximum);
+		Vector2 maximum = transform.getTransformed(this.vertices[index]);
 		PointFeature vm = new PointFeature(maximum, index);
 		// is the left or right edge more perpendicular?
-		if (leftN.dot(localn) < rightN.dot(localn)) {
+		if (leftN.x * x + leftN.y * y < rightN.x * x + rightN.y * y) {
 			Vector2 left = transform.getTransformed(this.vertices[l]);
 			PointFeature vl = new PointFeature(left, l);
 			// make sure the edge is the right winding
@@ -415,31 +437,167 @@ public class Polygon extends AbstractShape implements Convex, Wound, Shape, Tran
 	 */
 	@Override
 	public Vector2 getFarthestPoint(Vector2 vector, Transform transform) {
-		// transform the normal into local space
-		Vector2 localn = transform.getInverseTransformedR(vector);
 		Vector2 point = new Vector2();
-		// set the farthest point to the first one
-		point.set(this.vertices[0]);
+		this.getFarthestPoint(vector, transform, point);
+		return point;
+	}
+	
+	/**
+	 * Places the point farthest in the given direction in the given result {@link Vector2}.
+	 * <p>
+	 * This method is the same as {@link #getFarthestPoint(Vector2, Transform)} except
+	 * that it does not create any objects.
+	 * @param vector the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @param result the {@link Vector2} to place the farthest point in
+	 * @since 3.2.4
+	 */
+	public void getFarthestPoint(Vector2 vector, Transform transform, Vector2 result) {
+		// transform the normal into local space
+		double x = transform.m00 * vector.x + transform.m10 * vector.y;
+		double y = transform.m01 * vector.x + transform.m11 * vector.y;
+		// find the farthest vertex and transform it into world space
+		int index = this.getFarthestVertexIndex(x, y);
+		transform.getTransformed(this.vertices[index], result);
+	}
+	
+	/**
+	 * Places the point farthest in the given direction in the given result {@link Vector2}
+	 * and returns the index of the vertex.
+	 * <p>
+	 * The search begins at the given start vertex; see {@link #getFarthestVertexIndex(Vector2, Transform, int)}.
+	 * This method does not create any objects.
+	 * @param vector the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @param start the index of the vertex to start the search from
+	 * @param result the {@link Vector2} to place the farthest point in
+	 * @return int the index of the farthest vertex
+	 * @since 3.2.4
+	 */
+	public int getFarthestPoint(Vector2 vector, Transform transform, int start, Vector2 result) {
+		int index = this.getFarthestVertexIndex(vector, transform, start);
+		transform.getTransformed(this.vertices[index], result);
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest in the given direction.
+	 * <p>
+	 * Rather than test every vertex, this method walks the boundary of the polygon from the 
+	 * given start vertex, in the direction of increasing projection, until the projection 
+	 * stops increasing.  Since the polygon is convex the vertex it stops on is the farthest.
+	 * <p>
+	 * When the start index is the value returned by a previous query with a similar direction 
+	 * only a few vertices are tested, regardless of the number of vertices.  This makes repeated
+	 * queries against polygons with many vertices, like those of GJK and EPA, much cheaper.
+	 * <p>
+	 * If the start index is not a valid vertex index, the search begins at the first vertex.
+	 * @param vector the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @param start the index of the vertex to start the search from; typically the value returned by the last call
+	 * @return int the index of the farthest vertex
+	 * @since 3.2.4
+	 */
+	public int getFarthestVertexIndex(Vector2 vector, Transform transform, int start) {
+		// transform the normal into local space
+		double x = transform.m00 * vector.x + transform.m10 * vector.y;
+		double y = transform.m01 * vector.x + transform.m11 * vector.y;
+		
+		Vector2[] vertices = this.vertices;
+		int count = vertices.length;
+		int index = start < 0 || start >= count ? 0 : start;
+		
+		Vector2 v = vertices[index];
+		double max = x * v.x + y * v.y;
+		
+		// determine which way to walk by checking the next vertex
+		int step = 1;
+		int next = index + 1 == count ? 0 : index + 1;
+		v = vertices[next];
+		double projection = x * v.x + y * v.y;
+		if (projection <= max) {
+			// the next vertex isn't farther so check the previous vertex
+			int prev = index == 0 ? count - 1 : index - 1;
+			v = vertices[prev];
+			double p = x * v.x + y * v.y;
+			if (p <= max) {
+				// if both neighbors project to the same value we could be in the middle
+				// of colinear vertices on the nearest edge so we can't use the start vertex
+				if (p == max && projection == max) {
+					return this.getFarthestVertexIndex(x, y);
+				}
+				// otherwise the start vertex is the farthest
+				step = 0;
+			} else {
+				step = -1;
+				next = prev;
+				projection = p;
+			}
+		}
+		
+		// walk until the projection stops increasing (the iteration
+		// count is limited to guard against NaN directions)
+		for (int i = 1; i < count && step != 0 && projection > max; i++) {
+			index = next;
+			max = projection;
+			if (step > 0) {
+				next = next + 1 == count ? 0 : next + 1;
+			} else {
+				next = next == 0 ? count - 1 : next - 1;
+			}
+			v = vertices[next];
+			projection = x * v.x + y * v.y;
+		}
+		
+		// when an edge is perpendicular to the direction more than one vertex is 
+		// the farthest; return the lowest index like a search of every vertex would
+		int result = index;
+		next = index;
+		for (int i = 1; i < count; i++) {
+			next = next == 0 ? count - 1 : next - 1;
+			v = vertices[next];
+			if (x * v.x + y * v.y != max) break;
+			if (next < result) result = next;
+		}
+		next = index;
+		for (int i = 1; i < count; i++) {
+			next = next + 1 == count ? 0 : next + 1;
+			v = vertices[next];
+			if (x * v.x + y * v.y != max) break;
+			if (next < result) result = next;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the index of the first vertex farthest in the given local space direction
+	 * by testing every vertex.
+	 * @param x the x component of the direction in local space
+	 * @param y the y component of the direction in local space
+	 * @return int
+	 * @since 3.2.4
+	 */
+	private final int getFarthestVertexIndex(double x, double y) {
+		Vector2[] vertices = this.vertices;
 		// prime the projection amount
-		double max = localn.dot(this.vertices[0]);
+		double max = x * vertices[0].x + y * vertices[0].y;
+		int index = 0;
 		// loop through the rest of the vertices to find a further point along the axis
-		int size = this.vertices.length;
+		int size = vertices.length;
 		for (int i = 1; i < size; i++) {
 			// get the current vertex
-			Vector2 v = this.vertices[i];
+			Vector2 v = vertices[i];
 			// project the vertex onto the axis
-			double projection = localn.dot(v);
+			double projection = x * v.x + y * v.y;
 			// check to see if the projection is greater than the last
 			if (projection > max) {
-				// otherwise this point is the farthest so far so clear the array and add it
-				point.set(v);
 				// set the new maximum
 				max = projection;
+				index = i;
 			}
 		}
-		// transform the point into world space
-		transform.transform(point);
-		return point;
+		return index;
 	}
 	
 	/**
@@ -527,23 +685,31 @@ public class Polygon extends AbstractShape implements Convex, Wound, Shape, Tran
 	 */
 	@Override
 	public AABB createAABB(Transform transform) {
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.computeAABB(transform, aabb);
+		return aabb;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.Shape#computeAABB(org.dyn4j.geometry.Transform, org.dyn4j.geometry.AABB)
+	 */
+	@Override
+	public void computeAABB(Transform transform, AABB result) {
 		double vx = 0.0;
 		double vy = 0.0;
     	// get the first point
-		Vector2 p = transform.getTransformed(this.vertices[0]);
-		// project the point onto the vector
-    	double minX = Vector2.X_AXIS.dot(p);
+		Vector2 p = this.vertices[0];
+    	double minX = transform.getTransformedX(p);
     	double maxX = minX;
-    	double minY = Vector2.Y_AXIS.dot(p);
+    	double minY = transform.getTransformedY(p);
     	double maxY = minY;
     	// loop over the rest of the vertices
     	int size = this.vertices.length;
         for(int i = 1; i < size; i++) {
     		// get the next point
-    		p = transform.getTransformed(this.vertices[i]);
-    		// project it onto the vector
-            vx = Vector2.X_AXIS.dot(p);
-            vy = Vector2.Y_AXIS.dot(p);
+    		p = this.vertices[i];
+            vx = transform.getTransformedX(p);
+            vy = transform.getTransformedY(p);
             // compare the x values
             if (vx < minX) {
             	minX = vx;
@@ -557,7 +723,6 @@ public class Polygon extends AbstractShape implements Convex, Wound, Shape, Tran
             	maxY = vy;
             }
         }
-		// create the aabb
-		return new AABB(minX, minY, maxX, maxY);
+		result.set(minX, minY, maxX, maxY);
 	}
 }
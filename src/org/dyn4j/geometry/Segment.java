@@ -35,7 +35,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * This class represents a line segment that is infinitely thin.
  * @author William Bittle
- * @version 3.2.0
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Segment extends AbstractShape implements Convex, Wound, Shape, Transformable, DataContainer {
@@ -274,22 +274,44 @@ public class Segment extends AbstractShape implements Convex, Wound, Shape, Tran
 	 * @throws NullPointerException if point, linePoint1, or linePoint2 is null
 	 */
 	public static Vector2 getPointOnSegmentClosestToPoint(Vector2 point, Vector2 linePoint1, Vector2 linePoint2) {
+		return Segment.getPointOnSegmentClosestToPoint(point, linePoint1, linePoint2, new Vector2());
+	}
+	
+	/**
+	 * Places the point on the given line segment closest to the given point in the 
+	 * given destination {@link Vector2}.
+	 * <p>
+	 * This is the same as {@link #getPointOnSegmentClosestToPoint(Vector2, Vector2, Vector2)},
+	 * but doesn't create a new {@link Vector2}.  The destination can be any of the given points.
+	 * <p>
+	 * Assumes all points are in world space.
+	 * @param point the point
+	 * @param linePoint1 the first point of the line
+	 * @param linePoint2 the second point of the line
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @throws NullPointerException if point, linePoint1, linePoint2 or destination is null
+	 * @since 3.2.4
+	 */
+	public static Vector2 getPointOnSegmentClosestToPoint(Vector2 point, Vector2 linePoint1, Vector2 linePoint2, Vector2 destination) {
 		// create a vector from the point to the first line point
-		Vector2 p1ToP = point.difference(linePoint1);
+		double px = point.x - linePoint1.x;
+		double py = point.y - linePoint1.y;
 		// create a vector representing the line
-	    Vector2 line = linePoint2.difference(linePoint1);
+	    double lx = linePoint2.x - linePoint1.x;
+	    double ly = linePoint2.y - linePoint1.y;
 	    // get the length squared of the line
-	    double ab2 = line.dot(line);
+	    double ab2 = lx * lx + ly * ly;
 	    // get the projection of AP on AB
-	    double ap_ab = p1ToP.dot(line);
+	    double ap_ab = px * lx + py * ly;
 	    // check ab2 for zero (linePoint1 == linePoint2)
-	    if (ab2 <= Epsilon.E) return linePoint1.copy();
+	    if (ab2 <= Epsilon.E) return destination.set(linePoint1);
 	    // get the position from the first line point to the projection
 	    double t = ap_ab / ab2;
 	    // make sure t is in between 0.0 and 1.0
 	    t = Interval.clamp(t, 0.0, 1.0);
 	    // create the point on the line
-	    return line.multiply(t).add(linePoint1);
+	    return destination.set(lx * t + linePoint1.x, ly * t + linePoint1.y);
 	}
 	
 	/**
@@ -752,21 +774,32 @@ public class Segment extends AbstractShape implements Convex, Wound, Shape, Tran
 	 */
 	@Override
 	public AABB createAABB(Transform transform) {
+		AABB aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.computeAABB(transform, aabb);
+		return aabb;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Be aware that this method could produce an infinitely thin
+	 * AABB if this segment is aligned to either the x or y-axis.
+	 */
+	@Override
+	public void computeAABB(Transform transform, AABB result) {
 		double vx = 0.0;
 		double vy = 0.0;
     	// get the first point
-		Vector2 p = transform.getTransformed(this.vertices[0]);
-		// project the point onto the vector
-    	double minX = Vector2.X_AXIS.dot(p);
+		Vector2 p = this.vertices[0];
+    	double minX = transform.getTransformedX(p);
     	double maxX = minX;
-    	double minY = Vector2.Y_AXIS.dot(p);
+    	double minY = transform.getTransformedY(p);
     	double maxY = minY;
 
 		// get the other point
-		p = transform.getTransformed(this.vertices[1]);
-		// project it onto the vector
-        vx = Vector2.X_AXIS.dot(p);
-        vy = Vector2.Y_AXIS.dot(p);
+		p = this.vertices[1];
+        vx = transform.getTransformedX(p);
+        vy = transform.getTransformedY(p);
         
         // compare the x values
         minX = Math.min(minX, vx);
@@ -774,7 +807,6 @@ public class Segment extends AbstractShape implements Convex, Wound, Shape, Tran
         minY = Math.min(minY, vy);
         maxY = Math.max(maxY, vy);
         
-		// create the aabb
-		return new AABB(minX, minY, maxX, maxY);
+		result.set(minX, minY, maxX, maxY);
 	}
 }
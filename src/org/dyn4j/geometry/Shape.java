@@ -38,7 +38,7 @@ import org.dyn4j.DataContainer;
  * mutable objects.  It's recommended that a {@link Shape}, after creation and use, remain
  * unchanged and instead be replaced with a new {@link Shape} if modification is necessary.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.2.4
  * @since 1.0.0
  */
 public interface Shape extends Transformable, DataContainer {	
@@ -159,4 +159,28 @@ public interface Shape extends Transformable, DataContainer {
 	 * @since 3.0.0
 	 */
 	public abstract AABB createAABB(Transform transform);
+	
+	/**
+	 * Computes the {@link AABB} of this {@link Shape} after applying the given
+	 * transformation to the shape and places it in the given {@link AABB}.
+	 * <p>
+	 * This is the same as {@link #createAABB(Transform)}, but doesn't create a new {@link AABB}.
+	 * @param transform the {@link Transform} for this {@link Shape}
+	 * @param result the {@link AABB} containing the result
+	 * @throws NullPointerException if the given transform or result is null
+	 * @since 3.2.4
+	 */
+	public abstract void computeAABB(Transform transform, AABB result);
+	
+	/**
+	 * Returns the version of this {@link Shape}.
+	 * <p>
+	 * The version is incremented every time this {@link Shape} is rotated or translated, so
+	 * a value computed from this shape, like its world space {@link AABB}, is still valid if 
+	 * the version hasn't changed since.
+	 * @return int
+	 * @since 3.2.4
+	 * @see Transform#getVersion()
+	 */
+	public abstract int getVersion();
 }
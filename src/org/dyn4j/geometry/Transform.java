@@ -30,8 +30,12 @@ import org.dyn4j.resources.Messages;
  * Represents a transformation matrix.
  * <p>
  * Supported operations are rotation and translation.
+ * <p>
+ * Every method that modifies a {@link Transform} increments its version (see {@link #getVersion()})
+ * so that values computed from it, like the world space {@link AABB} of a fixture, can be retained
+ * until it changes.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Transform implements Transformable {
@@ -136,6 +140,13 @@ public class Transform implements Transformable {
 		public final void lerp(Transform end, double alpha) {
 			throw new UnsupportedOperationException(Messages.getString("geometry.transform.immutable"));
 		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#setValues(double[])
+		 */
+		public final void setValues(double[] values) {
+			throw new UnsupportedOperationException(Messages.getString("geometry.transform.immutable"));
+		}
 	};
 	
 	/** The first row, first column entry */
@@ -155,6 +166,9 @@ public class Transform implements Transformable {
 	
 	/** The y translation */
 	protected double y = 0.0;
+	
+	/** The number of times this transform has been modified */
+	protected int version = 0;
 
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -189,6 +203,7 @@ public class Transform implements Transformable {
 		this.m11 = m11;
 		this.x   = x;
 		this.y   = y;
+		this.modified();
 	}
 	
 	/* (non-Javadoc)
@@ -220,6 +235,7 @@ public class Transform implements Transformable {
 		this.m10 = sin * cm00 + cos * cm10;
 		this.m11 = sin * cm01 + cos * cm11;
 		this.y   = sin * cx + cos * cy + ry;
+		this.modified();
 	}
 	
 	/* (non-Javadoc)
@@ -237,6 +253,7 @@ public class Transform implements Transformable {
 	public void translate(double x, double y) {
 		this.x += x;
 		this.y += y;
+		this.modified();
 	}
 	
 	/* (non-Javadoc)
@@ -246,6 +263,7 @@ public class Transform implements Transformable {
 	public void translate(Vector2 vector) {
 		this.x += vector.x;
 		this.y += vector.y;
+		this.modified();
 	}
 	
 	/**
@@ -271,6 +289,7 @@ public class Transform implements Transformable {
 		this.m11 = transform.m11;
 		this.x = transform.x;
 		this.y = transform.y;
+		this.modified();
 	}
 	
 	/**
@@ -279,6 +298,7 @@ public class Transform implements Transformable {
 	public void identity() {
 		this.m00 = 1; this.m01 = 0; this.x = 0; 
 		this.m10 = 0; this.m11 = 1; this.y = 0;
+		this.modified();
 	}
 	
 	/**
@@ -307,6 +327,30 @@ public class Transform implements Transformable {
 		destination.y = this.m10 * x + this.m11 * y + this.y;
 	}
 	
+	/**
+	 * Returns the x coordinate of the given {@link Vector2} when transformed.
+	 * <p>
+	 * This is the same as getTransformed(vector).x, but doesn't create a new {@link Vector2}.
+	 * @param vector the {@link Vector2} to transform
+	 * @return double
+	 * @since 3.2.4
+	 */
+	public double getTransformedX(Vector2 vector) {
+		return this.m00 * vector.x + this.m01 * vector.y + this.x;
+	}
+	
+	/**
+	 * Returns the y coordinate of the given {@link Vector2} when transformed.
+	 * <p>
+	 * This is the same as getTransformed(vector).y, but doesn't create a new {@link Vector2}.
+	 * @param vector the {@link Vector2} to transform
+	 * @return double
+	 * @since 3.2.4
+	 */
+	public double getTransformedY(Vector2 vector) {
+		return this.m10 * vector.x + this.m11 * vector.y + this.y;
+	}
+	
 	/**
 	 * Transforms the given {@link Vector2} and places the result in the given {@link Vector2}.
 	 * @param vector the {@link Vector2} to transform
@@ -455,6 +499,7 @@ public class Transform implements Transformable {
 	 */
 	public void setTranslationX(double x) {
 		this.x = x;
+		this.modified();
 	}
 
 	/**
@@ -472,6 +517,7 @@ public class Transform implements Transformable {
 	 */
 	public void setTranslationY(double y) {
 		this.y = y;
+		this.modified();
 	}
 	
 	/**
@@ -491,6 +537,7 @@ public class Transform implements Transformable {
 	public void setTranslation(double x, double y) {
 		this.x = x;
 		this.y = y;
+		this.modified();
 	}
 	
 	/**
@@ -562,6 +609,66 @@ public class Transform implements Transformable {
 				             this.m10, this.m11, this.y};
 	}
 	
+	/**
+	 * Copies the values stored in this transform into the given array.
+	 * <p>
+	 * The values are in the order of 00, 01, x, 10, 11, y.
+	 * @param values the destination array; must have a length of at least 6
+	 * @see #getValues()
+	 * @since 3.2.4
+	 */
+	public void getValues(double[] values) {
+		values[0] = this.m00;
+		values[1] = this.m01;
+		values[2] = this.x;
+		values[3] = this.m10;
+		values[4] = this.m11;
+		values[5] = this.y;
+	}
+	
+	/**
+	 * Returns the version of this transform.
+	 * <p>
+	 * The version is incremented every time this transform is modified, so a value computed 
+	 * from this transform is still valid if the version hasn't changed since.  The version
+	 * of a new or copied transform is zero.
+	 * @return int
+	 * @since 3.2.4
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * Called every time this transform is modified.
+	 * <p>
+	 * Increments the version of this transform.  Subclasses that override this method
+	 * to be notified of modifications must call the super method.
+	 * @since 3.2.4
+	 */
+	protected void modified() {
+		this.version++;
+	}
+	
+	/**
+	 * Sets the values stored in this transform.
+	 * <p>
+	 * The values are in the order of 00, 01, x, 10, 11, y.  The rotation values are
+	 * not validated and should be values obtained from the {@link #getValues()} or 
+	 * {@link #getValues(double[])} methods.
+	 * @param values the values; must have a length of at least 6
+	 * @since 3.2.4
+	 */
+	public void setValues(double[] values) {
+		this.m00 = values[0];
+		this.m01 = values[1];
+		this.x   = values[2];
+		this.m10 = values[3];
+		this.m11 = values[4];
+		this.y   = values[5];
+		this.modified();
+	}
+	
 	/**
 	 * Interpolates this transform linearly by alpha towards the given end transform.
 	 * <p>
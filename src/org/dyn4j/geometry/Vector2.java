@@ -39,7 +39,7 @@ import org.dyn4j.Epsilon;
  * a.zero().add(1, 2).multiply(2);
  * </pre>
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.4
  * @since 1.0.0
  */
 public class Vector2 {
@@ -202,16 +202,33 @@ public class Vector2 {
 	 * @return {@link Vector2}
 	 */
 	public static Vector2 tripleProduct(Vector2 a, Vector2 b, Vector2 c) {
+		return Vector2.tripleProduct(a, b, c, new Vector2());
+	}
+	
+	/**
+	 * Places the triple product of the given {@link Vector2}s in the given destination {@link Vector2}.
+	 * <p>
+	 * This is the same as {@link #tripleProduct(Vector2, Vector2, Vector2)}, but doesn't create
+	 * a new {@link Vector2}.  The destination can be any of the given {@link Vector2}s.
+	 * @param a the a {@link Vector2} in the above equation
+	 * @param b the b {@link Vector2} in the above equation
+	 * @param c the c {@link Vector2} in the above equation
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public static Vector2 tripleProduct(Vector2 a, Vector2 b, Vector2 c, Vector2 destination) {
 		// expanded version of above formula
-		Vector2 r = new Vector2();
 		// perform a.dot(c)
 		double ac = a.x * c.x + a.y * c.y;
 		// perform b.dot(c)
 		double bc = b.x * c.x + b.y * c.y;
 		// perform b * a.dot(c) - a * b.dot(c)
-		r.x = b.x * ac - a.x * bc;
-		r.y = b.y * ac - a.y * bc;
-		return r;
+		double x = b.x * ac - a.x * bc;
+		double y = b.y * ac - a.y * bc;
+		destination.x = x;
+		destination.y = y;
+		return destination;
 	}
 	
 	/* (non-Javadoc)
@@ -430,6 +447,22 @@ public class Vector2 {
 		return new Vector2(this.x + x, this.y + y);
 	}
 	
+	/**
+	 * Adds this {@link Vector2} and the given {@link Vector2} placing
+	 * the result in the given destination {@link Vector2}.
+	 * <p>
+	 * The destination can be this {@link Vector2} or the given {@link Vector2}.
+	 * @param vector the {@link Vector2}
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 sum(Vector2 vector, Vector2 destination) {
+		destination.x = this.x + vector.x;
+		destination.y = this.y + vector.y;
+		return destination;
+	}
+	
 	/**
 	 * Subtracts the given {@link Vector2} from this {@link Vector2}.
 	 * @param vector the {@link Vector2}
@@ -474,6 +507,22 @@ public class Vector2 {
 		return new Vector2(this.x - x, this.y - y);
 	}
 	
+	/**
+	 * Subtracts the given {@link Vector2} from this {@link Vector2} placing
+	 * the result in the given destination {@link Vector2}.
+	 * <p>
+	 * The destination can be this {@link Vector2} or the given {@link Vector2}.
+	 * @param vector the {@link Vector2}
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 difference(Vector2 vector, Vector2 destination) {
+		destination.x = this.x - vector.x;
+		destination.y = this.y - vector.y;
+		return destination;
+	}
+	
 	/**
 	 * Creates a {@link Vector2} from this {@link Vector2} to the given {@link Vector2}.
 	 * @param vector the {@link Vector2}
@@ -492,6 +541,22 @@ public class Vector2 {
 	public Vector2 to(double x, double y) {
 		return new Vector2(x - this.x, y - this.y);
 	}
+	
+	/**
+	 * Places the {@link Vector2} from this {@link Vector2} to the given {@link Vector2}
+	 * in the given destination {@link Vector2}.
+	 * <p>
+	 * The destination can be this {@link Vector2} or the given {@link Vector2}.
+	 * @param vector the {@link Vector2}
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 to(Vector2 vector, Vector2 destination) {
+		destination.x = vector.x - this.x;
+		destination.y = vector.y - this.y;
+		return destination;
+	}
 		
 	/**
 	 * Multiplies this {@link Vector2} by the given scalar.
@@ -514,6 +579,20 @@ public class Vector2 {
 		return new Vector2(this.x * scalar, this.y * scalar);
 	}
 	
+	/**
+	 * Multiplies this {@link Vector2} by the given scalar placing
+	 * the result in the given destination {@link Vector2}.
+	 * @param scalar the scalar
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 product(double scalar, Vector2 destination) {
+		destination.x = this.x * scalar;
+		destination.y = this.y * scalar;
+		return destination;
+	}
+	
 	/**
 	 * Returns the dot product of the given {@link Vector2}
 	 * and this {@link Vector2}.
@@ -563,6 +642,23 @@ public class Vector2 {
 		return new Vector2(-1.0 * this.y * z, this.x * z);
 	}
 	
+	/**
+	 * Places the cross product of this {@link Vector2} and the z value of the right {@link Vector2}
+	 * in the given destination {@link Vector2}.
+	 * <p>
+	 * The destination can be this {@link Vector2}.
+	 * @param z the z component of the {@link Vector2}
+	 * @param destination the {@link Vector2} containing the result
+	 * @return {@link Vector2} the destination vector
+	 * @since 3.2.4
+	 */
+	public Vector2 cross(double z, Vector2 destination) {
+		double x = this.x;
+		destination.x = -1.0 * this.y * z;
+		destination.y = x * z;
+		return destination;
+	}
+	
 	/**
 	 * Returns true if the given {@link Vector2} is orthogonal (perpendicular)
 	 * to this {@link Vector2}.